@@ -95,6 +95,94 @@
      */
     public static final CommandParameter IGNORE_WHITESPACE = new CommandParameter( "ignoreWhitespace" );
 
+    /**
+     * Parameter used only for the JGit provider: maximum bytes of pack files held in the window cache.
+     * Contains a number of bytes, optionally with a k, m or g suffix.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter JGIT_PACKED_GIT_LIMIT = new CommandParameter( "jgitPackedGitLimit" );
+
+    /**
+     * Parameter used only for the JGit provider: size of a single pack file window, must be a power of 2.
+     * Contains a number of bytes, optionally with a k, m or g suffix.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter JGIT_PACKED_GIT_WINDOW_SIZE =
+        new CommandParameter( "jgitPackedGitWindowSize" );
+
+    /**
+     * Parameter used only for the JGit provider: contains true or false to enable memory mapped pack files.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter JGIT_PACKED_GIT_MMAP = new CommandParameter( "jgitPackedGitMMAP" );
+
+    /**
+     * Parameter used only for the JGit provider: maximum bytes held in the delta base cache.
+     * Contains a number of bytes, optionally with a k, m or g suffix.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter JGIT_DELTA_BASE_CACHE_LIMIT =
+        new CommandParameter( "jgitDeltaBaseCacheLimit" );
+
+    /**
+     * Parameter used only for the JGit provider: objects larger than this threshold are streamed.
+     * Contains a number of bytes, optionally with a k, m or g suffix.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter JGIT_STREAM_FILE_THRESHOLD =
+        new CommandParameter( "jgitStreamFileThreshold" );
+
+    /**
+     * Parameter used only for the Subversion provider: the depth of a checkout, update or status, one of
+     * <code>empty</code>, <code>files</code>, <code>immediates</code> or <code>infinity</code>.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter SVN_DEPTH = new CommandParameter( "svnDepth" );
+
+    /**
+     * Parameter used only for the Subversion provider: contains true to leave the externals out of a status.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter SVN_IGNORE_EXTERNALS = new CommandParameter( "svnIgnoreExternals" );
+
+    /**
+     * Parameter used only for the Subversion provider: contains true to leave the files not under version control
+     * out of a status.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter SVN_QUIET = new CommandParameter( "svnQuiet" );
+
+    /**
+     * Contains true if a status only needs to tell whether there are changes: the provider may stop at the first
+     * changed file it finds, and report only that one.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter STATUS_FIRST_CHANGE_ONLY = new CommandParameter( "statusFirstChangeOnly" );
+
+    /**
+     * Parameter used only for the Subversion provider: contains true to stop a change log at the revision in which
+     * the paths were copied, e.g. at the creation of a branch.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter SVN_STOP_ON_COPY = new CommandParameter( "svnStopOnCopy" );
+
+    /**
+     * The {@link org.apache.maven.scm.command.changelog.ChangeSetSink} receiving the change sets of a change log.
+     *
+     * @since 1.9.3
+     */
+    public static final CommandParameter CHANGESET_SINK = new CommandParameter( "changeSetSink" );
+
 
     /**
      * Parameter name
@@ -19,6 +19,8 @@
  * under the License.
  */
 
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
+
 import java.io.File;
 import java.io.Serializable;
 import java.util.Date;
@@ -317,6 +319,24 @@ public ScmBranchParameters getScmBranchParameters( CommandParameter parameter )
         return (ScmBranchParameters) getObject( ScmBranchParameters.class, parameter, new ScmBranchParameters() );
     }
 
+    /**
+     * @since 1.9.3
+     */
+    public ChangeSetSink getChangeSetSink( CommandParameter parameter )
+        throws ScmException
+    {
+        return (ChangeSetSink) getObject( ChangeSetSink.class, parameter, null );
+    }
+
+    /**
+     * @since 1.9.3
+     */
+    public void setChangeSetSink( CommandParameter parameter, ChangeSetSink sink )
+        throws ScmException
+    {
+        setObject( parameter, sink );
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -398,6 +418,6 @@ private void setObject( CommandParameter parameter, Object value )
      */
     public void remove( CommandParameter parameter )
     {
-        parameters.remove( parameter );
+        parameters.remove( parameter.getName() );
     }
 }
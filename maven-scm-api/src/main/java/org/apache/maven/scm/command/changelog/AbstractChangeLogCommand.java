@@ -84,7 +84,8 @@ public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fi
 
         if ( startVersion != null || endVersion != null )
         {
-            return executeChangeLogCommand( repository, fileSet, startVersion, endVersion, datePattern );
+            return executeChangeLogCommand( repository, fileSet, null, null, null, startVersion, endVersion, limit,
+                                            datePattern, parameters );
         }
         else
         {
@@ -110,8 +111,35 @@ else if ( endDate == null )
                 endDate = new Date();
             }
 
-            return executeChangeLogCommand( repository, fileSet, startDate, endDate, branch, datePattern );
+            return executeChangeLogCommand( repository, fileSet, startDate, endDate, branch, null, null, limit,
+                                            datePattern, parameters );
+        }
+    }
+
+    /**
+     * Executes the command once its parameters are validated: the dates are computed from the number of days, and
+     * the end date defaults to now. With a version range the dates and the branch are <code>null</code>.
+     * <p/>
+     * The default implementation calls the methods above, providers supporting more parameters, e.g. the
+     * {@link CommandParameter#CHANGESET_SINK change set sink}, override this method and read them from
+     * <code>parameters</code>.
+     *
+     * @param limit the max number of change sets, <code>null</code> for no limit
+     * @param parameters all the parameters of the command
+     * @since 1.9.3
+     */
+    protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                          Date startDate, Date endDate, ScmBranch branch,
+                                                          ScmVersion startVersion, ScmVersion endVersion,
+                                                          Integer limit, String datePattern,
+                                                          CommandParameters parameters )
+        throws ScmException
+    {
+        if ( startVersion != null || endVersion != null )
+        {
+            return executeChangeLogCommand( repository, fileSet, startVersion, endVersion, datePattern );
         }
+        return executeChangeLogCommand( repository, fileSet, startDate, endDate, branch, datePattern );
     }
 
     protected ChangeLogScmResult executeChangeLogCommand( ChangeLogScmRequest request )
@@ -175,4 +175,49 @@ public void setDateRange( Date startDate, Date endDate )
         setEndDate( endDate );
     }
 
+    /**
+     * @since 1.9.3
+     */
+    public boolean isStopOnCopy()
+        throws ScmException
+    {
+        return parameters.getBoolean( CommandParameter.SVN_STOP_ON_COPY, false );
+    }
+
+    /**
+     * @param stopOnCopy <code>true</code> to stop the log at the copy the paths were created by, e.g. a branch;
+     *            only supported by Subversion
+     * @since 1.9.3
+     */
+    public void setStopOnCopy( boolean stopOnCopy )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.SVN_STOP_ON_COPY );
+        parameters.setString( CommandParameter.SVN_STOP_ON_COPY, Boolean.toString( stopOnCopy ) );
+    }
+
+    /**
+     * @since 1.9.3
+     */
+    public ChangeSetSink getChangeSetSink()
+        throws ScmException
+    {
+        return parameters.getChangeSetSink( CommandParameter.CHANGESET_SINK );
+    }
+
+    /**
+     * @param sink the sink receiving the change sets instead of the result, or <code>null</code> to collect them in
+     *            the result
+     * @since 1.9.3
+     */
+    public void setChangeSetSink( ChangeSetSink sink )
+        throws ScmException
+    {
+        parameters.remove( CommandParameter.CHANGESET_SINK );
+        if ( sink != null )
+        {
+            parameters.setChangeSetSink( CommandParameter.CHANGESET_SINK, sink );
+        }
+    }
+
 }
@@ -0,0 +1,39 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeSet;
+
+/**
+ * Receives the change sets of a change log one by one, as the provider reads them, instead of collecting them in the
+ * {@link ChangeLogSet} of the result. The sink can tell the provider it has seen enough, so providers able to stop
+ * reading the log, like Subversion, don't read the rest of it.
+ *
+ * @see ChangeLogScmRequest#setChangeSetSink(ChangeSetSink)
+ * @since 1.9.3
+ */
+public interface ChangeSetSink
+{
+    /**
+     * @param changeSet the next change set of the log
+     * @return <code>true</code> to receive the next change set, <code>false</code> if no more change sets are needed
+     */
+    boolean accept( ChangeSet changeSet );
+}
@@ -49,6 +49,22 @@ protected abstract UpdateScmResult executeUpdateCommand( ScmProviderRepository r
                                                              ScmVersion scmVersion )
         throws ScmException;
 
+    /**
+     * Runs the update with the parameters of the command, for the providers supporting more than the version.
+     *
+     * @param parameters the parameters passed to {@link #executeCommand(ScmProviderRepository, ScmFileSet,
+     *                   CommandParameters)}
+     * @return the update result
+     * @throws ScmException if any
+     * @since 1.9.3
+     */
+    protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                    ScmVersion scmVersion, CommandParameters parameters )
+        throws ScmException
+    {
+        return executeUpdateCommand( repository, fileSet, scmVersion );
+    }
+
     /** {@inheritDoc} */
     public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
                                      CommandParameters parameters )
@@ -59,7 +75,7 @@ public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fi
         boolean runChangelog = Boolean.valueOf(
             parameters.getString( CommandParameter.RUN_CHANGELOG_WITH_UPDATE, "true" ) ).booleanValue();
 
-        UpdateScmResult updateScmResult = executeUpdateCommand( repository, fileSet, scmVersion );
+        UpdateScmResult updateScmResult = executeUpdateCommand( repository, fileSet, scmVersion, parameters );
 
         List<ScmFile> filesList = updateScmResult.getUpdatedFiles();
 
@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -471,6 +472,21 @@ RemoveScmResult remove( ScmRepository repository, ScmFileSet fileSet, String mes
     StatusScmResult status( ScmRepository repository, ScmFileSet fileSet )
         throws ScmException;
 
+    /**
+     * Returns the status of the files in the source control system, with some parameters; a provider ignores the
+     * parameters it doesn't support.
+     *
+     * @param repository the source control system
+     * @param fileSet    the files to know the status about
+     * @param parameters the parameters of the status, e.g.
+     *                   {@link org.apache.maven.scm.CommandParameter#STATUS_FIRST_CHANGE_ONLY}
+     * @return the changed files
+     * @throws ScmException if any
+     * @since 1.9.3
+     */
+    StatusScmResult status( ScmRepository repository, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException;
+
     /**
      * Tag (or label in some systems) will tag the source file with a certain tag
      *
@@ -793,6 +793,17 @@ public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet )
         return status( repository.getProviderRepository(), fileSet, parameters );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        login( repository, fileSet );
+
+        return status( repository.getProviderRepository(), fileSet, parameters );
+    }
+
     protected StatusScmResult status( ScmProviderRepository repository, ScmFileSet fileSet,
                                       CommandParameters parameters )
         throws ScmException
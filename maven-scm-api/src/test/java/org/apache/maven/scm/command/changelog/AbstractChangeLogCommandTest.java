@@ -0,0 +1,155 @@
+package org.apache.maven.scm.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+
+import java.io.File;
+import java.util.Date;
+
+/**
+ * @since 1.9.3
+ */
+public class AbstractChangeLogCommandTest
+    extends TestCase
+{
+    private RecordingChangeLogCommand command;
+
+    private CommandParameters parameters;
+
+    public void setUp()
+    {
+        command = new RecordingChangeLogCommand();
+        parameters = new CommandParameters();
+    }
+
+    public void testNumDays()
+        throws Exception
+    {
+        parameters.setInt( CommandParameter.NUM_DAYS, 2 );
+        parameters.setInt( CommandParameter.LIMIT, 10 );
+        execute();
+
+        long day = 24 * 60 * 60 * 1000L;
+        assertTrue( Math.abs( System.currentTimeMillis() - 2 * day - command.startDate.getTime() ) < 60000 );
+        assertTrue( Math.abs( System.currentTimeMillis() + day - command.endDate.getTime() ) < 60000 );
+        assertEquals( Integer.valueOf( 10 ), command.limit );
+        assertSame( parameters, command.parameters );
+    }
+
+    public void testEndDateDefaultsToNow()
+        throws Exception
+    {
+        Date startDate = new Date( 0 );
+        parameters.setDate( CommandParameter.START_DATE, startDate );
+        execute();
+
+        assertEquals( startDate, command.startDate );
+        assertNotNull( command.endDate );
+        assertNull( command.limit );
+    }
+
+    public void testNumDaysWithDate()
+        throws Exception
+    {
+        parameters.setInt( CommandParameter.NUM_DAYS, 2 );
+        parameters.setDate( CommandParameter.START_DATE, new Date( 0 ) );
+        try
+        {
+            execute();
+            fail( "the number of days and a date can't be set together" );
+        }
+        catch ( ScmException e )
+        {
+            // expected
+        }
+        assertNull( command.parameters );
+    }
+
+    public void testVersions()
+        throws Exception
+    {
+        parameters.setDate( CommandParameter.START_DATE, new Date( 0 ) );
+        parameters.setScmVersion( CommandParameter.BRANCH, new ScmBranch( "branch" ) );
+        parameters.setScmVersion( CommandParameter.START_SCM_VERSION, new ScmRevision( "1" ) );
+        execute();
+
+        // the dates and the branch are ignored with a version range
+        assertEquals( "1", command.startVersion.getName() );
+        assertNull( command.startDate );
+        assertNull( command.branch );
+    }
+
+    private void execute()
+        throws ScmException
+    {
+        command.executeCommand( null, new ScmFileSet( new File( "." ) ), parameters );
+    }
+
+    /**
+     * Records the validated parameters.
+     */
+    private static class RecordingChangeLogCommand
+        extends AbstractChangeLogCommand
+    {
+        private Date startDate;
+
+        private Date endDate;
+
+        private ScmBranch branch;
+
+        private ScmVersion startVersion;
+
+        private Integer limit;
+
+        private CommandParameters parameters;
+
+        protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                              Date startDate, Date endDate, ScmBranch branch,
+                                                              ScmVersion startVersion, ScmVersion endVersion,
+                                                              Integer limit, String datePattern,
+                                                              CommandParameters parameters )
+        {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.branch = branch;
+            this.startVersion = startVersion;
+            this.limit = limit;
+            this.parameters = parameters;
+            return null;
+        }
+
+        protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                              Date startDate, Date endDate, ScmBranch branch,
+                                                              String datePattern )
+            throws ScmException
+        {
+            throw new ScmException( "not called" );
+        }
+    }
+}
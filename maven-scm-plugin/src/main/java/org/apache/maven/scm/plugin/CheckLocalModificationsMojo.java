@@ -24,6 +24,8 @@
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.status.StatusScmResult;
@@ -74,7 +76,12 @@ public void execute()
         try
         {
             ScmRepository repository = getScmRepository();
-            result = getScmManager().status( repository, new ScmFileSet( baseDirectory ) );
+
+            // any change fails the build, the first one is enough
+            CommandParameters parameters = new CommandParameters();
+            parameters.setString( CommandParameter.STATUS_FIRST_CHANGE_ONLY, Boolean.TRUE.toString() );
+
+            result = getScmManager().status( repository, new ScmFileSet( baseDirectory ), parameters );
         }
         catch ( ScmException e )
         {
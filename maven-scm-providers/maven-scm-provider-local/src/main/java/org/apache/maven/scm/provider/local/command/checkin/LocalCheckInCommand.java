@@ -33,6 +33,9 @@
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
@@ -88,6 +91,10 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
             // Only copy files newer than in the repo
             File repoRoot = new File( repository.getRoot(), repository.getModule() );
 
+            LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
+            LocalScmMetadata metadata = metadataUtils.readMetadata( baseDestination );
+            LocalScmManifest manifest = new LocalScmManifest( metadata );
+
             List<File> files = fileSet.getFileList();
 
             if ( files.isEmpty() )
@@ -108,16 +115,7 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
 
                 if ( repoFile.exists() )
                 {
-                    String repoFileContents = FileUtils.fileRead( repoFile );
-
-                    String fileContents = FileUtils.fileRead( file );
-
-                    if ( getLogger().isDebugEnabled() )
-                    {
-                        getLogger().debug( "fileContents:" + fileContents );
-                        getLogger().debug( "repoFileContents:" + repoFileContents );
-                    }
-                    if ( fileContents.equals( repoFileContents ) )
+                    if ( manifest.isSame( path, repoFile, file ) )
                     {
                         continue;
                     }
@@ -138,11 +136,24 @@ else if ( repository.isFileAdded( path ) )
                     continue;
                 }
 
-                FileUtils.copyFile( file, repoFile );
+                File repoDirectory = repoFile.getParentFile();
+                if ( !repoDirectory.exists() && !repoDirectory.mkdirs() )
+                {
+                    throw new ScmException(
+                        "Could not create repository directory '" + repoDirectory.getAbsolutePath() + "'." );
+                }
+
+                manifest.copy( path, file, repoFile, true );
                 ScmFile scmFile = new ScmFile( path, status);
                 getLogger().info( scmFile.toString() );
                 checkedInFiles.add( scmFile );
             }
+
+            if ( metadata != null && !checkedInFiles.isEmpty() )
+            {
+                manifest.writeTo( metadata );
+                metadataUtils.writeMetadata( baseDestination, metadata );
+            }
         }
         catch ( IOException ex )
         {
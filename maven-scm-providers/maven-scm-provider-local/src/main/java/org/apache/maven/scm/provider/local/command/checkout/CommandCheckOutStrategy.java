@@ -0,0 +1,170 @@
+package org.apache.maven.scm.provider.local.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Puts the files with a command taking the files then the destination directory, like <code>ln</code> or
+ * <code>cp</code>, run once for many files of a directory. The files are not recorded in the manifest, so they are
+ * compared with the repository afterwards.
+ * <p/>
+ * When a fallback is given, a failing command is not an error: the files are put by the fallback instead, and so are
+ * the files of the following directories, as the command isn't supported here.
+ *
+ * @since 1.9.3
+ */
+class CommandCheckOutStrategy
+    implements LocalCheckOutStrategy
+{
+    /**
+     * The maximum number of files given to one command, to stay below the limit of the length of a command line
+     */
+    private static final int MAX_FILES = 200;
+
+    private final String executable;
+
+    private final String[] options;
+
+    private final LocalCheckOutStrategy fallback;
+
+    private final ScmLogger logger;
+
+    /**
+     * <code>true</code> once the command failed and the fallback is used
+     */
+    private volatile boolean failed;
+
+    /**
+     * @param executable the command, e.g. <code>ln</code>
+     * @param options the options of the command, e.g. <code>-s</code>
+     * @param fallback the strategy used when the command fails, <code>null</code> to fail
+     * @param logger the logger warning about the fallback
+     */
+    CommandCheckOutStrategy( String executable, String[] options, LocalCheckOutStrategy fallback, ScmLogger logger )
+    {
+        this.executable = executable;
+        this.options = options;
+        this.fallback = fallback;
+        this.logger = logger;
+    }
+
+    /** {@inheritDoc} */
+    public void checkOut( List<File> files, File destination, String path, LocalScmManifest manifest )
+        throws IOException
+    {
+        for ( int start = 0; start < files.size(); start += MAX_FILES )
+        {
+            if ( failed || !execute( files.subList( start, Math.min( start + MAX_FILES, files.size() ) ),
+                                     destination ) )
+            {
+                fallBack( files.subList( start, files.size() ), destination, path, manifest );
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the command failed and the fallback must put the files
+     */
+    private boolean execute( List<File> files, File destination )
+        throws IOException
+    {
+        Commandline cl = new Commandline();
+        cl.setExecutable( executable );
+        cl.setWorkingDirectory( destination.getAbsolutePath() );
+        cl.addArguments( options );
+
+        for ( File file : files )
+        {
+            // absolute, as symbolic links are relative to their directory
+            cl.createArg().setValue( file.getAbsolutePath() );
+        }
+        cl.createArg().setValue( destination.getAbsolutePath() );
+
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode;
+        try
+        {
+            exitCode = CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+        }
+        catch ( CommandLineException e )
+        {
+            if ( fallback != null )
+            {
+                fail( e.getMessage() );
+                return false;
+            }
+
+            IOException exception = new IOException( "Error while executing " + executable + ": " + e.getMessage() );
+            exception.initCause( e );
+            throw exception;
+        }
+
+        if ( exitCode != 0 )
+        {
+            if ( fallback != null )
+            {
+                fail( stderr.getOutput() );
+                return false;
+            }
+
+            throw new IOException( "The " + executable + " command failed in " + destination + ": "
+                + stderr.getOutput() );
+        }
+        return true;
+    }
+
+    private synchronized void fail( String message )
+    {
+        if ( !failed && logger != null && logger.isWarnEnabled() )
+        {
+            logger.warn( "The " + executable + " command failed, copying the files instead: " + message );
+        }
+        failed = true;
+    }
+
+    /**
+     * Puts files with the fallback, replacing those the failed command may have left.
+     */
+    private void fallBack( List<File> files, File destination, String path, LocalScmManifest manifest )
+        throws IOException
+    {
+        for ( File file : files )
+        {
+            File destinationFile = new File( destination, file.getName() );
+            if ( destinationFile.exists() )
+            {
+                FileUtils.forceDelete( destinationFile );
+            }
+        }
+        fallback.checkOut( files, destination, path, manifest );
+    }
+}
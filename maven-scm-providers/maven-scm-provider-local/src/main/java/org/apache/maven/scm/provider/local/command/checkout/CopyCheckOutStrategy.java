@@ -0,0 +1,46 @@
+package org.apache.maven.scm.provider.local.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Copies the files, computing their hashes on the way for the manifest.
+ *
+ * @since 1.9.3
+ */
+class CopyCheckOutStrategy
+    implements LocalCheckOutStrategy
+{
+    /** {@inheritDoc} */
+    public void checkOut( List<File> files, File destination, String path, LocalScmManifest manifest )
+        throws IOException
+    {
+        for ( File file : files )
+        {
+            String name = file.getName();
+            manifest.copy( path.length() == 0 ? name : path + "/" + name, file, new File( destination, name ), false );
+        }
+    }
+}
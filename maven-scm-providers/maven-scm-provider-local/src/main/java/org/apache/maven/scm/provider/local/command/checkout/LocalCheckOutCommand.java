@@ -22,7 +22,17 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
@@ -33,11 +43,36 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.Os;
 
 /**
+ * Checks out a module of the repository, one directory per task on a thread pool.
+ * <p/>
+ * How the files are put in the working directory is chosen with the <code>maven.scm.local.checkout.strategy</code>
+ * system property:
+ * <ul>
+ * <li><code>copy</code>, the default, copies the files;</li>
+ * <li><code>link</code> makes hard links to the files of the repository, with <code>ln</code>;</li>
+ * <li><code>symlink</code> makes symbolic links to them, with <code>ln -s</code>;</li>
+ * <li><code>clone</code> clones them with <code>cp --reflink=auto</code>, sharing their blocks on the file systems
+ * which can, copying them elsewhere. Where <code>cp</code> doesn't know this option, e.g. outside of GNU systems, the
+ * files are copied;</li>
+ * <li>or the name of a class implementing {@link LocalCheckOutStrategy}.</li>
+ * </ul>
+ * The linked files are the files of the repository, so the working directory must be used read-only. The commands
+ * are not available on Windows, where the files are copied.
+ * <p/>
+ * When the <code>maven.scm.local.checkout.incremental</code> system property is <code>true</code>, an existing
+ * working directory is reused instead of being deleted: the files unchanged since they were recorded in its manifest
+ * are kept, the others are put again, and the files which are not in the checkout are deleted. The
+ * <code>maven.scm.local.checkout.threads</code> system property sets the number of threads, the number of processors
+ * by default.
+ *
  * @author <a href="mailto:trygvis@inamo.no">Trygve Laugst&oslash;l</a>
  *
  */
@@ -45,6 +80,27 @@
     extends AbstractCheckOutCommand
     implements LocalCommand
 {
+    /**
+     * The system property choosing how the files are put in the working directory
+     *
+     * @since 1.9.3
+     */
+    public static final String STRATEGY_PROPERTY = "maven.scm.local.checkout.strategy";
+
+    /**
+     * The system property reusing an existing working directory
+     *
+     * @since 1.9.3
+     */
+    public static final String INCREMENTAL_PROPERTY = "maven.scm.local.checkout.incremental";
+
+    /**
+     * The system property setting the number of threads
+     *
+     * @since 1.9.3
+     */
+    public static final String THREADS_PROPERTY = "maven.scm.local.checkout.threads";
+
     /** {@inheritDoc} */
     protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                         ScmVersion version, boolean recursive )
@@ -75,26 +131,40 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
             throw new ScmException( "The module directory doesn't exist (" + source.getAbsolutePath() + ")." );
         }
 
+        LocalCheckOutStrategy strategy = getStrategy( System.getProperty( STRATEGY_PROPERTY, "copy" ) );
+
         List<ScmFile> checkedOutFiles;
 
         try
         {
-            if ( baseDestination.exists() )
+            LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
+
+            LocalScmMetadata previousMetadata = null;
+            if ( Boolean.getBoolean( INCREMENTAL_PROPERTY ) && baseDestination.isDirectory() )
             {
-                FileUtils.deleteDirectory( baseDestination );
+                previousMetadata = metadataUtils.readMetadata( baseDestination );
             }
 
-            if ( !baseDestination.mkdirs() )
+            if ( previousMetadata == null )
             {
-                throw new ScmException(
-                    "Could not create destination directory '" + baseDestination.getAbsolutePath() + "'." );
+                if ( baseDestination.exists() )
+                {
+                    FileUtils.deleteDirectory( baseDestination );
+                }
+
+                if ( !baseDestination.mkdirs() )
+                {
+                    throw new ScmException(
+                        "Could not create destination directory '" + baseDestination.getAbsolutePath() + "'." );
+                }
             }
 
             if ( getLogger().isInfoEnabled() )
             {
                 getLogger().info(
                                   "Checking out '" + source.getAbsolutePath() + "' to '"
-                                      + baseDestination.getAbsolutePath() + "'." );
+                                      + baseDestination.getAbsolutePath() + "'"
+                                      + ( previousMetadata != null ? ", reusing the existing files." : "." ) );
             }
 
             List<File> fileList;
@@ -110,11 +180,22 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                 fileList = fileSet.getFileList();
             }
 
-            checkedOutFiles = checkOut( source, baseDestination, fileList, repository.getModule() );
+            LocalScmManifest manifest = new LocalScmManifest( previousMetadata );
+
+            checkedOutFiles =
+                checkOut( source, baseDestination, fileList, repository.getModule(), manifest, strategy,
+                          previousMetadata != null );
 
             // write metadata file
-            LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
-            metadataUtils.writeMetadata( baseDestination, metadataUtils.buildMetadata( source ) );
+            LocalScmMetadata metadata = metadataUtils.buildMetadata( source );
+            List<String> paths = new ArrayList<String>();
+            for ( String filename : metadata.getRepositoryFileNames() )
+            {
+                paths.add( filename.replace( File.separatorChar, '/' ) );
+            }
+            manifest.retain( paths );
+            manifest.writeTo( metadata );
+            metadataUtils.writeMetadata( baseDestination, metadata );
         }
         catch ( IOException ex )
         {
@@ -124,30 +205,76 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
         return new LocalCheckOutScmResult( null, checkedOutFiles );
     }
 
-    private List<ScmFile> checkOut( File source, File baseDestination, List<File> files, String module )
+    /**
+     * @param name the name of a strategy or of a class implementing it
+     */
+    private LocalCheckOutStrategy getStrategy( String name )
+        throws ScmException
+    {
+        boolean command = "link".equals( name ) || "symlink".equals( name ) || "clone".equals( name );
+        if ( "copy".equals( name ) || ( command && Os.isFamily( Os.FAMILY_WINDOWS ) ) )
+        {
+            if ( command && getLogger().isWarnEnabled() )
+            {
+                getLogger().warn( "The " + name + " checkout strategy is not available on Windows, copying." );
+            }
+            return new CopyCheckOutStrategy();
+        }
+        else if ( "link".equals( name ) )
+        {
+            return new CommandCheckOutStrategy( "ln", new String[0], null, getLogger() );
+        }
+        else if ( "symlink".equals( name ) )
+        {
+            return new CommandCheckOutStrategy( "ln", new String[] { "-s" }, null, getLogger() );
+        }
+        else if ( "clone".equals( name ) )
+        {
+            return new CommandCheckOutStrategy( "cp", new String[] { "--reflink=auto" }, new CopyCheckOutStrategy(),
+                                                getLogger() );
+        }
+
+        try
+        {
+            return (LocalCheckOutStrategy) Class.forName( name, true, getClass().getClassLoader() ).newInstance();
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "Unknown checkout strategy '" + name + "'.", e );
+        }
+    }
+
+    private List<ScmFile> checkOut( File source, File baseDestination, List<File> files, String module,
+                                    LocalScmManifest manifest, LocalCheckOutStrategy strategy, boolean incremental )
         throws ScmException, IOException
     {
         String sourcePath = source.getAbsolutePath();
 
         List<ScmFile> checkedOutFiles = new ArrayList<ScmFile>();
 
+        // the files of every directory, by the path of the directory
+        Map<String, List<File>> directories = new LinkedHashMap<String, List<File>>();
+
+        Set<String> paths = new HashSet<String>();
+
         for ( File file : files )
         {
             String dest = file.getAbsolutePath();
 
             dest = dest.substring( sourcePath.length() + 1 );
 
-            File destination = new File( baseDestination, dest );
-
-            destination = destination.getParentFile();
+            String path = dest.replace( File.separatorChar, '/' );
+            paths.add( path );
 
-            if ( !destination.exists() && !destination.mkdirs() )
+            int slash = path.lastIndexOf( '/' );
+            String directory = slash < 0 ? "" : path.substring( 0, slash );
+            List<File> directoryFiles = directories.get( directory );
+            if ( directoryFiles == null )
             {
-                throw new ScmException(
-                    "Could not create destination directory '" + destination.getAbsolutePath() + "'." );
+                directoryFiles = new ArrayList<File>();
+                directories.put( directory, directoryFiles );
             }
-
-            FileUtils.copyFileToDirectory( file, destination );
+            directoryFiles.add( file );
 
             File parent = file.getParentFile();
 
@@ -162,8 +289,174 @@ private List<ScmFile> checkOut( File source, File baseDestination, List<File> fi
             checkedOutFiles.add( new ScmFile( fileName, ScmFileStatus.CHECKED_OUT ) );
         }
 
+        if ( incremental )
+        {
+            deleteOtherFiles( baseDestination, paths, manifest );
+        }
+
+        int threads = Integer.getInteger( THREADS_PROPERTY, Runtime.getRuntime().availableProcessors() ).intValue();
+        ExecutorService executor = Executors.newFixedThreadPool( Math.max( 1, threads ) );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>();
+            for ( Map.Entry<String, List<File>> directory : directories.entrySet() )
+            {
+                futures.add( executor.submit( new DirectoryCheckOut( directory.getKey(), directory.getValue(),
+                                                                     baseDestination, manifest, strategy,
+                                                                     incremental ) ) );
+            }
+
+            for ( Future<Object> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ScmException( "Interrupted while checking out the files." );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof ScmException )
+            {
+                throw (ScmException) e.getCause();
+            }
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            throw new ScmException( "Error while checking out the files.", e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
         return checkedOutFiles;
     }
 
+    /**
+     * Deletes the files of the working directory which are not checked out, then the directories left empty.
+     */
+    private void deleteOtherFiles( File baseDestination, Set<String> paths, LocalScmManifest manifest )
+        throws IOException
+    {
+        @SuppressWarnings( "unchecked" )
+        List<String> fileNames = FileUtils.getFileNames( baseDestination, "**", null, false );
+        for ( String fileName : fileNames )
+        {
+            String path = fileName.replace( File.separatorChar, '/' );
+            if ( paths.contains( path ) || LocalScmMetadataUtils.FILENAME.equals( path ) )
+            {
+                continue;
+            }
+
+            if ( getLogger().isDebugEnabled() )
+            {
+                getLogger().debug( "Deleting " + path );
+            }
+            FileUtils.forceDelete( new File( baseDestination, fileName ) );
+            manifest.remove( path );
+        }
+
+        @SuppressWarnings( "unchecked" )
+        List<String> directoryNames = FileUtils.getDirectoryNames( baseDestination, "**", null, false );
+        // the subdirectories first
+        Collections.sort( directoryNames, Collections.reverseOrder() );
+        for ( String directoryName : directoryNames )
+        {
+            File directory = new File( baseDestination, directoryName );
+            String[] children = directory.list();
+            if ( directoryName.length() > 0 && children != null && children.length == 0 )
+            {
+                if ( getLogger().isDebugEnabled() )
+                {
+                    getLogger().debug( "Deleting " + directoryName.replace( File.separatorChar, '/' ) );
+                }
+                FileUtils.forceDelete( directory );
+            }
+        }
+    }
+
+    /**
+     * Checks out the files of a directory.
+     */
+    private class DirectoryCheckOut
+        implements Callable<Object>
+    {
+        private final String path;
+
+        private final List<File> files;
+
+        private final File baseDestination;
+
+        private final LocalScmManifest manifest;
+
+        private final LocalCheckOutStrategy strategy;
+
+        private final boolean incremental;
+
+        DirectoryCheckOut( String path, List<File> files, File baseDestination, LocalScmManifest manifest,
+                           LocalCheckOutStrategy strategy, boolean incremental )
+        {
+            this.path = path;
+            this.files = files;
+            this.baseDestination = baseDestination;
+            this.manifest = manifest;
+            this.strategy = strategy;
+            this.incremental = incremental;
+        }
+
+        public Object call()
+            throws ScmException, IOException
+        {
+            File destination = path.length() == 0 ? baseDestination : new File( baseDestination, path );
+
+            // another task may create it at the same time
+            if ( !destination.isDirectory() && !destination.mkdirs() && !destination.isDirectory() )
+            {
+                throw new ScmException(
+                    "Could not create destination directory '" + destination.getAbsolutePath() + "'." );
+            }
+
+            List<File> changedFiles = files;
+            if ( incremental )
+            {
+                changedFiles = new ArrayList<File>();
+                for ( File file : files )
+                {
+                    String name = file.getName();
+                    String filePath = path.length() == 0 ? name : path + "/" + name;
+                    File destinationFile = new File( destination, name );
+                    if ( manifest.isSame( filePath, file, destinationFile ) )
+                    {
+                        continue;
+                    }
+
+                    // the strategy records the file again, or not at all
+                    manifest.remove( filePath );
+
+                    // never write through a link to the repository
+                    if ( destinationFile.exists() )
+                    {
+                        FileUtils.forceDelete( destinationFile );
+                    }
+                    changedFiles.add( file );
+                }
+
+                if ( getLogger().isDebugEnabled() )
+                {
+                    getLogger().debug( ( files.size() - changedFiles.size() ) + " of " + files.size()
+                        + " files unchanged in '" + path + "'." );
+                }
+            }
 
+            if ( !changedFiles.isEmpty() )
+            {
+                strategy.checkOut( changedFiles, destination, path, manifest );
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package org.apache.maven.scm.provider.local.command.checkout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Puts the files of a directory of the repository in the working directory: copies them, links them or clones them.
+ * <p/>
+ * A strategy is chosen with the <code>maven.scm.local.checkout.strategy</code> system property, by one of the names
+ * known by {@link LocalCheckOutCommand} or by the name of a class implementing this interface with a public default
+ * constructor. It may be called by several threads at once, for different directories.
+ *
+ * @since 1.9.3
+ */
+public interface LocalCheckOutStrategy
+{
+    /**
+     * Puts files of the repository in a directory of the working directory, which exists and doesn't contain them.
+     *
+     * @param files the files of one directory of the repository
+     * @param destination the directory of the working directory
+     * @param path the path of the directory relative to the module, separated by slashes, <code>""</code> for the
+     *            module itself
+     * @param manifest the manifest recording the files copied
+     * @throws IOException if a file can't be put
+     */
+    void checkOut( List<File> files, File destination, String path, LocalScmManifest manifest )
+        throws IOException;
+}
@@ -19,17 +19,31 @@
  * under the License.
  */
 
-import java.util.Collections;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
+import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 
 /**
+ * Compares the working directory with the manifest of its last checkout or update: the files of the manifest are
+ * modified or deleted, the other files are added or unknown. Without metadata, the working directory is compared with
+ * the repository. The times of the files found unchanged by their hash are written to the metadata.
+ *
  * @author <a href="mailto:matthewm@ambientideas.com">Matthew McCullough</a>
  *
  */
@@ -37,10 +51,103 @@
     extends AbstractStatusCommand
     implements LocalCommand
 {
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#STATUS_FIRST_CHANGE_ONLY} parameter.
+     */
+    public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                     CommandParameters parameters )
+        throws ScmException
+    {
+        boolean firstChangeOnly = parameters.getBoolean( CommandParameter.STATUS_FIRST_CHANGE_ONLY, false );
+
+        return executeStatusCommand( (LocalScmProviderRepository) repository, fileSet, firstChangeOnly );
+    }
+
     /** {@inheritDoc} */
-    protected StatusScmResult executeStatusCommand( ScmProviderRepository repository, ScmFileSet fileSet)
+    protected StatusScmResult executeStatusCommand( ScmProviderRepository repository, ScmFileSet fileSet )
+        throws ScmException
+    {
+        return executeStatusCommand( (LocalScmProviderRepository) repository, fileSet, false );
+    }
+
+    private StatusScmResult executeStatusCommand( LocalScmProviderRepository repository, ScmFileSet fileSet,
+                                                  boolean firstChangeOnly )
         throws ScmException
     {
-        return new StatusScmResult( null, Collections.<ScmFile>emptyList() );
+        File basedir = fileSet.getBasedir();
+        File source = new File( repository.getRoot(), repository.getModule() );
+
+        if ( !basedir.isDirectory() )
+        {
+            throw new ScmException( "The working directory doesn't exist (" + basedir.getAbsolutePath() + ")." );
+        }
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Checking the status of " + basedir.getAbsolutePath() );
+        }
+
+        try
+        {
+            LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
+            LocalScmMetadata metadata = metadataUtils.readMetadata( basedir );
+            if ( metadata == null )
+            {
+                if ( getLogger().isWarnEnabled() )
+                {
+                    getLogger().warn( "No " + LocalScmMetadataUtils.FILENAME + " file in the working directory, "
+                        + "comparing it with the repository." );
+                }
+                metadata = source.isDirectory() ? metadataUtils.buildMetadata( source ) : new LocalScmMetadata();
+            }
+
+            List<String> trackedPaths = new ArrayList<String>();
+            for ( String fileName : metadata.getRepositoryFileNames() )
+            {
+                trackedPaths.add( fileName.replace( '\\', '/' ) );
+            }
+
+            List<String> paths = new ArrayList<String>();
+            for ( File file : fileSet.getFileList() )
+            {
+                String path = file.getPath().replace( '\\', '/' );
+                while ( path.endsWith( "/" ) )
+                {
+                    path = path.substring( 0, path.length() - 1 );
+                }
+                if ( path.length() > 0 && !".".equals( path ) )
+                {
+                    paths.add( path );
+                }
+            }
+
+            LocalScmManifest manifest = new LocalScmManifest( metadata );
+            LocalStatusWalker walker =
+                new LocalStatusWalker( basedir, source, repository, trackedPaths, manifest, firstChangeOnly );
+            List<ScmFile> changes = walker.walk( paths, Runtime.getRuntime().availableProcessors() );
+
+            // the times of the files checked by their hash
+            if ( manifest.isChanged() )
+            {
+                manifest.writeTo( metadata );
+                metadataUtils.writeMetadata( basedir, metadata );
+            }
+
+            if ( getLogger().isDebugEnabled() )
+            {
+                for ( ScmFile change : changes )
+                {
+                    getLogger().debug( change.getStatus() + " " + change.getPath() );
+                }
+            }
+
+            return new StatusScmResult( null, changes );
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Error while checking the status of the working directory.", e );
+        }
     }
 }
@@ -0,0 +1,356 @@
+package org.apache.maven.scm.provider.local.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
+import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares a working directory with the manifest of its last checkout or update.
+ * <p/>
+ * Every directory is listed by its own task on a thread pool, which also checks the files of the directory: a file of
+ * the manifest is modified if its size changed, or if its time and its hash changed; a file which is not in the
+ * manifest is added if it was added to the repository, unknown otherwise; a file of the manifest which is not in the
+ * directory is deleted. Only the modified files are read.
+ *
+ * @since 1.9.3
+ */
+class LocalStatusWalker
+{
+    private final File basedir;
+
+    private final File repositoryDirectory;
+
+    private final LocalScmProviderRepository repository;
+
+    private final LocalScmManifest manifest;
+
+    /**
+     * The names of the tracked files by the path of their directory, <code>""</code> for the base directory
+     */
+    private final Map<String, Set<String>> trackedFiles = new HashMap<String, Set<String>>();
+
+    private final boolean firstChangeOnly;
+
+    private volatile boolean stopped;
+
+    /**
+     * @param repositoryDirectory the module in the repository
+     * @param trackedPaths the paths of the files of the last checkout or update, separated by slashes
+     * @param firstChangeOnly <code>true</code> to stop at the first change
+     */
+    LocalStatusWalker( File basedir, File repositoryDirectory, LocalScmProviderRepository repository,
+                       Collection<String> trackedPaths, LocalScmManifest manifest, boolean firstChangeOnly )
+    {
+        this.basedir = basedir;
+        this.repositoryDirectory = repositoryDirectory;
+        this.repository = repository;
+        this.manifest = manifest;
+        this.firstChangeOnly = firstChangeOnly;
+
+        for ( String path : trackedPaths )
+        {
+            int slash = path.lastIndexOf( '/' );
+            String directory = slash < 0 ? "" : path.substring( 0, slash );
+            Set<String> names = trackedFiles.get( directory );
+            if ( names == null )
+            {
+                names = new HashSet<String>();
+                trackedFiles.put( directory, names );
+            }
+            names.add( path.substring( slash + 1 ) );
+        }
+    }
+
+    /**
+     * @param paths the files and directories to check, relative to the base directory, or none for all
+     * @param threads the number of threads listing the directories
+     * @return the changed files, sorted by path, or the first one found when stopping at the first change
+     * @throws IOException if a file can't be read
+     */
+    List<ScmFile> walk( List<String> paths, int threads )
+        throws IOException
+    {
+        List<ScmFile> changes = new ArrayList<ScmFile>();
+        List<String> directories = new ArrayList<String>();
+        if ( paths.isEmpty() )
+        {
+            directories.add( "" );
+        }
+        for ( String path : paths )
+        {
+            if ( new File( basedir, path ).isDirectory() )
+            {
+                directories.add( path );
+            }
+            else
+            {
+                int slash = path.lastIndexOf( '/' );
+                checkFile( slash < 0 ? "" : path.substring( 0, slash ), path.substring( slash + 1 ), changes );
+            }
+        }
+
+        Set<String> walkedDirectories = new HashSet<String>();
+        if ( !directories.isEmpty() && !isDone( changes ) )
+        {
+            walkDirectories( directories, threads, changes, walkedDirectories );
+        }
+
+        // the directories which disappeared with all their files
+        for ( Map.Entry<String, Set<String>> tracked : trackedFiles.entrySet() )
+        {
+            String directory = tracked.getKey();
+            if ( isDone( changes ) || walkedDirectories.contains( directory ) || !isUnder( directory, directories ) )
+            {
+                continue;
+            }
+            if ( !new File( basedir, directory ).isDirectory() )
+            {
+                for ( String name : tracked.getValue() )
+                {
+                    changes.add( new ScmFile( getPath( directory, name ), ScmFileStatus.DELETED ) );
+                }
+            }
+        }
+
+        Collections.sort( changes, new java.util.Comparator<ScmFile>()
+        {
+            public int compare( ScmFile file1, ScmFile file2 )
+            {
+                return file1.getPath().compareTo( file2.getPath() );
+            }
+        } );
+        return isDone( changes ) ? changes.subList( 0, 1 ) : changes;
+    }
+
+    private void walkDirectories( List<String> directories, int threads, List<ScmFile> changes,
+                                  Set<String> walkedDirectories )
+        throws IOException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( Math.max( 1, threads ) );
+        try
+        {
+            CompletionService<Listing> completionService = new ExecutorCompletionService<Listing>( executor );
+
+            int pending = 0;
+            for ( String directory : directories )
+            {
+                completionService.submit( new DirectoryTask( directory ) );
+                pending++;
+            }
+
+            while ( pending > 0 )
+            {
+                Listing listing = completionService.take().get();
+                pending--;
+
+                walkedDirectories.add( listing.directory );
+                changes.addAll( listing.changes );
+                if ( isDone( changes ) )
+                {
+                    stopped = true;
+                    return;
+                }
+
+                for ( String subdirectory : listing.subdirectories )
+                {
+                    completionService.submit( new DirectoryTask( subdirectory ) );
+                    pending++;
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while reading " + basedir );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException( e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isDone( List<ScmFile> changes )
+    {
+        return firstChangeOnly && !changes.isEmpty();
+    }
+
+    /**
+     * Lists a directory and checks its files.
+     */
+    private Listing list( String directory )
+        throws IOException
+    {
+        Listing listing = new Listing( directory );
+
+        File dir = directory.length() == 0 ? basedir : new File( basedir, directory );
+        String[] names = dir.list();
+        if ( names == null )
+        {
+            names = new String[0];
+        }
+        Arrays.sort( names );
+
+        for ( String name : names )
+        {
+            if ( stopped )
+            {
+                break;
+            }
+            if ( directory.length() == 0 && LocalScmMetadataUtils.FILENAME.equals( name ) )
+            {
+                continue;
+            }
+
+            File file = new File( dir, name );
+            if ( file.isDirectory() )
+            {
+                // the update ignores the CVS directories too
+                if ( !"CVS".equals( name ) )
+                {
+                    listing.subdirectories.add( getPath( directory, name ) );
+                }
+            }
+            else
+            {
+                checkFile( directory, name, listing.changes );
+            }
+        }
+
+        Set<String> tracked = trackedFiles.get( directory );
+        if ( tracked != null )
+        {
+            Set<String> present = new HashSet<String>( Arrays.asList( names ) );
+            for ( String name : tracked )
+            {
+                if ( !present.contains( name ) )
+                {
+                    listing.changes.add( new ScmFile( getPath( directory, name ), ScmFileStatus.DELETED ) );
+                }
+            }
+        }
+        return listing;
+    }
+
+    private void checkFile( String directory, String name, List<ScmFile> changes )
+        throws IOException
+    {
+        String path = getPath( directory, name );
+        File file = new File( basedir, path );
+
+        Set<String> tracked = trackedFiles.get( directory );
+        if ( tracked != null && tracked.contains( name ) )
+        {
+            if ( !file.isFile() )
+            {
+                changes.add( new ScmFile( path, ScmFileStatus.DELETED ) );
+            }
+            else if ( !manifest.isUnchanged( path, file, new File( repositoryDirectory, path ) ) )
+            {
+                changes.add( new ScmFile( path, ScmFileStatus.MODIFIED ) );
+            }
+        }
+        else if ( file.isFile() )
+        {
+            changes.add( new ScmFile( path, repository.isFileAdded( path ) ? ScmFileStatus.ADDED
+                            : ScmFileStatus.UNKNOWN ) );
+        }
+    }
+
+    private static String getPath( String directory, String name )
+    {
+        return directory.length() == 0 ? name : directory + "/" + name;
+    }
+
+    private static boolean isUnder( String directory, List<String> roots )
+    {
+        for ( String root : roots )
+        {
+            if ( root.length() == 0 || directory.equals( root ) || directory.startsWith( root + "/" ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The changes and the subdirectories of a directory
+     */
+    private static class Listing
+    {
+        private final String directory;
+
+        private final List<ScmFile> changes = new ArrayList<ScmFile>();
+
+        private final List<String> subdirectories = new ArrayList<String>();
+
+        Listing( String directory )
+        {
+            this.directory = directory;
+        }
+    }
+
+    private class DirectoryTask
+        implements Callable<Listing>
+    {
+        private final String directory;
+
+        DirectoryTask( String directory )
+        {
+            this.directory = directory;
+        }
+
+        public Listing call()
+            throws IOException
+        {
+            return list( directory );
+        }
+    }
+}
@@ -30,6 +30,7 @@
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
 import org.apache.maven.scm.provider.local.command.changelog.LocalChangeLogCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
@@ -105,14 +106,17 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
             @SuppressWarnings( "unchecked" )
             List<File> fileList = FileUtils.getFiles( source.getAbsoluteFile(), "**", null );
             List<File> list = fileList;
-            updatedFiles = update( source, baseDestination, list );
 
-            // process deletions in repository
             LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils( getLogger() );
             LocalScmMetadata originalMetadata = metadataUtils.readMetadata( baseDestination );
+            LocalScmManifest manifest = new LocalScmManifest( originalMetadata );
+
+            updatedFiles = update( source, baseDestination, list, manifest );
+
+            // process deletions in repository
+            LocalScmMetadata newMetadata = metadataUtils.buildMetadata( source );
             if ( originalMetadata != null )
             {
-                LocalScmMetadata newMetadata = metadataUtils.buildMetadata( source );
                 for ( Iterator<String> it = originalMetadata.getRepositoryFileNames().iterator(); it.hasNext(); )
                 {
                     String filename = it.next();
@@ -129,8 +133,14 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
             }
 
             // rewrite metadata file
-            metadataUtils.writeMetadata( baseDestination, metadataUtils.buildMetadata( source ) );
-
+            List<String> paths = new ArrayList<String>();
+            for ( String filename : newMetadata.getRepositoryFileNames() )
+            {
+                paths.add( filename.replace( File.separatorChar, '/' ) );
+            }
+            manifest.retain( paths );
+            manifest.writeTo( newMetadata );
+            metadataUtils.writeMetadata( baseDestination, newMetadata );
         }
         catch ( IOException ex )
         {
@@ -140,7 +150,7 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
         return new LocalUpdateScmResult( null, updatedFiles );
     }
 
-    private List<ScmFile> update( File source, File baseDestination, List<File> files )
+    private List<ScmFile> update( File source, File baseDestination, List<File> files, LocalScmManifest manifest )
         throws ScmException, IOException
     {
         String sourcePath = source.getAbsolutePath();
@@ -163,16 +173,11 @@ private List<ScmFile> update( File source, File baseDestination, List<File> file
 
             File destinationFile = new File( baseDestination, dest );
 
-            String repositoryFileContents = FileUtils.fileRead( repositoryFile );
+            String path = dest.replace( File.separatorChar, '/' );
 
-            if ( destinationFile.exists() )
+            if ( manifest.isSame( path, repositoryFile, destinationFile ) )
             {
-                String destionationFileContents = FileUtils.fileRead( destinationFile );
-
-                if ( repositoryFileContents.equals( destionationFileContents ) )
-                {
-                    continue;
-                }
+                continue;
             }
 
             File destinationDirectory = destinationFile.getParentFile();
@@ -194,7 +199,7 @@ private List<ScmFile> update( File source, File baseDestination, List<File> file
                 status = ScmFileStatus.ADDED;
             }
 
-            FileUtils.copyFileToDirectory( repositoryFile, destinationDirectory );
+            manifest.copy( path, repositoryFile, destinationFile, false );
 
             int chop = baseDestination.getAbsolutePath().length();
 
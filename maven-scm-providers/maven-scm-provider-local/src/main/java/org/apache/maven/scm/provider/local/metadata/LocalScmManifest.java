@@ -0,0 +1,352 @@
+package org.apache.maven.scm.provider.local.metadata;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The manifest of the files of a working directory, kept in its metadata file: the size, the times and the hash of
+ * every file when it was last the same in the repository and in the working directory.
+ * <p/>
+ * Whether a file is still the same is decided without reading it when neither copy changed its size or its time
+ * since. Otherwise the sizes are compared, then the hashes, computed by streaming only the copies which changed. The
+ * time of a file written just before it was recorded is not trusted, as the file system may not change it when the
+ * file is written again within the same second: a copy in the repository takes the time of its source, and the
+ * working files are recorded again by the status once their hash is checked.
+ * <p/>
+ * The manifest may be used by several threads at once: the files are read and written outside of its lock.
+ *
+ * @since 1.9.3
+ */
+public class LocalScmManifest
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The time in milliseconds a file must be older than when it is recorded for its time to be trusted
+     */
+    private static final long TIME_GRANULARITY = 2000;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Map<String, LocalScmFileEntry> entries = new TreeMap<String, LocalScmFileEntry>();
+
+    private boolean changed;
+
+    /**
+     * @param metadata the metadata of the working directory, or <code>null</code> for an empty manifest
+     */
+    public LocalScmManifest( LocalScmMetadata metadata )
+    {
+        if ( metadata != null )
+        {
+            for ( LocalScmFileEntry entry : metadata.getFiles() )
+            {
+                entries.put( entry.getPath(), entry );
+            }
+        }
+    }
+
+    /**
+     * @param path the path of the file relative to the module, separated by slashes
+     * @return the entry of the file, or <code>null</code> if it is not in the manifest
+     */
+    public synchronized LocalScmFileEntry getEntry( String path )
+    {
+        return entries.get( path );
+    }
+
+    /**
+     * @return the entries, sorted by path
+     */
+    public synchronized List<LocalScmFileEntry> getEntries()
+    {
+        return new ArrayList<LocalScmFileEntry>( entries.values() );
+    }
+
+    /**
+     * Keeps only the entries of the given paths.
+     */
+    public synchronized void retain( Collection<String> paths )
+    {
+        entries.keySet().retainAll( paths );
+    }
+
+    /**
+     * Tells whether a file has the same content in the repository and in the working directory, and records it if it
+     * has.
+     *
+     * @param path the path of the file relative to the module, separated by slashes
+     * @return <code>true</code> if both files exist and have the same content
+     * @throws IOException if a file can't be read
+     */
+    public boolean isSame( String path, File repositoryFile, File workingFile )
+        throws IOException
+    {
+        if ( !repositoryFile.isFile() || !workingFile.isFile() )
+        {
+            return false;
+        }
+
+        long size = repositoryFile.length();
+        if ( size != workingFile.length() )
+        {
+            return false;
+        }
+
+        LocalScmFileEntry entry = getEntry( path );
+        boolean repositoryKnown = entry != null && entry.getSize() == size
+            && entry.getRepositoryLastModified() == repositoryFile.lastModified();
+        boolean workingKnown =
+            entry != null && entry.getSize() == size && entry.getLastModified() == workingFile.lastModified();
+
+        if ( repositoryKnown && workingKnown )
+        {
+            return true;
+        }
+
+        String repositoryHash = repositoryKnown ? entry.getHash() : digest( repositoryFile );
+        String workingHash = workingKnown ? entry.getHash() : digest( workingFile );
+        if ( !repositoryHash.equals( workingHash ) )
+        {
+            return false;
+        }
+
+        record( path, repositoryFile, workingFile, repositoryHash );
+        return true;
+    }
+
+    /**
+     * Tells whether a file of the working directory still has the content it had when it was recorded. A file whose
+     * time is not known but whose hash is the same is recorded again, so that its time is trusted next time if it is
+     * old enough.
+     *
+     * @param path the path of the file relative to the module, separated by slashes
+     * @param repositoryFile the file of the repository, compared instead when the file is not in the manifest
+     * @return <code>true</code> if the file is unchanged
+     * @throws IOException if a file can't be read
+     */
+    public boolean isUnchanged( String path, File workingFile, File repositoryFile )
+        throws IOException
+    {
+        LocalScmFileEntry entry = getEntry( path );
+        if ( entry == null )
+        {
+            return repositoryFile.isFile() && repositoryFile.length() == workingFile.length()
+                && digest( repositoryFile ).equals( digest( workingFile ) );
+        }
+
+        if ( entry.getSize() != workingFile.length() )
+        {
+            return false;
+        }
+        if ( entry.getLastModified() == workingFile.lastModified() )
+        {
+            return true;
+        }
+        if ( !entry.getHash().equals( digest( workingFile ) ) )
+        {
+            return false;
+        }
+
+        refresh( entry, workingFile );
+        return true;
+    }
+
+    /**
+     * Copies a file, computing its hash on the way, and records it.
+     *
+     * @param path the path of the file relative to the module, separated by slashes
+     * @param from the file to copy
+     * @param to the copy, in the repository or in the working directory
+     * @param toRepository <code>true</code> if the copy is the file of the repository
+     * @throws IOException if the file can't be copied
+     */
+    public void copy( String path, File from, File to, boolean toRepository )
+        throws IOException
+    {
+        MessageDigest digest = newDigest();
+
+        InputStream in = new FileInputStream( from );
+        try
+        {
+            OutputStream out = new FileOutputStream( to );
+            try
+            {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for ( int n = in.read( buffer ); n >= 0; n = in.read( buffer ) )
+                {
+                    digest.update( buffer, 0, n );
+                    out.write( buffer, 0, n );
+                }
+            }
+            finally
+            {
+                IOUtil.close( out );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        String hash = toHex( digest.digest() );
+        if ( toRepository )
+        {
+            // the repository is only read by the provider: the time of the source may be trusted already
+            to.setLastModified( from.lastModified() );
+            record( path, to, from, hash );
+        }
+        else
+        {
+            record( path, from, to, hash );
+        }
+    }
+
+    /**
+     * Forgets a file.
+     */
+    public synchronized void remove( String path )
+    {
+        entries.remove( path );
+    }
+
+    /**
+     * @return <code>true</code> if a file was recorded since the manifest was read from the metadata
+     */
+    public synchronized boolean isChanged()
+    {
+        return changed;
+    }
+
+    /**
+     * Puts the entries in the metadata.
+     */
+    public void writeTo( LocalScmMetadata metadata )
+    {
+        metadata.setFiles( getEntries() );
+    }
+
+    private synchronized void record( String path, File repositoryFile, File workingFile, String hash )
+    {
+        LocalScmFileEntry entry = new LocalScmFileEntry();
+        entry.setPath( path );
+        entry.setSize( workingFile.length() );
+        entry.setLastModified( getTrustedTime( workingFile ) );
+        entry.setRepositoryLastModified( getTrustedTime( repositoryFile ) );
+        entry.setHash( hash );
+        entries.put( path, entry );
+        changed = true;
+    }
+
+    /**
+     * Records the time of a working file whose hash was checked, unless the entry changed meanwhile.
+     */
+    private synchronized void refresh( LocalScmFileEntry entry, File workingFile )
+    {
+        long lastModified = getTrustedTime( workingFile );
+        if ( lastModified < 0 || entries.get( entry.getPath() ) != entry )
+        {
+            return;
+        }
+
+        LocalScmFileEntry refreshed = new LocalScmFileEntry();
+        refreshed.setPath( entry.getPath() );
+        refreshed.setSize( entry.getSize() );
+        refreshed.setLastModified( lastModified );
+        refreshed.setRepositoryLastModified( entry.getRepositoryLastModified() );
+        refreshed.setHash( entry.getHash() );
+        entries.put( entry.getPath(), refreshed );
+        changed = true;
+    }
+
+    /**
+     * @return the time of the file, or <code>-1</code> if it is too recent to be trusted
+     */
+    private static long getTrustedTime( File file )
+    {
+        long lastModified = file.lastModified();
+        return System.currentTimeMillis() - lastModified > TIME_GRANULARITY ? lastModified : -1;
+    }
+
+    /**
+     * @return the SHA-1 hash of the content of the file, in hexadecimal
+     * @throws IOException if the file can't be read
+     */
+    public static String digest( File file )
+        throws IOException
+    {
+        MessageDigest digest = newDigest();
+
+        InputStream in = new FileInputStream( file );
+        try
+        {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for ( int n = in.read( buffer ); n >= 0; n = in.read( buffer ) )
+            {
+                digest.update( buffer, 0, n );
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        return toHex( digest.digest() );
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            // every Java platform has SHA-1
+            throw new IllegalStateException( e.getMessage() );
+        }
+    }
+
+    private static String toHex( byte[] bytes )
+    {
+        char[] chars = new char[bytes.length * 2];
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            chars[i * 2] = HEX[( bytes[i] >> 4 ) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String( chars );
+    }
+}
@@ -21,16 +21,22 @@
 
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.provider.local.metadata.LocalScmManifest;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
 import org.apache.maven.scm.provider.local.metadata.io.xpp3.LocalScmMetadataXpp3Reader;
 import org.apache.maven.scm.tck.command.checkout.CheckOutCommandTckTest;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.Os;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -99,4 +105,199 @@ public void testMetadata()
         List<String> fileNames = FileUtils.getFileNames( root, "**", null, false );
         assertEquals( fileNames, metadata.getRepositoryFileNames() );
     }
+
+    /**
+     * Tests that an incremental checkout keeps the unchanged files, restores the changed ones and deletes the others
+     */
+    public void testIncrementalCheckOut()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( getWorkingCopy() );
+
+        assertResultIsSuccess( checkOut( getWorkingCopy(), getScmRepository() ) );
+
+        File readme = new File( getWorkingCopy(), "readme.txt" );
+        ScmTestCase.makeFile( getWorkingCopy(), "/readme.txt", "changed readme.txt" );
+        File extra = new File( getWorkingCopy(), "extra.txt" );
+        ScmTestCase.makeFile( getWorkingCopy(), "/extra.txt", "extra.txt" );
+        File extraDirectory = new File( getWorkingCopy(), "extra" );
+        ScmTestCase.makeFile( getWorkingCopy(), "/extra/directory/extra.txt", "extra.txt" );
+
+        System.setProperty( LocalCheckOutCommand.INCREMENTAL_PROPERTY, "true" );
+        try
+        {
+            CheckOutScmResult result = checkOut( getWorkingCopy(), getScmRepository() );
+
+            assertResultIsSuccess( result );
+
+            assertEquals( 4, result.getCheckedOutFiles().size() );
+        }
+        finally
+        {
+            System.getProperties().remove( LocalCheckOutCommand.INCREMENTAL_PROPERTY );
+        }
+
+        assertEquals( "/readme.txt", FileUtils.fileRead( readme ) );
+        assertFalse( "Expected extra.txt to be deleted", extra.exists() );
+        assertFalse( "Expected the empty extra directory to be deleted", extraDirectory.exists() );
+        assertFile( getWorkingCopy(), "/src/main/java/Application.java" );
+    }
+
+    /**
+     * Tests that the files linked with ln are the files of the repository
+     */
+    public void testLinkCheckOut()
+        throws Exception
+    {
+        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        {
+            return;
+        }
+
+        checkOut( "link" );
+
+        ScmTestCase.makeFile( getModuleDirectory(), "/readme.txt", "changed readme.txt" );
+        assertEquals( "changed readme.txt", FileUtils.fileRead( new File( getWorkingCopy(), "readme.txt" ) ) );
+        assertFile( getWorkingCopy(), "/src/main/java/Application.java" );
+    }
+
+    /**
+     * Tests that the files linked with ln -s point to the files of the repository
+     */
+    public void testSymlinkCheckOut()
+        throws Exception
+    {
+        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        {
+            return;
+        }
+
+        checkOut( "symlink" );
+
+        assertEquals( new File( getModuleDirectory(), "readme.txt" ).getCanonicalFile(),
+                      new File( getWorkingCopy(), "readme.txt" ).getCanonicalFile() );
+        assertFile( getWorkingCopy(), "/src/test/java/Test.java" );
+    }
+
+    /**
+     * Tests that the cloned files don't change with the repository
+     */
+    public void testCloneCheckOut()
+        throws Exception
+    {
+        checkOut( "clone" );
+
+        ScmTestCase.makeFile( getModuleDirectory(), "/readme.txt", "changed readme.txt" );
+        assertFile( getWorkingCopy(), "/readme.txt" );
+        assertFile( getWorkingCopy(), "/src/main/java/Application.java" );
+    }
+
+    /**
+     * Tests that the files are copied when the command of the strategy fails
+     */
+    public void testCommandFallsBackToCopy()
+        throws Exception
+    {
+        File destination = new File( getWorkingCopy(), "fallback" );
+        FileUtils.deleteDirectory( destination );
+        assertTrue( destination.mkdirs() );
+
+        CommandCheckOutStrategy strategy =
+            new CommandCheckOutStrategy( "cp", new String[] { "--no-such-option" }, new CopyCheckOutStrategy(), null );
+        LocalScmManifest manifest = new LocalScmManifest( null );
+        strategy.checkOut( getModuleFiles( "pom.xml", "readme.txt" ), destination, "", manifest );
+
+        assertEquals( "/readme.txt", FileUtils.fileRead( new File( destination, "readme.txt" ) ) );
+        assertEquals( "/pom.xml", FileUtils.fileRead( new File( destination, "pom.xml" ) ) );
+        // copied, so recorded
+        assertNotNull( manifest.getEntry( "readme.txt" ) );
+    }
+
+    /**
+     * Tests that a failing command without fallback fails the checkout
+     */
+    public void testCommandFailsWithoutFallback()
+        throws Exception
+    {
+        File destination = new File( getWorkingCopy(), "fallback" );
+        FileUtils.deleteDirectory( destination );
+        assertTrue( destination.mkdirs() );
+
+        CommandCheckOutStrategy strategy =
+            new CommandCheckOutStrategy( "cp", new String[] { "--no-such-option" }, null, null );
+        try
+        {
+            strategy.checkOut( getModuleFiles( "readme.txt" ), destination, "", new LocalScmManifest( null ) );
+            fail( "Expected the command to fail" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+
+    /**
+     * Tests that a class implementing the strategy is used
+     */
+    public void testCustomStrategy()
+        throws Exception
+    {
+        CountingCheckOutStrategy.FILES.set( 0 );
+
+        checkOut( CountingCheckOutStrategy.class.getName() );
+
+        assertEquals( 4, CountingCheckOutStrategy.FILES.get() );
+        assertFile( getWorkingCopy(), "/readme.txt" );
+    }
+
+    private void checkOut( String strategy )
+        throws Exception
+    {
+        FileUtils.deleteDirectory( getWorkingCopy() );
+
+        System.setProperty( LocalCheckOutCommand.STRATEGY_PROPERTY, strategy );
+        try
+        {
+            CheckOutScmResult result = checkOut( getWorkingCopy(), getScmRepository() );
+
+            assertResultIsSuccess( result );
+
+            assertEquals( 4, result.getCheckedOutFiles().size() );
+        }
+        finally
+        {
+            System.getProperties().remove( LocalCheckOutCommand.STRATEGY_PROPERTY );
+        }
+    }
+
+    private File getModuleDirectory()
+    {
+        return new File( getRepositoryRoot(), module );
+    }
+
+    private List<File> getModuleFiles( String... names )
+    {
+        File[] files = new File[names.length];
+        for ( int i = 0; i < names.length; i++ )
+        {
+            files[i] = new File( getModuleDirectory(), names[i] );
+        }
+        return Arrays.asList( files );
+    }
+
+    /**
+     * Copies the files, counting them.
+     */
+    public static class CountingCheckOutStrategy
+        implements LocalCheckOutStrategy
+    {
+        static final AtomicInteger FILES = new AtomicInteger();
+
+        public void checkOut( List<File> files, File destination, String path, LocalScmManifest manifest )
+            throws IOException
+        {
+            FILES.addAndGet( files.size() );
+            new CopyCheckOutStrategy().checkOut( files, destination, path, manifest );
+        }
+    }
 }
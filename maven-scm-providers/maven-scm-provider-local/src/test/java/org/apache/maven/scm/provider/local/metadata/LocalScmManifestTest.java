@@ -0,0 +1,148 @@
+package org.apache.maven.scm.provider.local.metadata;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * @since 1.9.3
+ */
+public class LocalScmManifestTest
+    extends ScmTestCase
+{
+    private File repositoryFile;
+
+    private File workingFile;
+
+    public void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        File directory = getTestFile( "target/manifest" );
+        FileUtils.deleteDirectory( directory );
+        FileUtils.mkdir( directory.getAbsolutePath() );
+
+        repositoryFile = new File( directory, "repository.txt" );
+        workingFile = new File( directory, "working.txt" );
+        FileUtils.fileWrite( repositoryFile.getAbsolutePath(), "hello" );
+    }
+
+    public void testCopy()
+        throws Exception
+    {
+        LocalScmManifest manifest = new LocalScmManifest( null );
+
+        assertFalse( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+
+        manifest.copy( "a.txt", repositoryFile, workingFile, false );
+
+        assertEquals( "hello", FileUtils.fileRead( workingFile ) );
+        LocalScmFileEntry entry = manifest.getEntry( "a.txt" );
+        assertEquals( "aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d", entry.getHash() );
+        assertEquals( 5, entry.getSize() );
+        assertTrue( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+    }
+
+    public void testChangedContent()
+        throws Exception
+    {
+        LocalScmManifest manifest = new LocalScmManifest( null );
+        manifest.copy( "a.txt", repositoryFile, workingFile, false );
+
+        // same size, other content
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hellO" );
+        assertFalse( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hello!" );
+        assertFalse( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hello" );
+        assertTrue( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+    }
+
+    public void testTrustedTimeOfRepositoryCopy()
+        throws Exception
+    {
+        long old = System.currentTimeMillis() - 60000;
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hello" );
+        workingFile.setLastModified( old );
+
+        LocalScmManifest manifest = new LocalScmManifest( null );
+        manifest.copy( "a.txt", workingFile, repositoryFile, true );
+
+        assertEquals( workingFile.lastModified(), repositoryFile.lastModified() );
+        assertEquals( workingFile.lastModified(), manifest.getEntry( "a.txt" ).getLastModified() );
+
+        // same size and time: the files are not read
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hellO" );
+        workingFile.setLastModified( old );
+        assertTrue( manifest.isSame( "a.txt", repositoryFile, workingFile ) );
+    }
+
+    public void testStatusRecordsTheTime()
+        throws Exception
+    {
+        LocalScmManifest manifest = new LocalScmManifest( null );
+        manifest.copy( "a.txt", repositoryFile, workingFile, false );
+
+        // just written: the time is not trusted
+        assertEquals( -1, manifest.getEntry( "a.txt" ).getLastModified() );
+
+        long old = System.currentTimeMillis() - 60000;
+        workingFile.setLastModified( old );
+        assertTrue( manifest.isUnchanged( "a.txt", workingFile, repositoryFile ) );
+        long recorded = workingFile.lastModified();
+        assertEquals( recorded, manifest.getEntry( "a.txt" ).getLastModified() );
+        assertTrue( manifest.isChanged() );
+
+        // same size and time: the file is not read
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hellO" );
+        workingFile.setLastModified( old );
+        assertTrue( manifest.isUnchanged( "a.txt", workingFile, repositoryFile ) );
+
+        // a file changed within the same second is checked by its hash
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hello" );
+        assertTrue( manifest.isUnchanged( "a.txt", workingFile, repositoryFile ) );
+        assertEquals( recorded, manifest.getEntry( "a.txt" ).getLastModified() );
+        FileUtils.fileWrite( workingFile.getAbsolutePath(), "hellO" );
+        assertFalse( manifest.isUnchanged( "a.txt", workingFile, repositoryFile ) );
+    }
+
+    public void testMetadata()
+        throws Exception
+    {
+        LocalScmManifest manifest = new LocalScmManifest( null );
+        manifest.copy( "a.txt", repositoryFile, workingFile, false );
+        manifest.copy( "b.txt", repositoryFile, new File( workingFile.getParentFile(), "b.txt" ), false );
+
+        manifest.retain( Collections.singletonList( "b.txt" ) );
+
+        LocalScmMetadata metadata = new LocalScmMetadata();
+        manifest.writeTo( metadata );
+
+        assertEquals( 1, metadata.getFiles().size() );
+        assertEquals( "b.txt", new LocalScmManifest( metadata ).getEntries().get( 0 ).getPath() );
+    }
+}
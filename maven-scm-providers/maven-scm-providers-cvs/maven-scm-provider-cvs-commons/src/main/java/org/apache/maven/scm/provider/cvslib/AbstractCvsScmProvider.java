@@ -24,7 +24,9 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.NoSuchCommandScmException;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
@@ -38,6 +40,7 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.command.list.ListScmResult;
 import org.apache.maven.scm.command.login.LoginScmResult;
 import org.apache.maven.scm.command.mkdir.MkdirScmResult;
@@ -47,7 +50,10 @@
 import org.apache.maven.scm.command.update.UpdateScmResult;
 import org.apache.maven.scm.provider.AbstractScmProvider;
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.command.info.CvsInfoCommand;
+import org.apache.maven.scm.provider.cvslib.command.tag.CvsBatchTagScmResult;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
 import org.apache.maven.scm.repository.UnknownRepositoryStructure;
 import org.codehaus.plexus.util.FileUtils;
@@ -363,6 +369,77 @@ protected ListScmResult list( ScmProviderRepository repository, ScmFileSet fileS
         return (ListScmResult) executeCommand( getListCommand(), repository, fileSet, parameters );
     }
     
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Answered from the <code>CVS</code> administrative files of the working copy, without the server.
+     */
+    public InfoScmResult info( ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        return (InfoScmResult) executeCommand( new CvsInfoCommand(), repository, fileSet, parameters );
+    }
+
+    /**
+     * Tags several modules with one cvs command, then checks with another one which modules are completely tagged.
+     *
+     * @param modules the paths of the modules relative to the root of the repository, with the working directory of
+     *            cvs as base directory
+     * @param scmTagParameters the revision to tag, the head by default
+     * @return the tagged files of every module, successful only if every module is completely tagged
+     * @throws ScmException if the modules can't be tagged
+     * @since 1.9.3
+     */
+    public CvsBatchTagScmResult tagModules( ScmRepository repository, ScmFileSet modules, String tagName,
+                                            ScmTagParameters scmTagParameters )
+        throws ScmException
+    {
+        CommandParameters parameters = new CommandParameters();
+
+        parameters.setString( CommandParameter.TAG_NAME, tagName );
+
+        parameters.setScmTagParameters( CommandParameter.SCM_TAG_PARAMETERS, scmTagParameters );
+
+        return batchTag( repository, modules, parameters );
+    }
+
+    /**
+     * Branches several modules with one cvs command, then checks with another one which modules are completely
+     * branched.
+     *
+     * @see #tagModules(ScmRepository, ScmFileSet, String, ScmTagParameters)
+     * @since 1.9.3
+     */
+    public CvsBatchTagScmResult branchModules( ScmRepository repository, ScmFileSet modules, String branchName )
+        throws ScmException
+    {
+        CommandParameters parameters = new CommandParameters();
+
+        parameters.setString( CommandParameter.BRANCH_NAME, branchName );
+
+        return batchTag( repository, modules, parameters );
+    }
+
+    private CvsBatchTagScmResult batchTag( ScmRepository repository, ScmFileSet modules,
+                                           CommandParameters parameters )
+        throws ScmException
+    {
+        Command command = getBatchTagCommand();
+        if ( command == null )
+        {
+            throw new NoSuchCommandScmException( "batch tag" );
+        }
+
+        LoginScmResult login = login( repository.getProviderRepository(), modules, new CommandParameters() );
+        if ( !login.isSuccess() )
+        {
+            throw new ScmException( "Can't login.\n" + login.getCommandOutput() );
+        }
+
+        return (CvsBatchTagScmResult) executeCommand( command, repository.getProviderRepository(), modules,
+                                                      parameters );
+    }
+
     /** {@inheritDoc} */
     protected MkdirScmResult mkdir( ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters )
         throws ScmException
@@ -754,6 +831,15 @@ else if ( transport.equalsIgnoreCase( TRANSPORT_SSPI ) )
     
     protected abstract Command getMkdirCommand();
 
+    /**
+     * @return the command tagging several modules at once, or <code>null</code> if it is not supported
+     * @since 1.9.3
+     */
+    protected Command getBatchTagCommand()
+    {
+        return null;
+    }
+
     // ----------------------------------------------------------------------
     // Private methods
     // ----------------------------------------------------------------------
@@ -30,12 +30,17 @@
 import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
 import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse </a>
@@ -71,7 +76,15 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
     {
         CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
 
-        Commandline cl = CvsCommandUtils.getBaseCommand( "log", repository, fileSet );
+        boolean rlog = CvsUtil.getSettings().isUseRlog();
+
+        Commandline cl = CvsCommandUtils.getBaseCommand( rlog ? "rlog" : "log", repository, fileSet );
+
+        if ( rlog )
+        {
+            // the tags aren't read, and there can be thousands of them per file on an old repository
+            cl.createArg().setValue( "-N" );
+        }
 
         if ( startDate != null )
         {
@@ -115,20 +128,106 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
             cl.createArg().setValue( sb.toString() );
         }
 
+        String repositoryPath = null;
+
+        if ( rlog )
+        {
+            String directory = getRepositoryDirectory( repository, fileSet.getBasedir() );
+
+            repositoryPath = directory.length() == 0 ? repository.getPath() : repository.getPath() + "/" + directory;
+
+            for ( String target : getRlogTargets( directory, fileSet ) )
+            {
+                cl.createArg().setValue( target );
+            }
+        }
+
         if ( getLogger().isInfoEnabled() )
         {
             getLogger().info( "Executing: " + cl );
             getLogger().info( "Working directory: " + cl.getWorkingDirectory().getAbsolutePath() );
         }
 
-        return executeCvsCommand( cl, startDate, endDate, startVersion, endVersion, datePattern );
+        return executeCvsCommand( cl, startDate, endDate, startVersion, endVersion, datePattern, repositoryPath );
     }
 
+    /**
+     * @param repositoryPath the path of the logged directory in the repository with <code>cvs rlog</code>,
+     *            <code>null</code> with <code>cvs log</code>
+     * @since 1.9.3
+     */
     protected abstract ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate, Date endDate,
                                                              ScmVersion startVersion, ScmVersion endVersion,
-                                                             String datePattern )
+                                                             String datePattern, String repositoryPath )
         throws ScmException;
 
+    /**
+     * @param repositoryPath the path of the logged directory in the repository, <code>null</code> with
+     *            <code>cvs log</code>
+     * @return a consumer for the output of the command, grouping the revisions with the configured commit window
+     * @since 1.9.3
+     */
+    protected CvsChangeLogConsumer createConsumer( String datePattern, String repositoryPath )
+    {
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern, repositoryPath );
+
+        consumer.setCommitWindow( CvsUtil.getSettings().getChangeLogCommitWindow() * 1000L );
+
+        return consumer;
+    }
+
+    /**
+     * @return the directory of the working copy in the repository, relative to the CVSROOT, as read from
+     *         <code>CVS/Repository</code>, or the module if the directory is not a working copy. An empty string is
+     *         the root of the repository.
+     */
+    static String getRepositoryDirectory( CvsScmProviderRepository repository, File basedir )
+        throws ScmException
+    {
+        File file = new File( basedir, "CVS/Repository" );
+        if ( !file.isFile() )
+        {
+            return StringUtils.defaultString( repository.getModule() );
+        }
+
+        String directory;
+        try
+        {
+            directory = FileUtils.fileRead( file ).trim();
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Unable to read " + file, e );
+        }
+
+        // old clients write the absolute path of the directory
+        String root = repository.getPath();
+        if ( root != null && directory.startsWith( root + "/" ) )
+        {
+            directory = directory.substring( root.length() + 1 );
+        }
+        return ".".equals( directory ) ? "" : directory;
+    }
+
+    /**
+     * @param directory the directory of the working copy in the repository
+     * @return the paths to give to <code>cvs rlog</code> for the files of the file set, or for the whole directory
+     */
+    static List<String> getRlogTargets( String directory, ScmFileSet fileSet )
+    {
+        List<String> targets = new ArrayList<String>();
+        for ( File file : fileSet.getFileList() )
+        {
+            String path = file.getPath().replace( '\\', '/' );
+            targets.add( directory.length() == 0 ? path : directory + "/" + path );
+        }
+        if ( targets.isEmpty() )
+        {
+            targets.add( directory.length() == 0 ? "." : directory );
+        }
+        return targets;
+    }
+
     protected String getDateFormat()
     {
         return CvsUtil.getSettings().getChangeLogCommandDateFormat();
@@ -23,15 +23,31 @@
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.codehaus.plexus.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.Set;
+import java.util.TimeZone;
 
 /**
+ * Parses the output of <code>cvs log</code> and <code>cvs rlog</code>.
+ * <p/>
+ * The output lists the revisions file by file; the lines are split with plain string operations and every revision
+ * is kept as a small record. The records are grouped into commits when the modifications are asked for: they are
+ * sorted by author, comment and date, then a single pass merges the consecutive revisions of a commit. A revision
+ * belongs to a commit if it has the same author and comment as the first revision of the commit and the same commit
+ * id, or, for revisions committed without commit id, if it is at most the commit window after the first revision. A
+ * commit never holds two revisions of the same file.
+ * <p/>
+ * <code>cvs log</code> names the files relative to the working directory. <code>cvs rlog</code> only gives their
+ * RCS files, which are made relative to the given repository directory, without the <code>Attic</code>.
+ *
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse </a>
  * @author <a href="mailto:trygvis@inamo.no">Trygve Laugst&oslash;l</a>
  * @author Olivier Lamy
@@ -40,7 +56,7 @@
 public class CvsChangeLogConsumer
     extends AbstractConsumer
 {
-    private List<ChangeSet> entries = new ArrayList<ChangeSet>();
+    private static final TimeZone UTC = TimeZone.getTimeZone( "UTC" );
 
     // state machine constants for reading cvs output
 
@@ -69,6 +85,11 @@
      */
     private static final String START_FILE = "Working file: ";
 
+    /**
+     * Marks the RCS file, the start of file data for <code>rlog</code>
+     */
+    private static final String RCS_FILE = "RCS file: ";
+
     /**
      * Marks end of file
      */
@@ -90,73 +111,129 @@
      */
     private static final String DATE_TAG = "date: ";
 
+    private final List<Revision> revisions = new ArrayList<Revision>();
+
+    private final String userDatePattern;
+
+    /**
+     * the path of the repository directory the RCS files are made relative to, <code>null</code> for
+     * <code>cvs log</code>
+     */
+    private final String repositoryPath;
+
+    private long commitWindow;
+
     /**
      * current status of the parser
      */
     private int status = GET_FILE;
 
     /**
-     * the current log entry being processed by the parser
+     * the file being processed by the parser
      */
-    private ChangeSet currentChange = null;
+    private String currentFile;
 
     /**
-     * the current file being processed by the parser
+     * the revision being processed by the parser
      */
-    private ChangeFile currentFile = null;
+    private Revision currentRevision;
 
-    private String userDatePattern;
+    private StringBuilder currentComment;
+
+    private final Calendar calendar = Calendar.getInstance( UTC );
 
     public CvsChangeLogConsumer( ScmLogger logger, String userDatePattern )
+    {
+        this( logger, userDatePattern, null );
+    }
+
+    /**
+     * @param repositoryPath the path of the repository directory the RCS files given by <code>cvs rlog</code> are
+     *            made relative to, e.g. <code>/cvsroot/module</code>
+     * @since 1.9.3
+     */
+    public CvsChangeLogConsumer( ScmLogger logger, String userDatePattern, String repositoryPath )
     {
         super( logger );
 
         this.userDatePattern = userDatePattern;
+        this.repositoryPath = repositoryPath == null ? null : StringUtils.stripEnd( repositoryPath, "/" ) + "/";
     }
 
+    /**
+     * @param commitWindow the maximum time in milliseconds between two revisions without commit id of the same
+     *            commit, 0 by default
+     * @since 1.9.3
+     */
+    public void setCommitWindow( long commitWindow )
+    {
+        this.commitWindow = commitWindow;
+    }
+
+    /**
+     * @return the commits, by date
+     */
     public List<ChangeSet> getModifications()
     {
-        Collections.sort( entries, new Comparator<ChangeSet>()
+        List<Revision> sorted = new ArrayList<Revision>( revisions );
+        Collections.sort( sorted, new Comparator<Revision>()
         {
-            public int compare( ChangeSet set1, ChangeSet set2 )
+            public int compare( Revision r1, Revision r2 )
             {
-                return set1.getDate().compareTo( set2.getDate() );
+                int result = r1.author.compareTo( r2.author );
+                if ( result == 0 )
+                {
+                    result = r1.comment.compareTo( r2.comment );
+                }
+                if ( result == 0 )
+                {
+                    result = r1.date.compareTo( r2.date );
+                }
+                return result;
             }
         } );
-        List<ChangeSet> fixedModifications = new ArrayList<ChangeSet>();
-        ChangeSet currentEntry = null;
-        for ( Iterator<ChangeSet> entryIterator = entries.iterator(); entryIterator.hasNext(); )
+
+        List<ChangeSet> modifications = new ArrayList<ChangeSet>();
+        ChangeSet current = null;
+        Revision first = null;
+        Set<String> files = new HashSet<String>();
+        for ( Revision revision : sorted )
         {
-            ChangeSet entry = (ChangeSet) entryIterator.next();
-            if ( currentEntry == null )
+            if ( current == null || !isSameCommit( first, revision ) || !files.add( revision.file ) )
             {
-                currentEntry = entry;
-            }
-            else if ( areEqual( currentEntry, entry ) )
-            {
-                currentEntry.addFile( (ChangeFile) entry.getFiles().get( 0 ) );
-            }
-            else
-            {
-                fixedModifications.add( currentEntry );
-                currentEntry = entry;
+                current = new ChangeSet( revision.date, revision.comment, revision.author, null );
+                modifications.add( current );
+                files.clear();
+                files.add( revision.file );
+                first = revision;
             }
+            current.addFile( new ChangeFile( revision.file, revision.revision ) );
         }
-        if ( currentEntry != null )
+
+        Collections.sort( modifications, new Comparator<ChangeSet>()
         {
-            fixedModifications.add( currentEntry );
-        }
-        return fixedModifications;
+            public int compare( ChangeSet set1, ChangeSet set2 )
+            {
+                return set1.getDate().compareTo( set2.getDate() );
+            }
+        } );
+        return modifications;
     }
 
-    private boolean areEqual( ChangeSet set1, ChangeSet set2 )
+    /**
+     * @param first the first revision of the commit, so a commit can't grow past the window one revision at a time
+     */
+    private boolean isSameCommit( Revision first, Revision revision )
     {
-        if ( set1.getAuthor().equals( set2.getAuthor() ) && set1.getComment().equals( set2.getComment() )
-            && set1.getDate().equals( set2.getDate() ) )
+        if ( !first.author.equals( revision.author ) || !first.comment.equals( revision.comment ) )
         {
-            return true;
+            return false;
         }
-        return false;
+        if ( first.commitId != null && revision.commitId != null )
+        {
+            return first.commitId.equals( revision.commitId );
+        }
+        return revision.date.getTime() - first.date.getTime() <= commitWindow;
     }
 
     /** {@inheritDoc} */
@@ -168,7 +245,7 @@ public void consumeLine( String line )
         }
         try
         {
-            switch ( getStatus() )
+            switch ( status )
             {
                 case GET_FILE:
                     processGetFile( line );
@@ -196,40 +273,53 @@ public void consumeLine( String line )
     }
 
     /**
-     * Add a change log entry to the list (if it's not already there) with the
-     * given file.
+     * Process the current input line in the Get File state.
      *
-     * @param entry a {@link ChangeSet}to be added to the list if another
-     *              with the same key doesn't exist already. If the entry's author
-     *              is null, the entry wont be added
-     * @param file  a {@link ChangeFile}to be added to the entry
+     * @param line a line of text from the cvs log output
      */
-    private void addEntry( ChangeSet entry, ChangeFile file )
+    private void processGetFile( String line )
     {
-        // do not add if entry is not populated
-        if ( entry.getAuthor() == null )
+        if ( line.startsWith( RCS_FILE ) )
         {
-            return;
+            // the working file follows with cvs log, not with cvs rlog
+            currentFile = getRelativePath( line.substring( RCS_FILE.length() ) );
+        }
+        else if ( line.startsWith( START_FILE ) )
+        {
+            currentFile = line.substring( START_FILE.length() );
+        }
+        else if ( line.startsWith( START_REVISION ) && currentFile != null )
+        {
+            status = GET_REVISION;
+        }
+        else if ( line.startsWith( END_FILE ) )
+        {
+            // no revision selected
+            currentFile = null;
         }
-
-        entry.addFile( file );
-
-        entries.add( entry );
     }
 
     /**
-     * Process the current input line in the Get File state.
-     *
-     * @param line a line of text from the cvs log output
+     * @param rcsFile the path of an RCS file, e.g. <code>/cvsroot/module/dir/Attic/File.java,v</code>
+     * @return the path of the file relative to the repository directory, e.g. <code>dir/File.java</code>
      */
-    private void processGetFile( String line )
+    private String getRelativePath( String rcsFile )
     {
-        if ( line.startsWith( START_FILE ) )
+        String path = rcsFile.endsWith( ",v" ) ? rcsFile.substring( 0, rcsFile.length() - 2 ) : rcsFile;
+
+        if ( repositoryPath != null && path.startsWith( repositoryPath ) )
+        {
+            path = path.substring( repositoryPath.length() );
+        }
+
+        // the removed files are in the Attic of their directory
+        int slash = path.lastIndexOf( '/' );
+        if ( slash >= 5 && path.regionMatches( slash - 5, "Attic", 0, 5 )
+            && ( slash == 5 || path.charAt( slash - 6 ) == '/' ) )
         {
-            setCurrentChange( new ChangeSet() );
-            setCurrentFile( new ChangeFile( line.substring( START_FILE.length(), line.length() ) ) );
-            setStatus( GET_REVISION );
+            path = path.substring( 0, slash - 5 ) + path.substring( slash + 1 );
         }
+        return path;
     }
 
     /**
@@ -241,16 +331,22 @@ private void processGetRevision( String line )
     {
         if ( line.startsWith( REVISION_TAG ) )
         {
-            getCurrentFile().setRevision( line.substring( REVISION_TAG.length() ) );
-            setStatus( GET_DATE );
+            currentRevision = new Revision();
+            currentRevision.file = currentFile;
+
+            // revision 1.2, or revision 1.2	locked by: user;
+            String revision = line.substring( REVISION_TAG.length() );
+            int end = 0;
+            while ( end < revision.length() && !Character.isWhitespace( revision.charAt( end ) ) )
+            {
+                end++;
+            }
+            currentRevision.revision = revision.substring( 0, end );
+            status = GET_DATE;
         }
         else if ( line.startsWith( END_FILE ) )
         {
-            // If we encounter an end of file line, it means there
-            // are no more revisions for the current file.
-            // there could also be a file still being processed.
-            setStatus( GET_FILE );
-            addEntry( getCurrentChange(), getCurrentFile() );
+            status = GET_FILE;
         }
     }
 
@@ -261,25 +357,44 @@ else if ( line.startsWith( END_FILE ) )
      */
     private void processGetDate( String line )
     {
-        if ( line.startsWith( DATE_TAG ) )
+        if ( !line.startsWith( DATE_TAG ) )
         {
-            StringTokenizer tokenizer = new StringTokenizer( line, ";" );
-            // date: YYYY/mm/dd HH:mm:ss [Z]; author: name;...
+            return;
+        }
 
-            String datePart = tokenizer.nextToken().trim();
-            String dateTime = datePart.substring( "date: ".length() );
-            StringTokenizer dateTokenizer = new StringTokenizer( dateTime, " " );
-            if ( dateTokenizer.countTokens() == 2 )
+        // date: YYYY/mm/dd HH:mm:ss [Z];  author: name;  state: Exp;  lines: +1 -1;  commitid: 1004...;
+        int start = 0;
+        while ( start < line.length() )
+        {
+            int end = line.indexOf( ';', start );
+            if ( end < 0 )
             {
-                dateTime += " UTC";
+                end = line.length();
             }
-            getCurrentChange().setDate( dateTime, userDatePattern );
 
-            String authorPart = tokenizer.nextToken().trim();
-            String author = authorPart.substring( "author: ".length() );
-            getCurrentChange().setAuthor( author );
-            setStatus( GET_COMMENT );
+            int colon = line.indexOf( ": ", start );
+            if ( colon > 0 && colon < end )
+            {
+                String key = line.substring( start, colon ).trim();
+                String value = line.substring( colon + 2, end ).trim();
+                if ( "date".equals( key ) )
+                {
+                    currentRevision.date = parseDate( value );
+                }
+                else if ( "author".equals( key ) )
+                {
+                    currentRevision.author = value;
+                }
+                else if ( "commitid".equals( key ) )
+                {
+                    currentRevision.commitId = value;
+                }
+            }
+            start = end + 1;
         }
+
+        currentComment = new StringBuilder();
+        status = GET_COMMENT;
     }
 
     /**
@@ -291,83 +406,96 @@ private void processGetComment( String line )
     {
         if ( line.startsWith( START_REVISION ) )
         {
-            // add entry, and set state to get revision
-            addEntry( getCurrentChange(), getCurrentFile() );
-            // new change log entry
-            setCurrentChange( new ChangeSet() );
-            // same file name, but different rev
-            setCurrentFile( new ChangeFile( getCurrentFile().getName() ) );
-            setStatus( GET_REVISION );
+            addRevision();
+            status = GET_REVISION;
         }
         else if ( line.startsWith( END_FILE ) )
         {
-            addEntry( getCurrentChange(), getCurrentFile() );
-            setStatus( GET_FILE );
+            addRevision();
+            status = GET_FILE;
         }
         else
         {
             // keep gathering comments
-            getCurrentChange().setComment( getCurrentChange().getComment() + line + "\n" );
+            currentComment.append( line ).append( '\n' );
         }
     }
 
-    /**
-     * Getter for property currentFile.
-     *
-     * @return Value of property currentFile.
-     */
-    private ChangeFile getCurrentFile()
+    private void addRevision()
     {
-        return currentFile;
-    }
+        // do not add if the revision is not populated
+        if ( currentRevision.author == null || currentRevision.date == null )
+        {
+            return;
+        }
 
-    /**
-     * Setter for property currentFile.
-     *
-     * @param currentFile New value of property currentFile.
-     */
-    private void setCurrentFile( ChangeFile currentFile )
-    {
-        this.currentFile = currentFile;
+        currentRevision.comment = currentComment.toString();
+        revisions.add( currentRevision );
     }
 
     /**
-     * Getter for property currentChange.
-     *
-     * @return Value of property currentChange.
+     * @param date the date of a revision, e.g. <code>2002/04/14 22:16:13</code> (UTC) or
+     *            <code>2005-01-26 19:08:06 +0100</code>
      */
-    private ChangeSet getCurrentChange()
+    private Date parseDate( String date )
     {
-        return currentChange;
-    }
+        if ( StringUtils.isNotEmpty( userDatePattern ) )
+        {
+            ChangeSet changeSet = new ChangeSet();
+            changeSet.setDate( date.indexOf( ' ' ) == date.lastIndexOf( ' ' ) ? date + " UTC" : date,
+                               userDatePattern );
+            return changeSet.getDate();
+        }
 
-    /**
-     * Setter for property currentChange.
-     *
-     * @param currentChange New value of property currentChange.
-     */
-    private void setCurrentChange( ChangeSet currentChange )
-    {
-        this.currentChange = currentChange;
-    }
+        int[] fields = new int[6];
+        int field = 0;
+        int index = 0;
+        while ( field < fields.length && index < date.length() )
+        {
+            char c = date.charAt( index++ );
+            if ( c >= '0' && c <= '9' )
+            {
+                fields[field] = fields[field] * 10 + ( c - '0' );
+            }
+            else
+            {
+                field++;
+            }
+        }
+        if ( field < fields.length - 1 )
+        {
+            throw new IllegalArgumentException( "Unable to parse date: " + date );
+        }
 
-    /**
-     * Getter for property status.
-     *
-     * @return Value of property status.
-     */
-    private int getStatus()
-    {
-        return status;
+        calendar.clear();
+        calendar.set( fields[0], fields[1] - 1, fields[2], fields[3], fields[4], fields[5] );
+        long time = calendar.getTimeInMillis();
+
+        // the offset from UTC, e.g. +0100
+        String zone = date.substring( Math.min( index, date.length() ) ).trim();
+        if ( zone.length() == 5 && ( zone.charAt( 0 ) == '+' || zone.charAt( 0 ) == '-' ) )
+        {
+            int offset = Integer.parseInt( zone.substring( 1, 3 ) ) * 60 + Integer.parseInt( zone.substring( 3 ) );
+            time -= ( zone.charAt( 0 ) == '-' ? -offset : offset ) * 60000L;
+        }
+        return new Date( time );
     }
 
     /**
-     * Setter for property status.
-     *
-     * @param status New value of property status.
+     * A revision of a file.
      */
-    private void setStatus( int status )
+    private static class Revision
     {
-        this.status = status;
+        private String file;
+
+        private String revision;
+
+        private Date date;
+
+        private String author;
+
+        private String comment;
+
+        private String commitId;
     }
 }
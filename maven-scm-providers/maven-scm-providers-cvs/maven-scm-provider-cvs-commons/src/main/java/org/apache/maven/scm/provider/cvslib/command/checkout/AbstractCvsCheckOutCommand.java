@@ -20,19 +20,25 @@
  */
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkout.AbstractCheckOutCommand;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
+import org.apache.maven.scm.provider.cvslib.command.update.AbstractCvsUpdateCommand;
+import org.apache.maven.scm.provider.cvslib.command.update.CvsShardedUpdate;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse </a>
@@ -65,10 +71,20 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
 
         CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
 
+        int threads = CvsUtil.getSettings().getCheckoutThreads();
+
+        AbstractCvsUpdateCommand updateCommand = threads > 1 ? getUpdateCommand() : null;
+
         Commandline cl = CvsCommandUtils.getBaseCommand( "checkout", repository, fileSet );
 
         cl.setWorkingDirectory( fileSet.getBasedir().getParentFile().getAbsolutePath() );
 
+        if ( updateCommand != null )
+        {
+            // the files at the top level only, the directories are updated concurrently afterwards
+            cl.createArg().setValue( "-l" );
+        }
+
         if ( version != null && !StringUtils.isEmpty( version.getName() ) )
         {
             cl.createArg().setValue( "-r" );
@@ -87,9 +103,39 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
             getLogger().info( "Working directory: " + cl.getWorkingDirectory().getAbsolutePath() );
         }
 
-        return executeCvsCommand( cl );
+        CheckOutScmResult result = executeCvsCommand( cl );
+
+        if ( updateCommand == null || !result.isSuccess() )
+        {
+            return result;
+        }
+
+        CvsShardedUpdate shardedUpdate = new CvsShardedUpdate( repository, updateCommand, getLogger() );
+
+        UpdateScmResult updateResult =
+            shardedUpdate.update( fileSet.getBasedir(), version, threads, new ArrayList<ScmFile>() );
+
+        if ( !updateResult.isSuccess() )
+        {
+            return new CheckOutScmResult( updateResult.getCommandLine(), updateResult.getProviderMessage(),
+                                          updateResult.getCommandOutput(), false );
+        }
+
+        return new CheckOutScmResult( cl.toString(), CvsShardedUpdate.mergeCheckedOutFiles(
+            result.getCheckedOutFiles(), updateResult.getUpdatedFiles() ) );
     }
 
     protected abstract CheckOutScmResult executeCvsCommand( Commandline cl )
         throws ScmException;
+
+    /**
+     * @return the command updating the top level directories of the module concurrently when more than one
+     *         checkout thread is configured, or <code>null</code> if the module is always checked out by a single cvs
+     *         command. The update command must provide a list command.
+     * @since 1.9.3
+     */
+    protected AbstractCvsUpdateCommand getUpdateCommand()
+    {
+        return null;
+    }
 }
@@ -0,0 +1,152 @@
+package org.apache.maven.scm.provider.cvslib.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the files of a working copy from its <code>CVS</code> administrative files only: cvs has no info command,
+ * and the server is not needed to tell the revision of a checked out file.
+ *
+ * @since 1.9.3
+ */
+public class CvsInfoCommand
+    extends AbstractCommand
+    implements CvsCommand
+{
+    /** {@inheritDoc} */
+    protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                        CommandParameters parameters )
+        throws ScmException
+    {
+        List<File> files = fileSet.getFileList();
+        if ( files.isEmpty() )
+        {
+            files = Collections.singletonList( new File( "." ) );
+        }
+
+        List<InfoItem> items = new ArrayList<InfoItem>();
+        try
+        {
+            for ( File file : files )
+            {
+                File local;
+                if ( file.isAbsolute() )
+                {
+                    local = file;
+                }
+                else
+                {
+                    local = ".".equals( file.getPath() ) ? fileSet.getBasedir()
+                                    : new File( fileSet.getBasedir(), file.getPath() );
+                }
+
+                InfoItem item;
+                if ( local.isDirectory() )
+                {
+                    item = getDirectoryInfo( local );
+                }
+                else
+                {
+                    item = getFileInfo( local );
+                }
+
+                if ( item == null )
+                {
+                    return new InfoScmResult( null, "Not under CVS control: " + local, null, false );
+                }
+
+                item.setPath( file.getPath().replace( '\\', '/' ) );
+                items.add( item );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Unable to read the CVS entries of " + fileSet.getBasedir(), e );
+        }
+
+        return new InfoScmResult( null, items );
+    }
+
+    private static InfoItem getDirectoryInfo( File directory )
+        throws IOException
+    {
+        CvsEntriesIndex.Directory admin = CvsEntriesIndex.getDirectory( directory );
+        if ( admin == null )
+        {
+            return null;
+        }
+
+        InfoItem item = new InfoItem();
+        item.setNodeKind( "directory" );
+        item.setSchedule( "normal" );
+        item.setURL( admin.getRepository() );
+        item.setRepositoryRoot( admin.getRoot() );
+        item.setRevision( admin.getTagName() );
+        return item;
+    }
+
+    private static InfoItem getFileInfo( File file )
+        throws IOException
+    {
+        CvsEntriesIndex.Directory admin = CvsEntriesIndex.getDirectory( file.getParentFile() );
+        CvsEntry entry = admin != null ? admin.getEntries().get( file.getName() ) : null;
+        if ( entry == null )
+        {
+            return null;
+        }
+
+        InfoItem item = new InfoItem();
+        item.setNodeKind( "file" );
+        if ( entry.isAdded() )
+        {
+            item.setSchedule( "add" );
+        }
+        else if ( entry.isRemoved() )
+        {
+            item.setSchedule( "delete" );
+            item.setRevision( entry.getRevision().substring( 1 ) );
+        }
+        else
+        {
+            item.setSchedule( "normal" );
+            item.setRevision( entry.getRevision() );
+        }
+        item.setURL( admin.getRepository() + "/" + file.getName() );
+        item.setRepositoryRoot( admin.getRoot() );
+        return item;
+    }
+}
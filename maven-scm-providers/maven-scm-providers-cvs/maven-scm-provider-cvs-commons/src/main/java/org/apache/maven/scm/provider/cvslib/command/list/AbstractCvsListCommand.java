@@ -20,10 +20,16 @@
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.list.AbstractListCommand;
 import org.apache.maven.scm.command.list.ListScmResult;
@@ -31,6 +37,10 @@
 import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntries;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntry;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -49,6 +59,29 @@ protected ListScmResult executeListCommand( ScmProviderRepository repo, ScmFileS
     {
         CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
 
+        if ( CvsUtil.getSettings().isUseLocalList() )
+        {
+            ListScmResult result = listLocalFiles( repository, fileSet, recursive, version );
+            if ( result != null )
+            {
+                return result;
+            }
+        }
+
+        return listRemoteFiles( repository, fileSet, recursive, version );
+    }
+
+    /**
+     * Lists the entries on the server with <code>rls -e</code>, even if the
+     * {@link org.apache.maven.scm.providers.cvslib.settings.Settings#isUseLocalList() local list} is configured: e.g.
+     * to find the directories missing in a working copy.
+     *
+     * @since 1.9.3
+     */
+    public ListScmResult listRemoteFiles( CvsScmProviderRepository repository, ScmFileSet fileSet, boolean recursive,
+                                          ScmVersion version )
+        throws ScmException
+    {
         Commandline cl = CvsCommandUtils.getBaseCommand( "rls", repository, fileSet, "-n" );
 
         if ( version != null && !StringUtils.isEmpty( version.getName() ) )
@@ -85,6 +118,160 @@ protected ListScmResult executeListCommand( ScmProviderRepository repo, ScmFileS
         return executeCvsCommand( cl );
     }
 
+    /**
+     * Lists the entries from the <code>CVS/Entries</code> files when the targets are checked out in the base directory
+     * with the listed version. Like <code>rls -e</code>, the entries are the bare names of the files and the
+     * directories, and the directories are reported apart.
+     *
+     * @return the entries, or <code>null</code> if the server must be asked
+     */
+    ListScmResult listLocalFiles( CvsScmProviderRepository repository, ScmFileSet fileSet, boolean recursive,
+                                  ScmVersion version )
+        throws ScmException
+    {
+        String stickyTag = version != null && !StringUtils.isEmpty( version.getName() ) ? "T" + version.getName() : "";
+
+        List<ScmFile> files = new ArrayList<ScmFile>();
+        List<String> directories = new ArrayList<String>();
+        try
+        {
+            CvsEntriesIndex.Directory basedir = CvsEntriesIndex.getDirectory( fileSet.getBasedir() );
+            if ( basedir == null || basedir.getRepository() == null || fileSet.getFileList().isEmpty() )
+            {
+                return null;
+            }
+
+            String basePath = basedir.getRepository();
+            if ( basePath.startsWith( repository.getPath() + "/" ) )
+            {
+                basePath = basePath.substring( repository.getPath().length() + 1 );
+            }
+
+            for ( File target : fileSet.getFileList() )
+            {
+                String path = target.getPath().replace( '\\', '/' );
+                if ( path.startsWith( "/" ) )
+                {
+                    path = path.substring( 1 );
+                }
+
+                File local;
+                if ( path.equals( basePath ) )
+                {
+                    local = fileSet.getBasedir();
+                }
+                else if ( path.startsWith( basePath + "/" ) )
+                {
+                    local = new File( fileSet.getBasedir(), path.substring( basePath.length() + 1 ) );
+                }
+                else
+                {
+                    return null;
+                }
+
+                if ( local.isDirectory() )
+                {
+                    if ( !listEntries( local, recursive, stickyTag, files, directories ) )
+                    {
+                        return null;
+                    }
+                }
+                else
+                {
+                    CvsEntriesIndex.Directory directory = CvsEntriesIndex.getDirectory( local.getParentFile() );
+                    CvsEntry entry = directory != null ? directory.getEntries().get( local.getName() ) : null;
+                    if ( entry == null || entry.isAdded() || !stickyTag.equals( entry.getTagOrDate() ) )
+                    {
+                        return null;
+                    }
+                    files.add( new ScmFile( entry.getName(), ScmFileStatus.CHECKED_IN ) );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Unable to read the CVS entries of " + fileSet.getBasedir(), e );
+        }
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Listed " + files.size() + " entries from the working copy " + fileSet.getBasedir() );
+        }
+
+        return new CvsListScmResult( null, files, directories );
+    }
+
+    /**
+     * Adds the entries of a directory of a working copy, the files before the directories.
+     *
+     * @return <code>false</code> if the directory is not a working copy, or if a file sticks to another version
+     */
+    private static boolean listEntries( File directory, boolean recursive, String stickyTag, List<ScmFile> files,
+                                        List<String> directories )
+        throws IOException
+    {
+        CvsEntriesIndex.Directory admin = CvsEntriesIndex.getDirectory( directory );
+        if ( admin == null )
+        {
+            return false;
+        }
+
+        List<String> subdirectories = new ArrayList<String>();
+        for ( CvsEntry entry : admin.getEntries().values() )
+        {
+            if ( entry.isDirectory() )
+            {
+                subdirectories.add( entry.getName() );
+                continue;
+            }
+            // the added files are not in the repository yet, and other sticky tags show other revisions
+            if ( entry.isAdded() )
+            {
+                continue;
+            }
+            if ( !stickyTag.equals( entry.getTagOrDate() ) )
+            {
+                return false;
+            }
+            files.add( new ScmFile( entry.getName(), ScmFileStatus.CHECKED_IN ) );
+        }
+
+        // old clients don't write the D lines, the working copies below the directory are the subdirectories then
+        String[] names = directory.list();
+        if ( names != null )
+        {
+            Arrays.sort( names );
+            for ( String name : names )
+            {
+                if ( !"CVS".equals( name ) && !subdirectories.contains( name )
+                    && CvsEntries.isWorkingDirectory( new File( directory, name ) ) )
+                {
+                    subdirectories.add( name );
+                }
+            }
+        }
+
+        for ( String name : subdirectories )
+        {
+            files.add( new ScmFile( name, ScmFileStatus.CHECKED_IN ) );
+            directories.add( name );
+        }
+
+        if ( recursive )
+        {
+            for ( String name : subdirectories )
+            {
+                File subdirectory = new File( directory, name );
+                if ( subdirectory.isDirectory()
+                    && !listEntries( subdirectory, true, stickyTag, files, directories ) )
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     protected abstract ListScmResult executeCvsCommand( Commandline cl )
         throws ScmException;
 }
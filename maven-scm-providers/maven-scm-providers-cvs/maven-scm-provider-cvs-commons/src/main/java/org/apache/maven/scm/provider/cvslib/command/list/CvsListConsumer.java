@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -38,6 +39,7 @@
  * D/directory1////
  * D/directory2////
  * </pre>
+ * The lines starting with <code>D</code> are directories, the others files.
  *
  * @author <a href="mailto:szakusov@emdev.ru">Sergey Zakusov</a>: implemented to fix "Unknown file status" problem
  *
@@ -49,6 +51,8 @@
 
     private List<ScmFile> entries;
 
+    private List<String> directories = new ArrayList<String>();
+
     /**
      * @param logger is a logger
      */
@@ -80,6 +84,11 @@ public void consumeLine( String i_line )
         else
         {
             entries.add( new ScmFile( params[1], ScmFileStatus.UNKNOWN ) );
+
+            if ( "D".equals( params[0] ) )
+            {
+                directories.add( params[1] );
+            }
         }
     }
 
@@ -90,4 +99,13 @@ public List<ScmFile> getEntries()
     {
         return entries;
     }
+
+    /**
+     * @return the names of the entries which are directories
+     * @since 1.9.3
+     */
+    public List<String> getDirectories()
+    {
+        return directories;
+    }
 }
@@ -0,0 +1,57 @@
+package org.apache.maven.scm.provider.cvslib.command.list;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.command.list.ListScmResult;
+
+import java.util.List;
+
+/**
+ * The entries listed by <code>rls -e</code>, with the names of the entries which are directories.
+ *
+ * @since 1.9.3
+ */
+public class CvsListScmResult
+    extends ListScmResult
+{
+    private static final long serialVersionUID = 7162870513648036151L;
+
+    private final List<String> directories;
+
+    /**
+     * @param files all the entries, the files and the directories
+     * @param directories the names of the entries which are directories
+     */
+    public CvsListScmResult( String commandLine, List<ScmFile> files, List<String> directories )
+    {
+        super( commandLine, files );
+
+        this.directories = directories;
+    }
+
+    /**
+     * @return the names of the listed directories, as they are in the entries
+     */
+    public List<String> getDirectories()
+    {
+        return directories;
+    }
+}
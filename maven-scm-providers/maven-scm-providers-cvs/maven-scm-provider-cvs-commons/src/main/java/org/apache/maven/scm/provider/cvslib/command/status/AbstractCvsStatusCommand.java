@@ -19,16 +19,25 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
 import org.codehaus.plexus.util.cli.Commandline;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  *
@@ -37,11 +46,47 @@
     extends AbstractStatusCommand
     implements CvsCommand
 {
+    /**
+     * The maximum number of candidate files checked by the server with a single command; with more, the whole
+     * working copy is checked
+     */
+    private static final int MAX_CANDIDATES = 200;
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#STATUS_FIRST_CHANGE_ONLY} parameter, which stops the local status at the
+     * first change when the <code>useLocalStatus</code> setting is on.
+     */
+    public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                     CommandParameters parameters )
+        throws ScmException
+    {
+        boolean firstChangeOnly = parameters.getBoolean( CommandParameter.STATUS_FIRST_CHANGE_ONLY, false );
+
+        return executeStatusCommand( (CvsScmProviderRepository) repository, fileSet, firstChangeOnly );
+    }
+
     /** {@inheritDoc} */
     protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmFileSet fileSet )
         throws ScmException
     {
-        CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
+        return executeStatusCommand( (CvsScmProviderRepository) repo, fileSet, false );
+    }
+
+    private StatusScmResult executeStatusCommand( CvsScmProviderRepository repository, ScmFileSet fileSet,
+                                                  boolean firstChangeOnly )
+        throws ScmException
+    {
+        // the local status doesn't see the files changed only on the server, so it must be asked for
+        if ( CvsUtil.getSettings().isUseLocalStatus() )
+        {
+            StatusScmResult result = executeLocalStatusCommand( repository, fileSet, firstChangeOnly );
+            if ( result != null )
+            {
+                return result;
+            }
+        }
 
         Commandline cl = CvsCommandUtils.getBaseCommand( "update", repository, fileSet, "-n" );
 
@@ -56,6 +101,72 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
         return executeCvsCommand( cl );
     }
 
+    /**
+     * Reads the status from the <code>CVS/Entries</code> files, and asks the server only about the files whose time
+     * changed since cvs wrote them. The files which are unchanged locally are not checked on the server.
+     *
+     * @return the status, or <code>null</code> if the whole working copy must be checked by the server
+     */
+    private StatusScmResult executeLocalStatusCommand( CvsScmProviderRepository repository, ScmFileSet fileSet,
+                                                       boolean firstChangeOnly )
+        throws ScmException
+    {
+        CvsLocalStatus localStatus;
+        try
+        {
+            localStatus = new CvsLocalStatus( fileSet.getBasedir(), firstChangeOnly );
+            if ( !localStatus.scan( fileSet.getFileList() ) )
+            {
+                return null;
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Unable to read the CVS entries of " + fileSet.getBasedir(), e );
+        }
+
+        List<ScmFile> changedFiles = new ArrayList<ScmFile>( localStatus.getChangedFiles() );
+        List<String> candidates = localStatus.getCandidates();
+
+        if ( getLogger().isDebugEnabled() )
+        {
+            getLogger().debug( changedFiles.size() + " local changes and " + candidates.size()
+                + " files to check on the server." );
+        }
+
+        if ( candidates.isEmpty() || ( firstChangeOnly && !changedFiles.isEmpty() ) )
+        {
+            return new StatusScmResult( null, changedFiles );
+        }
+        if ( candidates.size() > MAX_CANDIDATES )
+        {
+            return null;
+        }
+
+        Commandline cl = CvsCommandUtils.getBaseCommand( "update", repository, fileSet, "-n" );
+
+        for ( String candidate : candidates )
+        {
+            cl.createArg().setValue( candidate );
+        }
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Executing: " + cl );
+            getLogger().info( "Working directory: " + cl.getWorkingDirectory().getAbsolutePath() );
+        }
+
+        StatusScmResult result = executeCvsCommand( cl );
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+
+        changedFiles.addAll( result.getChangedFiles() );
+
+        return new StatusScmResult( cl.toString(), changedFiles );
+    }
+
     protected abstract StatusScmResult executeCvsCommand( Commandline cl )
         throws ScmException;
 }
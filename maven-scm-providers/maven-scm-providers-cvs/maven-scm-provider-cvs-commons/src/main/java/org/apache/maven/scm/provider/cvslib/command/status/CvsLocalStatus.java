@@ -0,0 +1,304 @@
+package org.apache.maven.scm.provider.cvslib.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntries;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntry;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The local half of a status: the changes a working copy shows without asking the server.
+ * <p/>
+ * The <code>CVS/Entries</code> files tell which files are added or removed, and the time of every file when cvs last
+ * wrote it. A file with the same time is unmodified, like cvs itself assumes, and a missing file is reported as
+ * missing. The other files are candidates: only the server can tell whether their content changed. The files which
+ * are neither entries nor ignored are unknown; the ignore patterns are the default ones of cvs, the ones of
+ * <code>~/.cvsignore</code>, of the <code>CVSIGNORE</code> environment variable and of the <code>.cvsignore</code>
+ * file of the directory, but not the ones of the server.
+ *
+ * @since 1.9.3
+ */
+class CvsLocalStatus
+{
+    /**
+     * The files cvs ignores by default
+     */
+    static final List<String> DEFAULT_IGNORES =
+        Arrays.asList( "RCS", "SCCS", "CVS", "CVS.adm", "RCSLOG", "cvslog.*", "tags", "TAGS", ".make.state",
+                       ".nse_depinfo", "*~", "#*", ".#*", ",*", "_$*", "*$", "*.old", "*.bak", "*.BAK", "*.orig",
+                       "*.rej", ".del-*", "*.a", "*.olb", "*.o", "*.obj", "*.so", "*.exe", "*.Z", "*.elc", "*.ln",
+                       "core" );
+
+    private final File basedir;
+
+    private final boolean firstChangeOnly;
+
+    private final List<String> globalIgnores;
+
+    private final List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+    private final List<String> candidates = new ArrayList<String>();
+
+    /**
+     * @param firstChangeOnly <code>true</code> to stop at the first change
+     */
+    CvsLocalStatus( File basedir, boolean firstChangeOnly )
+        throws IOException
+    {
+        this.basedir = basedir;
+        this.firstChangeOnly = firstChangeOnly;
+
+        globalIgnores = new ArrayList<String>( DEFAULT_IGNORES );
+        File userIgnores = new File( System.getProperty( "user.home" ), ".cvsignore" );
+        if ( userIgnores.isFile() )
+        {
+            addIgnores( globalIgnores, FileUtils.fileRead( userIgnores ) );
+        }
+        addIgnores( globalIgnores, System.getenv( "CVSIGNORE" ) );
+    }
+
+    /**
+     * @param files the files and directories to scan, relative to the base directory, or none for the whole working
+     *            copy
+     * @return <code>false</code> if the base directory is not a working copy
+     */
+    boolean scan( List<File> files )
+        throws IOException
+    {
+        if ( !CvsEntries.isWorkingDirectory( basedir ) )
+        {
+            return false;
+        }
+
+        if ( files.isEmpty() )
+        {
+            scanDirectory( basedir, "" );
+            return true;
+        }
+
+        for ( File file : files )
+        {
+            String path = file.getPath().replace( '\\', '/' );
+            File target = new File( basedir, path );
+            if ( target.isDirectory() && CvsEntries.isWorkingDirectory( target ) )
+            {
+                scanDirectory( target, path + "/" );
+            }
+            else if ( CvsEntries.isWorkingDirectory( target.getParentFile() ) )
+            {
+                String prefix = path.substring( 0, path.length() - target.getName().length() );
+                CvsEntry entry = getEntries( target.getParentFile() ).get( target.getName() );
+                if ( entry != null )
+                {
+                    checkFile( target.getParentFile(), prefix, entry );
+                }
+                else if ( target.isFile() && !isIgnored( target.getName(), getIgnores( target.getParentFile() ) ) )
+                {
+                    changedFiles.add( new ScmFile( path, ScmFileStatus.UNKNOWN ) );
+                }
+            }
+            if ( isDone() )
+            {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the added, removed, missing and unknown files
+     */
+    List<ScmFile> getChangedFiles()
+    {
+        return changedFiles;
+    }
+
+    /**
+     * @return the paths of the files which may be modified, relative to the base directory
+     */
+    List<String> getCandidates()
+    {
+        return candidates;
+    }
+
+    private boolean isDone()
+    {
+        return firstChangeOnly && !changedFiles.isEmpty();
+    }
+
+    private void scanDirectory( File directory, String prefix )
+        throws IOException
+    {
+        Map<String, CvsEntry> entries = getEntries( directory );
+
+        for ( CvsEntry entry : entries.values() )
+        {
+            if ( !entry.isDirectory() )
+            {
+                checkFile( directory, prefix, entry );
+                if ( isDone() )
+                {
+                    return;
+                }
+            }
+        }
+
+        String[] names = directory.list();
+        if ( names == null )
+        {
+            return;
+        }
+        Arrays.sort( names );
+
+        List<String> ignores = null;
+        List<String> subdirectories = new ArrayList<String>();
+        for ( String name : names )
+        {
+            if ( entries.containsKey( name ) && !entries.get( name ).isDirectory() )
+            {
+                continue;
+            }
+
+            File file = new File( directory, name );
+            if ( file.isDirectory() )
+            {
+                // the directories which are not working copies are unknown, but only the files are reported
+                if ( !"CVS".equals( name ) && CvsEntries.isWorkingDirectory( file ) )
+                {
+                    subdirectories.add( name );
+                }
+                continue;
+            }
+
+            if ( ignores == null )
+            {
+                ignores = getIgnores( directory );
+            }
+            if ( !isIgnored( name, ignores ) )
+            {
+                changedFiles.add( new ScmFile( prefix + name, ScmFileStatus.UNKNOWN ) );
+                if ( isDone() )
+                {
+                    return;
+                }
+            }
+        }
+
+        for ( String name : subdirectories )
+        {
+            scanDirectory( new File( directory, name ), prefix + name + "/" );
+            if ( isDone() )
+            {
+                return;
+            }
+        }
+    }
+
+    private void checkFile( File directory, String prefix, CvsEntry entry )
+    {
+        File file = new File( directory, entry.getName() );
+        String path = prefix + entry.getName();
+
+        if ( entry.isRemoved() )
+        {
+            changedFiles.add( new ScmFile( path, ScmFileStatus.DELETED ) );
+        }
+        else if ( !file.isFile() )
+        {
+            changedFiles.add( new ScmFile( path, ScmFileStatus.MISSING ) );
+        }
+        else if ( entry.isAdded() )
+        {
+            changedFiles.add( new ScmFile( path, ScmFileStatus.ADDED ) );
+        }
+        else if ( file.lastModified() / 1000 != entry.getTime() / 1000 )
+        {
+            // touched, edited or merged
+            candidates.add( path );
+        }
+    }
+
+    private static Map<String, CvsEntry> getEntries( File directory )
+        throws IOException
+    {
+        CvsEntriesIndex.Directory admin = CvsEntriesIndex.getDirectory( directory );
+        return admin != null ? admin.getEntries() : Collections.<String, CvsEntry>emptyMap();
+    }
+
+    private List<String> getIgnores( File directory )
+        throws IOException
+    {
+        File file = new File( directory, ".cvsignore" );
+        if ( !file.isFile() )
+        {
+            return globalIgnores;
+        }
+        List<String> ignores = new ArrayList<String>( globalIgnores );
+        addIgnores( ignores, FileUtils.fileRead( file ) );
+        return ignores;
+    }
+
+    /**
+     * @param patterns the patterns separated by white spaces, a <code>!</code> clears the patterns
+     */
+    private static void addIgnores( List<String> ignores, String patterns )
+    {
+        if ( StringUtils.isEmpty( patterns ) )
+        {
+            return;
+        }
+        for ( String pattern : StringUtils.split( patterns ) )
+        {
+            if ( "!".equals( pattern ) )
+            {
+                ignores.clear();
+            }
+            else
+            {
+                ignores.add( pattern );
+            }
+        }
+    }
+
+    private static boolean isIgnored( String name, List<String> ignores )
+    {
+        for ( String pattern : ignores )
+        {
+            if ( SelectorUtils.match( pattern, name ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -92,7 +92,7 @@ else if ( statusString.equals( "M" ) )
         {
             status = ScmFileStatus.MODIFIED;
         }
-        else if ( statusString.equals( "D" ) )
+        else if ( statusString.equals( "D" ) || statusString.equals( "R" ) )
         {
             status = ScmFileStatus.DELETED;
         }
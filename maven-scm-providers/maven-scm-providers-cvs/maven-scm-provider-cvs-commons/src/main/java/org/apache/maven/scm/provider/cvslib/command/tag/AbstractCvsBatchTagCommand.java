@@ -0,0 +1,209 @@
+package org.apache.maven.scm.provider.cvslib.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
+import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
+import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tags or branches several modules of the repository with the same name.
+ * <p/>
+ * All the modules are tagged by a single <code>cvs rtag</code>, then a single <code>cvs rlog -h</code> checks that
+ * every file of every module carries the tag on the tagged revision, so the result tells which modules are completely
+ * tagged before the caller moves on. The modules are the paths of the file set, relative to the root of the
+ * repository; its base directory is only the working directory of cvs. A branch is made when the
+ * {@link CommandParameter#BRANCH_NAME} parameter is set, otherwise the {@link CommandParameter#TAG_NAME} tag is made on
+ * the head, or on the revision of the {@link CommandParameter#SCM_TAG_PARAMETERS}.
+ *
+ * @since 1.9.3
+ */
+public abstract class AbstractCvsBatchTagCommand
+    extends AbstractCommand
+    implements CvsCommand
+{
+    /** {@inheritDoc} */
+    protected ScmResult executeCommand( ScmProviderRepository repo, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
+
+        String branchName = parameters.getString( CommandParameter.BRANCH_NAME, null );
+        boolean branch = branchName != null;
+        String name = branch ? branchName : parameters.getString( CommandParameter.TAG_NAME );
+
+        String revision = null;
+        if ( !branch )
+        {
+            revision = parameters.getScmTagParameters( CommandParameter.SCM_TAG_PARAMETERS ).getScmRevision();
+        }
+
+        List<String> modules = new ArrayList<String>();
+        for ( File file : fileSet.getFileList() )
+        {
+            String module = StringUtils.stripEnd( file.getPath().replace( '\\', '/' ), "/" );
+            modules.add( module.startsWith( "/" ) ? module.substring( 1 ) : module );
+        }
+        if ( modules.isEmpty() )
+        {
+            throw new ScmException( "No module to tag." );
+        }
+
+        Commandline cl = CvsCommandUtils.getBaseCommand( "rtag", repository, fileSet );
+
+        if ( branch )
+        {
+            cl.createArg().setValue( "-b" );
+        }
+
+        if ( branch || CvsUtil.getSettings().isUseForceTag() )
+        {
+            cl.createArg().setValue( "-F" );
+        }
+
+        if ( StringUtils.isNotEmpty( revision ) )
+        {
+            cl.createArg().setValue( "-r" );
+            cl.createArg().setValue( revision );
+        }
+
+        cl.createArg().setValue( name );
+
+        for ( String module : modules )
+        {
+            cl.createArg().setValue( module );
+        }
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Executing: " + cl );
+            getLogger().info( "Working directory: " + cl.getWorkingDirectory().getAbsolutePath() );
+        }
+
+        CommandLineUtils.StringStreamConsumer tagOutput = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer tagErrors = new CommandLineUtils.StringStreamConsumer();
+
+        if ( !executeCvsCommand( cl, tagOutput, tagErrors ) && getLogger().isWarnEnabled() )
+        {
+            getLogger().warn( "The cvs rtag command failed, checking which modules are tagged." );
+        }
+
+        // the files carrying the tag now, whatever the output of rtag
+        Commandline verify = CvsCommandUtils.getBaseCommand( "rlog", repository, fileSet );
+
+        verify.createArg().setValue( "-h" );
+
+        for ( String module : modules )
+        {
+            verify.createArg().setValue( module );
+        }
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Executing: " + verify );
+        }
+
+        CvsTagVerifyConsumer consumer =
+            new CvsTagVerifyConsumer( getLogger(), repository.getPath(), name, branch, revision, modules );
+        CommandLineUtils.StringStreamConsumer verifyErrors = new CommandLineUtils.StringStreamConsumer();
+
+        executeCvsCommand( verify, consumer, verifyErrors );
+
+        Map<String, List<ScmFile>> taggedFiles = new LinkedHashMap<String, List<ScmFile>>();
+        Map<String, String> failedModules = new LinkedHashMap<String, String>();
+        for ( String module : modules )
+        {
+            taggedFiles.put( module, consumer.getTaggedFiles().get( module ) );
+
+            List<String> untagged = consumer.getUntaggedFiles().get( module );
+            String error = getError( tagErrors.getOutput(), module );
+            if ( error != null )
+            {
+                failedModules.put( module, error );
+            }
+            else if ( !consumer.isFound( module ) )
+            {
+                failedModules.put( module, "No file found in the repository." );
+            }
+            else if ( !untagged.isEmpty() )
+            {
+                failedModules.put( module, untagged.size() + " files not tagged on the tagged revision, e.g. "
+                    + untagged.get( 0 ) );
+            }
+        }
+
+        if ( !failedModules.isEmpty() && getLogger().isErrorEnabled() )
+        {
+            for ( Map.Entry<String, String> failure : failedModules.entrySet() )
+            {
+                getLogger().error( "Module " + failure.getKey() + " not tagged with " + name + ": "
+                    + failure.getValue() );
+            }
+        }
+
+        return new CvsBatchTagScmResult( cl.toString(), tagErrors.getOutput() + verifyErrors.getOutput(),
+                                         taggedFiles, failedModules );
+    }
+
+    /**
+     * @param errors the standard error of <code>cvs rtag</code>
+     * @return the line of the errors about the module, e.g. <code>cvs rtag: cannot find module `foo' - ignored</code>
+     */
+    private static String getError( String errors, String module )
+    {
+        for ( String line : StringUtils.split( errors, "\r\n" ) )
+        {
+            if ( line.indexOf( "`" + module + "'" ) >= 0 )
+            {
+                return line.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a cvs command.
+     *
+     * @param stdout the consumer of the standard output
+     * @param stderr the consumer of the standard error
+     * @return <code>true</code> if the command succeeded
+     */
+    protected abstract boolean executeCvsCommand( Commandline cl, StreamConsumer stdout, StreamConsumer stderr )
+        throws ScmException;
+}
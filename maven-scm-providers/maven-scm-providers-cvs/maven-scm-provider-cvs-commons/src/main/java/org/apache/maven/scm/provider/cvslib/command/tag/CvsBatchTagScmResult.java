@@ -0,0 +1,103 @@
+package org.apache.maven.scm.provider.cvslib.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.tag.TagScmResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of tagging several modules at once: the files found with the tag afterwards in every module, and the
+ * modules which are not completely tagged. The result is successful only if every module is.
+ *
+ * @since 1.9.3
+ */
+public class CvsBatchTagScmResult
+    extends TagScmResult
+{
+    private static final long serialVersionUID = 2951046118513290472L;
+
+    private final Map<String, List<ScmFile>> taggedFilesByModule;
+
+    private final Map<String, String> failedModules;
+
+    /**
+     * @param taggedFilesByModule the tagged files of every module, in the order of the modules
+     * @param failedModules the reason of the failure of every failed module
+     */
+    public CvsBatchTagScmResult( String commandLine, String commandOutput,
+                                 Map<String, List<ScmFile>> taggedFilesByModule, Map<String, String> failedModules )
+    {
+        super( getTaggedFiles( taggedFilesByModule ),
+               new ScmResult( commandLine, failedModules.isEmpty() ? null : "Some modules are not tagged: "
+                   + failedModules.keySet(), commandOutput, failedModules.isEmpty() ) );
+
+        this.taggedFilesByModule = taggedFilesByModule;
+        this.failedModules = failedModules;
+    }
+
+    private static List<ScmFile> getTaggedFiles( Map<String, List<ScmFile>> taggedFilesByModule )
+    {
+        List<ScmFile> files = new ArrayList<ScmFile>();
+        for ( List<ScmFile> moduleFiles : taggedFilesByModule.values() )
+        {
+            files.addAll( moduleFiles );
+        }
+        return files;
+    }
+
+    /**
+     * @return the modules, in the order they were given
+     */
+    public List<String> getModules()
+    {
+        return new ArrayList<String>( taggedFilesByModule.keySet() );
+    }
+
+    /**
+     * @return the files of the module found with the tag, by path in the repository
+     */
+    public List<ScmFile> getTaggedFiles( String module )
+    {
+        List<ScmFile> files = taggedFilesByModule.get( module );
+        return files != null ? files : Collections.<ScmFile>emptyList();
+    }
+
+    /**
+     * @return <code>true</code> if every file of the module which should carry the tag does
+     */
+    public boolean isTagged( String module )
+    {
+        return taggedFilesByModule.containsKey( module ) && !failedModules.containsKey( module );
+    }
+
+    /**
+     * @return the reason of the failure of every module which is not completely tagged
+     */
+    public Map<String, String> getFailedModules()
+    {
+        return failedModules;
+    }
+}
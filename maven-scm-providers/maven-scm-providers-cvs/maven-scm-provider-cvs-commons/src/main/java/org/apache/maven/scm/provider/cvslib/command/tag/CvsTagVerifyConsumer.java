@@ -0,0 +1,323 @@
+package org.apache.maven.scm.provider.cvslib.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the headers of <code>cvs rlog -h</code> to check which files of the modules carry a tag on the tagged
+ * revision.
+ * <p/>
+ * A file should carry the tag if it carries the tagged revision, or if it is not dead on the trunk when the head is
+ * tagged: the files of the <code>Attic</code> are not tagged then. As <code>rtag -F</code> leaves a tag where it was
+ * when it can't move it, the revision of the tag must be the head, the tagged revision or the revision of the source
+ * tag; the revision of a branch is its branch point. It is not checked when the header doesn't tell the tagged
+ * revision: when tagging by date, from a branch or from the head of a vendor branch.
+ *
+ * @since 1.9.3
+ */
+public class CvsTagVerifyConsumer
+    implements StreamConsumer
+{
+    private final ScmLogger logger;
+
+    private final String repositoryPath;
+
+    private final String tag;
+
+    private final boolean branch;
+
+    private final String revision;
+
+    private final String sourceTag;
+
+    private final Map<String, List<ScmFile>> taggedFiles = new LinkedHashMap<String, List<ScmFile>>();
+
+    private final Map<String, List<String>> untaggedFiles = new LinkedHashMap<String, List<String>>();
+
+    private final Set<String> foundModules = new HashSet<String>();
+
+    private String path;
+
+    private boolean attic;
+
+    private boolean symbols;
+
+    private String head;
+
+    private String defaultBranch;
+
+    private String tagRevision;
+
+    private String sourceRevision;
+
+    /**
+     * @param repositoryPath the path of the repository on the server
+     * @param tag the tag to look for
+     * @param branch <code>true</code> if the tag is a branch
+     * @param revision the tagged revision, tag or date given to <code>rtag -r</code>, or <code>null</code> if the head
+     *            is tagged
+     * @param modules the paths of the modules in the repository
+     */
+    public CvsTagVerifyConsumer( ScmLogger logger, String repositoryPath, String tag, boolean branch, String revision,
+                                 List<String> modules )
+    {
+        this.logger = logger;
+        this.repositoryPath = repositoryPath.endsWith( "/" ) ? repositoryPath : repositoryPath + "/";
+        this.tag = tag;
+        this.branch = branch;
+        this.revision = StringUtils.isEmpty( revision ) || "HEAD".equals( revision ) ? null : revision;
+        this.sourceTag = isSymbolic( revision ) ? revision : null;
+
+        for ( String module : modules )
+        {
+            taggedFiles.put( module, new ArrayList<ScmFile>() );
+            untaggedFiles.put( module, new ArrayList<String>() );
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void consumeLine( String line )
+    {
+        if ( logger.isDebugEnabled() )
+        {
+            logger.debug( line );
+        }
+
+        if ( line.startsWith( "RCS file: " ) )
+        {
+            setPath( line.substring( "RCS file: ".length() ).trim() );
+        }
+        else if ( line.startsWith( "head:" ) )
+        {
+            head = line.substring( "head:".length() ).trim();
+        }
+        else if ( line.startsWith( "branch:" ) )
+        {
+            defaultBranch = line.substring( "branch:".length() ).trim();
+        }
+        else if ( line.startsWith( "symbolic names:" ) )
+        {
+            symbols = true;
+        }
+        else if ( symbols && line.startsWith( "\t" ) )
+        {
+            int colon = line.indexOf( ':' );
+            String name = colon > 0 ? line.substring( 1, colon ) : line.substring( 1 );
+            String number = colon > 0 ? line.substring( colon + 1 ).trim() : "";
+            if ( name.equals( tag ) )
+            {
+                tagRevision = number;
+            }
+            if ( name.equals( sourceTag ) )
+            {
+                sourceRevision = number;
+            }
+        }
+        else
+        {
+            symbols = false;
+            if ( line.startsWith( "=====" ) && path != null )
+            {
+                addFile();
+                path = null;
+            }
+        }
+    }
+
+    /**
+     * @param rcsFile the path of the RCS file on the server, e.g. <code>/cvs/module/Attic/File.java,v</code>
+     */
+    private void setPath( String rcsFile )
+    {
+        String file = rcsFile.startsWith( repositoryPath ) ? rcsFile.substring( repositoryPath.length() ) : rcsFile;
+        if ( file.endsWith( ",v" ) )
+        {
+            file = file.substring( 0, file.length() - 2 );
+        }
+
+        // the files removed on the trunk are in the Attic of their directory
+        int slash = file.lastIndexOf( '/' );
+        attic = slash >= 5 && file.regionMatches( slash - 5, "Attic", 0, 5 )
+            && ( slash == 5 || file.charAt( slash - 6 ) == '/' );
+        if ( attic )
+        {
+            file = file.substring( 0, slash - 5 ) + file.substring( slash + 1 );
+        }
+
+        path = file;
+        symbols = false;
+        head = null;
+        defaultBranch = null;
+        tagRevision = null;
+        sourceRevision = null;
+    }
+
+    private void addFile()
+    {
+        String module = getModule( path );
+        if ( module == null )
+        {
+            if ( logger.isDebugEnabled() )
+            {
+                logger.debug( "Not in a tagged module: " + path );
+            }
+            return;
+        }
+        foundModules.add( module );
+
+        if ( tagRevision != null && isExpected( tagRevision ) )
+        {
+            taggedFiles.get( module ).add( new ScmFile( path, ScmFileStatus.TAGGED ) );
+        }
+        else if ( sourceTag != null ? sourceRevision != null : !attic )
+        {
+            if ( tagRevision != null && logger.isWarnEnabled() )
+            {
+                logger.warn( "The tag " + tag + " of " + path + " is still on revision " + tagRevision + "." );
+            }
+            untaggedFiles.get( module ).add( path );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the revision of the tag is the tagged revision of the current file, or if the
+     *         tagged revision is unknown
+     */
+    private boolean isExpected( String number )
+    {
+        String expected;
+        if ( sourceTag != null )
+        {
+            expected = isBranch( sourceRevision ) ? null : sourceRevision;
+        }
+        else if ( revision == null )
+        {
+            expected = StringUtils.isEmpty( defaultBranch ) ? head : null;
+        }
+        else
+        {
+            // a date otherwise
+            expected = isNumber( revision ) ? revision : null;
+        }
+
+        return expected == null || expected.equals( branch ? getBranchPoint( number ) : number );
+    }
+
+    /**
+     * @return <code>true</code> if the revision is a tag or a branch, not a number, a date or the head
+     */
+    static boolean isSymbolic( String revision )
+    {
+        return StringUtils.isNotEmpty( revision ) && Character.isLetter( revision.charAt( 0 ) )
+            && !"HEAD".equals( revision ) && revision.indexOf( ' ' ) < 0;
+    }
+
+    private static boolean isNumber( String revision )
+    {
+        for ( int i = 0; i < revision.length(); i++ )
+        {
+            char c = revision.charAt( i );
+            if ( c != '.' && !Character.isDigit( c ) )
+            {
+                return false;
+            }
+        }
+        return revision.length() > 0;
+    }
+
+    /**
+     * @return <code>true</code> if the revision is the number of a branch, e.g. <code>1.3.0.2</code> or the vendor
+     *         branch <code>1.1.1</code>
+     */
+    private static boolean isBranch( String number )
+    {
+        String[] parts = StringUtils.split( number, "." );
+        return parts.length % 2 == 1 || ( parts.length >= 4 && "0".equals( parts[parts.length - 2] ) );
+    }
+
+    /**
+     * @param number the number of a branch
+     * @return the revision the branch starts from, e.g. <code>1.3</code> for <code>1.3.0.2</code>
+     */
+    static String getBranchPoint( String number )
+    {
+        String[] parts = StringUtils.split( number, "." );
+        int length = parts.length % 2 == 1 ? parts.length - 1 : parts.length - 2;
+        StringBuilder point = new StringBuilder();
+        for ( int i = 0; i < length; i++ )
+        {
+            point.append( i > 0 ? "." : "" ).append( parts[i] );
+        }
+        return point.toString();
+    }
+
+    /**
+     * @return the deepest module of the file
+     */
+    private String getModule( String file )
+    {
+        String found = null;
+        for ( String module : taggedFiles.keySet() )
+        {
+            if ( ( file.equals( module ) || file.startsWith( module + "/" ) )
+                && ( found == null || module.length() > found.length() ) )
+            {
+                found = module;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return <code>true</code> if the module has at least one file in the repository
+     */
+    public boolean isFound( String module )
+    {
+        return foundModules.contains( module );
+    }
+
+    /**
+     * @return the files carrying the tag, by module
+     */
+    public Map<String, List<ScmFile>> getTaggedFiles()
+    {
+        return taggedFiles;
+    }
+
+    /**
+     * @return the paths of the files which should carry the tag on the tagged revision but don't, by module
+     */
+    public Map<String, List<String>> getUntaggedFiles()
+    {
+        return untaggedFiles;
+    }
+}
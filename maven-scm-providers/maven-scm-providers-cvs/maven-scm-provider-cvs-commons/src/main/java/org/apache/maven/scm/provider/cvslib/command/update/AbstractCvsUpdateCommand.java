@@ -31,7 +31,9 @@
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommand;
 import org.apache.maven.scm.provider.cvslib.command.CvsCommandUtils;
+import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -51,10 +53,43 @@ public UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFile
     {
         CvsScmProviderRepository repository = (CvsScmProviderRepository) repo;
 
+        int threads = CvsUtil.getSettings().getCheckoutThreads();
+
+        if ( threads > 1 && fileSet.getFileList().isEmpty() && getListCommand() != null )
+        {
+            // the files at the top level first, then every top level directory on its own
+            UpdateScmResult result = executeUpdateCommand( repository, fileSet, version, true );
+
+            if ( !result.isSuccess() )
+            {
+                return result;
+            }
+
+            CvsShardedUpdate shardedUpdate = new CvsShardedUpdate( repository, this, getLogger() );
+
+            return shardedUpdate.update( fileSet.getBasedir(), version, threads, result.getUpdatedFiles() );
+        }
+
+        return executeUpdateCommand( repository, fileSet, version, false );
+    }
+
+    /**
+     * @param local <code>true</code> to update the given directories without their sub directories
+     * @since 1.9.3
+     */
+    protected UpdateScmResult executeUpdateCommand( CvsScmProviderRepository repository, ScmFileSet fileSet,
+                                                    ScmVersion version, boolean local )
+        throws ScmException
+    {
         Commandline cl = CvsCommandUtils.getBaseCommand( "update", repository, fileSet, false );
 
         cl.createArg().setValue( "-d" );
 
+        if ( local )
+        {
+            cl.createArg().setValue( "-l" );
+        }
+
         if ( version != null && StringUtils.isNotEmpty( version.getName() ) )
         {
             cl.createArg().setValue( "-r" + version.getName() );
@@ -81,4 +116,14 @@ public UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFile
 
     protected abstract UpdateScmResult executeCvsCommand( Commandline cl )
         throws ScmException;
+
+    /**
+     * @return the command listing the top level directories of a module, or <code>null</code> if the module is
+     *         always updated by a single cvs command
+     * @since 1.9.3
+     */
+    protected AbstractCvsListCommand getListCommand()
+    {
+        return null;
+    }
 }
@@ -0,0 +1,246 @@
+package org.apache.maven.scm.provider.cvslib.command.update;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListScmResult;
+import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Updates the top level directories of a working copy with several concurrent cvs commands, one per directory.
+ * <p/>
+ * The files at the top level must already be up to date, e.g. after a <code>checkout -l</code> or an
+ * <code>update -l</code>. The top level directories of the module are the <code>D</code> entries listed by
+ * <code>rls -e</code> on the server, never by the local list. The directories missing in the working copy are created first by a
+ * single <code>update -d -l</code>, so only one command writes the top level <code>CVS/Entries</code>, then every
+ * directory is updated by its own <code>update -d</code>. The updated files of all the commands are merged, and the
+ * first failure is the result of the whole update. If the list command can't tell the directories from the files, the
+ * whole working copy is updated by a single <code>update -d</code>.
+ * <p/>
+ * With cvsjava, the concurrent commands take their connections from the connection pool.
+ *
+ * @since 1.9.3
+ */
+public class CvsShardedUpdate
+{
+    private final CvsScmProviderRepository repository;
+
+    private final AbstractCvsUpdateCommand updateCommand;
+
+    private final ScmLogger logger;
+
+    /**
+     * @param updateCommand the command updating the directories, its list command lists them
+     */
+    public CvsShardedUpdate( CvsScmProviderRepository repository, AbstractCvsUpdateCommand updateCommand,
+                             ScmLogger logger )
+    {
+        this.repository = repository;
+        this.updateCommand = updateCommand;
+        this.logger = logger;
+    }
+
+    /**
+     * @param basedir the working copy of the module
+     * @param version the version to update to, may be <code>null</code>
+     * @param threads the maximum number of concurrent updates
+     * @param topLevelFiles the files already updated at the top level, reported with the others
+     * @return the merged result of the updates
+     */
+    public UpdateScmResult update( File basedir, ScmVersion version, int threads, List<ScmFile> topLevelFiles )
+        throws ScmException
+    {
+        List<String> directories = listDirectories( basedir, version );
+
+        List<ScmFile> files = new ArrayList<ScmFile>( topLevelFiles );
+
+        if ( directories == null )
+        {
+            UpdateScmResult result =
+                updateCommand.executeUpdateCommand( repository, new ScmFileSet( basedir ), version, false );
+            if ( !result.isSuccess() )
+            {
+                return result;
+            }
+            files.addAll( result.getUpdatedFiles() );
+            return new UpdateScmResult( result.getCommandLine(), files );
+        }
+
+        if ( directories.isEmpty() )
+        {
+            return new UpdateScmResult( null, files );
+        }
+
+        List<File> missing = new ArrayList<File>();
+        for ( String directory : directories )
+        {
+            if ( !new File( basedir, directory ).isDirectory() )
+            {
+                missing.add( new File( directory ) );
+            }
+        }
+        if ( !missing.isEmpty() )
+        {
+            UpdateScmResult result =
+                updateCommand.executeUpdateCommand( repository, new ScmFileSet( basedir, missing ), version, true );
+            if ( !result.isSuccess() )
+            {
+                return result;
+            }
+            files.addAll( result.getUpdatedFiles() );
+        }
+
+        String commandLine = null;
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, directories.size() ) );
+        try
+        {
+            CompletionService<UpdateScmResult> completionService =
+                new ExecutorCompletionService<UpdateScmResult>( executor );
+
+            for ( String directory : directories )
+            {
+                completionService.submit( new Shard( new ScmFileSet( basedir, new File( directory ) ), version ) );
+            }
+
+            for ( int i = 0; i < directories.size(); i++ )
+            {
+                UpdateScmResult result = completionService.take().get();
+                if ( !result.isSuccess() )
+                {
+                    return result;
+                }
+                if ( commandLine == null )
+                {
+                    commandLine = result.getCommandLine();
+                }
+                files.addAll( result.getUpdatedFiles() );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ScmException( "Interrupted while updating " + basedir, e );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new ScmException( "Error while updating " + basedir, e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        if ( logger.isInfoEnabled() )
+        {
+            logger.info( "Updated " + directories.size() + " directories of " + basedir + " with up to "
+                + Math.min( threads, directories.size() ) + " concurrent cvs commands." );
+        }
+
+        return new UpdateScmResult( commandLine, files );
+    }
+
+    /**
+     * @return the top level directories of the module at the version, or <code>null</code> if the list command doesn't
+     *         report them
+     */
+    List<String> listDirectories( File basedir, ScmVersion version )
+        throws ScmException
+    {
+        // the server, as the working copy may not have the directories yet
+        ListScmResult result = updateCommand.getListCommand().listRemoteFiles(
+            repository, new ScmFileSet( basedir, new File( repository.getModule() ) ), false, version );
+
+        if ( !result.isSuccess() )
+        {
+            throw new ScmException( "Unable to list " + repository.getModule() + ": " + result.getCommandOutput() );
+        }
+
+        if ( !( result instanceof CvsListScmResult ) )
+        {
+            if ( logger.isWarnEnabled() )
+            {
+                logger.warn( "The directories of " + repository.getModule() + " are unknown, updating " + basedir
+                    + " with a single cvs command." );
+            }
+            return null;
+        }
+
+        return ( (CvsListScmResult) result ).getDirectories();
+    }
+
+    /**
+     * Merges the files of a checkout with the files of the update of its working copy.
+     *
+     * @param checkedOutFiles the checked out files, relative to the working copy with a leading slash as the checkout
+     *            reports them
+     * @param updatedFiles the updated files, relative to the working copy
+     * @return the checked out files, then the updated files with the same kind of path
+     */
+    public static List<ScmFile> mergeCheckedOutFiles( List<ScmFile> checkedOutFiles, List<ScmFile> updatedFiles )
+    {
+        List<ScmFile> files = new ArrayList<ScmFile>( checkedOutFiles );
+        for ( ScmFile file : updatedFiles )
+        {
+            String path = file.getPath().replace( '\\', '/' );
+            files.add( new ScmFile( path.startsWith( "/" ) ? path : "/" + path, file.getStatus() ) );
+        }
+        return files;
+    }
+
+    /**
+     * The update of a top level directory.
+     */
+    private class Shard
+        implements Callable<UpdateScmResult>
+    {
+        private final ScmFileSet fileSet;
+
+        private final ScmVersion version;
+
+        private Shard( ScmFileSet fileSet, ScmVersion version )
+        {
+            this.fileSet = fileSet;
+            this.version = version;
+        }
+
+        public UpdateScmResult call()
+            throws ScmException
+        {
+            return updateCommand.executeUpdateCommand( repository, fileSet, version, false );
+        }
+    }
+}
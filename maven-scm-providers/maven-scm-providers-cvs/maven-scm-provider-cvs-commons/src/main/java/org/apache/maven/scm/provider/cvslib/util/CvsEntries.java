@@ -0,0 +1,140 @@
+package org.apache.maven.scm.provider.cvslib.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the entries of a directory of a working copy from its <code>CVS/Entries</code> file and the pending changes
+ * of its <code>CVS/Entries.Log</code> file.
+ *
+ * @since 1.9.3
+ */
+public final class CvsEntries
+{
+    private CvsEntries()
+    {
+    }
+
+    /**
+     * @param directory a directory of a working copy
+     * @return <code>true</code> if the directory has a <code>CVS/Entries</code> file
+     */
+    public static boolean isWorkingDirectory( File directory )
+    {
+        return new File( directory, "CVS/Entries" ).isFile();
+    }
+
+    /**
+     * @param directory a directory of a working copy
+     * @return the entries of the directory by name, in the order of the files
+     * @throws IOException if the entries can't be read
+     */
+    public static Map<String, CvsEntry> read( File directory )
+        throws IOException
+    {
+        Map<String, CvsEntry> entries = new LinkedHashMap<String, CvsEntry>();
+
+        for ( String line : readLines( new File( directory, "CVS/Entries" ) ) )
+        {
+            CvsEntry entry = CvsEntry.parse( line );
+            if ( entry != null )
+            {
+                entries.put( entry.getName(), entry );
+            }
+        }
+
+        // A /name/... or R /name/... lines, not merged into the entries yet
+        File log = new File( directory, "CVS/Entries.Log" );
+        if ( log.isFile() )
+        {
+            for ( String line : readLines( log ) )
+            {
+                CvsEntry entry = line.length() > 2 ? CvsEntry.parse( line.substring( 2 ) ) : null;
+                if ( entry == null )
+                {
+                    continue;
+                }
+                if ( line.charAt( 0 ) == 'A' )
+                {
+                    entries.put( entry.getName(), entry );
+                }
+                else if ( line.charAt( 0 ) == 'R' )
+                {
+                    entries.remove( entry.getName() );
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads a small administrative file at once through its channel.
+     *
+     * @return the lines of the file, without their line terminators
+     */
+    static List<String> readLines( File file )
+        throws IOException
+    {
+        String content;
+
+        FileInputStream in = new FileInputStream( file );
+        try
+        {
+            FileChannel channel = in.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate( (int) channel.size() );
+            while ( buffer.hasRemaining() && channel.read( buffer ) >= 0 )
+            {
+                // a file may be shorter than its size when it is rewritten meanwhile
+            }
+            buffer.flip();
+            content = Charset.defaultCharset().decode( buffer ).toString();
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        List<String> lines = new ArrayList<String>();
+        int start = 0;
+        while ( start < content.length() )
+        {
+            int end = content.indexOf( '\n', start );
+            if ( end < 0 )
+            {
+                end = content.length();
+            }
+            lines.add( content.substring( start, end > start && content.charAt( end - 1 ) == '\r' ? end - 1 : end ) );
+            start = end + 1;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,225 @@
+package org.apache.maven.scm.provider.cvslib.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory index of the <code>CVS</code> administrative directories of the working copies, shared by the
+ * commands of the JVM so the tracked files, their revisions and the sticky tags are read from the disk only once.
+ * <p/>
+ * A directory is read again when the time or the length of one of its administrative files changed. Like cvs
+ * itself, the time of a file is only trusted when it was written a while before it was read: a file rewritten
+ * within the same second may keep its time. The least recently used directories are dropped beyond 10000
+ * directories.
+ *
+ * @since 1.9.3
+ */
+public final class CvsEntriesIndex
+{
+    /**
+     * The administrative files of a directory which are read
+     */
+    private static final String[] ADMIN_FILES = { "Entries", "Entries.Log", "Tag", "Repository", "Root" };
+
+    /**
+     * The time in milliseconds a file must be older than when it is read for its time to be trusted
+     */
+    private static final long TIME_GRANULARITY = 2000;
+
+    /**
+     * The maximum number of directories kept, the least recently used ones are dropped first
+     */
+    private static final int MAX_DIRECTORIES = 10000;
+
+    private static final Map<File, Directory> DIRECTORIES = new LinkedHashMap<File, Directory>( 16, 0.75f, true )
+    {
+        private static final long serialVersionUID = 4372981647201653210L;
+
+        protected boolean removeEldestEntry( Map.Entry<File, Directory> eldest )
+        {
+            return size() > MAX_DIRECTORIES;
+        }
+    };
+
+    private CvsEntriesIndex()
+    {
+    }
+
+    /**
+     * @param directory a directory of a working copy
+     * @return the administrative data of the directory, or <code>null</code> if the directory is not a working copy
+     * @throws IOException if the administrative files can't be read
+     */
+    public static synchronized Directory getDirectory( File directory )
+        throws IOException
+    {
+        File key = directory.getAbsoluteFile();
+
+        long[] stamp = getStamp( key );
+        if ( stamp == null )
+        {
+            DIRECTORIES.remove( key );
+            return null;
+        }
+
+        Directory cached = DIRECTORIES.get( key );
+        if ( cached != null && cached.isValid( stamp ) )
+        {
+            return cached;
+        }
+
+        Directory read = new Directory( key, stamp );
+        DIRECTORIES.put( key, read );
+        return read;
+    }
+
+    /**
+     * Forgets every directory, e.g. after a command changed the working copies.
+     */
+    public static synchronized void clear()
+    {
+        DIRECTORIES.clear();
+    }
+
+    /**
+     * @return the time and the length of each administrative file, or <code>null</code> if the directory is not a
+     *         working copy
+     */
+    private static long[] getStamp( File directory )
+    {
+        File admin = new File( directory, "CVS" );
+
+        long[] stamp = new long[ADMIN_FILES.length * 2];
+        for ( int i = 0; i < ADMIN_FILES.length; i++ )
+        {
+            File file = new File( admin, ADMIN_FILES[i] );
+            stamp[i * 2] = file.lastModified();
+            stamp[i * 2 + 1] = file.length();
+        }
+
+        // no Entries file
+        return stamp[0] == 0 ? null : stamp;
+    }
+
+    /**
+     * The administrative data of a directory of a working copy.
+     */
+    public static final class Directory
+    {
+        private final long[] stamp;
+
+        private final boolean trusted;
+
+        private final Map<String, CvsEntry> entries;
+
+        private final String tag;
+
+        private final String repository;
+
+        private final String root;
+
+        private Directory( File directory, long[] stamp )
+            throws IOException
+        {
+            this.stamp = stamp;
+
+            long newest = 0;
+            for ( int i = 0; i < stamp.length; i += 2 )
+            {
+                newest = Math.max( newest, stamp[i] );
+            }
+            this.trusted = System.currentTimeMillis() - newest > TIME_GRANULARITY;
+
+            this.entries = Collections.unmodifiableMap( CvsEntries.read( directory ) );
+            this.tag = readFirstLine( new File( directory, "CVS/Tag" ) );
+            this.repository = readFirstLine( new File( directory, "CVS/Repository" ) );
+            this.root = readFirstLine( new File( directory, "CVS/Root" ) );
+        }
+
+        private boolean isValid( long[] current )
+        {
+            return trusted && Arrays.equals( stamp, current );
+        }
+
+        private static String readFirstLine( File file )
+            throws IOException
+        {
+            if ( !file.isFile() )
+            {
+                return null;
+            }
+            List<String> lines = CvsEntries.readLines( file );
+            return lines.isEmpty() ? null : lines.get( 0 ).trim();
+        }
+
+        /**
+         * @return the entries of the directory by name, in the order of the files
+         */
+        public Map<String, CvsEntry> getEntries()
+        {
+            return entries;
+        }
+
+        /**
+         * @return the sticky tag of the directory, starting with <code>T</code> for a branch, <code>N</code> for a
+         *         tag or <code>D</code> for a date, or <code>null</code>
+         */
+        public String getTag()
+        {
+            return tag;
+        }
+
+        /**
+         * @return the name of the tag or the branch the directory sticks to, or <code>null</code>
+         */
+        public String getTagName()
+        {
+            if ( tag == null || tag.length() < 2 || !( tag.charAt( 0 ) == 'T' || tag.charAt( 0 ) == 'N' ) )
+            {
+                return null;
+            }
+            return tag.substring( 1 );
+        }
+
+        /**
+         * @return the path of the directory in the repository, relative to its root unless it starts with a
+         *         <code>/</code>
+         */
+        public String getRepository()
+        {
+            return repository;
+        }
+
+        /**
+         * @return the <code>CVSROOT</code> of the directory
+         */
+        public String getRoot()
+        {
+            return root;
+        }
+    }
+}
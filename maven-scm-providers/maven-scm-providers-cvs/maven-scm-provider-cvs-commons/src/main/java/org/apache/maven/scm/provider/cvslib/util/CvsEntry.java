@@ -0,0 +1,200 @@
+package org.apache.maven.scm.provider.cvslib.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * A line of a <code>CVS/Entries</code> file, e.g. <code>/pom.xml/1.12/Wed Jan 26 19:08:06 2005/-kkv/TBRANCH</code>
+ * for a file or <code>D/src////</code> for a directory.
+ *
+ * @since 1.9.3
+ */
+public class CvsEntry
+{
+    private static final List<String> MONTHS =
+        Arrays.asList( "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" );
+
+    private final String name;
+
+    private final boolean directory;
+
+    private final String revision;
+
+    private final String timestamp;
+
+    private final String options;
+
+    private final String tagOrDate;
+
+    public CvsEntry( String name, boolean directory, String revision, String timestamp, String options,
+                     String tagOrDate )
+    {
+        this.name = name;
+        this.directory = directory;
+        this.revision = revision;
+        this.timestamp = timestamp;
+        this.options = options;
+        this.tagOrDate = tagOrDate;
+    }
+
+    /**
+     * @param line a line of a <code>CVS/Entries</code> file
+     * @return the entry, or <code>null</code> if the line is not an entry, e.g. a single <code>D</code>
+     */
+    public static CvsEntry parse( String line )
+    {
+        boolean directory = line.startsWith( "D/" );
+        int start = directory ? 2 : 1;
+        if ( !directory && !line.startsWith( "/" ) )
+        {
+            return null;
+        }
+
+        String[] fields = new String[5];
+        for ( int i = 0; i < fields.length; i++ )
+        {
+            int end = i == fields.length - 1 ? -1 : line.indexOf( '/', start );
+            if ( end < 0 )
+            {
+                end = line.length();
+            }
+            fields[i] = start <= end ? line.substring( start, end ) : "";
+            start = end + 1;
+        }
+        if ( fields[0].length() == 0 )
+        {
+            return null;
+        }
+        return new CvsEntry( fields[0], directory, fields[1], fields[2], fields[3], fields[4] );
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public boolean isDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * @return the revision, <code>0</code> for an added file, preceded by a minus for a removed file
+     */
+    public String getRevision()
+    {
+        return revision;
+    }
+
+    /**
+     * @return the time of the file when cvs last wrote it, e.g. <code>Wed Jan 26 19:08:06 2005</code> in UTC, or a
+     *         marker like <code>Result of merge</code>
+     */
+    public String getTimestamp()
+    {
+        return timestamp;
+    }
+
+    /**
+     * @return the keyword expansion options, e.g. <code>-kb</code>
+     */
+    public String getOptions()
+    {
+        return options;
+    }
+
+    /**
+     * @return the sticky tag, starting with <code>T</code>, or the sticky date, starting with <code>D</code>
+     */
+    public String getTagOrDate()
+    {
+        return tagOrDate;
+    }
+
+    /**
+     * @return <code>true</code> if the file is added but not committed yet
+     */
+    public boolean isAdded()
+    {
+        return "0".equals( revision );
+    }
+
+    /**
+     * @return <code>true</code> if the file is removed but not committed yet
+     */
+    public boolean isRemoved()
+    {
+        return revision.startsWith( "-" );
+    }
+
+    /**
+     * @return the time of the file in milliseconds, truncated to seconds, or <code>-1</code> if the timestamp is not
+     *         a time
+     */
+    public long getTime()
+    {
+        // Wed Jan 26 19:08:06 2005, the day of the month may be padded with a space
+        String[] tokens = new String[5];
+        int count = 0;
+        int start = 0;
+        for ( int i = 0; i <= timestamp.length() && count < tokens.length; i++ )
+        {
+            if ( i == timestamp.length() || timestamp.charAt( i ) == ' ' )
+            {
+                if ( i > start )
+                {
+                    tokens[count++] = timestamp.substring( start, i );
+                }
+                start = i + 1;
+            }
+        }
+
+        int month = count == tokens.length ? MONTHS.indexOf( tokens[1] ) : -1;
+        if ( month < 0 || tokens[3].length() != 8 )
+        {
+            return -1;
+        }
+
+        try
+        {
+            Calendar calendar = Calendar.getInstance( TimeZone.getTimeZone( "UTC" ) );
+            calendar.clear();
+            calendar.set( Integer.parseInt( tokens[4] ), month, Integer.parseInt( tokens[2] ),
+                          Integer.parseInt( tokens[3].substring( 0, 2 ) ),
+                          Integer.parseInt( tokens[3].substring( 3, 5 ) ),
+                          Integer.parseInt( tokens[3].substring( 6, 8 ) ) );
+            return calendar.getTimeInMillis();
+        }
+        catch ( NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+
+    /** {@inheritDoc} */
+    public String toString()
+    {
+        return ( directory ? "D/" : "/" ) + name + "/" + revision + "/" + timestamp + "/" + options + "/" + tagOrDate;
+    }
+}
@@ -29,6 +29,7 @@
 import java.io.InputStreamReader;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -85,4 +86,95 @@ public void testParse()
                         entry.toString().indexOf( "ChangeLogEntry.java" ) == -1 );
         }
     }
+
+    public void testParseRlog()
+        throws Exception
+    {
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( new DefaultLog(), null, "/home/cvs/project" );
+
+        consume( consumer, getTestFile( "/src/test/resources/cvslib/changelog/cvsrlog.txt" ) );
+
+        List<ChangeSet> entries = consumer.getModifications();
+        assertEquals( 5, entries.size() );
+
+        ChangeSet entry = entries.get( 0 );
+        assertEquals( "bob", entry.getAuthor() );
+        assertEquals( "Initial import\n", entry.getComment() );
+        assertEquals( 2, entry.getFiles().size() );
+        assertEquals( "src/main/App.java", entry.getFiles().get( 0 ).getName() );
+        assertEquals( "pom.xml", entry.getFiles().get( 1 ).getName() );
+
+        assertEquals( "Added the\nmain method\n", entries.get( 1 ).getComment() );
+
+        // the revisions with the same commit id, the dead file without the Attic
+        entry = entries.get( 3 );
+        assertEquals( "alice", entry.getAuthor() );
+        assertEquals( 1106762886000L, entry.getDate().getTime() );
+        assertEquals( 2, entry.getFiles().size() );
+        assertEquals( "1.3", entry.getFiles().get( 0 ).getRevision() );
+        assertEquals( "src/main/Old.java", entry.getFiles().get( 1 ).getName() );
+
+        // the branches line is kept in the comment, like cvs prints it
+        assertEquals( "branches:  1.1.2;\nAdded the site\n", entries.get( 4 ).getComment() );
+    }
+
+    public void testCommitWindow()
+        throws Exception
+    {
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( new DefaultLog(), null, "/home/cvs/project" );
+        consumer.setCommitWindow( 5000 );
+
+        consume( consumer, getTestFile( "/src/test/resources/cvslib/changelog/cvsrlog.txt" ) );
+
+        List<ChangeSet> entries = consumer.getModifications();
+        assertEquals( 4, entries.size() );
+        assertEquals( 2, entries.get( 1 ).getFiles().size() );
+        assertEquals( 1106215200000L, entries.get( 1 ).getDate().getTime() );
+    }
+
+    public void testCommitWindowFromFirstRevision()
+        throws Exception
+    {
+        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( new DefaultLog(), null, "/home/cvs/project" );
+        consumer.setCommitWindow( 5000 );
+
+        // each revision is 3 seconds after the previous one, the last one 6 seconds after the first one
+        consumeRevision( consumer, "A.java", "12:00:00" );
+        consumeRevision( consumer, "B.java", "12:00:03" );
+        consumeRevision( consumer, "C.java", "12:00:06" );
+
+        List<ChangeSet> entries = consumer.getModifications();
+        assertEquals( 2, entries.size() );
+        assertEquals( 2, entries.get( 0 ).getFiles().size() );
+        assertEquals( "C.java", entries.get( 1 ).getFiles().get( 0 ).getName() );
+    }
+
+    private static void consumeRevision( CvsChangeLogConsumer consumer, String file, String time )
+    {
+        consumer.consumeLine( "RCS file: /home/cvs/project/" + file + ",v" );
+        consumer.consumeLine( "description:" );
+        consumer.consumeLine( "----------------------------" );
+        consumer.consumeLine( "revision 1.1" );
+        consumer.consumeLine( "date: 2005/01/20 " + time + ";  author: dave;  state: Exp;" );
+        consumer.consumeLine( "Imported the sources" );
+        consumer.consumeLine(
+            "=============================================================================" );
+    }
+
+    private void consume( CvsChangeLogConsumer consumer, File file )
+        throws Exception
+    {
+        BufferedReader in = new BufferedReader( new InputStreamReader( new FileInputStream( file ) ) );
+        try
+        {
+            for ( String line = in.readLine(); line != null; line = in.readLine() )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+    }
 }
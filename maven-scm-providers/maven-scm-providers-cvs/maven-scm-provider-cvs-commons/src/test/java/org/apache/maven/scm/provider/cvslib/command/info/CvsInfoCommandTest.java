@@ -0,0 +1,124 @@
+package org.apache.maven.scm.provider.cvslib.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import junit.framework.TestCase;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsInfoCommandTest
+    extends TestCase
+{
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/cvs-info" ).getAbsoluteFile();
+        FileUtils.deleteDirectory( basedir );
+        new File( basedir, "CVS" ).mkdirs();
+        FileUtils.fileWrite( new File( basedir, "CVS/Entries" ).getPath(),
+                             "/pom.xml/1.2/Wed Jan 26 19:08:06 2005//\n/New.java/0/dummy timestamp//\n"
+                                 + "/Old.java/-1.3/Wed Jan 26 19:08:06 2005//\n" );
+        FileUtils.fileWrite( new File( basedir, "CVS/Repository" ).getPath(), "module\n" );
+        FileUtils.fileWrite( new File( basedir, "CVS/Root" ).getPath(),
+                             ":pserver:anonymous@cvs.example.com:/cvsroot\n" );
+        FileUtils.fileWrite( new File( basedir, "pom.xml" ).getPath(), "<project/>" );
+        FileUtils.fileWrite( new File( basedir, "New.java" ).getPath(), "class New {}" );
+        FileUtils.fileWrite( new File( basedir, "unknown.txt" ).getPath(), "unknown" );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsEntriesIndex.clear();
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testFiles()
+        throws Exception
+    {
+        InfoScmResult result = info( new ScmFileSet( basedir, new File( "pom.xml" ) ) );
+        assertTrue( result.isSuccess() );
+
+        InfoItem item = result.getInfoItems().get( 0 );
+        assertEquals( "pom.xml", item.getPath() );
+        assertEquals( "file", item.getNodeKind() );
+        assertEquals( "normal", item.getSchedule() );
+        assertEquals( "1.2", item.getRevision() );
+        assertEquals( "module/pom.xml", item.getURL() );
+        assertEquals( ":pserver:anonymous@cvs.example.com:/cvsroot", item.getRepositoryRoot() );
+    }
+
+    public void testAddedAndRemovedFiles()
+        throws Exception
+    {
+        List<File> files = Arrays.asList( new File( "New.java" ), new File( "Old.java" ) );
+        List<InfoItem> items = info( new ScmFileSet( basedir, files ) ).getInfoItems();
+
+        assertEquals( "add", items.get( 0 ).getSchedule() );
+        assertNull( items.get( 0 ).getRevision() );
+        assertEquals( "delete", items.get( 1 ).getSchedule() );
+        assertEquals( "1.3", items.get( 1 ).getRevision() );
+    }
+
+    public void testAbsoluteFile()
+        throws Exception
+    {
+        InfoScmResult result = info( new ScmFileSet( basedir, new File( basedir, "pom.xml" ) ) );
+        assertTrue( result.isSuccess() );
+        assertEquals( "1.2", result.getInfoItems().get( 0 ).getRevision() );
+    }
+
+    public void testDirectory()
+        throws Exception
+    {
+        InfoItem item = info( new ScmFileSet( basedir ) ).getInfoItems().get( 0 );
+
+        assertEquals( ".", item.getPath() );
+        assertEquals( "directory", item.getNodeKind() );
+        assertEquals( "module", item.getURL() );
+    }
+
+    public void testUnknownFile()
+        throws Exception
+    {
+        assertFalse( info( new ScmFileSet( basedir, new File( "unknown.txt" ) ) ).isSuccess() );
+    }
+
+    private InfoScmResult info( ScmFileSet fileSet )
+        throws Exception
+    {
+        return (InfoScmResult) new CvsInfoCommand().executeCommand( null, fileSet, new CommandParameters() );
+    }
+}
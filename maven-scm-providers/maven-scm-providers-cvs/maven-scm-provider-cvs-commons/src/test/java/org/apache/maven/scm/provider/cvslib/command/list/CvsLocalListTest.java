@@ -0,0 +1,158 @@
+package org.apache.maven.scm.provider.cvslib.command.list;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsLocalListTest
+    extends TestCase
+{
+    private CvsScmProviderRepository repository;
+
+    private File basedir;
+
+    private AbstractCvsListCommand command;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        repository = new CvsScmProviderRepository( ":pserver:anonymous@cvs.example.com:/cvsroot", "pserver",
+                                                   "anonymous", null, "cvs.example.com", "/cvsroot", "module" );
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/cvs-local-list" );
+        FileUtils.deleteDirectory( basedir );
+
+        writeEntries( basedir, "/cvsroot/module", "/pom.xml/1.2/Wed Jan 26 19:08:06 2005//",
+                      "/New.java/0/dummy timestamp//", "D/src////" );
+        writeEntries( new File( basedir, "src" ), "module/src", "/App.java/1.1/Wed Jan 26 19:08:06 2005//" );
+        // an old client without the D line
+        writeEntries( new File( basedir, "site" ), "module/site", "/index.apt/1.1/Wed Jan 26 19:08:06 2005//" );
+
+        command = new AbstractCvsListCommand()
+        {
+            protected ListScmResult executeCvsCommand( Commandline cl )
+                throws ScmException
+            {
+                throw new ScmException( "not executed" );
+            }
+        };
+        command.setLogger( new DefaultLog() );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsEntriesIndex.clear();
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testTopLevel()
+        throws Exception
+    {
+        ListScmResult result = list( "module", false, null );
+
+        // like rls -e, bare names with the directories, without the added file
+        assertEquals( Arrays.asList( "pom.xml", "src", "site" ), getNames( result ) );
+        assertEquals( Arrays.asList( "src", "site" ), ( (CvsListScmResult) result ).getDirectories() );
+    }
+
+    public void testRecursive()
+        throws Exception
+    {
+        ListScmResult result = list( "module", true, null );
+
+        assertEquals( Arrays.asList( "pom.xml", "src", "site", "App.java", "index.apt" ), getNames( result ) );
+    }
+
+    public void testSubdirectory()
+        throws Exception
+    {
+        assertEquals( Arrays.asList( "App.java" ), getNames( list( "module/src", false, null ) ) );
+    }
+
+    public void testFile()
+        throws Exception
+    {
+        assertEquals( Arrays.asList( "pom.xml" ), getNames( list( "module/pom.xml", false, null ) ) );
+    }
+
+    public void testOtherVersionAsksTheServer()
+        throws Exception
+    {
+        assertNull( list( "module", false, new ScmTag( "RELEASE_1" ) ) );
+    }
+
+    public void testOtherModuleAsksTheServer()
+        throws Exception
+    {
+        assertNull( list( "other", false, null ) );
+    }
+
+    private ListScmResult list( String path, boolean recursive, ScmTag version )
+        throws Exception
+    {
+        return command.listLocalFiles( repository, new ScmFileSet( basedir, new File( path ) ), recursive, version );
+    }
+
+    private static List<String> getNames( ListScmResult result )
+    {
+        List<String> names = new ArrayList<String>();
+        for ( ScmFile file : result.getFiles() )
+        {
+            names.add( file.getPath() );
+        }
+        return names;
+    }
+
+    private static void writeEntries( File directory, String repository, String... entries )
+        throws Exception
+    {
+        StringBuilder content = new StringBuilder();
+        for ( String entry : entries )
+        {
+            content.append( entry ).append( '\n' );
+        }
+        File admin = new File( directory, "CVS" );
+        admin.mkdirs();
+        FileUtils.fileWrite( new File( admin, "Entries" ).getPath(), content.toString() );
+        FileUtils.fileWrite( new File( admin, "Repository" ).getPath(), repository + "\n" );
+    }
+}
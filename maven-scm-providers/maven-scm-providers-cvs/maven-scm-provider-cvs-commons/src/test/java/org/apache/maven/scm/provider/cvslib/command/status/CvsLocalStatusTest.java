@@ -0,0 +1,162 @@
+package org.apache.maven.scm.provider.cvslib.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntry;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsLocalStatusTest
+    extends TestCase
+{
+    private static final String TIMESTAMP = "Wed Jan 26 19:08:06 2005";
+
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/cvs-local-status" );
+        FileUtils.deleteDirectory( basedir );
+
+        writeEntries( basedir, "/unchanged.txt/1.1/" + TIMESTAMP + "//", "/touched.txt/1.2/" + TIMESTAMP + "//",
+                      "/added.txt/0/dummy timestamp//", "/removed.txt/-1.3/" + TIMESTAMP + "//",
+                      "/missing.txt/1.1/" + TIMESTAMP + "//", "D/sub////" );
+        writeFile( basedir, "unchanged.txt", true );
+        writeFile( basedir, "touched.txt", false );
+        writeFile( basedir, "added.txt", false );
+        writeFile( basedir, "unknown.txt", false );
+        writeFile( basedir, "ignored.bak", false );
+        writeFile( basedir, "build.log", false );
+        FileUtils.fileWrite( new File( basedir, ".cvsignore" ).getPath(), "*.log .cvsignore\n" );
+
+        File sub = new File( basedir, "sub" );
+        writeEntries( sub, "/file.txt/1.1/" + TIMESTAMP + "//" );
+        writeFile( sub, "file.txt", true );
+        writeFile( sub, "new.txt", false );
+
+        // not a working copy
+        writeFile( new File( basedir, "target" ), "out.txt", false );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsEntriesIndex.clear();
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testScan()
+        throws Exception
+    {
+        CvsLocalStatus status = new CvsLocalStatus( basedir, false );
+        assertTrue( status.scan( Collections.<File>emptyList() ) );
+
+        assertEquals( "[added.txt added, removed.txt deleted, missing.txt missing, unknown.txt unknown, "
+            + "sub/new.txt unknown]", toString( status.getChangedFiles() ) );
+
+        // only the server can tell if the file changed
+        assertEquals( Collections.singletonList( "touched.txt" ), status.getCandidates() );
+    }
+
+    public void testFirstChangeOnly()
+        throws Exception
+    {
+        CvsLocalStatus status = new CvsLocalStatus( basedir, true );
+        assertTrue( status.scan( Collections.<File>emptyList() ) );
+
+        assertEquals( "[added.txt added]", toString( status.getChangedFiles() ) );
+    }
+
+    public void testScanFiles()
+        throws Exception
+    {
+        List<File> files = new ArrayList<File>();
+        files.add( new File( "unchanged.txt" ) );
+        files.add( new File( "missing.txt" ) );
+        files.add( new File( "sub" ) );
+
+        CvsLocalStatus status = new CvsLocalStatus( basedir, false );
+        assertTrue( status.scan( files ) );
+
+        assertEquals( "[missing.txt missing, sub/new.txt unknown]", toString( status.getChangedFiles() ) );
+        assertTrue( status.getCandidates().isEmpty() );
+    }
+
+    public void testNotWorkingCopy()
+        throws Exception
+    {
+        CvsLocalStatus status = new CvsLocalStatus( new File( basedir, "target" ), false );
+
+        assertFalse( status.scan( Collections.<File>emptyList() ) );
+    }
+
+    private static void writeEntries( File directory, String... entries )
+        throws Exception
+    {
+        StringBuilder content = new StringBuilder();
+        for ( String entry : entries )
+        {
+            content.append( entry ).append( '\n' );
+        }
+        File admin = new File( directory, "CVS" );
+        admin.mkdirs();
+        FileUtils.fileWrite( new File( admin, "Entries" ).getPath(), content.toString() );
+    }
+
+    /**
+     * @param unchanged <code>true</code> to give the file the time of its entry
+     */
+    private static void writeFile( File directory, String name, boolean unchanged )
+        throws Exception
+    {
+        directory.mkdirs();
+        File file = new File( directory, name );
+        FileUtils.fileWrite( file.getPath(), name );
+        if ( unchanged )
+        {
+            file.setLastModified( CvsEntry.parse( "/" + name + "/1.1/" + TIMESTAMP + "//" ).getTime() );
+        }
+    }
+
+    private static String toString( List<ScmFile> files )
+    {
+        List<String> changes = new ArrayList<String>();
+        for ( ScmFile file : files )
+        {
+            changes.add( file.getPath() + " " + file.getStatus() );
+        }
+        return changes.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package org.apache.maven.scm.provider.cvslib.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsStatusConsumerTest
+    extends TestCase
+{
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/cvs-status-consumer" );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+        FileUtils.fileWrite( new File( basedir, "modified.txt" ).getPath(), "modified" );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testStatus()
+    {
+        CvsStatusConsumer consumer = new CvsStatusConsumer( new DefaultLog(), basedir );
+
+        consumer.consumeLine( "M modified.txt" );
+        consumer.consumeLine( "R removed.txt" );
+        consumer.consumeLine( "D deleted.txt" );
+        consumer.consumeLine( "U updated.txt" );
+        consumer.consumeLine( "P patched.txt" );
+        consumer.consumeLine( "M gone.txt" );
+
+        List<ScmFile> files = consumer.getChangedFiles();
+        assertEquals( 3, files.size() );
+        assertEquals( "modified.txt", files.get( 0 ).getPath() );
+        assertEquals( ScmFileStatus.MODIFIED, files.get( 0 ).getStatus() );
+
+        // cvs -n update prints R for a file removed but not committed yet
+        assertEquals( "removed.txt", files.get( 1 ).getPath() );
+        assertEquals( ScmFileStatus.DELETED, files.get( 1 ).getStatus() );
+        assertEquals( ScmFileStatus.DELETED, files.get( 2 ).getStatus() );
+    }
+}
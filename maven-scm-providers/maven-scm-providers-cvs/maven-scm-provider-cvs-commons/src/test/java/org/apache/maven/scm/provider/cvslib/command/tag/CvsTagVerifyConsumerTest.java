@@ -0,0 +1,167 @@
+package org.apache.maven.scm.provider.cvslib.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.DefaultLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsTagVerifyConsumerTest
+    extends TestCase
+{
+    private static final String[] RLOG = {
+        "",
+        "RCS file: /cvs/mod1/src/App.java,v",
+        "head: 1.3",
+        "branch:",
+        "locks: strict",
+        "access list:",
+        "symbolic names:",
+        "\tREL_1: 1.3",
+        "\tBETA: 1.2",
+        "keyword substitution: kv",
+        "total revisions: 3",
+        "=============================================================================",
+        "",
+        "RCS file: /cvs/mod1/src/Attic/Old.java,v",
+        "head: 1.2",
+        "symbolic names:",
+        "\tBETA: 1.1",
+        "keyword substitution: kv",
+        "=============================================================================",
+        "",
+        "RCS file: /cvs/mod2/pom.xml,v",
+        "head: 1.1",
+        "symbolic names:",
+        "keyword substitution: kv",
+        "=============================================================================" };
+
+    private CvsTagVerifyConsumer parse( String revision )
+    {
+        return parse( false, revision, RLOG );
+    }
+
+    private CvsTagVerifyConsumer parse( boolean branch, String revision, String... rlog )
+    {
+        CvsTagVerifyConsumer consumer =
+            new CvsTagVerifyConsumer( new DefaultLog(), "/cvs", "REL_1", branch, revision,
+                                      Arrays.asList( "mod1", "mod2", "mod3" ) );
+        for ( String line : rlog )
+        {
+            consumer.consumeLine( line );
+        }
+        return consumer;
+    }
+
+    private static String[] header( String head, String defaultBranch, String... symbols )
+    {
+        List<String> lines = new ArrayList<String>();
+        lines.add( "RCS file: /cvs/mod1/pom.xml,v" );
+        lines.add( "head: " + head );
+        lines.add( "branch: " + defaultBranch );
+        lines.add( "symbolic names:" );
+        for ( String symbol : symbols )
+        {
+            lines.add( "\t" + symbol );
+        }
+        lines.add( "keyword substitution: kv" );
+        lines.add( "=============================================================================" );
+        return lines.toArray( new String[lines.size()] );
+    }
+
+    private static boolean isTagged( CvsTagVerifyConsumer consumer )
+    {
+        boolean tagged = !consumer.getTaggedFiles().get( "mod1" ).isEmpty();
+        assertEquals( tagged, consumer.getUntaggedFiles().get( "mod1" ).isEmpty() );
+        return tagged;
+    }
+
+    public void testHead()
+    {
+        CvsTagVerifyConsumer consumer = parse( null );
+
+        List<ScmFile> tagged = consumer.getTaggedFiles().get( "mod1" );
+        assertEquals( 1, tagged.size() );
+        assertEquals( "mod1/src/App.java", tagged.get( 0 ).getPath() );
+        assertEquals( ScmFileStatus.TAGGED, tagged.get( 0 ).getStatus() );
+
+        // the dead file is not expected to be tagged
+        assertTrue( consumer.getUntaggedFiles().get( "mod1" ).isEmpty() );
+        assertEquals( Arrays.asList( "mod2/pom.xml" ), consumer.getUntaggedFiles().get( "mod2" ) );
+
+        assertTrue( consumer.isFound( "mod2" ) );
+        assertFalse( consumer.isFound( "mod3" ) );
+    }
+
+    public void testSourceTag()
+    {
+        CvsTagVerifyConsumer consumer = parse( "BETA" );
+
+        // REL_1 was not moved from the head to BETA
+        assertEquals( Arrays.asList( "mod1/src/App.java", "mod1/src/Old.java" ),
+                      consumer.getUntaggedFiles().get( "mod1" ) );
+        assertTrue( consumer.getTaggedFiles().get( "mod1" ).isEmpty() );
+        assertTrue( consumer.getUntaggedFiles().get( "mod2" ).isEmpty() );
+
+        assertTrue( isTagged( parse( false, "BETA", header( "1.3", "", "REL_1: 1.2", "BETA: 1.2" ) ) ) );
+    }
+
+    public void testStaleTagOnHead()
+    {
+        assertFalse( isTagged( parse( false, null, header( "1.4", "", "REL_1: 1.3" ) ) ) );
+        assertFalse( isTagged( parse( false, "HEAD", header( "1.4", "", "REL_1: 1.3" ) ) ) );
+        assertTrue( isTagged( parse( false, "HEAD", header( "1.4", "", "REL_1: 1.4" ) ) ) );
+    }
+
+    public void testRevisionNumber()
+    {
+        assertTrue( isTagged( parse( false, "1.2", header( "1.4", "", "REL_1: 1.2" ) ) ) );
+        assertFalse( isTagged( parse( false, "1.2", header( "1.4", "", "REL_1: 1.4" ) ) ) );
+    }
+
+    public void testBranch()
+    {
+        assertTrue( isTagged( parse( true, null, header( "1.4", "", "REL_1: 1.4.0.2" ) ) ) );
+        assertFalse( isTagged( parse( true, null, header( "1.4", "", "REL_1: 1.3.0.2" ) ) ) );
+    }
+
+    public void testUnknownRevision()
+    {
+        // the header doesn't tell the revision at a date, the head of a branch or of the vendor branch
+        assertTrue( isTagged( parse( false, "2005-01-26 19:08", header( "1.4", "", "REL_1: 1.3" ) ) ) );
+        assertTrue( isTagged( parse( false, "BETA", header( "1.4", "", "REL_1: 1.3.2.1", "BETA: 1.3.0.2" ) ) ) );
+        assertTrue( isTagged( parse( false, null, header( "1.1", "1.1.1", "REL_1: 1.1.1.3" ) ) ) );
+    }
+
+    public void testGetBranchPoint()
+    {
+        assertEquals( "1.3", CvsTagVerifyConsumer.getBranchPoint( "1.3.0.2" ) );
+        assertEquals( "1.3.2.1", CvsTagVerifyConsumer.getBranchPoint( "1.3.2.1.0.4" ) );
+        assertEquals( "1.1", CvsTagVerifyConsumer.getBranchPoint( "1.1.1" ) );
+    }
+}
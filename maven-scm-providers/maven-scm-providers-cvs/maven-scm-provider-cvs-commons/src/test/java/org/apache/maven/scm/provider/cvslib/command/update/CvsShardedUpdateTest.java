@@ -0,0 +1,266 @@
+package org.apache.maven.scm.provider.cvslib.command.update;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.changelog.ChangeLogCommand;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListConsumer;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListScmResult;
+import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
+import org.apache.maven.scm.provider.cvslib.util.CvsEntriesIndex;
+import org.apache.maven.scm.provider.cvslib.util.CvsUtil;
+import org.apache.maven.scm.providers.cvslib.settings.Settings;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsShardedUpdateTest
+    extends TestCase
+{
+    private static final String[] RLS_OUTPUT = {
+        "/README.txt/1.2/Wed Jan 26 19:08:06 2005//",
+        "D/src////",
+        "/pom.xml/1.9/Wed Jan 26 19:08:06 2005/-kkv/",
+        "D/docs////",
+        ""
+    };
+
+    private CvsScmProviderRepository repository;
+
+    private File basedir;
+
+    private FakeUpdateCommand updateCommand;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        repository = new CvsScmProviderRepository( ":pserver:anonymous@cvs.example.com:/cvsroot", "pserver",
+                                                   "anonymous", null, "cvs.example.com", "/cvsroot", "module" );
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/sharded-update" );
+        FileUtils.deleteDirectory( basedir );
+        basedir.mkdirs();
+
+        updateCommand = new FakeUpdateCommand( new FakeListCommand( true ) );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsUtil.settings = null;
+        CvsEntriesIndex.clear();
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testListDirectories()
+        throws Exception
+    {
+        // a directory which exists as a file is still a directory on the server
+        FileUtils.fileWrite( new File( basedir, "docs" ).getPath(), "not a directory" );
+
+        assertEquals( Arrays.asList( "src", "docs" ), newUpdate().listDirectories( basedir, null ) );
+    }
+
+    public void testListDirectoriesWithLocalList()
+        throws Exception
+    {
+        Settings settings = new Settings();
+        settings.setUseLocalList( true );
+        CvsUtil.settings = settings;
+
+        // a fresh checkout of the top level files only: the directories are still on the server alone
+        File admin = new File( basedir, "CVS" );
+        admin.mkdirs();
+        FileUtils.fileWrite( new File( admin, "Entries" ).getPath(), "/pom.xml/1.9/Wed Jan 26 19:08:06 2005//\n" );
+        FileUtils.fileWrite( new File( admin, "Repository" ).getPath(), "module\n" );
+
+        assertEquals( Arrays.asList( "src", "docs" ), newUpdate().listDirectories( basedir, null ) );
+    }
+
+    public void testListDirectoriesOfUnknownResult()
+        throws Exception
+    {
+        updateCommand = new FakeUpdateCommand( new FakeListCommand( false ) );
+
+        assertNull( newUpdate().listDirectories( basedir, null ) );
+    }
+
+    public void testUpdate()
+        throws Exception
+    {
+        new File( basedir, "src" ).mkdirs();
+
+        List<ScmFile> topLevelFiles = Collections.singletonList( new ScmFile( "pom.xml", ScmFileStatus.UPDATED ) );
+        UpdateScmResult result = newUpdate().update( basedir, null, 2, topLevelFiles );
+        assertTrue( result.isSuccess() );
+
+        // the missing directory is created first, on its own
+        assertEquals( "local docs", updateCommand.updates.get( 0 ) );
+        List<String> shards = new ArrayList<String>( updateCommand.updates.subList( 1, 3 ) );
+        Collections.sort( shards );
+        assertEquals( Arrays.asList( "docs", "src" ), shards );
+        assertEquals( 3, updateCommand.updates.size() );
+
+        List<String> paths = new ArrayList<String>();
+        for ( ScmFile file : result.getUpdatedFiles() )
+        {
+            paths.add( file.getPath() );
+        }
+        assertEquals( "pom.xml", paths.get( 0 ) );
+        assertEquals( 3, paths.size() );
+        assertTrue( paths.contains( "docs/file.txt" ) );
+        assertTrue( paths.contains( "src/file.txt" ) );
+    }
+
+    public void testUpdateOfUnknownDirectories()
+        throws Exception
+    {
+        updateCommand = new FakeUpdateCommand( new FakeListCommand( false ) );
+
+        UpdateScmResult result = newUpdate().update( basedir, null, 2, new ArrayList<ScmFile>() );
+        assertTrue( result.isSuccess() );
+
+        // a single update of the whole working copy
+        assertEquals( Collections.singletonList( "" ), updateCommand.updates );
+    }
+
+    public void testMergeCheckedOutFiles()
+    {
+        List<ScmFile> checkedOut = Collections.singletonList( new ScmFile( "/pom.xml", ScmFileStatus.CHECKED_OUT ) );
+        List<ScmFile> updated = Arrays.asList( new ScmFile( "src/App.java", ScmFileStatus.UPDATED ),
+                                               new ScmFile( "src\\site\\index.apt", ScmFileStatus.PATCHED ) );
+
+        List<ScmFile> files = CvsShardedUpdate.mergeCheckedOutFiles( checkedOut, updated );
+
+        assertEquals( 3, files.size() );
+        assertEquals( "/pom.xml", files.get( 0 ).getPath() );
+        assertEquals( "/src/App.java", files.get( 1 ).getPath() );
+        assertEquals( ScmFileStatus.UPDATED, files.get( 1 ).getStatus() );
+        assertEquals( "/src/site/index.apt", files.get( 2 ).getPath() );
+        assertEquals( ScmFileStatus.PATCHED, files.get( 2 ).getStatus() );
+    }
+
+    private CvsShardedUpdate newUpdate()
+    {
+        return new CvsShardedUpdate( repository, updateCommand, new DefaultLog() );
+    }
+
+    /**
+     * Lists the module with a fixed <code>rls -e</code> output.
+     */
+    private static class FakeListCommand
+        extends AbstractCvsListCommand
+    {
+        private final boolean directories;
+
+        /**
+         * @param directories <code>false</code> to list the entries without telling the directories
+         */
+        FakeListCommand( boolean directories )
+        {
+            this.directories = directories;
+            setLogger( new DefaultLog() );
+        }
+
+        protected ListScmResult executeCvsCommand( Commandline cl )
+        {
+            CvsListConsumer consumer = new CvsListConsumer( getLogger() );
+            for ( String line : RLS_OUTPUT )
+            {
+                consumer.consumeLine( line );
+            }
+            if ( !directories )
+            {
+                return new ListScmResult( cl.toString(), consumer.getEntries() );
+            }
+            return new CvsListScmResult( cl.toString(), consumer.getEntries(), consumer.getDirectories() );
+        }
+    }
+
+    /**
+     * Records the updated directories and updates one file in each.
+     */
+    private static class FakeUpdateCommand
+        extends AbstractCvsUpdateCommand
+    {
+        private final List<String> updates = Collections.synchronizedList( new ArrayList<String>() );
+
+        private final AbstractCvsListCommand listCommand;
+
+        FakeUpdateCommand( AbstractCvsListCommand listCommand )
+        {
+            this.listCommand = listCommand;
+            setLogger( new DefaultLog() );
+        }
+
+        protected UpdateScmResult executeUpdateCommand( CvsScmProviderRepository repository, ScmFileSet fileSet,
+                                                        ScmVersion version, boolean local )
+        {
+            List<ScmFile> files = new ArrayList<ScmFile>();
+            StringBuilder update = new StringBuilder( local ? "local" : "" );
+            for ( File file : fileSet.getFileList() )
+            {
+                update.append( update.length() > 0 ? " " : "" ).append( file.getPath() );
+                if ( !local )
+                {
+                    files.add( new ScmFile( file.getPath() + "/file.txt", ScmFileStatus.UPDATED ) );
+                }
+            }
+            updates.add( update.toString() );
+            return new UpdateScmResult( "cvs update", files );
+        }
+
+        protected UpdateScmResult executeCvsCommand( Commandline cl )
+            throws ScmException
+        {
+            throw new ScmException( "not executed" );
+        }
+
+        protected ChangeLogCommand getChangeLogCommand()
+        {
+            return null;
+        }
+
+        protected AbstractCvsListCommand getListCommand()
+        {
+            return listCommand;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.apache.maven.scm.provider.cvslib.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsEntriesIndexTest
+    extends TestCase
+{
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( System.getProperty( "basedir", "." ), "target/cvs-entries-index" );
+        FileUtils.deleteDirectory( basedir );
+        new File( basedir, "CVS" ).mkdirs();
+        writeAdminFile( "Entries", "/pom.xml/1.2/Wed Jan 26 19:08:06 2005//\nD/src////\n" );
+        writeAdminFile( "Repository", "project/module\n" );
+        writeAdminFile( "Root", ":pserver:anonymous@cvs.example.com:/cvsroot\n" );
+        writeAdminFile( "Tag", "TBRANCH_1\n" );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsEntriesIndex.clear();
+        FileUtils.deleteDirectory( basedir );
+        super.tearDown();
+    }
+
+    public void testDirectory()
+        throws Exception
+    {
+        CvsEntriesIndex.Directory directory = CvsEntriesIndex.getDirectory( basedir );
+
+        assertEquals( 2, directory.getEntries().size() );
+        assertEquals( "1.2", directory.getEntries().get( "pom.xml" ).getRevision() );
+        assertTrue( directory.getEntries().get( "src" ).isDirectory() );
+        assertEquals( "project/module", directory.getRepository() );
+        assertEquals( ":pserver:anonymous@cvs.example.com:/cvsroot", directory.getRoot() );
+        assertEquals( "TBRANCH_1", directory.getTag() );
+        assertEquals( "BRANCH_1", directory.getTagName() );
+    }
+
+    public void testNotWorkingCopy()
+        throws Exception
+    {
+        assertNull( CvsEntriesIndex.getDirectory( new File( basedir, "src" ) ) );
+    }
+
+    public void testOldFilesAreCached()
+        throws Exception
+    {
+        makeOld();
+
+        CvsEntriesIndex.Directory directory = CvsEntriesIndex.getDirectory( basedir );
+        assertSame( directory, CvsEntriesIndex.getDirectory( basedir ) );
+
+        CvsEntriesIndex.clear();
+        assertNotSame( directory, CvsEntriesIndex.getDirectory( basedir ) );
+    }
+
+    public void testRecentFilesAreReadAgain()
+        throws Exception
+    {
+        // written a moment ago, the time of the files may not change when they are written again
+        CvsEntriesIndex.Directory directory = CvsEntriesIndex.getDirectory( basedir );
+
+        assertNotSame( directory, CvsEntriesIndex.getDirectory( basedir ) );
+    }
+
+    public void testChangedFilesAreReadAgain()
+        throws Exception
+    {
+        makeOld();
+        CvsEntriesIndex.Directory directory = CvsEntriesIndex.getDirectory( basedir );
+
+        writeAdminFile( "Entries.Log", "A /README.txt/0/dummy timestamp//\n" );
+        makeOld();
+
+        CvsEntriesIndex.Directory changed = CvsEntriesIndex.getDirectory( basedir );
+        assertNotSame( directory, changed );
+        assertTrue( changed.getEntries().get( "README.txt" ).isAdded() );
+    }
+
+    private void writeAdminFile( String name, String content )
+        throws Exception
+    {
+        FileUtils.fileWrite( new File( basedir, "CVS/" + name ).getPath(), content );
+    }
+
+    /**
+     * Gives the administrative files a time far enough in the past to be trusted.
+     */
+    private void makeOld()
+    {
+        long time = System.currentTimeMillis() - 60000;
+        for ( File file : new File( basedir, "CVS" ).listFiles() )
+        {
+            file.setLastModified( time );
+        }
+    }
+}
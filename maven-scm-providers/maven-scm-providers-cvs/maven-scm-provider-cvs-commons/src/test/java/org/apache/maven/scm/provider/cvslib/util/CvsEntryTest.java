@@ -0,0 +1,69 @@
+package org.apache.maven.scm.provider.cvslib.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsEntryTest
+    extends TestCase
+{
+    public void testParseFile()
+    {
+        CvsEntry entry = CvsEntry.parse( "/pom.xml/1.12/Wed Jan 26 19:08:06 2005/-kb/TBRANCH_1" );
+
+        assertEquals( "pom.xml", entry.getName() );
+        assertFalse( entry.isDirectory() );
+        assertEquals( "1.12", entry.getRevision() );
+        assertEquals( "-kb", entry.getOptions() );
+        assertEquals( "TBRANCH_1", entry.getTagOrDate() );
+        assertEquals( 1106766486000L, entry.getTime() );
+        assertFalse( entry.isAdded() );
+        assertFalse( entry.isRemoved() );
+    }
+
+    public void testParseDirectory()
+    {
+        CvsEntry entry = CvsEntry.parse( "D/src////" );
+
+        assertEquals( "src", entry.getName() );
+        assertTrue( entry.isDirectory() );
+        assertNull( CvsEntry.parse( "D" ) );
+    }
+
+    public void testPaddedDay()
+    {
+        CvsEntry entry = CvsEntry.parse( "/pom.xml/1.1/Thu Jan  6 10:00:00 2005//" );
+
+        assertEquals( 1105005600000L, entry.getTime() );
+    }
+
+    public void testAddedAndRemoved()
+    {
+        CvsEntry added = CvsEntry.parse( "/New.java/0/dummy timestamp//" );
+        assertTrue( added.isAdded() );
+        assertEquals( -1, added.getTime() );
+
+        assertTrue( CvsEntry.parse( "/Old.java/-1.3/Wed Jan 26 19:08:06 2005//" ).isRemoved() );
+        assertEquals( -1, CvsEntry.parse( "/Merged.java/1.4/Result of merge//" ).getTime() );
+    }
+}
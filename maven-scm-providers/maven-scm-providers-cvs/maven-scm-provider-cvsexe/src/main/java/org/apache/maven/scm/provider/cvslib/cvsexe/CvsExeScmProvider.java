@@ -34,6 +34,7 @@
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.mkdir.CvsExeMkdirCommand;
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.remove.CvsExeRemoveCommand;
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.status.CvsExeStatusCommand;
+import org.apache.maven.scm.provider.cvslib.cvsexe.command.tag.CvsExeBatchTagCommand;
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.tag.CvsExeTagCommand;
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.update.CvsExeUpdateCommand;
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
@@ -128,6 +129,12 @@ protected Command getTagCommand()
         return new CvsExeTagCommand();
     }
 
+    /** {@inheritDoc} */
+    protected Command getBatchTagCommand()
+    {
+        return new CvsExeBatchTagCommand();
+    }
+
     /** {@inheritDoc} */
     protected Command getUpdateCommand()
     {
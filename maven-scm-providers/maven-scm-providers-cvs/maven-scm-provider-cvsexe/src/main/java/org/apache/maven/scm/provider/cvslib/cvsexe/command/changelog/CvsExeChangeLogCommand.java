@@ -40,10 +40,11 @@
 {
     /** {@inheritDoc} */
     protected ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate, Date endDate,
-                                                    ScmVersion startVersion, ScmVersion endVersion, String datePattern )
+                                                    ScmVersion startVersion, ScmVersion endVersion, String datePattern,
+                                                    String repositoryPath )
         throws ScmException
     {
-        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern );
+        CvsChangeLogConsumer consumer = createConsumer( datePattern, repositoryPath );
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -23,6 +23,8 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.cvslib.command.checkout.AbstractCvsCheckOutCommand;
 import org.apache.maven.scm.provider.cvslib.command.checkout.CvsCheckOutConsumer;
+import org.apache.maven.scm.provider.cvslib.command.update.AbstractCvsUpdateCommand;
+import org.apache.maven.scm.provider.cvslib.cvsexe.command.update.CvsExeUpdateCommand;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -61,4 +63,13 @@ protected CheckOutScmResult executeCvsCommand( Commandline cl )
         return new CheckOutScmResult( cl.toString(), consumer.getCheckedOutFiles() );
 
     }
+
+    protected AbstractCvsUpdateCommand getUpdateCommand()
+    {
+        CvsExeUpdateCommand command = new CvsExeUpdateCommand();
+
+        command.setLogger( getLogger() );
+
+        return command;
+    }
 }
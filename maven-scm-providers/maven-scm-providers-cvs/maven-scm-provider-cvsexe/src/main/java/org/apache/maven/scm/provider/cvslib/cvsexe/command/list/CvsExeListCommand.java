@@ -22,7 +22,8 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.command.list.ListScmResult;
 import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
-import org.apache.maven.scm.provider.cvslib.command.status.CvsStatusConsumer;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListConsumer;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListScmResult;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -38,7 +39,8 @@
     protected ListScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsStatusConsumer consumer = new CvsStatusConsumer( getLogger(), cl.getWorkingDirectory() );
+        // rls -e prints the entries in the CVS/Entries format
+        CvsListConsumer consumer = new CvsListConsumer( getLogger() );
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -58,7 +60,7 @@ protected ListScmResult executeCvsCommand( Commandline cl )
             return new ListScmResult( cl.toString(), "The cvs command failed.", stderr.getOutput(), false );
         }
 
-        return new ListScmResult( cl.toString(), consumer.getChangedFiles() );
+        return new CvsListScmResult( cl.toString(), consumer.getEntries(), consumer.getDirectories() );
 
     }
 }
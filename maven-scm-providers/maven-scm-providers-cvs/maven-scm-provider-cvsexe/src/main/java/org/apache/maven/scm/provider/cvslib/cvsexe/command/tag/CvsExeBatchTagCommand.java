@@ -0,0 +1,50 @@
+package org.apache.maven.scm.provider.cvslib.cvsexe.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.provider.cvslib.command.tag.AbstractCvsBatchTagCommand;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * Runs each step of the batch tagging in a single cvs process.
+ *
+ * @since 1.9.3
+ */
+public class CvsExeBatchTagCommand
+    extends AbstractCvsBatchTagCommand
+{
+    /** {@inheritDoc} */
+    protected boolean executeCvsCommand( Commandline cl, StreamConsumer stdout, StreamConsumer stderr )
+        throws ScmException
+    {
+        try
+        {
+            return CommandLineUtils.executeCommandLine( cl, stdout, stderr ) == 0;
+        }
+        catch ( CommandLineException ex )
+        {
+            throw new ScmException( "Error while executing command.", ex );
+        }
+    }
+}
@@ -22,9 +22,11 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.command.changelog.ChangeLogCommand;
 import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
 import org.apache.maven.scm.provider.cvslib.command.update.AbstractCvsUpdateCommand;
 import org.apache.maven.scm.provider.cvslib.command.update.CvsUpdateConsumer;
 import org.apache.maven.scm.provider.cvslib.cvsexe.command.changelog.CvsExeChangeLogCommand;
+import org.apache.maven.scm.provider.cvslib.cvsexe.command.list.CvsExeListCommand;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -71,4 +73,13 @@ protected ChangeLogCommand getChangeLogCommand()
 
         return command;
     }
+
+    protected AbstractCvsListCommand getListCommand()
+    {
+        CvsExeListCommand command = new CvsExeListCommand();
+
+        command.setLogger( getLogger() );
+
+        return command;
+    }
 }
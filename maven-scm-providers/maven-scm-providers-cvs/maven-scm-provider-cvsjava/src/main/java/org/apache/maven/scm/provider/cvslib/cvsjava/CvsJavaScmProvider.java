@@ -34,6 +34,7 @@
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.mkdir.CvsJavaMkdirCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.remove.CvsJavaRemoveCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.status.CvsJavaStatusCommand;
+import org.apache.maven.scm.provider.cvslib.cvsjava.command.tag.CvsJavaBatchTagCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.tag.CvsJavaTagCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.update.CvsJavaUpdateCommand;
 
@@ -123,6 +124,12 @@ protected Command getTagCommand()
         return new CvsJavaTagCommand();
     }
 
+    /** {@inheritDoc} */
+    protected Command getBatchTagCommand()
+    {
+        return new CvsJavaBatchTagCommand();
+    }
+
     /** {@inheritDoc} */
     protected Command getUpdateCommand()
     {
@@ -27,10 +27,6 @@
 import org.apache.maven.scm.provider.cvslib.repository.CvsScmProviderRepository;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-
 /**
  * @author Evgeny Mandrikov
  * @since 1.4
@@ -43,8 +39,9 @@
      */
     protected BlameScmResult executeCvsCommand( Commandline cl, CvsScmProviderRepository repository )
     {
-        CvsLogListener logListener = new CvsLogListener();
         CvsBlameConsumer consumer = new CvsBlameConsumer( getLogger() );
+
+        CvsLogListener logListener = new CvsLogListener( consumer );
         try
         {
             boolean isSuccess =
@@ -55,18 +52,11 @@ protected BlameScmResult executeCvsCommand( Commandline cl, CvsScmProviderReposi
                 return new BlameScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                            false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-            String line;
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
             getLogger().error( e );
-            return new BlameScmResult( cl.toString(), "The cvs command failed.", logListener.getStdout().toString(),
+            return new BlameScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                        false );
         }
 
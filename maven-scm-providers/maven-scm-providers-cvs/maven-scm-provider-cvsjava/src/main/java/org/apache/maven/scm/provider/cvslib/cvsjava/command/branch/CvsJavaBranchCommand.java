@@ -27,10 +27,6 @@
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  * @author Olivier Lamy
@@ -43,10 +39,10 @@
     protected BranchScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsBranchConsumer consumer = new CvsBranchConsumer( getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -58,15 +54,6 @@ protected BranchScmResult executeCvsCommand( Commandline cl )
                 return new BranchScmResult( cl.toString(), "The cvs branch command failed.",
                                             logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
@@ -29,9 +29,6 @@
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.Date;
 
 /**
@@ -43,12 +40,13 @@
 {
     /** {@inheritDoc} */
     protected ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate, Date endDate,
-                                                    ScmVersion startVersion, ScmVersion endVersion, String datePattern )
+                                                    ScmVersion startVersion, ScmVersion endVersion, String datePattern,
+                                                    String repositoryPath )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
+        CvsChangeLogConsumer consumer = createConsumer( datePattern, repositoryPath );
 
-        CvsChangeLogConsumer consumer = new CvsChangeLogConsumer( getLogger(), datePattern );
+        CvsLogListener logListener = new CvsLogListener( consumer );
 
         try
         {
@@ -61,20 +59,11 @@ protected ChangeLogScmResult executeCvsCommand( Commandline cl, Date startDate,
                 return new ChangeLogScmResult( cl.toString(), "The cvs command failed.",
                                                logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
             e.printStackTrace();
-            return new ChangeLogScmResult( cl.toString(), "The cvs command failed.", logListener.getStdout().toString(),
+            return new ChangeLogScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                            false );
         }
 
@@ -29,11 +29,8 @@
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -47,10 +44,10 @@ protected CheckInScmResult executeCvsCommand( Commandline cl, CvsScmProviderRepo
                                                   File messageFile )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsCheckInConsumer consumer = new CvsCheckInConsumer( repository.getPath(), getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -62,20 +59,11 @@ protected CheckInScmResult executeCvsCommand( Commandline cl, CvsScmProviderRepo
                 return new CheckInScmResult( cl.toString(), "The cvs command failed.",
                                              logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
             e.printStackTrace();
-            return new CheckInScmResult( cl.toString(), "The cvs command failed.", logListener.getStdout().toString(),
+            return new CheckInScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                          false );
         }
         finally
@@ -23,14 +23,12 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.cvslib.command.checkout.AbstractCvsCheckOutCommand;
 import org.apache.maven.scm.provider.cvslib.command.checkout.CvsCheckOutConsumer;
+import org.apache.maven.scm.provider.cvslib.command.update.AbstractCvsUpdateCommand;
+import org.apache.maven.scm.provider.cvslib.cvsjava.command.update.CvsJavaUpdateCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsConnection;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  *
@@ -42,10 +40,10 @@
     protected CheckOutScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsCheckOutConsumer consumer = new CvsCheckOutConsumer( getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -57,23 +55,23 @@ protected CheckOutScmResult executeCvsCommand( Commandline cl )
                 return new CheckOutScmResult( cl.toString(), "The cvs command failed.",
                                               logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
             e.printStackTrace();
-            return new CheckOutScmResult( cl.toString(), "The cvs command failed.", logListener.getStdout().toString(),
+            return new CheckOutScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                           false );
         }
 
         return new CheckOutScmResult( cl.toString(), consumer.getCheckedOutFiles() );
     }
+
+    protected AbstractCvsUpdateCommand getUpdateCommand()
+    {
+        CvsJavaUpdateCommand command = new CvsJavaUpdateCommand();
+
+        command.setLogger( getLogger() );
+
+        return command;
+    }
 }
@@ -27,10 +27,6 @@
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  *
@@ -42,10 +38,10 @@
     protected ExportScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsUpdateConsumer consumer = new CvsUpdateConsumer( getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -57,15 +53,6 @@ protected ExportScmResult executeCvsCommand( Commandline cl )
                 return new ExportScmResult( cl.toString(), "The cvs command failed.",
                                             logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
@@ -19,14 +19,12 @@
  * under the License.
  */
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.command.list.ListScmResult;
 import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
 import org.apache.maven.scm.provider.cvslib.command.list.CvsListConsumer;
+import org.apache.maven.scm.provider.cvslib.command.list.CvsListScmResult;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsConnection;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
@@ -42,10 +40,10 @@
     protected ListScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsListConsumer consumer = new CvsListConsumer( getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -57,15 +55,6 @@ protected ListScmResult executeCvsCommand( Commandline cl )
                 return new ListScmResult( cl.toString(), "The cvs command failed.", logListener.getStderr().toString(),
                                           false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
@@ -74,6 +63,6 @@ protected ListScmResult executeCvsCommand( Commandline cl )
                                       false );
         }
 
-        return new ListScmResult( cl.toString(), consumer.getEntries() );
+        return new CvsListScmResult( cl.toString(), consumer.getEntries(), consumer.getDirectories() );
     }
 }
@@ -19,9 +19,6 @@
  * under the License.
  */
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.util.List;
 
 import org.apache.maven.scm.ScmException;
@@ -31,6 +28,7 @@
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsConnection;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -44,7 +42,17 @@
     protected RemoveScmResult executeCvsCommand( Commandline cl, List<ScmFile> removedFiles )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
+        // the output is only logged
+        CvsLogListener logListener = new CvsLogListener( new StreamConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                if ( getLogger().isDebugEnabled() )
+                {
+                    getLogger().debug( line );
+                }
+            }
+        } );
 
         try
         {
@@ -57,17 +65,6 @@ protected RemoveScmResult executeCvsCommand( Commandline cl, List<ScmFile> remov
                 return new RemoveScmResult( cl.toString(), "The cvs command failed.",
                                             logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            if ( getLogger().isDebugEnabled() )
-            {
-                String line;
-                while ( ( line = stream.readLine() ) != null )
-                {
-                    getLogger().debug( line );
-                }
-            }
         }
         catch ( Exception e )
         {
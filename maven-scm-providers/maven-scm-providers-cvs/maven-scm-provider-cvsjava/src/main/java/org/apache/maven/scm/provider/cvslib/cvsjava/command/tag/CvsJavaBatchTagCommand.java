@@ -0,0 +1,62 @@
+package org.apache.maven.scm.provider.cvslib.cvsjava.command.tag;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.provider.cvslib.command.tag.AbstractCvsBatchTagCommand;
+import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsConnection;
+import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * Runs the steps of the batch tagging on the same pooled connection.
+ *
+ * @since 1.9.3
+ */
+public class CvsJavaBatchTagCommand
+    extends AbstractCvsBatchTagCommand
+{
+    /** {@inheritDoc} */
+    protected boolean executeCvsCommand( Commandline cl, StreamConsumer stdout, StreamConsumer stderr )
+        throws ScmException
+    {
+        CvsLogListener logListener = new CvsLogListener( stdout );
+
+        boolean isSuccess;
+        try
+        {
+            isSuccess = CvsConnection.processCommand( cl.getArguments(), cl.getWorkingDirectory().getAbsolutePath(),
+                                                      logListener, getLogger() );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "Error while executing cvs command.", e );
+        }
+
+        for ( String line : StringUtils.split( logListener.getStderr().toString(), "\n" ) )
+        {
+            stderr.consumeLine( line );
+        }
+
+        return isSuccess;
+    }
+}
@@ -22,17 +22,15 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.command.changelog.ChangeLogCommand;
 import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.provider.cvslib.command.list.AbstractCvsListCommand;
 import org.apache.maven.scm.provider.cvslib.command.update.AbstractCvsUpdateCommand;
 import org.apache.maven.scm.provider.cvslib.command.update.CvsUpdateConsumer;
 import org.apache.maven.scm.provider.cvslib.cvsjava.command.changelog.CvsJavaChangeLogCommand;
+import org.apache.maven.scm.provider.cvslib.cvsjava.command.list.CvsJavaListCommand;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsConnection;
 import org.apache.maven.scm.provider.cvslib.cvsjava.util.CvsLogListener;
 import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  *
@@ -44,10 +42,10 @@
     protected UpdateScmResult executeCvsCommand( Commandline cl )
         throws ScmException
     {
-        CvsLogListener logListener = new CvsLogListener();
-
         CvsUpdateConsumer consumer = new CvsUpdateConsumer( getLogger() );
 
+        CvsLogListener logListener = new CvsLogListener( consumer );
+
         try
         {
             boolean isSuccess = CvsConnection.processCommand( cl.getArguments(),
@@ -59,15 +57,6 @@ protected UpdateScmResult executeCvsCommand( Commandline cl )
                 return new UpdateScmResult( cl.toString(), "The cvs command failed.",
                                             logListener.getStderr().toString(), false );
             }
-            BufferedReader stream = new BufferedReader(
-                new InputStreamReader( new ByteArrayInputStream( logListener.getStdout().toString().getBytes() ) ) );
-
-            String line;
-
-            while ( ( line = stream.readLine() ) != null )
-            {
-                consumer.consumeLine( line );
-            }
         }
         catch ( Exception e )
         {
@@ -87,4 +76,13 @@ protected ChangeLogCommand getChangeLogCommand()
 
         return command;
     }
+
+    protected AbstractCvsListCommand getListCommand()
+    {
+        CvsJavaListCommand command = new CvsJavaListCommand();
+
+        command.setLogger( getLogger() );
+
+        return command;
+    }
 }
@@ -46,6 +46,9 @@
 
 /**
  * A Cvs connection that simulates a command line interface.
+ * <p/>
+ * The connections are taken from and given back to the {@link CvsConnectionPool}, so consecutive commands to the same
+ * CVSROOT share one connection. The pool only hands out connections which still answer, so a command is sent once.
  *
  * @author <a href="mailto:epugh@upstate.com">Eric Pugh</a>
  *
@@ -80,6 +83,16 @@
      */
     private GlobalOptions globalOptions;
 
+    /**
+     * The key of the connection in the pool
+     */
+    private String poolKey;
+
+    /**
+     * <code>true</code> if the connection was taken from the pool
+     */
+    private boolean reused;
+
     private CvsConnection()
     {
     }
@@ -112,11 +125,22 @@ public void setGlobalOptions( GlobalOptions globalOptions )
     }
 
     /**
-     * Creates the connection and the client and connects.
+     * Takes an idle connection to the root from the pool, or creates the connection and the client and connects.
      */
     private void connect( CVSRoot root, String password )
         throws AuthenticationException, CommandAbortedException
     {
+        CvsConnectionPool.PooledConnection pooled = CvsConnectionPool.borrow( poolKey );
+        if ( pooled != null )
+        {
+            connection = pooled.getConnection();
+            client = pooled.getClient();
+            client.setLocalPath( localPath );
+            reused = true;
+            return;
+        }
+        reused = false;
+
         if ( CVSRoot.METHOD_EXT.equals( root.getMethod() ) )
         {
             String cvsRsh = System.getProperty( "maven.scm.cvs.java.cvs_rsh" );
@@ -170,6 +194,26 @@ private void connect( CVSRoot root, String password )
         client.setLocalPath( localPath );
     }
 
+    /**
+     * Gives the connection back to the pool if it can be used again, closes it otherwise.
+     */
+    private void release( CVSListener listener, boolean reusable )
+    {
+        if ( client != null )
+        {
+            client.getEventManager().removeCVSListener( listener );
+        }
+
+        if ( reusable && client != null )
+        {
+            CvsConnectionPool.release( new CvsConnectionPool.PooledConnection( poolKey, connection, client ) );
+        }
+        else
+        {
+            disconnect();
+        }
+    }
+
     private void disconnect()
     {
         if ( connection != null && connection.isOpen() )
@@ -451,23 +495,7 @@ public static boolean processCommand( String[] args, String localPath, CVSListen
         }
 
         final String command = args[commandIndex];
-
-        // this is not login, but a 'real' cvs command, so construct it,
-        // set the options, and then connect to the server and execute it
-
-        Command c;
-        try
-        {
-            c = CommandFactory.getDefault().createCommand( command, args, ++commandIndex, globalOptions, localPath );
-        }
-        catch ( IllegalArgumentException e )
-        {
-            if ( logger.isErrorEnabled() )
-            {
-                logger.error( "Illegal argument: " + e.getMessage() );
-            }
-            return false;
-        }
+        final int commandArgsIndex = commandIndex + 1;
 
         String password = null;
 
@@ -488,6 +516,24 @@ public static boolean processCommand( String[] args, String localPath, CVSListen
                 }
             }
         }
+
+        // this is not login, but a 'real' cvs command, so construct it,
+        // set the options, and then connect to the server and execute it
+
+        Command c;
+        try
+        {
+            c = CommandFactory.getDefault().createCommand( command, args, commandArgsIndex, globalOptions, localPath );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            if ( logger.isErrorEnabled() )
+            {
+                logger.error( "Illegal argument: " + e.getMessage() );
+            }
+            return false;
+        }
+
         CvsConnection cvsCommand = new CvsConnection();
         cvsCommand.setGlobalOptions( globalOptions );
         cvsCommand.setRepository( root.getRepository() );
@@ -495,15 +541,26 @@ public static boolean processCommand( String[] args, String localPath, CVSListen
         // command. This is the case for command-line CVS but not
         // usually for GUI front-ends
         cvsCommand.setLocalPath( localPath );
+        cvsCommand.poolKey = CvsConnectionPool.key( cvsRoot, password );
 
         cvsCommand.connect( root, password );
+
         cvsCommand.addListener( listener );
         if ( logger.isDebugEnabled() )
         {
-            logger.debug( "Executing CVS command: " + c.getCVSCommand() );
+            logger.debug( "Executing CVS command: " + c.getCVSCommand()
+                + ( cvsCommand.reused ? " (reusing a connection)" : "" ) );
+        }
+
+        boolean result = false;
+        try
+        {
+            result = cvsCommand.executeCommand( c );
+            return result;
+        }
+        finally
+        {
+            cvsCommand.release( listener, result );
         }
-        boolean result = cvsCommand.executeCommand( c );
-        cvsCommand.disconnect();
-        return result;
     }
 }
@@ -0,0 +1,311 @@
+package org.apache.maven.scm.provider.cvslib.cvsjava.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.netbeans.lib.cvsclient.Client;
+import org.netbeans.lib.cvsclient.connection.Connection;
+import org.netbeans.lib.cvsclient.util.LoggedDataInputStream;
+import org.netbeans.lib.cvsclient.util.LoggedDataOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JVM wide pool of open and authenticated connections to CVS servers, keyed by CVSROOT, so the commands of a build
+ * don't open a new socket or ssh session and authenticate again for every command.
+ * <p/>
+ * Up to <code>maven.scm.cvs.java.pool_size</code> idle connections are kept per CVSROOT, 4 by default; <code>0</code>
+ * disables the pool. A connection idle for more than <code>maven.scm.cvs.java.pool_idle_timeout</code> milliseconds,
+ * 60 seconds by default, is closed instead of being reused, as servers and firewalls drop idle connections. The idle
+ * connections are closed when the JVM exits.
+ * <p/>
+ * A connection is checked with a <code>noop</code> request before it is reused, as the server may have closed it
+ * without the client noticing. A connection failing this check is closed, so a command is never sent on a dead
+ * connection, and a command which failed once it was sent is never run again.
+ *
+ * @since 1.9.3
+ */
+public final class CvsConnectionPool
+{
+    private static final int MAX_IDLE = Integer.getInteger( "maven.scm.cvs.java.pool_size", 4 ).intValue();
+
+    static final long IDLE_TIMEOUT =
+        Long.getLong( "maven.scm.cvs.java.pool_idle_timeout", 60000L ).longValue();
+
+    /**
+     * The idle connections per key, the most recently used first
+     */
+    private static final Map<String, LinkedList<PooledConnection>> IDLE =
+        new HashMap<String, LinkedList<PooledConnection>>();
+
+    static
+    {
+        if ( MAX_IDLE > 0 )
+        {
+            Runtime.getRuntime().addShutdownHook( new Thread( "cvs-connection-pool-shutdown" )
+            {
+                public void run()
+                {
+                    closeAll();
+                }
+            } );
+        }
+    }
+
+    private CvsConnectionPool()
+    {
+    }
+
+    /**
+     * @param cvsRoot the CVSROOT
+     * @param password the scrambled password, may be <code>null</code>
+     * @return the key of the connections to the CVSROOT with the password
+     */
+    public static String key( String cvsRoot, String password )
+    {
+        return password == null ? cvsRoot : cvsRoot + '\n' + password;
+    }
+
+    /**
+     * @return an idle connection which still answers, or <code>null</code> if there is none
+     */
+    public static PooledConnection borrow( String key )
+    {
+        return borrow( key, System.currentTimeMillis() );
+    }
+
+    static PooledConnection borrow( String key, long now )
+    {
+        while ( true )
+        {
+            List<PooledConnection> expired = new ArrayList<PooledConnection>();
+            PooledConnection candidate = null;
+
+            synchronized ( IDLE )
+            {
+                evictIdle( expired, now );
+
+                LinkedList<PooledConnection> connections = IDLE.get( key );
+                if ( connections != null && !connections.isEmpty() )
+                {
+                    candidate = connections.removeFirst();
+                }
+            }
+
+            close( expired );
+
+            if ( candidate == null )
+            {
+                return null;
+            }
+
+            // the check talks to the server, outside of the lock
+            if ( isAlive( candidate.getConnection() ) )
+            {
+                return candidate;
+            }
+            candidate.close();
+        }
+    }
+
+    /**
+     * Sends a <code>noop</code> request, which the server answers with <code>ok</code> on a connection it still
+     * serves.
+     *
+     * @return <code>true</code> if the server answered
+     */
+    static boolean isAlive( Connection connection )
+    {
+        try
+        {
+            LoggedDataOutputStream out = connection.getOutputStream();
+            out.writeBytes( "noop\n" );
+            out.flush();
+
+            LoggedDataInputStream in = connection.getInputStream();
+            for ( String line = in.readLine(); line != null; line = in.readLine() )
+            {
+                if ( "ok".equals( line ) )
+                {
+                    return true;
+                }
+                if ( line.startsWith( "error" ) )
+                {
+                    return false;
+                }
+            }
+            return false;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Gives back a connection after a successful command, to be reused by the next command to the same CVSROOT.
+     */
+    public static void release( PooledConnection connection )
+    {
+        release( connection, System.currentTimeMillis() );
+    }
+
+    static void release( PooledConnection connection, long now )
+    {
+        List<PooledConnection> closed = new ArrayList<PooledConnection>();
+
+        if ( MAX_IDLE <= 0 || !connection.getConnection().isOpen() )
+        {
+            closed.add( connection );
+        }
+        else
+        {
+            connection.lastUsed = now;
+
+            synchronized ( IDLE )
+            {
+                LinkedList<PooledConnection> connections = IDLE.get( connection.key );
+                if ( connections == null )
+                {
+                    connections = new LinkedList<PooledConnection>();
+                    IDLE.put( connection.key, connections );
+                }
+                connections.addFirst( connection );
+                while ( connections.size() > MAX_IDLE )
+                {
+                    closed.add( connections.removeLast() );
+                }
+            }
+        }
+
+        close( closed );
+    }
+
+    /**
+     * Closes all the idle connections.
+     */
+    public static void closeAll()
+    {
+        List<PooledConnection> closed = new ArrayList<PooledConnection>();
+
+        synchronized ( IDLE )
+        {
+            for ( List<PooledConnection> connections : IDLE.values() )
+            {
+                closed.addAll( connections );
+            }
+            IDLE.clear();
+        }
+
+        close( closed );
+    }
+
+    /**
+     * Moves the connections idle for too long to the list to close.
+     */
+    private static void evictIdle( List<PooledConnection> expired, long now )
+    {
+        for ( Iterator<LinkedList<PooledConnection>> it = IDLE.values().iterator(); it.hasNext(); )
+        {
+            LinkedList<PooledConnection> connections = it.next();
+            for ( Iterator<PooledConnection> connection = connections.iterator(); connection.hasNext(); )
+            {
+                PooledConnection pooled = connection.next();
+                if ( !pooled.isValid( now ) )
+                {
+                    connection.remove();
+                    expired.add( pooled );
+                }
+            }
+            if ( connections.isEmpty() )
+            {
+                it.remove();
+            }
+        }
+    }
+
+    private static void close( List<PooledConnection> connections )
+    {
+        for ( PooledConnection connection : connections )
+        {
+            connection.close();
+        }
+    }
+
+    /**
+     * An open and authenticated connection, with the client speaking over it.
+     */
+    public static final class PooledConnection
+    {
+        private final String key;
+
+        private final Connection connection;
+
+        private final Client client;
+
+        private long lastUsed;
+
+        public PooledConnection( String key, Connection connection, Client client )
+        {
+            this.key = key;
+            this.connection = connection;
+            this.client = client;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        public Connection getConnection()
+        {
+            return connection;
+        }
+
+        public Client getClient()
+        {
+            return client;
+        }
+
+        private boolean isValid( long now )
+        {
+            return connection.isOpen() && now - lastUsed < IDLE_TIMEOUT;
+        }
+
+        /**
+         * Closes the connection, ignoring the errors.
+         */
+        public void close()
+        {
+            if ( connection.isOpen() )
+            {
+                try
+                {
+                    connection.close();
+                }
+                catch ( IOException e )
+                {
+                    // ignore
+                }
+            }
+        }
+    }
+}
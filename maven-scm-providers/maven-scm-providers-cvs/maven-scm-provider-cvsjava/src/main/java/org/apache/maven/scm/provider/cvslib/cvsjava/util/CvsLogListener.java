@@ -19,12 +19,16 @@
  * under the License.
  */
 
+import org.codehaus.plexus.util.cli.StreamConsumer;
 import org.netbeans.lib.cvsclient.event.CVSAdapter;
 import org.netbeans.lib.cvsclient.event.MessageEvent;
 
 /**
  * A basic implementation of a CVS listener. It merely saves up
  * into StringBuilders the stdout and stderr printstreams.
+ * <p/>
+ * Given a consumer, the listener passes the lines of the standard output to the consumer as the server sends them,
+ * instead of saving them up, so a command reads the output in constant memory; the standard error is still saved.
  *
  * @author <a href="mailto:epugh@upstate.com">Eric Pugh</a>
  *
@@ -38,6 +42,25 @@
 
     private StringBuffer stderr = new StringBuffer();
 
+    /**
+     * The consumer of the standard output, <code>null</code> to save it up
+     */
+    private final StreamConsumer consumer;
+
+    public CvsLogListener()
+    {
+        this( null );
+    }
+
+    /**
+     * @param consumer the consumer of the lines of the standard output
+     * @since 1.9.3
+     */
+    public CvsLogListener( StreamConsumer consumer )
+    {
+        this.consumer = consumer;
+    }
+
     /**
      * Called when the server wants to send a message to be displayed to the
      * user. The message is only for information purposes and clients can
@@ -48,28 +71,51 @@
     public void messageSent( MessageEvent e )
     {
         String line = e.getMessage();
-        StringBuffer stream = e.isError() ? stderr : stdout;
 
         if ( e.isTagged() )
         {
-            String message = MessageEvent.parseTaggedMessage( taggedLine, e.getMessage() );
-            if ( message != null )
+            line = MessageEvent.parseTaggedMessage( taggedLine, e.getMessage() );
+            if ( line == null )
             {
-                //stream.println(message);
-                stream.append( message ).append( "\n" );
-
+                // the tagged message is not complete yet
+                return;
             }
         }
+
+        if ( consumer != null && !e.isError() )
+        {
+            consume( line );
+        }
         else
         {
-            //stream.println(line);
-            stream.append( line ).append( "\n" );
+            ( e.isError() ? stderr : stdout ).append( line ).append( "\n" );
+        }
+    }
 
+    /**
+     * Passes the lines of a message to the consumer, split like a reader splits the saved up output.
+     */
+    private void consume( String message )
+    {
+        int start = 0;
+        for ( int i = 0; i < message.length(); i++ )
+        {
+            char c = message.charAt( i );
+            if ( c == '\n' || c == '\r' )
+            {
+                consumer.consumeLine( message.substring( start, i ) );
+                if ( c == '\r' && i + 1 < message.length() && message.charAt( i + 1 ) == '\n' )
+                {
+                    i++;
+                }
+                start = i + 1;
+            }
         }
+        consumer.consumeLine( message.substring( start ) );
     }
 
     /**
-     * @return Returns the standard output from cvs as a StringBuilder..
+     * @return Returns the standard output from cvs as a StringBuilder, empty if it is passed to a consumer.
      */
     public StringBuffer getStdout()
     {
@@ -83,4 +129,4 @@ public StringBuffer getStderr()
     {
         return stderr;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package org.apache.maven.scm.provider.cvslib.cvsjava.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.netbeans.lib.cvsclient.connection.Connection;
+import org.netbeans.lib.cvsclient.connection.ConnectionModifier;
+import org.netbeans.lib.cvsclient.util.LoggedDataInputStream;
+import org.netbeans.lib.cvsclient.util.LoggedDataOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsConnectionPoolTest
+    extends TestCase
+{
+    private static final String KEY = CvsConnectionPool.key( ":pserver:anonymous@cvs.example.com:/cvsroot", null );
+
+    protected void tearDown()
+        throws Exception
+    {
+        CvsConnectionPool.closeAll();
+        super.tearDown();
+    }
+
+    public void testReuse()
+    {
+        FakeConnection connection = new FakeConnection( "ok\n" );
+        CvsConnectionPool.release( pooled( connection ), 1000 );
+
+        CvsConnectionPool.PooledConnection borrowed = CvsConnectionPool.borrow( KEY, 2000 );
+        assertNotNull( borrowed );
+        assertSame( connection, borrowed.getConnection() );
+        assertEquals( "noop\n", connection.sent.toString() );
+        assertTrue( connection.isOpen() );
+
+        // the connection is borrowed, the pool is empty
+        assertNull( CvsConnectionPool.borrow( KEY, 2000 ) );
+    }
+
+    public void testOtherKey()
+    {
+        CvsConnectionPool.release( pooled( new FakeConnection( "ok\n" ) ), 1000 );
+
+        assertNull( CvsConnectionPool.borrow( CvsConnectionPool.key( ":pserver:anonymous@cvs.example.com:/other",
+                                                                     null ), 2000 ) );
+    }
+
+    public void testIdleConnectionIsEvicted()
+    {
+        FakeConnection connection = new FakeConnection( "ok\n" );
+        CvsConnectionPool.release( pooled( connection ), 1000 );
+
+        assertNull( CvsConnectionPool.borrow( KEY, 1000 + CvsConnectionPool.IDLE_TIMEOUT + 1 ) );
+        assertFalse( connection.isOpen() );
+
+        // never checked, as it had expired
+        assertEquals( "", connection.sent.toString() );
+    }
+
+    public void testDeadConnectionIsClosed()
+    {
+        FakeConnection alive = new FakeConnection( "ok\n" );
+        FakeConnection dead = new FakeConnection( "" );
+        CvsConnectionPool.release( pooled( alive ), 1000 );
+        CvsConnectionPool.release( pooled( dead ), 1000 );
+
+        // the most recently released connection is tried first
+        CvsConnectionPool.PooledConnection borrowed = CvsConnectionPool.borrow( KEY, 2000 );
+        assertNotNull( borrowed );
+        assertSame( alive, borrowed.getConnection() );
+        assertFalse( dead.isOpen() );
+        assertEquals( "noop\n", dead.sent.toString() );
+    }
+
+    public void testErrorAnswerIsDead()
+    {
+        FakeConnection connection = new FakeConnection( "error  connection closed\n" );
+        CvsConnectionPool.release( pooled( connection ), 1000 );
+
+        assertNull( CvsConnectionPool.borrow( KEY, 2000 ) );
+        assertFalse( connection.isOpen() );
+    }
+
+    public void testMessagesBeforeOk()
+    {
+        CvsConnectionPool.release( pooled( new FakeConnection( "M hello\nok\n" ) ), 1000 );
+
+        assertNotNull( CvsConnectionPool.borrow( KEY, 2000 ) );
+    }
+
+    public void testClosedConnectionIsNotPooled()
+    {
+        FakeConnection connection = new FakeConnection( "ok\n" );
+        connection.open = false;
+        CvsConnectionPool.release( pooled( connection ), 1000 );
+
+        assertNull( CvsConnectionPool.borrow( KEY, 2000 ) );
+        assertEquals( "", connection.sent.toString() );
+    }
+
+    private static CvsConnectionPool.PooledConnection pooled( Connection connection )
+    {
+        return new CvsConnectionPool.PooledConnection( KEY, connection, null );
+    }
+
+    /**
+     * A connection answering the requests with a fixed text.
+     */
+    private static class FakeConnection
+        implements Connection
+    {
+        private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+        private final LoggedDataInputStream input;
+
+        private final LoggedDataOutputStream output = new LoggedDataOutputStream( sent );
+
+        private boolean open = true;
+
+        FakeConnection( String answer )
+        {
+            input = new LoggedDataInputStream( new ByteArrayInputStream( answer.getBytes() ) );
+        }
+
+        public LoggedDataInputStream getInputStream()
+        {
+            return input;
+        }
+
+        public LoggedDataOutputStream getOutputStream()
+        {
+            return output;
+        }
+
+        public void open()
+        {
+            open = true;
+        }
+
+        public void verify()
+        {
+        }
+
+        public void close()
+        {
+            open = false;
+        }
+
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        public String getRepository()
+        {
+            return "/cvsroot";
+        }
+
+        public int getPort()
+        {
+            return 2401;
+        }
+
+        public void modifyInputStream( ConnectionModifier modifier )
+        {
+        }
+
+        public void modifyOutputStream( ConnectionModifier modifier )
+        {
+        }
+    }
+}
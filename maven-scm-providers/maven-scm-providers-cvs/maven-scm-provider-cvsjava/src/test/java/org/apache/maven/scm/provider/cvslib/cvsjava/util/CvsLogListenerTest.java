@@ -0,0 +1,72 @@
+package org.apache.maven.scm.provider.cvslib.cvsjava.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.netbeans.lib.cvsclient.event.MessageEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class CvsLogListenerTest
+    extends TestCase
+{
+    public void testSavesUpWithoutConsumer()
+    {
+        CvsLogListener listener = new CvsLogListener();
+
+        listener.messageSent( new MessageEvent( this, "U file.txt", false ) );
+        listener.messageSent( new MessageEvent( this, "cvs server: Updating .", true ) );
+
+        assertEquals( "U file.txt\n", listener.getStdout().toString() );
+        assertEquals( "cvs server: Updating .\n", listener.getStderr().toString() );
+    }
+
+    public void testStreamsToConsumer()
+    {
+        final List<String> lines = new ArrayList<String>();
+        CvsLogListener listener = new CvsLogListener( new StreamConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                lines.add( line );
+            }
+        } );
+
+        listener.messageSent( new MessageEvent( this, "U file.txt", false ) );
+        listener.messageSent( new MessageEvent( this, "first\r\nsecond", false ) );
+        listener.messageSent( new MessageEvent( this, "", false ) );
+        listener.messageSent( new MessageEvent( this, "cvs server: Updating .", true ) );
+
+        assertEquals( 4, lines.size() );
+        assertEquals( "U file.txt", lines.get( 0 ) );
+        assertEquals( "first", lines.get( 1 ) );
+        assertEquals( "second", lines.get( 2 ) );
+        assertEquals( "", lines.get( 3 ) );
+
+        // the standard output is not saved up, the errors are
+        assertEquals( 0, listener.getStdout().length() );
+        assertEquals( "cvs server: Updating .\n", listener.getStderr().toString() );
+    }
+}
@@ -0,0 +1,258 @@
+package org.apache.maven.scm.provider.git.benchmark;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.provider.AbstractScmProvider;
+import org.apache.maven.scm.provider.git.gitexe.GitExeScmProvider;
+import org.apache.maven.scm.provider.git.jgit.JGitScmProvider;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the common SCM operations of the gitexe and the jgit provider through the
+ * {@link org.apache.maven.scm.provider.ScmProvider} API, on a generated repository of configurable size.
+ * <p/>
+ * Run all benchmarks with <code>java -jar target/benchmarks.jar GitProviderBenchmark -prof gc</code>, the gc
+ * profiler reports the allocation rate next to the latency. The repository size is set with the JMH parameters,
+ * e.g. <code>-p commits=5000 -p files=20000 -p branches=20</code>.
+ * <p/>
+ * The repository is generated once per trial. The read only benchmarks share its working copy, the tag and checkin
+ * benchmarks work on a copy of the repository made for every iteration so that they don't change what the other
+ * benchmarks measure, and every checkout goes to a new directory which is deleted after the iteration.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class GitProviderBenchmark
+{
+    @Param( { "gitexe", "jgit" } )
+    public String provider;
+
+    @Param( { "500" } )
+    public int commits;
+
+    @Param( { "1000" } )
+    public int files;
+
+    @Param( { "5" } )
+    public int branches;
+
+    private File baseDirectory;
+
+    private File remoteTemplate;
+
+    private File workingCopy;
+
+    private AbstractScmProvider scmProvider;
+
+    private ScmRepository repository;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws Exception
+    {
+        baseDirectory = new File( System.getProperty( "java.io.tmpdir" ),
+                                  "scm-git-benchmark-" + provider + "-" + commits + "-" + files + "-" + branches );
+        remoteTemplate = new File( baseDirectory, "remote-template.git" );
+        new SyntheticGitRepository( commits, files, branches, 42 ).generate( remoteTemplate );
+
+        scmProvider = "jgit".equals( provider ) ? new JGitScmProvider() : new GitExeScmProvider();
+
+        // the read only benchmarks use the template directly
+        repository = createRepository( remoteTemplate );
+        workingCopy = new File( baseDirectory, "working-copy" );
+        check( scmProvider.checkOut( repository, new ScmFileSet( workingCopy ) ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( baseDirectory );
+    }
+
+    private ScmRepository createRepository( File remote )
+        throws Exception
+    {
+        return new ScmRepository( "git", scmProvider.makeProviderScmRepository(
+            "file://" + remote.getAbsolutePath().replace( '\\', '/' ), ':' ) );
+    }
+
+    /**
+     * A copy of the repository and a working copy of it for the benchmarks which commit or tag, reset for every
+     * iteration.
+     */
+    @State( Scope.Thread )
+    public static class MutableRepository
+    {
+        private File directory;
+
+        private File workingCopy;
+
+        private ScmRepository repository;
+
+        private int counter;
+
+        @Setup( Level.Iteration )
+        public void setUp( GitProviderBenchmark benchmark )
+            throws Exception
+        {
+            directory = new File( benchmark.baseDirectory, "mutable" );
+            FileUtils.deleteDirectory( directory );
+
+            File remote = new File( directory, "remote.git" );
+            FileUtils.copyDirectoryStructure( benchmark.remoteTemplate, remote );
+
+            repository = benchmark.createRepository( remote );
+            workingCopy = new File( directory, "working-copy" );
+            check( benchmark.scmProvider.checkOut( repository, new ScmFileSet( workingCopy ) ) );
+        }
+
+        @TearDown( Level.Iteration )
+        public void tearDown()
+            throws Exception
+        {
+            FileUtils.deleteDirectory( directory );
+        }
+    }
+
+    /**
+     * A new directory for every checkout, deleted after the iteration.
+     */
+    @State( Scope.Thread )
+    public static class CheckoutDirectories
+    {
+        private File directory;
+
+        private int counter;
+
+        @Setup( Level.Iteration )
+        public void setUp( GitProviderBenchmark benchmark )
+            throws Exception
+        {
+            directory = new File( benchmark.baseDirectory, "checkouts" );
+            FileUtils.deleteDirectory( directory );
+        }
+
+        @TearDown( Level.Iteration )
+        public void tearDown()
+            throws Exception
+        {
+            FileUtils.deleteDirectory( directory );
+        }
+
+        private File next()
+        {
+            return new File( directory, "checkout-" + counter++ );
+        }
+    }
+
+    @Benchmark
+    public ScmResult status()
+        throws Exception
+    {
+        return check( scmProvider.status( repository, new ScmFileSet( workingCopy ) ) );
+    }
+
+    @Benchmark
+    public ScmResult changelog()
+        throws Exception
+    {
+        return check( scmProvider.changeLog( new ChangeLogScmRequest( repository, new ScmFileSet( workingCopy ) ) ) );
+    }
+
+    @Benchmark
+    public ScmResult blame()
+        throws Exception
+    {
+        return check( scmProvider.blame( repository, new ScmFileSet( workingCopy ),
+                                         SyntheticGitRepository.getPath( 0 ) ) );
+    }
+
+    @Benchmark
+    public ScmResult diff()
+        throws Exception
+    {
+        return check( scmProvider.diff( repository, new ScmFileSet( workingCopy ),
+                                        new ScmRevision( "HEAD~" + Math.min( 10, commits ) ),
+                                        new ScmRevision( "HEAD" ) ) );
+    }
+
+    @Benchmark
+    public ScmResult tag( MutableRepository mutable )
+        throws Exception
+    {
+        return check( scmProvider.tag( mutable.repository, new ScmFileSet( mutable.workingCopy ),
+                                       "bench-" + mutable.counter++ ) );
+    }
+
+    @Benchmark
+    public ScmResult checkin( MutableRepository mutable )
+        throws Exception
+    {
+        String path = SyntheticGitRepository.getPath( mutable.counter % files );
+        File file = new File( mutable.workingCopy, path );
+        FileUtils.fileAppend( file.getPath(), "checkin " + mutable.counter++ + "\n" );
+        return check( scmProvider.checkIn( mutable.repository, new ScmFileSet( mutable.workingCopy, new File( path ) ),
+                                           "benchmark checkin" ) );
+    }
+
+    @Benchmark
+    public ScmResult checkout( CheckoutDirectories checkouts )
+        throws Exception
+    {
+        return check( scmProvider.checkOut( repository, new ScmFileSet( checkouts.next() ) ) );
+    }
+
+    /**
+     * a failing command is usually fast, so fail the benchmark instead of reporting its time
+     */
+    private static ScmResult check( ScmResult result )
+    {
+        if ( !result.isSuccess() )
+        {
+            throw new IllegalStateException( result.getProviderMessage() + ": " + result.getCommandOutput() );
+        }
+        return result;
+    }
+}
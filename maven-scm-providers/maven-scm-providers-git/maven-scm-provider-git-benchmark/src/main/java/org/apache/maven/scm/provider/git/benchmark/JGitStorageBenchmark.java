@@ -0,0 +1,194 @@
+package org.apache.maven.scm.provider.git.benchmark;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.provider.git.jgit.command.JGitStorageConfig;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of jgit reading a generated repository with the storage configurations of
+ * {@link JGitStorageConfig}: the packed git limit, the window size, mmap and the delta base cache.
+ * <p/>
+ * The configuration is installed once per JVM, so every combination of parameters runs in its own fork. Run it with
+ * <code>java -jar target/benchmarks.jar JGitStorageBenchmark</code>. The default repository is small, raise its size
+ * to get multi-GB packs, e.g. <code>-p commits=20000 -p files=1000000</code>, and compare the default 10m limit with
+ * larger ones, e.g. <code>-p packedGitLimit=10m,1g</code>.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class JGitStorageBenchmark
+{
+    @Param( { "500" } )
+    public int commits;
+
+    @Param( { "5000" } )
+    public int files;
+
+    @Param( { "10m", "256m" } )
+    public String packedGitLimit;
+
+    @Param( { "8k" } )
+    public String packedGitWindowSize;
+
+    @Param( { "false", "true" } )
+    public String packedGitMMAP;
+
+    @Param( { "10m", "64m" } )
+    public String deltaBaseCacheLimit;
+
+    private File baseDirectory;
+
+    private Repository repository;
+
+    private ObjectId head;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_LIMIT, packedGitLimit );
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, packedGitWindowSize );
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_MMAP, packedGitMMAP );
+        parameters.setString( CommandParameter.JGIT_DELTA_BASE_CACHE_LIMIT, deltaBaseCacheLimit );
+        JGitStorageConfig.configure( null, parameters );
+
+        baseDirectory = new File( System.getProperty( "java.io.tmpdir" ),
+                                  "scm-jgit-storage-benchmark-" + commits + "-" + files );
+        File bare = new File( baseDirectory, "repository.git" );
+        new SyntheticGitRepository( commits, files, 0, 42 ).generate( bare );
+
+        // one pack, as in a large cloned repository
+        Git git = Git.open( bare );
+        git.gc().call();
+        repository = git.getRepository();
+        head = repository.resolve( Constants.HEAD );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws Exception
+    {
+        repository.close();
+        FileUtils.deleteDirectory( baseDirectory );
+    }
+
+    /**
+     * Reads every file of the head commit, as a checkout does.
+     *
+     * @return the number of bytes read
+     */
+    @Benchmark
+    public long readHead()
+        throws Exception
+    {
+        ObjectReader reader = repository.newObjectReader();
+        try
+        {
+            RevWalk walk = new RevWalk( reader );
+            TreeWalk treeWalk = new TreeWalk( reader );
+            treeWalk.setRecursive( true );
+            treeWalk.addTree( walk.parseCommit( head ).getTree() );
+
+            long bytes = 0;
+            while ( treeWalk.next() )
+            {
+                bytes += reader.open( treeWalk.getObjectId( 0 ) ).getBytes().length;
+            }
+            return bytes;
+        }
+        finally
+        {
+            reader.release();
+        }
+    }
+
+    /**
+     * Walks the history and compares every commit with its parent, as a changelog with the changed files does.
+     *
+     * @return the number of changed paths
+     */
+    @Benchmark
+    public long diffHistory()
+        throws Exception
+    {
+        ObjectReader reader = repository.newObjectReader();
+        try
+        {
+            RevWalk walk = new RevWalk( reader );
+            walk.markStart( walk.parseCommit( head ) );
+
+            long paths = 0;
+            for ( RevCommit commit : walk )
+            {
+                if ( commit.getParentCount() == 0 )
+                {
+                    continue;
+                }
+                TreeWalk treeWalk = new TreeWalk( reader );
+                treeWalk.setRecursive( true );
+                treeWalk.addTree( walk.parseCommit( commit.getParent( 0 ) ).getTree() );
+                treeWalk.addTree( commit.getTree() );
+                while ( treeWalk.next() )
+                {
+                    if ( !treeWalk.idEqual( 0, 1 ) )
+                    {
+                        paths++;
+                    }
+                }
+            }
+            return paths;
+        }
+        finally
+        {
+            reader.release();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.apache.maven.scm.provider.git.benchmark;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.PersonIdent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Generates a bare git repository with a reproducible history, to be used as the remote repository of the
+ * benchmarks.
+ * <p/>
+ * The initial commit adds <code>files</code> text files spread over a few directories, each following commit
+ * modifies a handful of random files. Every branch forks off the master history at an evenly spaced commit and gets
+ * a few commits of its own.
+ */
+public class SyntheticGitRepository
+{
+    private static final int FILES_PER_DIRECTORY = 50;
+
+    private static final int LINES_PER_FILE = 40;
+
+    private static final int FILES_PER_COMMIT = 5;
+
+    private static final int COMMITS_PER_BRANCH = 3;
+
+    private static final PersonIdent AUTHOR =
+        new PersonIdent( "Benchmark", "benchmark@maven.apache.org", new Date( 1400000000000L ),
+                         TimeZone.getTimeZone( "UTC" ) );
+
+    private final int commits;
+
+    private final int files;
+
+    private final int branches;
+
+    private final Random random;
+
+    private long time = AUTHOR.getWhen().getTime();
+
+    public SyntheticGitRepository( int commits, int files, int branches, long seed )
+    {
+        this.commits = commits;
+        this.files = files;
+        this.branches = branches;
+        this.random = new Random( seed );
+    }
+
+    /**
+     * @param index the number of the file, from 0 to <code>files - 1</code>
+     * @return the path of the file relative to the root of the repository
+     */
+    public static String getPath( int index )
+    {
+        return "dir" + ( index / FILES_PER_DIRECTORY ) + "/file" + index + ".txt";
+    }
+
+    /**
+     * Generates the bare repository.
+     *
+     * @param bareDirectory the directory of the bare repository, deleted first if it exists
+     * @throws Exception
+     */
+    public void generate( File bareDirectory )
+        throws Exception
+    {
+        File workDirectory = new File( bareDirectory.getPath() + "-work" );
+        FileUtils.deleteDirectory( workDirectory );
+        FileUtils.deleteDirectory( bareDirectory );
+
+        Git git = Git.init().setDirectory( workDirectory ).call();
+        try
+        {
+            for ( int i = 0; i < files; i++ )
+            {
+                StringBuilder content = new StringBuilder();
+                for ( int line = 0; line < LINES_PER_FILE; line++ )
+                {
+                    content.append( "line " ).append( line ).append( " of file " ).append( i ).append( '\n' );
+                }
+                write( workDirectory, i, content.toString() );
+            }
+            git.add().addFilepattern( "." ).call();
+            commit( git, "initial import of " + files + " files" );
+
+            int branchEvery = branches > 0 ? Math.max( 1, commits / branches ) : Integer.MAX_VALUE;
+            int branch = 0;
+            for ( int c = 1; c <= commits; c++ )
+            {
+                modifyFiles( git, workDirectory, "commit " + c );
+
+                if ( c % branchEvery == 0 && branch < branches )
+                {
+                    String name = "branch-" + branch++;
+                    git.checkout().setCreateBranch( true ).setName( name ).call();
+                    for ( int b = 0; b < COMMITS_PER_BRANCH; b++ )
+                    {
+                        modifyFiles( git, workDirectory, name + " commit " + b );
+                    }
+                    git.checkout().setName( Constants.MASTER ).call();
+                }
+            }
+        }
+        finally
+        {
+            git.getRepository().close();
+        }
+
+        Git bare = Git.cloneRepository().setURI( workDirectory.toURI().toString() ).setDirectory(
+            bareDirectory ).setBare( true ).setCloneAllBranches( true ).call();
+        bare.getRepository().close();
+
+        FileUtils.deleteDirectory( workDirectory );
+    }
+
+    private void modifyFiles( Git git, File workDirectory, String message )
+        throws Exception
+    {
+        for ( int f = 0; f < FILES_PER_COMMIT; f++ )
+        {
+            int index = random.nextInt( files );
+            File file = new File( workDirectory, getPath( index ) );
+            String content = FileUtils.fileRead( file );
+            int line = random.nextInt( LINES_PER_FILE );
+            content = content.replace( "line " + line + " of", "line " + line + " (" + message + ") of" );
+            FileUtils.fileWrite( file, content );
+            git.add().addFilepattern( getPath( index ) ).call();
+        }
+        commit( git, message );
+    }
+
+    private void commit( Git git, String message )
+        throws Exception
+    {
+        // one minute between the commits, so changelogs by date have something to filter
+        time += 60 * 1000;
+        PersonIdent ident = new PersonIdent( AUTHOR, new Date( time ) );
+        git.commit().setAuthor( ident ).setCommitter( ident ).setMessage( message ).call();
+    }
+
+    private static void write( File workDirectory, int index, String content )
+        throws IOException
+    {
+        File file = new File( workDirectory, getPath( index ) );
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite( file, content );
+    }
+}
@@ -21,12 +21,16 @@
 
 import java.io.File;
 
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.AbstractGitScmProvider;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.command.info.GitInfoItem;
+import org.apache.maven.scm.provider.git.jgit.command.JGitStorageConfig;
 import org.apache.maven.scm.provider.git.jgit.command.add.JGitAddCommand;
 import org.apache.maven.scm.provider.git.jgit.command.blame.JGitBlameCommand;
 import org.apache.maven.scm.provider.git.jgit.command.branch.JGitBranchCommand;
@@ -34,10 +38,13 @@
 import org.apache.maven.scm.provider.git.jgit.command.checkin.JGitCheckInCommand;
 import org.apache.maven.scm.provider.git.jgit.command.checkout.JGitCheckOutCommand;
 import org.apache.maven.scm.provider.git.jgit.command.diff.JGitDiffCommand;
+import org.apache.maven.scm.provider.git.jgit.command.info.JGitInfoCommand;
 import org.apache.maven.scm.provider.git.jgit.command.list.JGitListCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remoteinfo.JGitRemoteInfoCommand;
+import org.apache.maven.scm.provider.git.jgit.command.remove.JGitRemoveCommand;
 import org.apache.maven.scm.provider.git.jgit.command.status.JGitStatusCommand;
 import org.apache.maven.scm.provider.git.jgit.command.tag.JGitTagCommand;
+import org.apache.maven.scm.provider.git.jgit.command.update.JGitUpdateCommand;
 import org.apache.maven.scm.repository.ScmRepositoryException;
 
 /**
@@ -110,7 +117,7 @@ protected GitCommand getExportCommand()
      */
     protected GitCommand getRemoveCommand()
     {
-        throw new UnsupportedOperationException( "getRemoveCommand" );
+        return new JGitRemoveCommand();
     }
 
     /**
@@ -134,7 +141,7 @@ protected GitCommand getTagCommand()
      */
     protected GitCommand getUpdateCommand()
     {
-        throw new UnsupportedOperationException( "getUpdateCommand" );
+        return new JGitUpdateCommand();
     }
 
     /**
@@ -150,7 +157,7 @@ protected GitCommand getListCommand()
      */
     public GitCommand getInfoCommand()
     {
-        throw new UnsupportedOperationException( "getInfoCommand" );
+        return new JGitInfoCommand();
     }
 
     /**
@@ -189,4 +196,18 @@ protected GitCommand getRemoteInfoCommand()
     {
         return new JGitRemoteInfoCommand();
     }
+
+    /**
+     * Installs the JGit storage tuning from the settings and the command parameters before running the first command.
+     * <p/>
+     * {@inheritDoc}
+     */
+    protected ScmResult executeCommand( GitCommand command, ScmProviderRepository repository, ScmFileSet fileSet,
+                                        CommandParameters parameters )
+        throws ScmException
+    {
+        JGitStorageConfig.configure( getLogger(), parameters );
+
+        return super.executeCommand( command, repository, fileSet, parameters );
+    }
 }
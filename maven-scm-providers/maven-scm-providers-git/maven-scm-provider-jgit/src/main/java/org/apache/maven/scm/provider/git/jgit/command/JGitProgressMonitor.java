@@ -0,0 +1,169 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.ScmLogger;
+import org.eclipse.jgit.lib.ProgressMonitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ProgressMonitor} which logs to the {@link ScmLogger} and records the work done per task, e.g. the number
+ * of objects counted, compressed, written or received by a push or fetch. JGit reports the transferred objects, but
+ * not the transferred bytes, through its monitors.
+ * <p/>
+ * The recorded work accumulates over all operations the monitor is used for, so one monitor can collect the metrics
+ * of a whole batch. The push and the fetch of {@link JGitUtils} log it once they are done.
+ *
+ * @since 1.9.3
+ */
+public class JGitProgressMonitor
+    implements ProgressMonitor
+{
+    private final ScmLogger logger;
+
+    private final Map<String, Integer> completedWork = new LinkedHashMap<String, Integer>();
+
+    private String task;
+
+    private int taskTotal;
+
+    private int taskCompleted;
+
+    private long taskStart;
+
+    public JGitProgressMonitor( ScmLogger logger )
+    {
+        this.logger = logger;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void start( int totalTasks )
+    {
+        // nothing to do, the tasks are reported one by one
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void beginTask( String title, int totalWork )
+    {
+        task = title;
+        taskTotal = totalWork;
+        taskCompleted = 0;
+        taskStart = System.currentTimeMillis();
+
+        if ( logger.isDebugEnabled() )
+        {
+            logger.debug( title + ( totalWork != UNKNOWN ? " (" + totalWork + ")" : "" ) + "..." );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void update( int completed )
+    {
+        taskCompleted += completed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void endTask()
+    {
+        if ( task == null )
+        {
+            return;
+        }
+
+        Integer done = completedWork.get( task );
+        completedWork.put( task, Integer.valueOf( ( done != null ? done.intValue() : 0 ) + taskCompleted ) );
+
+        if ( logger.isInfoEnabled() )
+        {
+            logger.info( task + ": " + taskCompleted + ( taskTotal != UNKNOWN ? "/" + taskTotal : "" ) + ", done in "
+                + ( System.currentTimeMillis() - taskStart ) + " ms" );
+        }
+        task = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isCancelled()
+    {
+        return false;
+    }
+
+    /**
+     * @param title the title of a JGit task, e.g. <code>Writing objects</code>
+     * @return the work completed by all tasks with the given title so far
+     */
+    public synchronized int getCompletedWork( String title )
+    {
+        Integer done = completedWork.get( title );
+        return done != null ? done.intValue() : 0;
+    }
+
+    /**
+     * @return the work completed so far per task title, in the order the tasks were first run
+     */
+    public synchronized Map<String, Integer> getCompletedWork()
+    {
+        return Collections.unmodifiableMap( new LinkedHashMap<String, Integer>( completedWork ) );
+    }
+
+    /**
+     * @return the work completed so far, e.g. <code>Counting objects: 3, Writing objects: 15</code>, an empty string
+     *         if no task completed yet
+     */
+    public synchronized String getSummary()
+    {
+        StringBuilder summary = new StringBuilder();
+        for ( Map.Entry<String, Integer> work : completedWork.entrySet() )
+        {
+            if ( summary.length() > 0 )
+            {
+                summary.append( ", " );
+            }
+            summary.append( work.getKey() ).append( ": " ).append( work.getValue() );
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Logs the work completed so far at info level.
+     *
+     * @param operation the operation the monitor was used for, e.g. <code>push</code>
+     */
+    public void logCompletedWork( String operation )
+    {
+        String summary = getSummary();
+        if ( summary.length() > 0 && logger.isInfoEnabled() )
+        {
+            logger.info( operation + " done - " + summary );
+        }
+    }
+}
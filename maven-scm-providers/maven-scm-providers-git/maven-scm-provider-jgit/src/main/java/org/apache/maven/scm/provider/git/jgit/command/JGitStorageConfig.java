@@ -0,0 +1,233 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.git.util.GitUtil;
+import org.apache.maven.scm.providers.gitlib.settings.Settings;
+import org.codehaus.plexus.util.StringUtils;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+
+/**
+ * Installs the JGit storage tuning (window cache, pack file mmap, delta base cache and stream file threshold).
+ * <p/>
+ * The values are taken from the <code>git-settings.xml</code> and can be overridden by the <code>JGIT_*</code>
+ * {@link CommandParameter}s. The window cache is global to the JVM and flushed whenever a configuration is installed,
+ * so the configuration of the first command is installed once per JVM: a later command asking for another one only
+ * gets a warning.
+ *
+ * @since 1.9.3
+ */
+public class JGitStorageConfig
+{
+    private static final long KB = 1024;
+
+    private static final long MB = 1024 * KB;
+
+    private static final long GB = 1024 * MB;
+
+    /**
+     * the configuration installed last, <code>null</code> if this class did not install one yet
+     */
+    private static String installedConfig;
+
+    private JGitStorageConfig()
+    {
+        // no op
+    }
+
+    /**
+     * Installs the storage configuration resulting from the settings and the given parameters, unless a configuration
+     * is already installed.
+     *
+     * @param logger     used to log the installed configuration, or to warn that another one is ignored
+     * @param parameters the command parameters, may be <code>null</code>
+     * @throws ScmException if a parameter cannot be parsed or jgit rejects the configuration
+     */
+    public static synchronized void configure( ScmLogger logger, CommandParameters parameters )
+        throws ScmException
+    {
+        if ( parameters == null && installedConfig != null )
+        {
+            return;
+        }
+
+        Settings settings = GitUtil.getSettings();
+
+        WindowCacheConfig cfg = new WindowCacheConfig();
+
+        String packedGitLimit = getValue( parameters, CommandParameter.JGIT_PACKED_GIT_LIMIT,
+                                          settings.getJgitPackedGitLimit() );
+        if ( packedGitLimit != null )
+        {
+            cfg.setPackedGitLimit( parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, packedGitLimit ) );
+        }
+
+        String windowSize = getValue( parameters, CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE,
+                                      settings.getJgitPackedGitWindowSize() );
+        if ( windowSize != null )
+        {
+            int size = parseIntSize( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, windowSize );
+            if ( Integer.bitCount( size ) != 1 )
+            {
+                throw new ScmException( "The value of " + CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE
+                    + " must be a power of 2: " + windowSize );
+            }
+            cfg.setPackedGitWindowSize( size );
+        }
+
+        String mmap = getValue( parameters, CommandParameter.JGIT_PACKED_GIT_MMAP, null );
+        cfg.setPackedGitMMAP( mmap != null ? Boolean.valueOf( mmap ).booleanValue() : settings.isJgitPackedGitMMAP() );
+
+        String deltaBaseCacheLimit = getValue( parameters, CommandParameter.JGIT_DELTA_BASE_CACHE_LIMIT,
+                                               settings.getJgitDeltaBaseCacheLimit() );
+        if ( deltaBaseCacheLimit != null )
+        {
+            cfg.setDeltaBaseCacheLimit( parseIntSize( CommandParameter.JGIT_DELTA_BASE_CACHE_LIMIT,
+                                                      deltaBaseCacheLimit ) );
+        }
+
+        String streamFileThreshold = getValue( parameters, CommandParameter.JGIT_STREAM_FILE_THRESHOLD,
+                                               settings.getJgitStreamFileThreshold() );
+        if ( streamFileThreshold != null )
+        {
+            cfg.setStreamFileThreshold( parseIntSize( CommandParameter.JGIT_STREAM_FILE_THRESHOLD,
+                                                      streamFileThreshold ) );
+        }
+
+        String config = "packedGitLimit=" + cfg.getPackedGitLimit() + ", packedGitWindowSize="
+            + cfg.getPackedGitWindowSize() + ", packedGitMMAP=" + cfg.isPackedGitMMAP() + ", deltaBaseCacheLimit="
+            + cfg.getDeltaBaseCacheLimit() + ", streamFileThreshold=" + cfg.getStreamFileThreshold();
+
+        if ( installedConfig != null )
+        {
+            if ( !config.equals( installedConfig ) && logger != null && logger.isWarnEnabled() )
+            {
+                logger.warn( "The JGit storage configuration is installed once per JVM, keeping " + installedConfig
+                    + " instead of " + config );
+            }
+            return;
+        }
+
+        try
+        {
+            cfg.install();
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new ScmException( "Invalid JGit storage configuration: " + config, e );
+        }
+        installedConfig = config;
+
+        if ( logger != null && logger.isDebugEnabled() )
+        {
+            logger.debug( "installed JGit storage configuration: " + config );
+        }
+    }
+
+    /**
+     * @return the configuration installed by this class, <code>null</code> if none
+     */
+    static synchronized String getInstalledConfig()
+    {
+        return installedConfig;
+    }
+
+    /**
+     * Installs the default configuration of JGit again, for the tests.
+     */
+    static synchronized void reset()
+    {
+        new WindowCacheConfig().install();
+        installedConfig = null;
+    }
+
+    private static String getValue( CommandParameters parameters, CommandParameter parameter, String setting )
+        throws ScmException
+    {
+        String value = parameters != null ? parameters.getString( parameter, null ) : null;
+        if ( StringUtils.isBlank( value ) )
+        {
+            value = setting;
+        }
+        return StringUtils.isBlank( value ) ? null : value.trim();
+    }
+
+    private static int parseIntSize( CommandParameter parameter, String value )
+        throws ScmException
+    {
+        long size = parseSize( parameter, value );
+        if ( size > Integer.MAX_VALUE )
+        {
+            throw new ScmException( "The value of " + parameter + " must not exceed " + Integer.MAX_VALUE
+                + " bytes: " + value );
+        }
+        return (int) size;
+    }
+
+    /**
+     * Parses a size like git does for its config, e.g. <code>8192</code>, <code>64k</code>, <code>10m</code> or
+     * <code>1g</code>.
+     */
+    static long parseSize( CommandParameter parameter, String value )
+        throws ScmException
+    {
+        String number = value.toLowerCase();
+        long multiplier = 1;
+        char unit = number.charAt( number.length() - 1 );
+        if ( unit == 'k' )
+        {
+            multiplier = KB;
+        }
+        else if ( unit == 'm' )
+        {
+            multiplier = MB;
+        }
+        else if ( unit == 'g' )
+        {
+            multiplier = GB;
+        }
+        if ( multiplier != 1 )
+        {
+            number = number.substring( 0, number.length() - 1 ).trim();
+        }
+
+        try
+        {
+            long size = Long.parseLong( number );
+            if ( size <= 0 )
+            {
+                throw new ScmException( "The value of " + parameter + " must be positive: " + value );
+            }
+            if ( size > Long.MAX_VALUE / multiplier )
+            {
+                throw new ScmException( "The value of " + parameter + " is too large: " + value );
+            }
+            return size * multiplier;
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new ScmException( "The value of " + parameter + " isn't a valid size: " + value, e );
+        }
+    }
+}
@@ -28,17 +28,17 @@
 import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.StoredConfig;
-import org.eclipse.jgit.lib.TextProgressMonitor;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevFlag;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.TrackingRefUpdate;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.jgit.util.io.DisabledOutputStream;
 
@@ -81,7 +81,11 @@
  */
 public class JGitUtils
 {
-    
+    /**
+     * number of commits the change log takes at once from a {@link RevCommitCursor}
+     */
+    public static final int REV_COMMIT_PAGE_SIZE = 100;
+
     private JGitUtils()
     {
         // no op
@@ -107,8 +111,7 @@ public static void closeRepo( Git git )
      */
     public static ProgressMonitor getMonitor( ScmLogger logger )
     {
-        // X TODO write an own ProgressMonitor which logs to ScmLogger!
-        return new TextProgressMonitor();
+        return new JGitProgressMonitor( logger );
     }
 
     /**
@@ -157,12 +160,35 @@ public static CredentialsProvider getCredentials( GitScmProviderRepository repos
         return null;
     }
 
-    public static Iterable<PushResult> push( ScmLogger logger, Git git, GitScmProviderRepository repo, RefSpec refSpec )
+    public static Iterable<PushResult> push( ScmLogger logger, Git git, GitScmProviderRepository repo,
+                                             RefSpec... refSpecs )
+        throws GitAPIException, InvalidRemoteException, TransportException
+    {
+        return push( logger, git, repo, getMonitor( logger ), refSpecs );
+    }
+
+    /**
+     * Pushes all given refspecs in a single transport session.
+     *
+     * @param logger   used to log the result of every remote ref update
+     * @param git      the repository to push from
+     * @param repo     the repo config to be used
+     * @param monitor  receives the progress, a {@link JGitProgressMonitor} also records and logs the pushed objects
+     * @param refSpecs the refspecs to push, e.g. all tags and branches of a release
+     * @return the push results
+     * @throws GitAPIException
+     * @throws InvalidRemoteException
+     * @throws TransportException
+     * @since 1.9.3
+     */
+    public static Iterable<PushResult> push( ScmLogger logger, Git git, GitScmProviderRepository repo,
+                                             ProgressMonitor monitor, RefSpec... refSpecs )
         throws GitAPIException, InvalidRemoteException, TransportException
     {
         CredentialsProvider credentials = JGitUtils.prepareSession( logger, git, repo );
         Iterable<PushResult> pushResultList =
-            git.push().setCredentialsProvider( credentials ).setRefSpecs( refSpec ).call();
+            git.push().setCredentialsProvider( credentials ).setProgressMonitor( monitor ).setRefSpecs(
+                refSpecs ).call();
         for ( PushResult pushResult : pushResultList )
         {
             Collection<RemoteRefUpdate> ru = pushResult.getRemoteUpdates();
@@ -171,9 +197,56 @@ public static Iterable<PushResult> push( ScmLogger logger, Git git, GitScmProvid
                 logger.info( remoteRefUpdate.getStatus() + " - " + remoteRefUpdate.toString() );
             }
         }
+        logCompletedWork( monitor, "push" );
         return pushResultList;
     }
 
+    /**
+     * Fetches all given refspecs from the remote repository in a single transport session.
+     *
+     * @param logger   used to log the updated tracking refs
+     * @param git      the repository to fetch into
+     * @param repo     the repo config to be used
+     * @param monitor  receives the progress, a {@link JGitProgressMonitor} also records and logs the received
+     *                 objects
+     * @param refSpecs the refspecs to fetch
+     * @return the fetch result
+     * @throws GitAPIException
+     * @throws InvalidRemoteException
+     * @throws TransportException
+     * @since 1.9.3
+     */
+    public static FetchResult fetch( ScmLogger logger, Git git, GitScmProviderRepository repo,
+                                     ProgressMonitor monitor, RefSpec... refSpecs )
+        throws GitAPIException, InvalidRemoteException, TransportException
+    {
+        CredentialsProvider credentials = JGitUtils.prepareSession( logger, git, repo );
+        FetchResult fetchResult =
+            git.fetch().setRemote( Constants.DEFAULT_REMOTE_NAME ).setCredentialsProvider( credentials ).setProgressMonitor(
+                monitor ).setRefSpecs( refSpecs ).call();
+        for ( TrackingRefUpdate refUpdate : fetchResult.getTrackingRefUpdates() )
+        {
+            logger.info( refUpdate.getResult() + " - " + refUpdate.getLocalName() );
+        }
+        logCompletedWork( monitor, "fetch" );
+        return fetchResult;
+    }
+
+    /**
+     * Logs the objects transferred so far if the monitor recorded them.
+     *
+     * @param monitor   the monitor passed to a transport operation
+     * @param operation the operation, e.g. <code>push</code>
+     * @since 1.9.3
+     */
+    public static void logCompletedWork( ProgressMonitor monitor, String operation )
+    {
+        if ( monitor instanceof JGitProgressMonitor )
+        {
+            ( (JGitProgressMonitor) monitor ).logCompletedWork( operation );
+        }
+    }
+
     /**
      * Does the Repository have any commits?
      *
@@ -224,6 +297,58 @@ public static List<ScmFile> getFilesInCommit( Repository repository, RevCommit c
         return list;
     }
 
+    /**
+     * get a list of all files which differ between two commits, e.g. the files touched by a fetch and merge.
+     *
+     * @param repository the repo
+     * @param fromId     the commit to start from
+     * @param toId       the commit to compare with
+     * @return a list of changed files with the status of their change, never <code>null</code>
+     * @throws MissingObjectException
+     * @throws IncorrectObjectTypeException
+     * @throws CorruptObjectException
+     * @throws IOException
+     * @since 1.9.3
+     */
+    public static List<ScmFile> getChangedFiles( Repository repository, ObjectId fromId, ObjectId toId )
+        throws MissingObjectException, IncorrectObjectTypeException, CorruptObjectException, IOException
+    {
+        List<ScmFile> list = new ArrayList<ScmFile>();
+        if ( fromId == null || toId == null || fromId.equals( toId ) )
+        {
+            return list;
+        }
+
+        RevWalk rw = new RevWalk( repository );
+        try
+        {
+            RevCommit from = rw.parseCommit( fromId );
+            RevCommit to = rw.parseCommit( toId );
+            DiffFormatter df = new DiffFormatter( DisabledOutputStream.INSTANCE );
+            try
+            {
+                df.setRepository( repository );
+                df.setDiffComparator( RawTextComparator.DEFAULT );
+                df.setDetectRenames( true );
+                List<DiffEntry> diffs = df.scan( from.getTree(), to.getTree() );
+                for ( DiffEntry diff : diffs )
+                {
+                    String path = diff.getChangeType() == ChangeType.DELETE ? diff.getOldPath() : diff.getNewPath();
+                    list.add( new ScmFile( path, getScmFileStatus( diff.getChangeType() ) ) );
+                }
+            }
+            finally
+            {
+                df.release();
+            }
+        }
+        finally
+        {
+            rw.release();
+        }
+        return list;
+    }
+
     /**
      * Translate a {@code FileStatus} in the matching {@code ScmFileStatus}.
      *
@@ -339,9 +464,39 @@ public static List<RevCommit> getRevCommits( Repository repo, RevSort[] sortings
                                                  final Date fromDate, final Date toDate, int maxLines )
         throws IOException, MissingObjectException, IncorrectObjectTypeException
     {
+        // a single page, the cursor would dispose the bodies of the previous pages
+        RevCommitCursor cursor = openRevCommits( repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, null );
+        return cursor.nextPage( Integer.MAX_VALUE );
+    }
 
-        List<RevCommit> revs = new ArrayList<RevCommit>();
+    /**
+     * Opens a cursor over the commits between two revisions. Other than
+     * {@link #getRevCommits(Repository, RevSort[], String, String, Date, Date, int)} the commits are returned page
+     * by page and the bodies of a page are disposed with the next page, so the memory used by the commit messages does
+     * not depend on the size of the history.
+     *
+     * @param repo        the repository to work on
+     * @param sortings    sorting
+     * @param fromRev     start revision
+     * @param toRev       if null, falls back to head
+     * @param fromDate    from which date on
+     * @param toDate      until which date
+     * @param maxLines    max number of lines, -1 for no limit
+     * @param resumeAfter the {@link RevCommitCursor#getPosition() position} of a previous cursor opened with the same
+     *                    arguments, <code>null</code> to start at the newest commit
+     * @return the cursor, never <code>null</code>
+     * @throws IOException
+     * @throws MissingObjectException
+     * @throws IncorrectObjectTypeException
+     * @since 1.9.3
+     */
+    public static RevCommitCursor openRevCommits( Repository repo, RevSort[] sortings, String fromRev, String toRev,
+                                                  Date fromDate, Date toDate, int maxLines, String resumeAfter )
+        throws IOException, MissingObjectException, IncorrectObjectTypeException
+    {
         RevWalk walk = new RevWalk( repo );
+        // the cursor parses the bodies of the returned commits only
+        walk.setRetainBody( false );
 
         ObjectId fromRevId = fromRev != null ? repo.resolve( fromRev ) : null;
         ObjectId toRevId = toRev != null ? repo.resolve( toRev ) : null;
@@ -356,37 +511,11 @@ public static List<RevCommit> getRevCommits( Repository repo, RevSort[] sortings
             walk.sort( s, true );
         }
 
-        if ( fromDate != null && toDate != null )
+        if ( fromDate != null || toDate != null )
         {
-            //walk.setRevFilter( CommitTimeRevFilter.between( fromDate, toDate ) );
-            walk.setRevFilter( new RevFilter()
-            {
-                @Override
-                public boolean include( RevWalk walker, RevCommit cmit )
-                    throws StopWalkException, MissingObjectException, IncorrectObjectTypeException, IOException
-                {
-                    int cmtTime = cmit.getCommitTime();
-
-                    return ( cmtTime >= (  fromDate.getTime() / 1000  ) ) && ( cmtTime <= ( toDate.getTime() / 1000) );
-                }
-
-                @Override
-                public RevFilter clone()
-                {
-                    return this;
-                }
-            } );
-        }
-        else
-        {
-            if ( fromDate != null )
-            {
-                walk.setRevFilter( CommitTimeRevFilter.after( fromDate ) );
-            }
-            if ( toDate != null )
-            {
-                walk.setRevFilter( CommitTimeRevFilter.before( toDate ) );
-            }
+            // not the CommitTimeRevFilters, they stop at the first commit older than the range, which drops the
+            // commits following a commit with a skewed time
+            walk.setRevFilter( new CommitTimeRangeRevFilter( fromDate, toDate ) );
         }
 
         if ( fromRevId != null )
@@ -409,24 +538,61 @@ public RevFilter clone()
             final ObjectId head = repo.resolve( Constants.HEAD );
             if ( head == null )
             {
+                walk.release();
                 throw new RuntimeException( "Cannot resolve " + Constants.HEAD );
             }
             RevCommit real = walk.parseCommit( head );
             walk.markStart( real );
         }
 
-        int n = 0;
-        for ( final RevCommit c : walk )
+        return new RevCommitCursor( walk, maxLines, resumeAfter );
+    }
+
+    /**
+     * Includes the commits within a range of commit times. The commits are walked from the newest one, so the walk
+     * stops at the first commit older than the range by more than {@link #CLOCK_SKEW}: the older commits are only
+     * walked when their times are not monotonic by less than this.
+     */
+    private static final class CommitTimeRangeRevFilter
+        extends RevFilter
+    {
+        /**
+         * How much older than the range a commit may be before the walk stops, in seconds
+         */
+        static final long CLOCK_SKEW = 24 * 60 * 60;
+
+        private final long from;
+
+        private final long to;
+
+        CommitTimeRangeRevFilter( Date fromDate, Date toDate )
+        {
+            from = fromDate != null ? fromDate.getTime() / 1000 : Long.MIN_VALUE + CLOCK_SKEW;
+            to = toDate != null ? toDate.getTime() / 1000 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public boolean include( RevWalk walker, RevCommit cmit )
         {
-            n++;
-            if ( maxLines != -1 && n > maxLines )
+            int cmtTime = cmit.getCommitTime();
+            if ( cmtTime < from - CLOCK_SKEW )
             {
-                break;
+                throw StopWalkException.INSTANCE;
             }
+            return cmtTime >= from && cmtTime <= to;
+        }
+
+        @Override
+        public boolean requiresCommitBody()
+        {
+            return false;
+        }
 
-            revs.add( c );
+        @Override
+        public RevFilter clone()
+        {
+            return this;
         }
-        return revs;
     }
 
 }
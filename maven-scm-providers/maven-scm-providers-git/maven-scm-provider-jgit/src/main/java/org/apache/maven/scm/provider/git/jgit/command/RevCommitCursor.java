@@ -0,0 +1,166 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages through the commits of a {@link RevWalk} without keeping the commit bodies of the whole history in memory.
+ * <p/>
+ * The walk doesn't retain the commit bodies, the cursor parses the bodies of the commits it returns, including their
+ * message. These bodies are disposed when the next page is asked for, so only the headers of the walked commits stay
+ * in memory and the caller must take what it needs of a page before asking for the next one.
+ * <p/>
+ * {@link #getPosition()} returns a cursor which can be passed to
+ * {@link JGitUtils#openRevCommits(org.eclipse.jgit.lib.Repository, org.eclipse.jgit.revwalk.RevSort[], String,
+ * String, java.util.Date, java.util.Date, int, String)} to resume the walk later on, e.g. in another request.
+ * Resuming re-walks the commits up to the cursor, without parsing their bodies.
+ *
+ * @since 1.9.3
+ */
+public class RevCommitCursor
+{
+    private final RevWalk walk;
+
+    private final int maxCount;
+
+    private int count;
+
+    private RevCommit next;
+
+    private boolean done;
+
+    private String position;
+
+    private List<RevCommit> page = new ArrayList<RevCommit>();
+
+    /**
+     * @param walk        a fully configured walk, not retaining the commit bodies
+     * @param maxCount    max number of commits to return, -1 for no limit
+     * @param resumeAfter the position of a previous cursor to resume after, <code>null</code> to start at the top
+     * @throws IOException
+     * @throws IllegalArgumentException if the commit of <code>resumeAfter</code> is not part of the walk
+     */
+    RevCommitCursor( RevWalk walk, int maxCount, String resumeAfter )
+        throws IOException
+    {
+        this.walk = walk;
+        this.maxCount = maxCount;
+
+        if ( resumeAfter != null )
+        {
+            RevCommit c;
+            do
+            {
+                c = walk.next();
+                if ( c == null )
+                {
+                    release();
+                    throw new IllegalArgumentException( "commit " + resumeAfter + " is not part of the walk" );
+                }
+            }
+            while ( !c.name().equals( resumeAfter ) );
+            position = resumeAfter;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if there are more commits to return
+     * @throws IOException
+     */
+    public boolean hasNext()
+        throws IOException
+    {
+        if ( next == null && !done )
+        {
+            if ( maxCount != -1 && count >= maxCount )
+            {
+                done = true;
+            }
+            else
+            {
+                next = walk.next();
+                done = next == null;
+            }
+
+            if ( done )
+            {
+                release();
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * Returns the next commits, fully parsed including their message. The bodies of the commits returned by the
+     * previous call are disposed.
+     *
+     * @param pageSize max number of commits to return
+     * @return the next commits, an empty list if the walk is exhausted
+     * @throws IOException
+     */
+    public List<RevCommit> nextPage( int pageSize )
+        throws IOException
+    {
+        disposePage();
+
+        page = new ArrayList<RevCommit>( Math.min( pageSize, 256 ) );
+        while ( page.size() < pageSize && hasNext() )
+        {
+            walk.parseBody( next );
+            page.add( next );
+            position = next.name();
+            next = null;
+            count++;
+        }
+        return page;
+    }
+
+    private void disposePage()
+    {
+        for ( RevCommit c : page )
+        {
+            c.disposeBody();
+        }
+    }
+
+    /**
+     * @return the id of the last returned commit, <code>null</code> if no commit has been returned yet
+     */
+    public String getPosition()
+    {
+        return position;
+    }
+
+    /**
+     * Releases the resources of the walk. Done automatically once the walk is exhausted.
+     */
+    public void release()
+    {
+        done = true;
+        next = null;
+        walk.release();
+    }
+}
@@ -20,16 +20,21 @@
  */
 
 import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.apache.maven.scm.provider.git.jgit.command.RevCommitCursor;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
@@ -75,13 +80,62 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
         return executeChangeLogCommand( repo, fileSet, startDate, endDate, branch, datePattern, null, null );
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link ChangeLogScmRequest#setChangeSetSink(ChangeSetSink) change set sink}.
+     */
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand( ChangeLogScmRequest request )
+        throws ScmException
+    {
+        return executeChangeLogCommand( request.getScmRepository().getProviderRepository(), request.getScmFileSet(),
+                                        request.getStartDate(), request.getEndDate(), request.getScmBranch(),
+                                        request.getDatePattern(), request.getStartRevision(),
+                                        request.getEndRevision(), request.getLimit(), request.getChangeSetSink() );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The change sets are passed to the {@link CommandParameter#CHANGESET_SINK change set sink} if there is one.
+     */
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                          Date startDate, Date endDate, ScmBranch branch,
+                                                          ScmVersion startVersion, ScmVersion endVersion,
+                                                          Integer limit, String datePattern,
+                                                          CommandParameters parameters )
+        throws ScmException
+    {
+        return executeChangeLogCommand( repo, fileSet, startDate, endDate, branch, datePattern, startVersion,
+                                        endVersion, limit,
+                                        parameters.getChangeSetSink( CommandParameter.CHANGESET_SINK ) );
+    }
+
     protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                           Date startDate, Date endDate, ScmBranch branch,
                                                           String datePattern, ScmVersion startVersion,
                                                           ScmVersion endVersion )
         throws ScmException
+    {
+        return executeChangeLogCommand( repo, fileSet, startDate, endDate, branch, datePattern, startVersion,
+                                        endVersion, null, null );
+    }
+
+    /**
+     * @param limit the max number of change sets, <code>null</code> for no limit
+     * @param sink receives the change sets instead of the result if not <code>null</code>, the walk stops as soon
+     *             as it does not accept a change set anymore
+     */
+    private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                        Date startDate, Date endDate, ScmBranch branch,
+                                                        String datePattern, ScmVersion startVersion,
+                                                        ScmVersion endVersion, Integer limit, ChangeSetSink sink )
+        throws ScmException
     {
         Git git = null;
+        RevCommitCursor cursor = null;
         try
         {
             git = Git.open( fileSet.getBasedir() );
@@ -89,22 +143,27 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
             String startRev = startVersion != null ? startVersion.getName() : null;
             String endRev = endVersion != null ? endVersion.getName() : null;
 
-            List<ChangeEntry> gitChanges =
-                this.whatchanged( git.getRepository(), null, startRev, endRev, startDate, endDate, -1 );
+            List<ChangeSet> modifications = new ArrayList<ChangeSet>();
 
-            List<ChangeSet> modifications = new ArrayList<ChangeSet>( gitChanges.size() );
-
-            for ( ChangeEntry change : gitChanges )
+            // the change sets are built page by page, the cursor disposes the commit messages of the previous page
+            cursor =
+                JGitUtils.openRevCommits( git.getRepository(), null, startRev, endRev, startDate, endDate,
+                                          limit != null ? limit.intValue() : -1, null );
+            pages:
+            while ( cursor.hasNext() )
             {
-                ChangeSet scmChange = new ChangeSet();
-
-                scmChange.setAuthor( change.getAuthorName() );
-                scmChange.setComment( change.getBody() );
-                scmChange.setDate( change.getAuthorDate() );
-                scmChange.setRevision( change.getCommitHash() );
-                // X TODO scmChange.setFiles( change.get )
-
-                modifications.add( scmChange );
+                for ( RevCommit c : cursor.nextPage( JGitUtils.REV_COMMIT_PAGE_SIZE ) )
+                {
+                    ChangeSet scmChange = toChangeSet( c );
+                    if ( sink == null )
+                    {
+                        modifications.add( scmChange );
+                    }
+                    else if ( !sink.accept( scmChange ) )
+                    {
+                        break pages;
+                    }
+                }
             }
 
             ChangeLogSet changeLogSet = new ChangeLogSet( modifications, startDate, endDate );
@@ -119,6 +178,10 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
         }
         finally
         {
+            if ( cursor != null )
+            {
+                cursor.release();
+            }
             JGitUtils.closeRepo( git );
         }
     }
@@ -127,32 +190,61 @@ public List<ChangeEntry> whatchanged( Repository repo, RevSort[] sortings, Strin
                                           Date fromDate, Date toDate, int maxLines )
         throws MissingObjectException, IncorrectObjectTypeException, IOException
     {
-        List<RevCommit> revs = JGitUtils.getRevCommits( repo, sortings, fromRev, toRev, fromDate, toDate, maxLines );
-        List<ChangeEntry> changes = new ArrayList<ChangeEntry>( revs.size() );
+        List<ChangeEntry> changes = new ArrayList<ChangeEntry>();
 
-        for ( RevCommit c : revs )
+        RevCommitCursor cursor =
+            JGitUtils.openRevCommits( repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, null );
+        try
         {
-            ChangeEntry ce = new ChangeEntry();
+            while ( cursor.hasNext() )
+            {
+                for ( RevCommit c : cursor.nextPage( JGitUtils.REV_COMMIT_PAGE_SIZE ) )
+                {
+                    changes.add( toChangeEntry( c ) );
+                }
+            }
+        }
+        finally
+        {
+            cursor.release();
+        }
 
-            ce.setAuthorDate( c.getAuthorIdent().getWhen() );
-            ce.setAuthorEmail( c.getAuthorIdent().getEmailAddress() );
-            ce.setAuthorName( c.getAuthorIdent().getName() );
-            ce.setCommitterDate( c.getCommitterIdent().getWhen() );
-            ce.setCommitterEmail( c.getCommitterIdent().getEmailAddress() );
-            ce.setCommitterName( c.getCommitterIdent().getName() );
+        return changes;
+    }
 
-            ce.setSubject( c.getShortMessage() );
-            ce.setBody( c.getFullMessage() );
+    private static ChangeSet toChangeSet( RevCommit c )
+    {
+        ChangeSet scmChange = new ChangeSet();
 
-            ce.setCommitHash( c.getId().name() );
-            ce.setTreeHash( c.getTree().getId().name() );
+        scmChange.setAuthor( c.getAuthorIdent().getName() );
+        scmChange.setComment( c.getFullMessage() );
+        scmChange.setDate( c.getAuthorIdent().getWhen() );
+        scmChange.setRevision( c.getId().name() );
+        // X TODO scmChange.setFiles( change.get )
 
-            // X TODO missing: file list
+        return scmChange;
+    }
 
-            changes.add( ce );
-        }
+    private static ChangeEntry toChangeEntry( RevCommit c )
+    {
+        ChangeEntry ce = new ChangeEntry();
 
-        return changes;
+        ce.setAuthorDate( c.getAuthorIdent().getWhen() );
+        ce.setAuthorEmail( c.getAuthorIdent().getEmailAddress() );
+        ce.setAuthorName( c.getAuthorIdent().getName() );
+        ce.setCommitterDate( c.getCommitterIdent().getWhen() );
+        ce.setCommitterEmail( c.getCommitterIdent().getEmailAddress() );
+        ce.setCommitterName( c.getCommitterIdent().getName() );
+
+        ce.setSubject( c.getShortMessage() );
+        ce.setBody( c.getFullMessage() );
+
+        ce.setCommitHash( c.getId().name() );
+        ce.setTreeHash( c.getTree().getId().name() );
+
+        // X TODO missing: file list
+
+        return ce;
     }
 
     public static final class ChangeEntry
@@ -30,6 +30,7 @@
 import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitStorageConfig;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.apache.maven.scm.provider.git.jgit.command.branch.JGitBranchCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remoteinfo.JGitRemoteInfoCommand;
@@ -40,7 +41,6 @@
 import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.storage.file.WindowCacheConfig;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.treewalk.TreeWalk;
 
@@ -99,10 +99,8 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                     fileSet.getBasedir().delete();
                 }
 
-                // FIXME only if windauze
-                WindowCacheConfig cfg = new WindowCacheConfig();
-                cfg.setPackedGitMMAP( false );
-                cfg.install();
+                // mmap stays disabled unless configured, otherwise windows keeps the pack files locked
+                JGitStorageConfig.configure( getLogger(), null );
 
                 // no git repo seems to exist, let's clone the original repo
                 CredentialsProvider credentials = JGitUtils.getCredentials( (GitScmProviderRepository) repo );
@@ -142,6 +140,8 @@ protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo,
                 }
             }
 
+            JGitUtils.logCompletedWork( monitor, "checkout" );
+
             Set<String> localBranchNames = JGitBranchCommand.getShortLocalBranchNames( git );
             if ( version instanceof ScmTag )
             {
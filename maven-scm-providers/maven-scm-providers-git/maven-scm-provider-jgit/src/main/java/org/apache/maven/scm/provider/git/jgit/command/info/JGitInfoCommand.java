@@ -0,0 +1,130 @@
+package org.apache.maven.scm.provider.git.jgit.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.command.info.GitInfoItem;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the current HEAD revision, the JGit counterpart of <code>git rev-parse --verify [--short=n] HEAD</code>.
+ *
+ * @since 1.9.3
+ */
+public class JGitInfoCommand
+    extends AbstractCommand
+    implements GitCommand
+{
+
+    public static final int NO_REVISION_LENGTH = -1;
+
+    /**
+     * git never abbreviates an object id to less than 4 characters
+     */
+    private static final int MIN_REVISION_LENGTH = 4;
+
+    @Override
+    protected ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                        CommandParameters parameters )
+        throws ScmException
+    {
+        Git git = null;
+        try
+        {
+            git = Git.open( fileSet.getBasedir() );
+
+            ObjectId head = git.getRepository().resolve( Constants.HEAD );
+            if ( head == null )
+            {
+                return new InfoScmResult( "JGit info", "Cannot resolve " + Constants.HEAD, null, false );
+            }
+
+            String revision = head.name();
+            int revLength = getRevisionLength( parameters );
+            if ( revLength > NO_REVISION_LENGTH )
+            {
+                ObjectReader reader = git.getRepository().newObjectReader();
+                try
+                {
+                    revision = reader.abbreviate( head, Math.min( Constants.OBJECT_ID_STRING_LENGTH,
+                                                                  Math.max( MIN_REVISION_LENGTH, revLength ) ) ).name();
+                }
+                finally
+                {
+                    reader.release();
+                }
+            }
+
+            InfoItem infoItem = new GitInfoItem();
+            infoItem.setRevision( revision );
+            infoItem.setURL( fileSet.getBasedir().getPath() );
+
+            List<InfoItem> infoItems = new ArrayList<InfoItem>( 1 );
+            infoItems.add( infoItem );
+
+            return new InfoScmResult( "JGit info", infoItems );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "JGit info failure!", e );
+        }
+        finally
+        {
+            JGitUtils.closeRepo( git );
+        }
+    }
+
+    /**
+     * Get the revision length from the parameters
+     *
+     * @param parameters
+     * @return -1 if parameter {@link CommandParameter#SCM_SHORT_REVISION_LENGTH} is absent, <br/> and otherwise - the
+     *         length to be applied for the revision formatting
+     * @throws ScmException
+     */
+    private static int getRevisionLength( final CommandParameters parameters )
+        throws ScmException
+    {
+        if ( parameters == null )
+        {
+            return NO_REVISION_LENGTH;
+        }
+        else
+        {
+            return parameters.getInt( CommandParameter.SCM_SHORT_REVISION_LENGTH, NO_REVISION_LENGTH );
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.apache.maven.scm.provider.git.jgit.command.remove;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.remove.AbstractRemoveCommand;
+import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.RmCommand;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class JGitRemoveCommand
+    extends AbstractRemoveCommand
+    implements GitCommand
+{
+    /**
+     * {@inheritDoc}
+     */
+    protected ScmResult executeRemoveCommand( ScmProviderRepository repo, ScmFileSet fileSet, String message )
+        throws ScmException
+    {
+
+        if ( fileSet.getFileList().isEmpty() )
+        {
+            throw new ScmException( "You must provide at least one file/directory to remove" );
+        }
+        Git git = null;
+        try
+        {
+            git = Git.open( fileSet.getBasedir() );
+
+            URI baseUri = fileSet.getBasedir().toURI();
+            RmCommand rm = git.rm();
+            List<ScmFile> removedFiles = new ArrayList<ScmFile>( fileSet.getFileList().size() );
+            for ( File file : fileSet.getFileList() )
+            {
+                String path = file.getPath();
+                if ( file.isAbsolute() )
+                {
+                    path = baseUri.relativize( file.toURI() ).getPath();
+                }
+                // jgit always expects '/' as separator and no trailing one for directories
+                path = path.replace( '\\', '/' );
+                if ( path.endsWith( "/" ) )
+                {
+                    path = path.substring( 0, path.length() - 1 );
+                }
+
+                rm.addFilepattern( path );
+                removedFiles.add( new ScmFile( path, ScmFileStatus.DELETED ) );
+            }
+            rm.call();
+
+            if ( getLogger().isDebugEnabled() )
+            {
+                for ( ScmFile scmFile : removedFiles )
+                {
+                    getLogger().debug( "removed file: " + scmFile );
+                }
+            }
+
+            return new RemoveScmResult( "JGit remove", removedFiles );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "JGit remove failure!", e );
+        }
+        finally
+        {
+            JGitUtils.closeRepo( git );
+        }
+    }
+
+}
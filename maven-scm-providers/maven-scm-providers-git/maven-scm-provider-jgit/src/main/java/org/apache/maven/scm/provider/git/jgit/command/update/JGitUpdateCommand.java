@@ -0,0 +1,183 @@
+package org.apache.maven.scm.provider.git.jgit.command.update;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.changelog.ChangeLogCommand;
+import org.apache.maven.scm.command.update.AbstractUpdateCommand;
+import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResultWithRevision;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.apache.maven.scm.provider.git.jgit.command.changelog.JGitChangeLogCommand;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.codehaus.plexus.util.StringUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeResult;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.transport.RefSpec;
+
+import java.util.List;
+
+/**
+ * Updates the working copy in-process: the requested branch is fetched from the remote repository and then merged
+ * (fast-forward whenever possible) into the current branch. A tag or a revision is fetched and checked out instead,
+ * leaving a detached HEAD. The updated files are computed from a diff of the trees of the old and the new HEAD, so no
+ * <code>git</code> executable is needed.
+ *
+ * @since 1.9.3
+ */
+public class JGitUpdateCommand
+    extends AbstractUpdateCommand
+    implements GitCommand
+{
+    /**
+     * {@inheritDoc}
+     */
+    protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                    ScmVersion scmVersion )
+        throws ScmException
+    {
+        GitScmProviderRepository repository = (GitScmProviderRepository) repo;
+
+        if ( GitScmProviderRepository.PROTOCOL_FILE.equals( repository.getFetchInfo().getProtocol() )
+            && repository.getFetchInfo().getPath().indexOf( fileSet.getBasedir().getPath() ) >= 0 )
+        {
+            throw new ScmException( "remote repository must not be the working directory" );
+        }
+
+        Git git = null;
+        try
+        {
+            git = Git.open( fileSet.getBasedir() );
+
+            if ( ( scmVersion instanceof ScmTag || scmVersion instanceof ScmRevision )
+                && StringUtils.isNotBlank( scmVersion.getName() ) )
+            {
+                return checkOutVersion( git, repository, scmVersion );
+            }
+
+            String branch = scmVersion instanceof ScmBranch ? scmVersion.getName() : null;
+            if ( StringUtils.isBlank( branch ) )
+            {
+                branch = Constants.MASTER;
+            }
+
+            ObjectId origHead = git.getRepository().resolve( Constants.HEAD );
+
+            String remoteBranch = Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + branch;
+            RefSpec refSpec = new RefSpec( "+" + Constants.R_HEADS + branch + ":" + remoteBranch );
+
+            getLogger().debug( "fetch " + refSpec + "..." );
+            JGitUtils.fetch( getLogger(), git, repository, JGitUtils.getMonitor( getLogger() ), refSpec );
+
+            Ref remoteRef = git.getRepository().getRef( remoteBranch );
+            if ( remoteRef == null )
+            {
+                return new UpdateScmResult( "JGit update", "The branch [" + branch
+                    + "] does not exist in the remote repository.", null, false );
+            }
+
+            getLogger().debug( "merge " + remoteBranch + "..." );
+            MergeResult mergeResult = git.merge().include( remoteRef ).call();
+            if ( !mergeResult.getMergeStatus().isSuccessful() )
+            {
+                return new UpdateScmResult( "JGit update", "The merge of [" + remoteBranch + "] failed: "
+                    + mergeResult.getMergeStatus(), String.valueOf( mergeResult.getConflicts() ), false );
+            }
+
+            return getResult( git, origHead );
+        }
+        catch ( Exception e )
+        {
+            throw new ScmException( "JGit update failure!", e );
+        }
+        finally
+        {
+            JGitUtils.closeRepo( git );
+        }
+    }
+
+    /**
+     * Fetches the branches and the tags, then checks out the commit of the tag or of the revision.
+     */
+    private UpdateScmResult checkOutVersion( Git git, GitScmProviderRepository repository, ScmVersion scmVersion )
+        throws Exception
+    {
+        ObjectId origHead = git.getRepository().resolve( Constants.HEAD );
+
+        RefSpec branches = new RefSpec( "+" + Constants.R_HEADS + "*:" + Constants.R_REMOTES
+            + Constants.DEFAULT_REMOTE_NAME + "/*" );
+        RefSpec tags = new RefSpec( "+" + Constants.R_TAGS + "*:" + Constants.R_TAGS + "*" );
+
+        getLogger().debug( "fetch " + branches + " " + tags + "..." );
+        JGitUtils.fetch( getLogger(), git, repository, JGitUtils.getMonitor( getLogger() ), branches, tags );
+
+        String name = scmVersion instanceof ScmTag ? Constants.R_TAGS + scmVersion.getName() : scmVersion.getName();
+        ObjectId target = git.getRepository().resolve( name + "^{commit}" );
+        if ( target == null )
+        {
+            return new UpdateScmResult( "JGit update", "The " + scmVersion.getType().toLowerCase() + " ["
+                + scmVersion.getName() + "] does not exist in the remote repository.", null, false );
+        }
+
+        getLogger().debug( "checkout " + target.name() + "..." );
+        git.checkout().setName( target.name() ).call();
+
+        return getResult( git, origHead );
+    }
+
+    private UpdateScmResult getResult( Git git, ObjectId origHead )
+        throws Exception
+    {
+        ObjectId newHead = git.getRepository().resolve( Constants.HEAD );
+
+        List<ScmFile> updatedFiles = JGitUtils.getChangedFiles( git.getRepository(), origHead, newHead );
+        if ( getLogger().isDebugEnabled() )
+        {
+            for ( ScmFile scmFile : updatedFiles )
+            {
+                getLogger().debug( "updated file: " + scmFile );
+            }
+        }
+
+        return new UpdateScmResultWithRevision( "JGit update", updatedFiles, newHead != null ? newHead.name() : null );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected ChangeLogCommand getChangeLogCommand()
+    {
+        JGitChangeLogCommand changelogCmd = new JGitChangeLogCommand();
+        changelogCmd.setLogger( getLogger() );
+
+        return changelogCmd;
+    }
+}
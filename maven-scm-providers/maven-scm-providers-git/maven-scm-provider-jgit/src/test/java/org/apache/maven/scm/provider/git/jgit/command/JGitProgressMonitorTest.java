@@ -0,0 +1,71 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.maven.scm.log.DefaultLog;
+import org.junit.Test;
+
+public class JGitProgressMonitorTest
+{
+
+    @Test
+    public void testCompletedWorkAccumulatesPerTask()
+    {
+        JGitProgressMonitor monitor = new JGitProgressMonitor( new DefaultLog() );
+
+        monitor.beginTask( "Writing objects", 10 );
+        monitor.update( 4 );
+        monitor.update( 6 );
+        monitor.endTask();
+
+        monitor.beginTask( "Counting objects", JGitProgressMonitor.UNKNOWN );
+        monitor.update( 3 );
+        monitor.endTask();
+
+        // a second push of the same batch
+        monitor.beginTask( "Writing objects", 5 );
+        monitor.update( 5 );
+        monitor.endTask();
+
+        assertEquals( 15, monitor.getCompletedWork( "Writing objects" ) );
+        assertEquals( 3, monitor.getCompletedWork( "Counting objects" ) );
+        assertEquals( 0, monitor.getCompletedWork( "Receiving objects" ) );
+        assertEquals( 2, monitor.getCompletedWork().size() );
+    }
+
+    @Test
+    public void testSummary()
+    {
+        JGitProgressMonitor monitor = new JGitProgressMonitor( new DefaultLog() );
+        assertEquals( "", monitor.getSummary() );
+
+        monitor.beginTask( "Counting objects", JGitProgressMonitor.UNKNOWN );
+        monitor.update( 3 );
+        monitor.endTask();
+
+        monitor.beginTask( "Writing objects", 2 );
+        monitor.update( 2 );
+        monitor.endTask();
+
+        assertEquals( "Counting objects: 3, Writing objects: 2", monitor.getSummary() );
+    }
+}
@@ -0,0 +1,119 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.junit.After;
+import org.junit.Test;
+
+public class JGitStorageConfigTest
+{
+    @After
+    public void tearDown()
+    {
+        // the configuration is global to the JVM, don't leave the small windows of these tests to the others
+        JGitStorageConfig.reset();
+    }
+
+    @Test
+    public void testParseSize()
+        throws Exception
+    {
+        assertEquals( 8192L, JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "8192" ) );
+        assertEquals( 64L * 1024, JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "64k" ) );
+        assertEquals( 10L * 1024 * 1024, JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "10M" ) );
+        assertEquals( 2L * 1024 * 1024 * 1024,
+                      JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "2g" ) );
+    }
+
+    @Test
+    public void testParseInvalidSize()
+    {
+        try
+        {
+            JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "lots" );
+            fail( "a non numeric size must be rejected" );
+        }
+        catch ( ScmException e )
+        {
+            // expected
+        }
+    }
+
+    @Test( expected = ScmException.class )
+    public void testParseTooLargeSize()
+        throws Exception
+    {
+        // 2^34 g overflows a long
+        JGitStorageConfig.parseSize( CommandParameter.JGIT_PACKED_GIT_LIMIT, "17179869184g" );
+    }
+
+    @Test( expected = ScmException.class )
+    public void testInvalidWindowSize()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        // the window size must be a power of 2
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, "5000" );
+        JGitStorageConfig.configure( null, parameters );
+    }
+
+    @Test
+    public void testConfigure()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, "16k" );
+        parameters.setString( CommandParameter.JGIT_DELTA_BASE_CACHE_LIMIT, "20m" );
+        JGitStorageConfig.configure( null, parameters );
+        String installed = JGitStorageConfig.getInstalledConfig();
+        assertTrue( installed, installed.indexOf( "packedGitWindowSize=16384" ) >= 0 );
+
+        // the configuration is installed once, later commands don't reset it
+        JGitStorageConfig.configure( null, parameters );
+        JGitStorageConfig.configure( null, null );
+        JGitStorageConfig.configure( null, new CommandParameters() );
+        assertEquals( installed, JGitStorageConfig.getInstalledConfig() );
+
+        CommandParameters other = new CommandParameters();
+        other.setString( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, "32k" );
+        JGitStorageConfig.configure( null, other );
+        assertEquals( installed, JGitStorageConfig.getInstalledConfig() );
+    }
+
+    @Test
+    public void testReset()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        parameters.setString( CommandParameter.JGIT_PACKED_GIT_WINDOW_SIZE, "16k" );
+        JGitStorageConfig.configure( null, parameters );
+
+        JGitStorageConfig.reset();
+        assertNull( JGitStorageConfig.getInstalledConfig() );
+    }
+}
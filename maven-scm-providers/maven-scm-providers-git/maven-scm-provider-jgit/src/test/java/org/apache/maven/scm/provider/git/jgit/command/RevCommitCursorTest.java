@@ -0,0 +1,196 @@
+package org.apache.maven.scm.provider.git.jgit.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class RevCommitCursorTest
+{
+    private File directory;
+
+    private Git git;
+
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        directory = new File( "target/rev-commit-cursor" );
+        FileUtils.deleteDirectory( directory );
+        git = Git.init().setDirectory( directory ).call();
+
+        // the commit times are not monotonic: commit 3 is older than its parent
+        commit( "commit 1", 1000 );
+        commit( "commit 2", 3000 );
+        commit( "commit 3", 2000 );
+        commit( "commit 4", 4000 );
+    }
+
+    @After
+    public void tearDown()
+        throws Exception
+    {
+        JGitUtils.closeRepo( git );
+        FileUtils.deleteDirectory( directory );
+    }
+
+    @Test
+    public void testPages()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( null, null, -1, null );
+
+        assertEquals( "[commit 4, commit 3, commit 2]", messages( cursor.nextPage( 3 ) ).toString() );
+        assertTrue( cursor.hasNext() );
+        assertEquals( "[commit 1]", messages( cursor.nextPage( 3 ) ).toString() );
+        assertFalse( cursor.hasNext() );
+        assertTrue( cursor.nextPage( 3 ).isEmpty() );
+    }
+
+    @Test
+    public void testPreviousPageIsDisposed()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( null, null, -1, null );
+
+        List<RevCommit> page = cursor.nextPage( 2 );
+        assertEquals( "commit 4", page.get( 0 ).getShortMessage() );
+
+        cursor.nextPage( 2 );
+        assertNull( page.get( 0 ).getRawBuffer() );
+        cursor.release();
+    }
+
+    @Test
+    public void testMaxCount()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( null, null, 3, null );
+
+        assertEquals( "[commit 4, commit 3]", messages( cursor.nextPage( 2 ) ).toString() );
+        assertEquals( "[commit 2]", messages( cursor.nextPage( 2 ) ).toString() );
+        assertFalse( cursor.hasNext() );
+    }
+
+    @Test
+    public void testResume()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( null, null, -1, null );
+        assertNull( cursor.getPosition() );
+        cursor.nextPage( 2 );
+        String position = cursor.getPosition();
+        cursor.release();
+
+        cursor = open( null, null, -1, position );
+        assertEquals( "[commit 2, commit 1]", messages( cursor.nextPage( 10 ) ).toString() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testResumeAfterUnknownCommit()
+        throws Exception
+    {
+        open( null, null, -1, "0000000000000000000000000000000000000000" );
+    }
+
+    @Test
+    public void testFromDate()
+        throws Exception
+    {
+        // commit 2 is newer than the date but comes after the older commit 3
+        RevCommitCursor cursor = open( new Date( 2500 * 1000L ), null, -1, null );
+
+        assertEquals( "[commit 4, commit 2]", messages( cursor.nextPage( 10 ) ).toString() );
+    }
+
+    @Test
+    public void testWalkStopsBeforeFromDate()
+        throws Exception
+    {
+        // commit 6 is older than the range by more than the clock skew, so the walk stops before commit 5
+        commit( "commit 5", 400000 );
+        commit( "commit 6", 5000 );
+        commit( "commit 7", 500000 );
+
+        RevCommitCursor cursor = open( new Date( 300000 * 1000L ), null, -1, null );
+
+        assertEquals( "[commit 7]", messages( cursor.nextPage( 10 ) ).toString() );
+    }
+
+    @Test
+    public void testDateRange()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( new Date( 1500 * 1000L ), new Date( 3500 * 1000L ), -1, null );
+
+        assertEquals( "[commit 3, commit 2]", messages( cursor.nextPage( 10 ) ).toString() );
+    }
+
+    @Test
+    public void testToDate()
+        throws Exception
+    {
+        RevCommitCursor cursor = open( null, new Date( 2500 * 1000L ), -1, null );
+
+        assertEquals( "[commit 3, commit 1]", messages( cursor.nextPage( 10 ) ).toString() );
+    }
+
+    private RevCommitCursor open( Date fromDate, Date toDate, int maxLines, String resumeAfter )
+        throws Exception
+    {
+        return JGitUtils.openRevCommits( git.getRepository(), null, null, null, fromDate, toDate, maxLines,
+                                         resumeAfter );
+    }
+
+    private void commit( String message, long time )
+        throws Exception
+    {
+        FileUtils.fileWrite( new File( directory, "file.txt" ), message );
+        git.add().addFilepattern( "file.txt" ).call();
+
+        PersonIdent ident = new PersonIdent( "tester", "tester@example.com", time * 1000, 0 );
+        git.commit().setMessage( message ).setAuthor( ident ).setCommitter( ident ).call();
+    }
+
+    private static List<String> messages( List<RevCommit> commits )
+    {
+        List<String> messages = new ArrayList<String>();
+        for ( RevCommit c : commits )
+        {
+            messages.add( c.getShortMessage() );
+        }
+        return messages;
+    }
+}
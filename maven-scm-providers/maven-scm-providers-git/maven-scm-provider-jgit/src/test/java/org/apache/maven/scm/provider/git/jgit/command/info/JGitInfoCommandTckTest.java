@@ -0,0 +1,114 @@
+package org.apache.maven.scm.provider.git.jgit.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTckTestCase;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This test tests the info command.
+ */
+public class JGitInfoCommandTckTest
+    extends ScmTckTestCase
+{
+    /**
+     * {@inheritDoc}
+     */
+    public String getScmUrl()
+        throws Exception
+    {
+        return GitScmTestUtils.getScmUrl( getRepositoryRoot(), "jgit" );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initRepo()
+        throws Exception
+    {
+        GitScmTestUtils.initRepo( "src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory() );
+    }
+
+    public void testInfoCommand()
+        throws Exception
+    {
+        InfoScmResult result = info( new CommandParameters() );
+
+        assertResultIsSuccess( result );
+        assertEquals( 1, result.getInfoItems().size() );
+        assertEquals( getHead(), result.getInfoItems().get( 0 ).getRevision() );
+    }
+
+    public void testInfoCommandWithShortRevision()
+        throws Exception
+    {
+        CommandParameters parameters = new CommandParameters();
+        parameters.setInt( CommandParameter.SCM_SHORT_REVISION_LENGTH, 6 );
+
+        InfoScmResult result = info( parameters );
+
+        assertResultIsSuccess( result );
+        assertEquals( "revision must be short, exactly 6 digits", getHead().substring( 0, 6 ),
+                      result.getInfoItems().get( 0 ).getRevision() );
+    }
+
+    private InfoScmResult info( CommandParameters parameters )
+        throws Exception
+    {
+        ScmProvider provider = getScmManager().getProviderByUrl( getScmUrl() );
+        return provider.info( getScmRepository().getProviderRepository(), new ScmFileSet( getWorkingCopy() ),
+                              parameters );
+    }
+
+    private String getHead()
+        throws IOException
+    {
+        Git git = Git.open( getWorkingCopy() );
+        try
+        {
+            return git.getRepository().resolve( Constants.HEAD ).name();
+        }
+        finally
+        {
+            git.getRepository().close();
+        }
+    }
+
+    @Override
+    protected void deleteDirectory( File directory )
+        throws IOException
+    {
+        if ( directory.exists() )
+        {
+            FileUtils.delete( directory, FileUtils.RECURSIVE | FileUtils.RETRY );
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.apache.maven.scm.provider.git.jgit.command.remove;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTckTestCase;
+import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This test tests the remove command.
+ */
+public class JGitRemoveCommandTckTest
+    extends ScmTckTestCase
+{
+    /**
+     * {@inheritDoc}
+     */
+    public String getScmUrl()
+        throws Exception
+    {
+        return GitScmTestUtils.getScmUrl( getRepositoryRoot(), "jgit" );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initRepo()
+        throws Exception
+    {
+        GitScmTestUtils.initRepo( "src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory() );
+    }
+
+    public void testRemoveFile()
+        throws Exception
+    {
+        RemoveScmResult result =
+            getScmManager().remove( getScmRepository(), new ScmFileSet( getWorkingCopy(), new File( "pom.xml" ) ),
+                                    "remove pom.xml" );
+
+        assertResultIsSuccess( result );
+
+        List<ScmFile> removedFiles = result.getRemovedFiles();
+        assertEquals( 1, removedFiles.size() );
+        assertEquals( "pom.xml", removedFiles.get( 0 ).getPath() );
+        assertEquals( ScmFileStatus.DELETED, removedFiles.get( 0 ).getStatus() );
+
+        assertFalse( "pom.xml must be deleted", new File( getWorkingCopy(), "pom.xml" ).exists() );
+        assertTrue( "the removal of pom.xml must be staged", getStatus().getRemoved().contains( "pom.xml" ) );
+    }
+
+    public void testRemoveDirectory()
+        throws Exception
+    {
+        RemoveScmResult result =
+            getScmManager().remove( getScmRepository(), new ScmFileSet( getWorkingCopy(), new File( "src/main/" ) ),
+                                    "remove src/main" );
+
+        assertResultIsSuccess( result );
+
+        assertEquals( "src/main", result.getRemovedFiles().get( 0 ).getPath() );
+        assertFalse( "Application.java must be deleted",
+                     new File( getWorkingCopy(), "src/main/java/Application.java" ).exists() );
+        assertTrue( getStatus().getRemoved().contains( "src/main/java/Application.java" ) );
+        assertTrue( "other files must be kept", new File( getWorkingCopy(), "src/test/java/Test.java" ).exists() );
+    }
+
+    private Status getStatus()
+        throws Exception
+    {
+        Git git = Git.open( getWorkingCopy() );
+        try
+        {
+            return git.status().call();
+        }
+        finally
+        {
+            git.getRepository().close();
+        }
+    }
+
+    @Override
+    protected void deleteDirectory( File directory )
+        throws IOException
+    {
+        if ( directory.exists() )
+        {
+            FileUtils.delete( directory, FileUtils.RECURSIVE | FileUtils.RETRY );
+        }
+    }
+}
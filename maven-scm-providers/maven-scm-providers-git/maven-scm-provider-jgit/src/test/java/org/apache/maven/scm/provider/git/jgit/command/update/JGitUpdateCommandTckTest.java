@@ -0,0 +1,139 @@
+package org.apache.maven.scm.provider.git.jgit.command.update;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResultWithRevision;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.provider.git.command.update.GitUpdateCommandTckTest;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.util.FileUtils;
+
+/**
+ * This test tests the update command.
+ */
+public class JGitUpdateCommandTckTest
+    extends GitUpdateCommandTckTest
+{
+    /**
+     * {@inheritDoc}
+     */
+    public String getScmUrl()
+        throws Exception
+    {
+        return GitScmTestUtils.getScmUrl( getRepositoryRoot(), "jgit" );
+    }
+
+    @Override
+    protected void deleteDirectory( File directory )
+        throws IOException
+    {
+        if ( directory.exists() )
+        {
+            FileUtils.delete( directory, FileUtils.RECURSIVE | FileUtils.RETRY );
+        }
+    }
+
+    public void testUpdateToTag()
+        throws Exception
+    {
+        Git remote = Git.open( getRepositoryRoot() );
+        try
+        {
+            remote.tag().setName( "update-tag" ).call();
+        }
+        finally
+        {
+            remote.getRepository().close();
+        }
+
+        assertUpdatedTo( new ScmTag( "update-tag" ) );
+    }
+
+    public void testUpdateToRevision()
+        throws Exception
+    {
+        assertUpdatedTo( new ScmRevision( getHead( getRepositoryRoot() ).name() ) );
+    }
+
+    public void testUpdateToMissingTag()
+        throws Exception
+    {
+        UpdateScmResult result =
+            getScmManager().update( getScmRepository(), new ScmFileSet( getWorkingCopy() ), new ScmTag( "missing" ) );
+
+        assertFalse( "the update to a missing tag must fail", result.isSuccess() );
+    }
+
+    /**
+     * Commits a change in the working copy, then updates it to a version of the remote master, which must undo the
+     * change.
+     */
+    private void assertUpdatedTo( ScmVersion version )
+        throws Exception
+    {
+        ObjectId remoteHead = getHead( getRepositoryRoot() );
+
+        ScmTestCase.makeFile( getWorkingCopy(), "/readme.txt", "changed readme.txt" );
+        Git git = Git.open( getWorkingCopy() );
+        try
+        {
+            git.commit().setAll( true ).setMessage( "change readme.txt" ).setAuthor( "test", "test@example.com" )
+                .setCommitter( "test", "test@example.com" ).call();
+        }
+        finally
+        {
+            git.getRepository().close();
+        }
+
+        UpdateScmResult result =
+            getScmManager().update( getScmRepository(), new ScmFileSet( getWorkingCopy() ), version );
+
+        assertResultIsSuccess( result );
+        assertEquals( 1, result.getUpdatedFiles().size() );
+        assertEquals( "readme.txt", result.getUpdatedFiles().get( 0 ).getPath() );
+        assertEquals( remoteHead.name(), ( (UpdateScmResultWithRevision) result ).getRevision() );
+        assertEquals( remoteHead, getHead( getWorkingCopy() ) );
+    }
+
+    private static ObjectId getHead( File repository )
+        throws IOException
+    {
+        Git git = Git.open( repository );
+        try
+        {
+            return git.getRepository().resolve( Constants.HEAD );
+        }
+        finally
+        {
+            git.getRepository().close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.apache.maven.scm.provider.svn.benchmark;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnChangeLogConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnXmlChangeLogConsumer;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a long svn log by the text consumer of <code>svn log -v</code> and by the xml consumer of
+ * <code>svn log --xml -v</code>. The xml consumer is measured collecting the change sets and streaming them to a
+ * {@link ChangeSetSink}.
+ * <p/>
+ * Both outputs are generated once per trial into files, and read line by line like the output of svn is. Run with
+ * <code>java -jar target/benchmarks.jar SvnChangeLogParsingBenchmark -prof gc</code>, the gc profiler shows the
+ * allocation rate, which is where streaming to a sink makes the difference.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( value = 1, jvmArgs = { "-Xmx1g" } )
+public class SvnChangeLogParsingBenchmark
+{
+    @Param( { "200000" } )
+    public int revisions;
+
+    @Param( { "3" } )
+    public int pathsPerRevision;
+
+    private File directory;
+
+    private File textLog;
+
+    private File xmlLog;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        directory = new File( System.getProperty( "java.io.tmpdir" ), "scm-svn-changelog-benchmark-" + revisions );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        textLog = new File( directory, "log.txt" );
+        xmlLog = new File( directory, "log.xml" );
+
+        SimpleDateFormat textDate = new SimpleDateFormat( "yyyy-MM-dd HH:mm:ss Z (EEE, dd MMM yyyy)", Locale.US );
+        SimpleDateFormat xmlDate = new SimpleDateFormat( "yyyy-MM-dd'T'HH:mm:ss.SSS'000Z'", Locale.US );
+        xmlDate.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+
+        Writer text = newWriter( textLog );
+        Writer xml = newWriter( xmlLog );
+        try
+        {
+            xml.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<log>\n" );
+
+            // svn log lists the newest revision first
+            long time = 1400000000000L;
+            for ( int revision = revisions; revision > 0; revision-- )
+            {
+                Date date = new Date( time - ( revisions - revision ) * 60000L );
+                String author = "author" + ( revision % 7 );
+                String message = "Change " + revision + " of the benchmark & <co>";
+
+                text.write( "------------------------------------------------------------------------\n" );
+                text.write( "r" + revision + " | " + author + " | " + textDate.format( date ) + " | 1 line\n" );
+                text.write( "Changed paths:\n" );
+
+                xml.write( "<logentry\n   revision=\"" + revision + "\">\n" );
+                xml.write( "<author>" + author + "</author>\n" );
+                xml.write( "<date>" + xmlDate.format( date ) + "</date>\n" );
+                xml.write( "<paths>\n" );
+
+                for ( int p = 0; p < pathsPerRevision; p++ )
+                {
+                    String path = "/project/trunk/src/main/java/File" + ( ( revision + p ) % 1000 ) + ".java";
+                    text.write( "   M " + path + "\n" );
+                    xml.write( "<path\n   kind=\"file\"\n   action=\"M\">" + path + "</path>\n" );
+                }
+
+                text.write( "\n" + message + "\n" );
+
+                xml.write( "</paths>\n" );
+                xml.write( "<msg>" + message.replace( "&", "&amp;" ).replace( "<", "&lt;" ).replace( ">", "&gt;" )
+                    + "</msg>\n" );
+                xml.write( "</logentry>\n" );
+            }
+
+            text.write( "------------------------------------------------------------------------\n" );
+            xml.write( "</log>\n" );
+        }
+        finally
+        {
+            IOUtil.close( text );
+            IOUtil.close( xml );
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        FileUtils.deleteDirectory( directory );
+    }
+
+    @Benchmark
+    public int textConsumer()
+        throws IOException
+    {
+        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer( new DefaultLog(), null );
+        consume( textLog, consumer );
+        return consumer.getModifications().size();
+    }
+
+    @Benchmark
+    public int xmlConsumer()
+        throws IOException
+    {
+        SvnXmlChangeLogConsumer consumer = new SvnXmlChangeLogConsumer( new DefaultLog() );
+        consume( xmlLog, consumer );
+        return consumer.getModifications().size();
+    }
+
+    @Benchmark
+    public int xmlConsumerToSink()
+        throws IOException
+    {
+        CountingSink sink = new CountingSink();
+        SvnXmlChangeLogConsumer consumer = new SvnXmlChangeLogConsumer( new DefaultLog() );
+        consumer.setChangeSetSink( sink );
+        consume( xmlLog, consumer );
+        return sink.count;
+    }
+
+    private static void consume( File log, StreamConsumer consumer )
+        throws IOException
+    {
+        BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( log ), "UTF-8" ) );
+        try
+        {
+            for ( String line = reader.readLine(); line != null; line = reader.readLine() )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+        finally
+        {
+            IOUtil.close( reader );
+        }
+    }
+
+    private static Writer newWriter( File file )
+        throws IOException
+    {
+        return new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), "UTF-8" ) );
+    }
+
+    /**
+     * Counts the change sets without keeping them.
+     */
+    private static class CountingSink
+        implements ChangeSetSink
+    {
+        private int count;
+
+        public boolean accept( ChangeSet changeSet )
+        {
+            count++;
+            return true;
+        }
+    }
+}
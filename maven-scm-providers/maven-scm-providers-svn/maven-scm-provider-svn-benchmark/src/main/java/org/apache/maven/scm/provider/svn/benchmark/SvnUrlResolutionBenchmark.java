@@ -0,0 +1,130 @@
+package org.apache.maven.scm.provider.svn.benchmark;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.provider.svn.SvnTagBranchUtils;
+import org.apache.maven.scm.provider.svn.SvnUrlLayout;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of tag and branch URLs by {@link SvnTagBranchUtils}, through a repository with its cached
+ * {@link SvnUrlLayout}, through a plain repository URL, and with a layout computed for every call as the upper
+ * bound.
+ * <p/>
+ * Run with <code>java -jar target/benchmarks.jar SvnUrlResolutionBenchmark -prof gc</code>.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class SvnUrlResolutionBenchmark
+{
+    @Param( { "https://svn.example.com/repos/project/trunk/modules/core",
+        "https://svn.example.com/viewcvs.php/project/trunk?root=repos" } )
+    public String url;
+
+    @Param( { "1000" } )
+    public int tags;
+
+    private SvnScmProviderRepository repository;
+
+    private ScmTag[] tagNames;
+
+    private ScmBranch[] branchNames;
+
+    @Setup
+    public void setUp()
+    {
+        repository = new SvnScmProviderRepository( url );
+
+        tagNames = new ScmTag[tags];
+        branchNames = new ScmBranch[tags];
+        for ( int i = 0; i < tags; i++ )
+        {
+            tagNames[i] = new ScmTag( "project-1." + i );
+            branchNames[i] = new ScmBranch( "project-1." + i + ".x" );
+        }
+    }
+
+    @Benchmark
+    public void repositoryTagUrls( Blackhole blackhole )
+    {
+        for ( ScmTag tag : tagNames )
+        {
+            blackhole.consume( SvnTagBranchUtils.resolveTagUrl( repository, tag ) );
+        }
+    }
+
+    @Benchmark
+    public void repositoryBranchUrls( Blackhole blackhole )
+    {
+        for ( ScmBranch branch : branchNames )
+        {
+            blackhole.consume( SvnTagBranchUtils.resolveBranchUrl( repository, branch ) );
+        }
+    }
+
+    @Benchmark
+    public void stringUrlTagUrls( Blackhole blackhole )
+    {
+        for ( ScmTag tag : tagNames )
+        {
+            blackhole.consume( SvnTagBranchUtils.resolveTagUrl( url, tag ) );
+        }
+    }
+
+    @Benchmark
+    public void uncachedLayoutTagUrls( Blackhole blackhole )
+    {
+        for ( ScmTag tag : tagNames )
+        {
+            blackhole.consume( new SvnUrlLayout( url, null, null ).resolveTagUrl( tag.getName() ) );
+        }
+    }
+
+    @Benchmark
+    public void revisionSpecifiers( Blackhole blackhole )
+    {
+        for ( ScmTag tag : tagNames )
+        {
+            blackhole.consume( SvnTagBranchUtils.isRevisionSpecifier( tag ) );
+        }
+        blackhole.consume( SvnTagBranchUtils.isRevisionSpecifier( new ScmRevision( "HEAD:1234" ) ) );
+    }
+}
@@ -25,6 +25,13 @@
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.codehaus.plexus.util.StringUtils;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 /**
  *
  */
@@ -44,6 +51,24 @@ private SvnTagBranchUtils() {
 
     public static final String[] SVN_BASE_DIRS = new String[]{SVN_TRUNK, SVN_BRANCHES, SVN_TAGS};
 
+    private static final Set<String> REVISION_SPECIFIER_SET =
+        new HashSet<String>( Arrays.asList( REVISION_SPECIFIERS ) );
+
+    private static final int MAX_LAYOUTS = 100;
+
+    /**
+     * The layouts of the last used repository URLs
+     */
+    private static final Map<String, SvnUrlLayout> LAYOUTS = new LinkedHashMap<String, SvnUrlLayout>( 16, 0.75f, true )
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry( Map.Entry<String, SvnUrlLayout> eldest )
+        {
+            return size() > MAX_LAYOUTS;
+        }
+    };
+
     /**
      * Simple helper function to concatenate two paths together with a "/".
      * Handles trailing / on basePath.
@@ -92,24 +117,43 @@ else if ( pos >= 0 )
         return appendPath( repoPath, null );
     }
 
+    /**
+     * @param repositoryUrl a repository URL
+     * @return the layout of the URL, without tag or branch base overrides
+     * @since 1.9.3
+     */
+    public static SvnUrlLayout getLayout( String repositoryUrl )
+    {
+        synchronized ( LAYOUTS )
+        {
+            SvnUrlLayout layout = LAYOUTS.get( repositoryUrl );
+            if ( layout == null )
+            {
+                layout = new SvnUrlLayout( repositoryUrl, null, null );
+                LAYOUTS.put( repositoryUrl, layout );
+            }
+            return layout;
+        }
+    }
+
     public static String resolveTagBase( SvnScmProviderRepository repository )
     {
-        return resolveTagBase( repository.getUrl() );
+        return repository.getLayout().getTagBase();
     }
 
     public static String resolveTagBase( String repositoryUrl )
     {
-        return appendPath( getProjectRoot( repositoryUrl ), SVN_TAGS );
+        return getLayout( repositoryUrl ).getTagBase();
     }
 
     public static String resolveBranchBase( SvnScmProviderRepository repository )
     {
-        return resolveBranchBase( repository.getUrl() );
+        return repository.getLayout().getBranchBase();
     }
 
     public static String resolveBranchBase( String repositoryUrl )
     {
-        return appendPath( getProjectRoot( repositoryUrl ), SVN_BRANCHES );
+        return getLayout( repositoryUrl ).getBranchBase();
     }
 
     /**
@@ -124,7 +168,7 @@ public static String resolveBranchBase( String repositoryUrl )
      */
     public static String resolveTagUrl( SvnScmProviderRepository repository, ScmTag tag )
     {
-        return resolveUrl( repository.getUrl(), repository.getTagBase(), SVN_TAGS, tag );
+        return repository.getLayout().resolveTagUrl( tag.getName() );
     }
 
     /**
@@ -138,7 +182,7 @@ public static String resolveTagUrl( SvnScmProviderRepository repository, ScmTag
      */
     public static String resolveTagUrl( String repositoryUrl, ScmTag tag )
     {
-        return resolveUrl( repositoryUrl, null, SVN_TAGS, tag );
+        return getLayout( repositoryUrl ).resolveTagUrl( tag.getName() );
     }
 
     /**
@@ -153,7 +197,7 @@ public static String resolveTagUrl( String repositoryUrl, ScmTag tag )
      */
     public static String resolveBranchUrl( SvnScmProviderRepository repository, ScmBranch branch )
     {
-        return resolveUrl( repository.getUrl(), repository.getBranchBase(), SVN_BRANCHES, branch );
+        return repository.getLayout().resolveBranchUrl( branch.getName() );
     }
 
     /**
@@ -167,12 +211,7 @@ public static String resolveBranchUrl( SvnScmProviderRepository repository, ScmB
      */
     public static String resolveBranchUrl( String repositoryUrl, ScmBranch branch )
     {
-        return resolveUrl( repositoryUrl, resolveBranchBase( repositoryUrl ), SVN_BRANCHES, branch );
-    }
-
-    private static String addSuffix( String baseString, String suffix )
-    {
-        return ( suffix != null ) ? baseString + suffix : baseString;
+        return getLayout( repositoryUrl ).resolveBranchUrl( branch.getName() );
     }
 
 
@@ -199,68 +238,15 @@ private static String addSuffix( String baseString, String suffix )
      */
     public static String resolveUrl( String repositoryUrl, String tagBase, String subdir, ScmBranch branchTag )
     {
-        String branchTagName = branchTag.getName();
-        String projectRoot = getProjectRoot( repositoryUrl );
-        branchTagName = StringUtils.strip( branchTagName, "/" );
-
-        if ( StringUtils.isEmpty( branchTagName ) )
-        {
-            return null;
-        }
-
-        // Look for a query string as in ViewCVS urls
-        String queryString = null;
-        if ( repositoryUrl.indexOf( '?' ) >= 0 )
-        {
-            queryString = repositoryUrl.substring( repositoryUrl.indexOf( '?' ) );
-            // if repositoryUrl contains a query string, remove it from repositoryUrlRoot; will be re-appended later
-            projectRoot = StringUtils.replace( projectRoot, queryString, "" );
-        }
-
-        if ( branchTagName.indexOf( "://" ) >= 0 )
-        {
-            // branch/tag is already an absolute url so just return it.
-            return branchTagName;
-        }
-
-        // User has a tagBase specified so just return the name appended to the tagBase
-        if ( StringUtils.isNotEmpty( tagBase ) && !tagBase.equals( resolveTagBase( repositoryUrl ) )
-            && !tagBase.equals( resolveBranchBase( repositoryUrl ) ) )
-        {
-            return appendPath( tagBase, branchTagName );
-        }
-
-        // Look for any "branches/" or "tags/" specifiers in the branchTagName. If one occurs,
-        // don't append the subdir to the projectRoot when appending the name
-        for ( int i = 0; i < SVN_BASE_DIRS.length; i++ )
-        {
-            if ( branchTagName.startsWith( SVN_BASE_DIRS[i] + "/" ) )
-            {
-                return addSuffix( appendPath( projectRoot, branchTagName ), queryString );
-            }
-        }
-
-        return addSuffix( appendPath( appendPath( projectRoot, subdir ), branchTagName ), queryString );
+        return getLayout( repositoryUrl ).resolve( tagBase, subdir, branchTag.getName() );
     }
 
     /* Helper function that does the checking for {@link #isRevisionSpecifier}
      */
     private static boolean checkRevisionArg( String arg )
     {
-        if ( StringUtils.isNumeric( arg ) || ( arg.startsWith( "{" ) && arg.endsWith( "}" ) ) )
-        {
-            return true;
-        }
-
-        for ( int i = 0; i < REVISION_SPECIFIERS.length; i++ )
-        {
-            if ( REVISION_SPECIFIERS[i].equalsIgnoreCase( arg ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
+        return StringUtils.isNumeric( arg ) || ( arg.startsWith( "{" ) && arg.endsWith( "}" ) )
+            || REVISION_SPECIFIER_SET.contains( arg.toUpperCase( Locale.ENGLISH ) );
     }
 
     /**
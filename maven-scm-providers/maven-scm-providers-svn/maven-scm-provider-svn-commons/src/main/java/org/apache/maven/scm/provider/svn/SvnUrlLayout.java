@@ -0,0 +1,213 @@
+package org.apache.maven.scm.provider.svn;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * The layout of the URLs of a repository: the project root with its trunk, tags and branches, and the tag and branch
+ * bases overriding them. The layout is computed once, then tag and branch URLs are resolved by concatenation, with
+ * the same results as {@link SvnTagBranchUtils#resolveUrl(String, String, String, org.apache.maven.scm.ScmBranch)}.
+ * <p/>
+ * Instances are immutable. Every repository computes its own layout on first use, and again after its tag or branch
+ * base changed, see {@link org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository#getLayout()}.
+ *
+ * @since 1.9.3
+ */
+public final class SvnUrlLayout
+{
+    private final String projectRoot;
+
+    /**
+     * The query string of the repository URL, as in ViewCVS URLs, or <code>null</code>
+     */
+    private final String queryString;
+
+    private final String tagBase;
+
+    private final String branchBase;
+
+    /**
+     * The tag base if it overrides the default one, <code>null</code> otherwise
+     */
+    private final String customTagBase;
+
+    /**
+     * The branch base if it overrides the default one, <code>null</code> otherwise
+     */
+    private final String customBranchBase;
+
+    /**
+     * The project root with a trailing slash, without query string
+     */
+    private final String rootPrefix;
+
+    private final String tagsPrefix;
+
+    private final String branchesPrefix;
+
+    /**
+     * @param repositoryUrl the repository URL, not <code>null</code>
+     * @param tagBase the tag base of the repository, <code>null</code> for the default one
+     * @param branchBase the branch base of the repository, <code>null</code> for the default one
+     */
+    public SvnUrlLayout( String repositoryUrl, String tagBase, String branchBase )
+    {
+        projectRoot = SvnTagBranchUtils.getProjectRoot( repositoryUrl );
+        this.tagBase = SvnTagBranchUtils.appendPath( projectRoot, SvnTagBranchUtils.SVN_TAGS );
+        this.branchBase = SvnTagBranchUtils.appendPath( projectRoot, SvnTagBranchUtils.SVN_BRANCHES );
+
+        customTagBase = isCustomBase( tagBase ) ? StringUtils.stripEnd( tagBase, "/" ) + "/" : null;
+        customBranchBase = isCustomBase( branchBase ) ? StringUtils.stripEnd( branchBase, "/" ) + "/" : null;
+
+        String root = projectRoot;
+        int query = repositoryUrl.indexOf( '?' );
+        if ( query >= 0 )
+        {
+            queryString = repositoryUrl.substring( query );
+            root = StringUtils.replace( root, queryString, "" );
+        }
+        else
+        {
+            queryString = null;
+        }
+
+        rootPrefix = StringUtils.stripEnd( root, "/" ) + "/";
+        tagsPrefix = rootPrefix + SvnTagBranchUtils.SVN_TAGS + "/";
+        branchesPrefix = rootPrefix + SvnTagBranchUtils.SVN_BRANCHES + "/";
+    }
+
+    private boolean isCustomBase( String base )
+    {
+        return StringUtils.isNotEmpty( base ) && !base.equals( tagBase ) && !base.equals( branchBase );
+    }
+
+    /**
+     * @return the root of the trunk, tags and branches directories
+     */
+    public String getProjectRoot()
+    {
+        return projectRoot;
+    }
+
+    /**
+     * @return the default tag base, in the project root
+     */
+    public String getTagBase()
+    {
+        return tagBase;
+    }
+
+    /**
+     * @return the default branch base, in the project root
+     */
+    public String getBranchBase()
+    {
+        return branchBase;
+    }
+
+    /**
+     * @param tagName a tag name, a path relative to the project root like <code>tags/my-tag</code> or a URL
+     * @return the URL of the tag, or <code>null</code> if the name is empty
+     */
+    public String resolveTagUrl( String tagName )
+    {
+        return resolveName( customTagBase, tagsPrefix, tagName );
+    }
+
+    /**
+     * @param branchName a branch name, a path relative to the project root like <code>branches/1.x</code> or a URL
+     * @return the URL of the branch, or <code>null</code> if the name is empty
+     */
+    public String resolveBranchUrl( String branchName )
+    {
+        return resolveName( customBranchBase, branchesPrefix, branchName );
+    }
+
+    /**
+     * @param base a tag or branch base, used if it overrides the default ones
+     * @param subdir the directory of the project root to resolve the name in, e.g. <code>tags</code>
+     * @param name a tag or branch name
+     * @return the URL of the tag or branch, or <code>null</code> if the name is empty
+     */
+    String resolve( String base, String subdir, String name )
+    {
+        String prefix;
+        if ( SvnTagBranchUtils.SVN_TAGS.equals( subdir ) )
+        {
+            prefix = tagsPrefix;
+        }
+        else if ( SvnTagBranchUtils.SVN_BRANCHES.equals( subdir ) )
+        {
+            prefix = branchesPrefix;
+        }
+        else
+        {
+            prefix = StringUtils.stripEnd( SvnTagBranchUtils.appendPath( rootPrefix, subdir ), "/" ) + "/";
+        }
+        return resolveName( isCustomBase( base ) ? StringUtils.stripEnd( base, "/" ) + "/" : null, prefix, name );
+    }
+
+    private String resolveName( String customBase, String prefix, String name )
+    {
+        name = StringUtils.strip( name, "/" );
+
+        if ( StringUtils.isEmpty( name ) )
+        {
+            return null;
+        }
+
+        if ( name.indexOf( "://" ) >= 0 )
+        {
+            // already an absolute url
+            return name;
+        }
+
+        if ( customBase != null )
+        {
+            return customBase + name;
+        }
+
+        // a name starting with trunk/, branches/ or tags/ is relative to the project root
+        if ( startsWithBaseDir( name ) )
+        {
+            prefix = rootPrefix;
+        }
+
+        return queryString != null ? prefix + name + queryString : prefix + name;
+    }
+
+    private static boolean startsWithBaseDir( String name )
+    {
+        int slash = name.indexOf( '/' );
+        if ( slash < 0 )
+        {
+            return false;
+        }
+        for ( String dir : SvnTagBranchUtils.SVN_BASE_DIRS )
+        {
+            if ( dir.length() == slash && name.startsWith( dir ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
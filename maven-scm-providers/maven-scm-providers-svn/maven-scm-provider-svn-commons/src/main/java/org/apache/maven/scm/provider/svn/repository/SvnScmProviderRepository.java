@@ -22,6 +22,7 @@
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.ScmProviderRepositoryWithHost;
 import org.apache.maven.scm.provider.svn.SvnTagBranchUtils;
+import org.apache.maven.scm.provider.svn.SvnUrlLayout;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -45,6 +46,11 @@
      */
     private String branchBase;
 
+    /**
+     * The layout of the URLs, computed on first use
+     */
+    private SvnUrlLayout layout;
+
     public SvnScmProviderRepository( String url )
     {
         parseUrl( url );
@@ -89,6 +95,7 @@ public String getTagBase()
     public void setTagBase( String tagBase )
     {
         this.tagBase = tagBase;
+        this.layout = null;
     }
 
     /**
@@ -112,6 +119,20 @@ public String getBranchBase()
     public void setBranchBase( String branchBase )
     {
         this.branchBase = branchBase;
+        this.layout = null;
+    }
+
+    /**
+     * @return the layout of the URLs of the repository, with its tag and branch bases
+     * @since 1.9.3
+     */
+    public SvnUrlLayout getLayout()
+    {
+        if ( layout == null )
+        {
+            layout = new SvnUrlLayout( url, tagBase, branchBase );
+        }
+        return layout;
     }
 
     private void setProtocol( String protocol )
@@ -0,0 +1,118 @@
+package org.apache.maven.scm.provider.svn;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmBranch;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnUrlLayoutTest
+    extends TestCase
+{
+    private static final String[] URLS = { "http://foo.com/svn/", "http://foo.com/svn/project/trunk",
+        "svn+ssh://foo.com/svn/trunk/my_path/to/my_dir", "https://myserver/viewcvs.php/pom/trunk?root=myproj",
+        "http://foo.com/cgi-bin/viewcvs.cgi/svn/trunk/?root=test", "file:///repo/project/branches/1.x/module" };
+
+    private static final String[] NAMES = { "my-tag", "/my-tag/", "tags/my-tag", "branches/1.x", "trunk/foo",
+        "tagst/my-tag", "http://foo.com/svn/tags/other", "", "/" };
+
+    private static final String[] BASES = { null, "", "../tags", "http://foo.com/svn/non-standard/dir/" };
+
+    public void testSameUrlsAsResolveUrl()
+    {
+        for ( String url : URLS )
+        {
+            for ( String base : BASES )
+            {
+                SvnUrlLayout layout = new SvnUrlLayout( url, base, base );
+                for ( String name : NAMES )
+                {
+                    String message = url + " " + base + " " + name;
+                    assertEquals( message, resolveUrl( url, base, SvnTagBranchUtils.SVN_TAGS, name ),
+                                  layout.resolveTagUrl( name ) );
+                    assertEquals( message, resolveUrl( url, base, SvnTagBranchUtils.SVN_BRANCHES, name ),
+                                  layout.resolveBranchUrl( name ) );
+                }
+            }
+        }
+    }
+
+    public void testBases()
+    {
+        SvnUrlLayout layout = new SvnUrlLayout( "http://foo.com/svn/project/trunk/module", null, null );
+
+        assertEquals( "http://foo.com/svn/project", layout.getProjectRoot() );
+        assertEquals( "http://foo.com/svn/project/tags", layout.getTagBase() );
+        assertEquals( "http://foo.com/svn/project/branches", layout.getBranchBase() );
+    }
+
+    /**
+     * The resolution of SvnTagBranchUtils before the layout, as reference.
+     */
+    private static String resolveUrl( String repositoryUrl, String tagBase, String subdir, String name )
+    {
+        ScmBranch branchTag = new ScmBranch( name );
+        String branchTagName = branchTag.getName();
+        String projectRoot = SvnTagBranchUtils.getProjectRoot( repositoryUrl );
+        branchTagName = StringUtils.strip( branchTagName, "/" );
+
+        if ( StringUtils.isEmpty( branchTagName ) )
+        {
+            return null;
+        }
+
+        String queryString = null;
+        if ( repositoryUrl.indexOf( '?' ) >= 0 )
+        {
+            queryString = repositoryUrl.substring( repositoryUrl.indexOf( '?' ) );
+            projectRoot = StringUtils.replace( projectRoot, queryString, "" );
+        }
+
+        if ( branchTagName.indexOf( "://" ) >= 0 )
+        {
+            return branchTagName;
+        }
+
+        String defaultTagBase = SvnTagBranchUtils.appendPath( SvnTagBranchUtils.getProjectRoot( repositoryUrl ),
+                                                              SvnTagBranchUtils.SVN_TAGS );
+        String defaultBranchBase = SvnTagBranchUtils.appendPath( SvnTagBranchUtils.getProjectRoot( repositoryUrl ),
+                                                                 SvnTagBranchUtils.SVN_BRANCHES );
+        if ( StringUtils.isNotEmpty( tagBase ) && !tagBase.equals( defaultTagBase )
+            && !tagBase.equals( defaultBranchBase ) )
+        {
+            return SvnTagBranchUtils.appendPath( tagBase, branchTagName );
+        }
+
+        String suffix = queryString != null ? queryString : "";
+        for ( String dir : SvnTagBranchUtils.SVN_BASE_DIRS )
+        {
+            if ( branchTagName.startsWith( dir + "/" ) )
+            {
+                return SvnTagBranchUtils.appendPath( projectRoot, branchTagName ) + suffix;
+            }
+        }
+
+        return SvnTagBranchUtils.appendPath( SvnTagBranchUtils.appendPath( projectRoot, subdir ), branchTagName )
+            + suffix;
+    }
+}
@@ -0,0 +1,195 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.util.AbstractConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for the consumers of the <code>--xml</code> output of svn commands whose output is a list of
+ * <code>&lt;entry&gt;</code> elements, optionally grouped by target, like <code>svn info</code> and
+ * <code>svn list</code>.
+ * <p/>
+ * The output is consumed line by line, but the start tag of every target element and every entry element is
+ * buffered until it is complete and then read with an XPP3 parser, so the consumers do not depend on how svn
+ * pretty-prints the xml. The content of an element is handed over as a map: the attributes of the element itself
+ * are keyed by <code>@name</code>, the text of a child element by its path, e.g. <code>repository/root</code>, and
+ * the attributes of a child element by its path and name, e.g. <code>commit@revision</code>.
+ *
+ * @since 1.9.3
+ */
+public abstract class AbstractSvnXmlConsumer
+    extends AbstractConsumer
+{
+    private static final String ENTRY = "entry";
+
+    private final String targetElement;
+
+    private final XmlPullParser parser = new MXParser();
+
+    /**
+     * The lines of the element being read, <code>null</code> between two elements
+     */
+    private StringBuilder currentElement;
+
+    private boolean inTargetTag;
+
+    /**
+     * @param targetElement the name of the element grouping the entries per target, e.g. <code>list</code>, or
+     *            <code>null</code> if the entries are not grouped
+     */
+    protected AbstractSvnXmlConsumer( ScmLogger logger, String targetElement )
+    {
+        super( logger );
+
+        this.targetElement = targetElement;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consumeLine( String line )
+    {
+        if ( getLogger().isDebugEnabled() )
+        {
+            getLogger().debug( line );
+        }
+
+        String trimmed = line.trim();
+
+        if ( currentElement == null )
+        {
+            if ( targetElement != null && isStartTag( trimmed, targetElement ) )
+            {
+                inTargetTag = true;
+            }
+            else if ( !isStartTag( trimmed, ENTRY ) )
+            {
+                // xml declaration, root element and end tags of the targets
+                return;
+            }
+            currentElement = new StringBuilder();
+        }
+
+        currentElement.append( line ).append( '\n' );
+
+        if ( inTargetTag && trimmed.endsWith( ">" ) )
+        {
+            currentElement.append( "</" ).append( targetElement ).append( '>' );
+            String element = currentElement.toString();
+            currentElement = null;
+            inTargetTag = false;
+
+            consumeTarget( parse( element ) );
+        }
+        else if ( !inTargetTag && trimmed.endsWith( "</" + ENTRY + ">" ) )
+        {
+            String element = currentElement.toString();
+            currentElement = null;
+
+            consumeEntry( parse( element ) );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the line starts with a start tag of the element, e.g. <code>&lt;list</code> but
+     *         not <code>&lt;lists&gt;</code>
+     */
+    private static boolean isStartTag( String line, String element )
+    {
+        if ( !line.startsWith( "<" + element ) )
+        {
+            return false;
+        }
+        int next = element.length() + 1;
+        return line.length() == next || line.charAt( next ) == '>' || Character.isWhitespace( line.charAt( next ) );
+    }
+
+    /**
+     * Called when a new target starts; only called if a target element was given.
+     *
+     * @param target the attributes of the target element, e.g. <code>@path</code>
+     */
+    protected void consumeTarget( Map<String, String> target )
+    {
+        // nothing to do by default
+    }
+
+    /**
+     * Called for every entry element.
+     *
+     * @param entry the attributes and the content of the entry
+     */
+    protected abstract void consumeEntry( Map<String, String> entry );
+
+    private Map<String, String> parse( String element )
+    {
+        Map<String, String> values = new HashMap<String, String>();
+        try
+        {
+            parser.setInput( new StringReader( element ) );
+
+            String path = null;
+            int eventType = parser.getEventType();
+            while ( eventType != XmlPullParser.END_DOCUMENT )
+            {
+                if ( eventType == XmlPullParser.START_TAG )
+                {
+                    // the path relative to the parsed element, which is at depth 1
+                    path = parser.getDepth() == 1 ? "" : ( path.length() == 0 ? "" : path + "/" ) + parser.getName();
+
+                    for ( int i = 0; i < parser.getAttributeCount(); i++ )
+                    {
+                        values.put( path + "@" + parser.getAttributeName( i ), parser.getAttributeValue( i ) );
+                    }
+                }
+                else if ( eventType == XmlPullParser.TEXT && path != null && path.length() > 0 )
+                {
+                    String text = values.get( path );
+                    values.put( path, text == null ? parser.getText() : text + parser.getText() );
+                }
+                else if ( eventType == XmlPullParser.END_TAG && path != null )
+                {
+                    int end = path.lastIndexOf( '/' );
+                    path = end < 0 ? "" : path.substring( 0, end );
+                }
+                eventType = parser.next();
+            }
+        }
+        catch ( XmlPullParserException e )
+        {
+            throw new IllegalArgumentException( "Unexpected svn output: " + element, e );
+        }
+        catch ( IOException e )
+        {
+            // can't happen when reading from a string
+            throw new IllegalArgumentException( "Unexpected svn output: " + element, e );
+        }
+        return values;
+    }
+}
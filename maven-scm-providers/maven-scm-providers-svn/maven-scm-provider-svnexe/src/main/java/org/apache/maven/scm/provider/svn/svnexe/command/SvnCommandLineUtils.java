@@ -19,10 +19,14 @@
  * under the License.
  */
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.maven.scm.log.ScmLogger;
@@ -34,6 +38,7 @@
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.cli.StreamPumper;
 
 /**
  * Command line construction utility.
@@ -44,6 +49,33 @@
  */
 public final class SvnCommandLineUtils
 {
+    /**
+     * The number of times a command failing on a locked working copy is run again
+     */
+    private static final int LOCK_RETRIES = Integer.getInteger( "maven.scm.svn.lock_retries", 3 ).intValue();
+
+    private static final long LOCK_RETRY_DELAY = 500L;
+
+    /**
+     * The number of output lines of a command changing a working copy held back until it is known whether it failed
+     * on a lock: svn prints a few of them, e.g. <code>Updating '.':</code>, before it fails
+     */
+    private static final int HELD_LINES = 10;
+
+    /**
+     * The time in milliseconds to read the rest of the error output of a stopped command
+     */
+    private static final long STOPPED_ERROR_TIMEOUT = 5000L;
+
+    /**
+     * The subcommands which don't change an existing working copy, and don't need to lock it
+     */
+    private static final List<String> UNLOCKED_COMMANDS =
+        Arrays.asList( "annotate", "blame", "cat", "checkout", "diff", "export", "info", "list", "log", "ls",
+                       "propget", "proplist", "status" );
+
+    private static final List<String> OPTIONS_WITH_VALUE = Arrays.asList( "--config-dir", "--username", "--password" );
+
     private SvnCommandLineUtils()
     {
     }
@@ -146,42 +178,340 @@ public static int execute( Commandline cl, StreamConsumer consumer, CommandLineU
         // SCM-482: force English resource bundle
         cl.addEnvironment( "LC_MESSAGES", "en" );
 
-        int exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
-
-        exitCode = checkIfCleanUpIsNeeded( exitCode, cl, consumer, stderr, logger );
-
-        return exitCode;
+        return executeLocked( cl, consumer, stderr, logger );
     }
 
     public static int execute( Commandline cl, CommandLineUtils.StringStreamConsumer stdout,
                                CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
         throws CommandLineException
     {
-        int exitCode = CommandLineUtils.executeCommandLine( cl, stdout, stderr );
+        return executeLocked( cl, stdout, stderr, logger );
+    }
+
+    /**
+     * Runs a read-only command until the consumer is done, then stops svn. The command is not locked; like the other
+     * read-only commands, it is run again if it failed on a locked working copy before writing any output.
+     *
+     * @return the exit code of svn, or 0 if it was stopped
+     * @since 1.9.3
+     */
+    public static int executeUntilDone( Commandline cl, SvnStoppableConsumer consumer, StreamConsumer stderr,
+                                        ScmLogger logger )
+        throws CommandLineException
+    {
+        // SCM-482: force English resource bundle
+        cl.addEnvironment( "LC_MESSAGES", "en" );
+
+        boolean cleanedUp = false;
+        for ( int attempt = 0; ; attempt++ )
+        {
+            BufferedConsumer output = new BufferedConsumer( consumer, 0 );
+            BufferedConsumer error = new BufferedConsumer( null, 0 );
+
+            int exitCode = runUntilDone( cl, output, consumer, error, logger );
+
+            if ( exitCode == 0 || attempt >= LOCK_RETRIES || output.getStreamed() > 0
+                || !isWorkingCopyLocked( error.toString() ) )
+            {
+                error.flush( stderr );
+                return exitCode;
+            }
 
-        exitCode = checkIfCleanUpIsNeeded( exitCode, cl, stdout, stderr, logger );
+            cleanedUp = prepareRetry( error.toString(), cl.getWorkingDirectory(), cleanedUp, logger );
 
-        return exitCode;
+            if ( !SvnWorkingCopyLock.sleep( LOCK_RETRY_DELAY << attempt ) )
+            {
+                error.flush( stderr );
+                return exitCode;
+            }
+        }
     }
 
-    private static int checkIfCleanUpIsNeeded( int exitCode, Commandline cl, StreamConsumer consumer,
-                                               CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
+    /**
+     * Runs a command once, until the consumer is done. The error output is pumped until svn exits, even when it is
+     * stopped, so nothing is written to the error consumer once this returns.
+     */
+    private static int runUntilDone( Commandline cl, StreamConsumer output, SvnStoppableConsumer consumer,
+                                     StreamConsumer stderr, ScmLogger logger )
         throws CommandLineException
     {
-        if ( exitCode != 0 && stderr.getOutput() != null && stderr.getOutput().indexOf( "'svn cleanup'" ) > 0
-            && stderr.getOutput().indexOf( "'svn help cleanup'" ) > 0 )
+        Process process = cl.execute();
+
+        StreamPumper errorPumper = new StreamPumper( process.getErrorStream(), stderr );
+        errorPumper.start();
+
+        try
         {
-            if ( logger.isInfoEnabled() )
+            BufferedReader reader = new BufferedReader( new InputStreamReader( process.getInputStream() ) );
+
+            boolean stopped = false;
+            String line;
+            while ( !stopped && ( line = reader.readLine() ) != null )
+            {
+                output.consumeLine( line );
+
+                if ( consumer.isDone() )
+                {
+                    if ( logger != null && logger.isDebugEnabled() )
+                    {
+                        logger.debug( "The rest of the svn output is not needed, stopping svn." );
+                    }
+                    process.destroy();
+                    stopped = true;
+                }
+            }
+
+            int exitCode = process.waitFor();
+            if ( stopped )
+            {
+                // a child of svn, e.g. ssh, may keep the error stream open a little longer
+                errorPumper.join( STOPPED_ERROR_TIMEOUT );
+            }
+            else
+            {
+                errorPumper.waitUntilDone();
+            }
+            reader.close();
+            return stopped ? 0 : exitCode;
+        }
+        catch ( IOException e )
+        {
+            process.destroy();
+            throw new CommandLineException( "Error while reading the svn output.", e );
+        }
+        catch ( InterruptedException e )
+        {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new CommandLineException( "Interrupted while waiting for svn.", e );
+        }
+        finally
+        {
+            errorPumper.close();
+        }
+    }
+
+    /**
+     * Runs a command, holding the {@link SvnWorkingCopyLock lock} of its working copy if it changes a working copy.
+     * <p/>
+     * If the error output of the command shows that the working copy is locked, e.g. by another svn process, the
+     * command runs again after a growing delay, up to {@link #LOCK_RETRIES} times; see
+     * {@link #prepareRetry(String, File, boolean, ScmLogger)} for the clean up. An attempt of a command changing a
+     * working copy holds back its first {@link #HELD_LINES} output lines, as svn may print e.g.
+     * <code>Updating '.':</code> before it fails on the lock, then streams the rest; the last attempt streams all of
+     * it. A read-only command streams its output to the consumer. A command is only run again if none of its output
+     * has reached the consumer.
+     */
+    private static int executeLocked( Commandline cl, StreamConsumer consumer,
+                                      CommandLineUtils.StringStreamConsumer stderr, ScmLogger logger )
+        throws CommandLineException
+    {
+        boolean readOnly = UNLOCKED_COMMANDS.contains( getSubcommand( cl ) );
+
+        SvnWorkingCopyLock lock = null;
+        if ( !readOnly )
+        {
+            lock = SvnWorkingCopyLock.acquire( cl.getWorkingDirectory(), logger );
+        }
+
+        try
+        {
+            boolean cleanedUp = false;
+            for ( int attempt = 0; ; attempt++ )
+            {
+                int held = readOnly || attempt >= LOCK_RETRIES ? 0 : HELD_LINES;
+                BufferedConsumer output = new BufferedConsumer( consumer, held );
+                BufferedConsumer error = new BufferedConsumer( null, 0 );
+
+                int exitCode = CommandLineUtils.executeCommandLine( cl, output, error );
+
+                if ( exitCode == 0 || attempt >= LOCK_RETRIES || output.getStreamed() > 0
+                    || !isWorkingCopyLocked( error.toString() ) )
+                {
+                    output.flush( consumer );
+                    error.flush( stderr );
+                    return exitCode;
+                }
+
+                File directory = lock != null ? lock.getRoot() : cl.getWorkingDirectory();
+                cleanedUp = prepareRetry( error.toString(), directory, cleanedUp, logger );
+
+                if ( !SvnWorkingCopyLock.sleep( LOCK_RETRY_DELAY << attempt ) )
+                {
+                    output.flush( consumer );
+                    error.flush( stderr );
+                    return exitCode;
+                }
+            }
+        }
+        finally
+        {
+            if ( lock != null )
+            {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Prepares the next attempt of a command which failed on a locked working copy. A lock held by another svn
+     * process must not be cleaned up, the command only waits for it; the working copy is cleaned up once, when svn
+     * reports an operation which was interrupted (E155037).
+     *
+     * @param error the error output of the failed attempt
+     * @param directory the working copy, may be <code>null</code>
+     * @param cleanedUp <code>true</code> if an earlier attempt has cleaned up the working copy
+     * @return <code>true</code> if the working copy has been cleaned up, by now or by an earlier attempt
+     */
+    private static boolean prepareRetry( String error, File directory, boolean cleanedUp, ScmLogger logger )
+    {
+        SvnWorkingCopyLock.recordRetry();
+
+        if ( !cleanedUp && directory != null && isInterruptedOperation( error ) )
+        {
+            if ( logger != null && logger.isInfoEnabled() )
+            {
+                logger.info( "Svn command failed due to an interrupted operation in the working copy. "
+                                 + "We try to run a 'svn cleanup'." );
+            }
+            cleanUp( directory, logger );
+            return true;
+        }
+
+        if ( logger != null && logger.isInfoEnabled() )
+        {
+            logger.info( "Svn command failed due to some locks in working copy. We try again." );
+        }
+        return cleanedUp;
+    }
+
+    /**
+     * Cleans up a working copy before a command runs again; the command is run again even if the clean up failed,
+     * e.g. while another svn process still holds the working copy.
+     */
+    private static void cleanUp( File directory, ScmLogger logger )
+    {
+        try
+        {
+            // the output of the clean up is not the output of the command
+            executeCleanUp( directory, new CommandLineUtils.StringStreamConsumer(),
+                            new CommandLineUtils.StringStreamConsumer(), logger );
+        }
+        catch ( CommandLineException e )
+        {
+            if ( logger != null && logger.isDebugEnabled() )
+            {
+                logger.debug( "Unable to clean up the working copy " + directory + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    /**
+     * @param error the error output of a failed command
+     * @return <code>true</code> if the command failed because the working copy is locked
+     */
+    static boolean isWorkingCopyLocked( String error )
+    {
+        return error.indexOf( "E155004" ) >= 0 || error.indexOf( "E155037" ) >= 0
+            || ( error.indexOf( "'svn cleanup'" ) > 0 && error.indexOf( "'svn help cleanup'" ) > 0 );
+    }
+
+    /**
+     * @param error the error output of a failed command
+     * @return <code>true</code> if an earlier operation on the working copy was interrupted and left it locked
+     */
+    static boolean isInterruptedOperation( String error )
+    {
+        return error.indexOf( "E155037" ) >= 0;
+    }
+
+    /**
+     * @return the svn subcommand of the command line, e.g. <code>update</code>, or <code>null</code>
+     */
+    static String getSubcommand( Commandline cl )
+    {
+        String[] arguments = cl.getArguments();
+        for ( int i = 0; i < arguments.length; i++ )
+        {
+            if ( OPTIONS_WITH_VALUE.contains( arguments[i] ) )
+            {
+                i++;
+            }
+            else if ( !arguments[i].startsWith( "-" ) )
+            {
+                return arguments[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the first lines of an attempt until it is known whether it is the last one, then streams the others to a
+     * consumer.
+     */
+    static class BufferedConsumer
+        implements StreamConsumer
+    {
+        private final StreamConsumer stream;
+
+        private final int held;
+
+        private final List<String> lines = new ArrayList<String>();
+
+        private int streamed;
+
+        /**
+         * @param stream the consumer to pass the lines to, <code>null</code> to keep all of them
+         * @param held the number of lines to keep before the lines are passed to the consumer
+         */
+        BufferedConsumer( StreamConsumer stream, int held )
+        {
+            this.stream = stream;
+            this.held = held;
+        }
+
+        public void consumeLine( String line )
+        {
+            if ( stream == null || ( streamed == 0 && lines.size() < held ) )
             {
-                logger.info( "Svn command failed due to some locks in working copy. We try to run a 'svn cleanup'." );
+                lines.add( line );
+                return;
             }
 
-            if ( executeCleanUp( cl.getWorkingDirectory(), consumer, stderr, logger ) == 0 )
+            for ( String kept : lines )
             {
-                exitCode = CommandLineUtils.executeCommandLine( cl, consumer, stderr );
+                streamed++;
+                stream.consumeLine( kept );
             }
+            lines.clear();
+
+            streamed++;
+            stream.consumeLine( line );
+        }
+
+        /**
+         * @return the number of lines passed to the consumer
+         */
+        int getStreamed()
+        {
+            return streamed;
+        }
+
+        /**
+         * Passes the kept lines to a consumer.
+         */
+        void flush( StreamConsumer consumer )
+        {
+            for ( String line : lines )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+
+        public String toString()
+        {
+            return StringUtils.join( lines.iterator(), "\n" );
         }
-        return exitCode;
     }
 
     public static int executeCleanUp( File workinDirectory, StreamConsumer stdout, StreamConsumer stderr )
@@ -200,6 +530,8 @@ public static int executeCleanUp( File workinDirectory, StreamConsumer stdout, S
 
         cl.setWorkingDirectory( workinDirectory.getAbsolutePath() );
 
+        cl.createArg().setValue( "cleanup" );
+
         if ( logger != null )
         {
             if ( logger.isInfoEnabled() )
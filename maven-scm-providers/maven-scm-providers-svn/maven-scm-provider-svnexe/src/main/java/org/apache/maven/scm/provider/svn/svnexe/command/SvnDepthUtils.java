@@ -0,0 +1,150 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers for the <code>--depth</code> of checkouts and updates and for sparse working copies.
+ * <p/>
+ * When a depth is given, a sparse working copy is derived from the include patterns of the file set: the root is
+ * checked out with the depth, then the leading directories of every pattern, up to the first wildcard, are brought
+ * in fully with <code>svn update --parents</code>. <code>modules/core/**</code> fetches <code>modules/core</code>,
+ * <code>pom.xml</code> fetches just that file, and a pattern starting with a wildcard needs the whole tree.
+ *
+ * @since 1.9.3
+ */
+public final class SvnDepthUtils
+{
+    /**
+     * The depths accepted by svn
+     */
+    public static final List<String> DEPTHS = Arrays.asList( "empty", "files", "immediates", "infinity" );
+
+    /**
+     * The depth of a non recursive checkout, what <code>-N</code> means
+     */
+    public static final String NON_RECURSIVE_DEPTH = "files";
+
+    private SvnDepthUtils()
+    {
+    }
+
+    /**
+     * @param depth a depth, may be <code>null</code>
+     * @return the depth, or <code>null</code> if no depth is given
+     * @throws ScmException if the depth is not known to svn
+     */
+    public static String checkDepth( String depth )
+        throws ScmException
+    {
+        if ( StringUtils.isEmpty( depth ) )
+        {
+            return null;
+        }
+        if ( !DEPTHS.contains( depth ) )
+        {
+            throw new ScmException( "Unknown svn depth '" + depth + "', use one of " + DEPTHS );
+        }
+        return depth;
+    }
+
+    /**
+     * @param depth a valid depth
+     * @param recursive <code>false</code> for a non recursive checkout
+     * @return the depth, but not deeper than {@link #NON_RECURSIVE_DEPTH} if not recursive
+     */
+    public static String limitDepth( String depth, boolean recursive )
+    {
+        if ( !recursive && DEPTHS.indexOf( depth ) > DEPTHS.indexOf( NON_RECURSIVE_DEPTH ) )
+        {
+            return NON_RECURSIVE_DEPTH;
+        }
+        return depth;
+    }
+
+    /**
+     * @param includes the comma separated include patterns of a file set, may be <code>null</code>
+     * @return the paths to bring into a sparse working copy, or <code>null</code> if the whole tree is needed
+     */
+    public static List<String> getSparsePaths( String includes )
+    {
+        if ( StringUtils.isEmpty( includes ) )
+        {
+            return null;
+        }
+
+        List<String> paths = new ArrayList<String>();
+        for ( String include : StringUtils.split( includes, "," ) )
+        {
+            String path = getLiteralPrefix( include.trim().replace( '\\', '/' ) );
+            if ( path.length() == 0 )
+            {
+                return null;
+            }
+            if ( !paths.contains( path ) )
+            {
+                paths.add( path );
+            }
+        }
+
+        // a path inside another one comes with it
+        List<String> result = new ArrayList<String>();
+        for ( String path : paths )
+        {
+            boolean nested = false;
+            for ( String other : paths )
+            {
+                nested |= !other.equals( path ) && path.startsWith( other + "/" );
+            }
+            if ( !nested )
+            {
+                result.add( path );
+            }
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * @return the leading path segments of the pattern without wildcards
+     */
+    private static String getLiteralPrefix( String pattern )
+    {
+        StringBuilder prefix = new StringBuilder();
+        for ( String segment : StringUtils.split( pattern, "/" ) )
+        {
+            if ( segment.indexOf( '*' ) >= 0 || segment.indexOf( '?' ) >= 0 )
+            {
+                break;
+            }
+            if ( prefix.length() > 0 )
+            {
+                prefix.append( '/' );
+            }
+            prefix.append( segment );
+        }
+        return prefix.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A short-lived, JVM wide cache of the results of read-only svn commands against remote URLs, keyed by command and
+ * <code>URL@revision</code>, so a build asking for the same remote information again does not run svn again.
+ * <p/>
+ * Only the results for a numeric revision are cached: they don't change, but expire after
+ * <code>maven.scm.svn.remote_cache_revision_ttl</code> milliseconds, 10 minutes by default, so a long running JVM does
+ * not keep them forever. Results for <code>HEAD</code> (no revision) are not cached, another client may commit at any
+ * time. The cache holds at most 1000 results and 100000 list or map elements over
+ * all results, the least recently used results are dropped first. The commands writing to the repository (check in,
+ * tag, branch, mkdir) invalidate the whole cache.
+ * <p/>
+ * Lists, sets and maps are cached as unmodifiable copies, so the callers sharing a result can't change it.
+ *
+ * @since 1.9.3
+ */
+public final class SvnRemoteCache
+{
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final int MAX_ELEMENTS = 100000;
+
+    private static final long REVISION_TTL =
+        Long.getLong( "maven.scm.svn.remote_cache_revision_ttl", 10 * 60 * 1000L ).longValue();
+
+    // in access order, the eldest entry is the least recently used one
+    private static final Map<String, Entry> CACHE = new LinkedHashMap<String, Entry>( 16, 0.75f, true );
+
+    private static int elements;
+
+    private SvnRemoteCache()
+    {
+    }
+
+    /**
+     * @param command the svn command, e.g. <code>info</code> or <code>list --recursive</code>
+     * @param url the remote URL
+     * @param revision the revision, or <code>null</code> for <code>HEAD</code>
+     * @return the key of the result of the command for the URL at the revision
+     */
+    public static String key( String command, String url, String revision )
+    {
+        return command + " " + StringUtils.removeEnd( url, "/" ) + "@"
+            + ( StringUtils.isEmpty( revision ) ? "HEAD" : revision );
+    }
+
+    /**
+     * @return the cached result, or <code>null</code> if it is not cached or expired
+     */
+    @SuppressWarnings( "unchecked" )
+    public static synchronized <T> T get( String key )
+    {
+        Entry entry = CACHE.get( key );
+        if ( entry == null )
+        {
+            return null;
+        }
+        if ( entry.expires < System.currentTimeMillis() )
+        {
+            remove( key );
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * Caches the result of a command if the key has a numeric revision, results for <code>HEAD</code> are ignored.
+     */
+    public static synchronized void put( String key, Object value )
+    {
+        if ( REVISION_TTL <= 0 || !isFixedRevision( key ) )
+        {
+            return;
+        }
+
+        Entry entry = new Entry( unmodifiableCopy( value ), System.currentTimeMillis() + REVISION_TTL );
+        if ( entry.elements > MAX_ELEMENTS )
+        {
+            return;
+        }
+
+        remove( key );
+        CACHE.put( key, entry );
+        elements += entry.elements;
+
+        Iterator<Map.Entry<String, Entry>> eldest = CACHE.entrySet().iterator();
+        while ( CACHE.size() > MAX_ENTRIES || elements > MAX_ELEMENTS )
+        {
+            elements -= eldest.next().getValue().elements;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops all cached results, to be called after the remote repository has been changed.
+     */
+    public static synchronized void invalidate()
+    {
+        CACHE.clear();
+        elements = 0;
+    }
+
+    private static boolean isFixedRevision( String key )
+    {
+        String revision = key.substring( key.lastIndexOf( '@' ) + 1 );
+        return revision.length() > 0 && StringUtils.isNumeric( revision );
+    }
+
+    private static void remove( String key )
+    {
+        Entry removed = CACHE.remove( key );
+        if ( removed != null )
+        {
+            elements -= removed.elements;
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Object unmodifiableCopy( Object value )
+    {
+        if ( value instanceof List )
+        {
+            return Collections.unmodifiableList( new ArrayList<Object>( (List<Object>) value ) );
+        }
+        if ( value instanceof Set )
+        {
+            return Collections.unmodifiableSet( new LinkedHashSet<Object>( (Set<Object>) value ) );
+        }
+        if ( value instanceof Map )
+        {
+            return Collections.unmodifiableMap( new LinkedHashMap<Object, Object>( (Map<Object, Object>) value ) );
+        }
+        return value;
+    }
+
+    private static final class Entry
+    {
+        private final Object value;
+
+        /**
+         * the expiry time
+         */
+        private final long expires;
+
+        /**
+         * the number of elements of a list, set or map, 1 for other values
+         */
+        private final int elements;
+
+        private Entry( Object value, long expires )
+        {
+            this.value = value;
+            this.expires = expires;
+            if ( value instanceof Collection )
+            {
+                elements = Math.max( 1, ( (Collection<?>) value ).size() );
+            }
+            else if ( value instanceof Map )
+            {
+                elements = Math.max( 1, ( (Map<?, ?>) value ).size() );
+            }
+            else
+            {
+                elements = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists the files of a remote directory, e.g. a tag created by a server side copy, with
+ * <code>svn list --recursive</code> instead of walking the working copy it was copied from.
+ * <p/>
+ * The files are reported like the ones of the working copy: relative to its base directory with the platform
+ * separator, filtered by the includes and excludes of the file set. As most callers of a tag or branch command never
+ * look at the files, {@link #lazyListFiles} only lists the remote directory when its result is first read.
+ *
+ * @since 1.9.3
+ */
+public final class SvnRemoteFileList
+{
+    private SvnRemoteFileList()
+    {
+    }
+
+    /**
+     * @param url the URL of the remote directory, matching the base directory of the file set
+     * @param fileSet the working copy the remote directory was copied from
+     * @param status the status of the listed files, e.g. {@link ScmFileStatus#TAGGED}
+     * @return the files of the remote directory
+     * @throws ScmException if svn fails to list the directory
+     */
+    public static List<ScmFile> listFiles( SvnScmProviderRepository repository, String url, ScmFileSet fileSet,
+                                           ScmFileStatus status, ScmLogger logger )
+        throws ScmException
+    {
+        Commandline cl = createCommandLine( repository, url );
+
+        ListConsumer consumer = new ListConsumer( fileSet, status );
+
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if ( logger.isInfoEnabled() )
+        {
+            logger.info( "Executing: " + SvnCommandLineUtils.cryptPassword( cl ) );
+        }
+
+        int exitCode;
+        try
+        {
+            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, logger );
+        }
+        catch ( CommandLineException e )
+        {
+            throw new ScmException( "Error while listing " + url + ".", e );
+        }
+
+        if ( exitCode != 0 )
+        {
+            throw new ScmException( "The svn list of " + url + " failed: " + stderr.getOutput() );
+        }
+        return consumer.getFiles();
+    }
+
+    /**
+     * Same as {@link #listFiles} but <code>svn list</code> only runs when the returned list is first read, a failure
+     * is thrown as an {@link IllegalStateException} at that point. The list is serialized as the files it has read.
+     *
+     * @param url the URL of the remote directory, matching the base directory of the file set
+     * @param fileSet the working copy the remote directory was copied from
+     * @param status the status of the listed files, e.g. {@link ScmFileStatus#TAGGED}
+     * @return the files of the remote directory, listed on first access
+     */
+    public static List<ScmFile> lazyListFiles( SvnScmProviderRepository repository, String url, ScmFileSet fileSet,
+                                               ScmFileStatus status, ScmLogger logger )
+    {
+        return new LazyFileList( repository, url, fileSet, status, logger );
+    }
+
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, String url )
+    {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( null, repository );
+
+        cl.createArg().setValue( "list" );
+
+        cl.createArg().setValue( "--recursive" );
+
+        cl.createArg().setValue( url );
+
+        return cl;
+    }
+
+    /**
+     * A list listing the remote directory on first access.
+     */
+    static class LazyFileList
+        extends AbstractList<ScmFile>
+        implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SvnScmProviderRepository repository;
+
+        private final transient String url;
+
+        private final transient ScmFileSet fileSet;
+
+        private final transient ScmFileStatus status;
+
+        private final transient ScmLogger logger;
+
+        private transient List<ScmFile> files;
+
+        LazyFileList( SvnScmProviderRepository repository, String url, ScmFileSet fileSet, ScmFileStatus status,
+                      ScmLogger logger )
+        {
+            this.repository = repository;
+            this.url = url;
+            this.fileSet = fileSet;
+            this.status = status;
+            this.logger = logger;
+        }
+
+        List<ScmFile> load()
+            throws ScmException
+        {
+            return listFiles( repository, url, fileSet, status, logger );
+        }
+
+        private synchronized List<ScmFile> files()
+        {
+            if ( files == null )
+            {
+                try
+                {
+                    files = load();
+                }
+                catch ( ScmException e )
+                {
+                    throw new IllegalStateException( e.getMessage(), e );
+                }
+            }
+            return files;
+        }
+
+        public ScmFile get( int index )
+        {
+            return files().get( index );
+        }
+
+        public int size()
+        {
+            return files().size();
+        }
+
+        /**
+         * The results holding the list are serializable, the repository and the logger are not.
+         */
+        protected Object writeReplace()
+        {
+            return new ArrayList<ScmFile>( files() );
+        }
+    }
+
+    /**
+     * Reads the paths printed by <code>svn list --recursive</code>, one per line, directories ending with a slash.
+     */
+    static class ListConsumer
+        implements StreamConsumer
+    {
+        private final String[] includes;
+
+        private final String[] excludes;
+
+        private final ScmFileStatus status;
+
+        private final List<ScmFile> files = new ArrayList<ScmFile>();
+
+        ListConsumer( ScmFileSet fileSet, ScmFileStatus status )
+        {
+            this.includes = toPatterns( fileSet == null ? null : fileSet.getIncludes(), "**" );
+            this.excludes = toPatterns( fileSet == null ? null : fileSet.getExcludes(), "" );
+            this.status = status;
+        }
+
+        public void consumeLine( String line )
+        {
+            // only the files are reported, like for a working copy
+            if ( line.length() == 0 || line.endsWith( "/" ) )
+            {
+                return;
+            }
+
+            String path = line.replace( '/', File.separatorChar );
+            if ( matchesAny( includes, path ) && !matchesAny( excludes, path ) )
+            {
+                files.add( new ScmFile( path, status ) );
+            }
+        }
+
+        List<ScmFile> getFiles()
+        {
+            return files;
+        }
+
+        private static boolean matchesAny( String[] patterns, String path )
+        {
+            for ( String pattern : patterns )
+            {
+                if ( SelectorUtils.matchPath( pattern, path ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param patterns comma separated patterns as in a file set, the way FileUtils.getFiles reads them
+         */
+        private static String[] toPatterns( String patterns, String defaultPatterns )
+        {
+            List<String> result = new ArrayList<String>();
+            for ( String pattern : StringUtils.split( StringUtils.isEmpty( patterns ) ? defaultPatterns : patterns,
+                                                      "," ) )
+            {
+                pattern = pattern.trim().replace( '/', File.separatorChar ).replace( '\\', File.separatorChar );
+                if ( pattern.endsWith( File.separator ) )
+                {
+                    pattern += "**";
+                }
+                if ( pattern.length() > 0 )
+                {
+                    result.add( pattern );
+                }
+            }
+            return result.toArray( new String[result.size()] );
+        }
+    }
+}
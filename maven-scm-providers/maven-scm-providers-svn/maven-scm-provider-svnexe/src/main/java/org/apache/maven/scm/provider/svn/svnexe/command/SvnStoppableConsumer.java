@@ -0,0 +1,38 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * A consumer of the output of a read-only svn command which may not need all of it, e.g. a status looking for the
+ * first change. Run with {@link SvnCommandLineUtils#executeUntilDone}, svn is stopped as soon as the consumer is done,
+ * instead of reading the rest of the output from the repository.
+ *
+ * @since 1.9.3
+ */
+public interface SvnStoppableConsumer
+    extends StreamConsumer
+{
+    /**
+     * @return <code>true</code> if the rest of the output is not needed
+     */
+    boolean isDone();
+}
@@ -0,0 +1,349 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.ScmLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes the svn commands changing a working copy, within the JVM and with the other processes using this
+ * class, with a lock on the file <code>.svn/maven-scm.lock</code> at the root of the working copy. The file lock is
+ * polled with a growing delay while another process holds it; the operating system releases it if that process dies.
+ * <p/>
+ * Before the first command holding the lock runs, the working copy is checked for signs of a running svn process:
+ * the <code>wc.db-journal</code> of an open sqlite transaction (svn 1.7+) or a <code>.svn/lock</code> file (svn
+ * 1.6); such a working copy is given some time to settle before the command runs anyway.
+ * <p/>
+ * The contention is counted for all working copies, see {@link #getAcquisitions()}, {@link #getContentions()},
+ * {@link #getWaitTime()} and {@link #getRetries()}.
+ *
+ * @since 1.9.3
+ */
+public final class SvnWorkingCopyLock
+{
+    private static final String LOCK_FILE = "maven-scm.lock";
+
+    private static final long FILE_LOCK_DELAY = 50L;
+
+    private static final long MAX_FILE_LOCK_DELAY = 2000L;
+
+    private static final String[] SVN_LOCK_FILES = { "wc.db-journal", "lock" };
+
+    private static final int SETTLE_ATTEMPTS = 5;
+
+    private static final long SETTLE_DELAY = 200L;
+
+    private static final Map<File, SvnWorkingCopyLock> LOCKS = new HashMap<File, SvnWorkingCopyLock>();
+
+    private static final AtomicLong ACQUISITIONS = new AtomicLong();
+
+    private static final AtomicLong CONTENTIONS = new AtomicLong();
+
+    private static final AtomicLong WAIT_TIME = new AtomicLong();
+
+    private static final AtomicLong RETRIES = new AtomicLong();
+
+    private final File root;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private RandomAccessFile lockFile;
+
+    private FileLock fileLock;
+
+    private SvnWorkingCopyLock( File root )
+    {
+        this.root = root;
+    }
+
+    /**
+     * Locks the working copy containing a directory, waiting for the other users of the working copy if needed.
+     * The lock is reentrant.
+     *
+     * @param directory a directory, may be <code>null</code>
+     * @return the lock, to be {@link #release() released} after the command, or <code>null</code> if the directory
+     *         is not in a working copy
+     */
+    public static SvnWorkingCopyLock acquire( File directory, ScmLogger logger )
+    {
+        File root = getWorkingCopyRoot( directory );
+        if ( root == null )
+        {
+            return null;
+        }
+
+        SvnWorkingCopyLock wcLock;
+        synchronized ( LOCKS )
+        {
+            wcLock = LOCKS.get( root );
+            if ( wcLock == null )
+            {
+                wcLock = new SvnWorkingCopyLock( root );
+                LOCKS.put( root, wcLock );
+            }
+        }
+        wcLock.lock( logger );
+        return wcLock;
+    }
+
+    /**
+     * @return the topmost directory with a <code>.svn</code> directory above the directory, or <code>null</code>
+     */
+    static File getWorkingCopyRoot( File directory )
+    {
+        if ( directory == null )
+        {
+            return null;
+        }
+
+        File root = null;
+        for ( File dir = directory.getAbsoluteFile(); dir != null; dir = dir.getParentFile() )
+        {
+            if ( new File( dir, ".svn" ).isDirectory() )
+            {
+                root = dir;
+            }
+            else if ( root != null )
+            {
+                break;
+            }
+        }
+        return root;
+    }
+
+    private void lock( ScmLogger logger )
+    {
+        long start = System.currentTimeMillis();
+        boolean contended = false;
+
+        ACQUISITIONS.incrementAndGet();
+
+        if ( !lock.tryLock() )
+        {
+            contended = true;
+            lock.lock();
+        }
+
+        if ( lock.getHoldCount() == 1 )
+        {
+            contended |= lockFile( logger );
+
+            waitForSvn( logger );
+        }
+
+        if ( contended )
+        {
+            long waited = System.currentTimeMillis() - start;
+            CONTENTIONS.incrementAndGet();
+            WAIT_TIME.addAndGet( waited );
+
+            if ( logger != null && logger.isDebugEnabled() )
+            {
+                logger.debug( "Waited " + waited + " ms for the working copy " + root );
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if another process held the lock
+     */
+    private boolean lockFile( ScmLogger logger )
+    {
+        boolean contended = false;
+        try
+        {
+            lockFile = new RandomAccessFile( new File( new File( root, ".svn" ), LOCK_FILE ), "rw" );
+            long delay = FILE_LOCK_DELAY;
+            while ( ( fileLock = lockFile.getChannel().tryLock() ) == null )
+            {
+                if ( !contended && logger != null && logger.isDebugEnabled() )
+                {
+                    logger.debug( "The working copy " + root + " is locked by another process, waiting." );
+                }
+                contended = true;
+                if ( !sleep( delay ) )
+                {
+                    closeLockFile();
+                    break;
+                }
+                delay = Math.min( delay * 2, MAX_FILE_LOCK_DELAY );
+            }
+        }
+        catch ( IOException e )
+        {
+            // e.g. a read-only working copy, the commands are still serialized within the JVM
+            unableToLock( e, logger );
+        }
+        catch ( OverlappingFileLockException e )
+        {
+            // the same working copy reached through another path, e.g. a symbolic link
+            unableToLock( e, logger );
+        }
+        return contended;
+    }
+
+    private void unableToLock( Exception e, ScmLogger logger )
+    {
+        if ( logger != null && logger.isDebugEnabled() )
+        {
+            logger.debug( "Unable to lock the working copy " + root + ": " + e.getMessage() );
+        }
+        closeLockFile();
+    }
+
+    private void waitForSvn( ScmLogger logger )
+    {
+        for ( int attempt = 0; attempt < SETTLE_ATTEMPTS && isLockedBySvn(); attempt++ )
+        {
+            if ( logger != null && logger.isDebugEnabled() )
+            {
+                logger.debug( "The working copy " + root + " is in use by svn, waiting." );
+            }
+            if ( !sleep( SETTLE_DELAY << attempt ) )
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if svn currently writes to the working copy
+     */
+    boolean isLockedBySvn()
+    {
+        for ( String name : SVN_LOCK_FILES )
+        {
+            if ( new File( new File( root, ".svn" ), name ).exists() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the lock; the working copy is unlocked once every acquisition of the thread is released.
+     */
+    public void release()
+    {
+        if ( lock.getHoldCount() == 1 )
+        {
+            closeLockFile();
+        }
+        lock.unlock();
+    }
+
+    private void closeLockFile()
+    {
+        try
+        {
+            if ( fileLock != null )
+            {
+                fileLock.release();
+            }
+            if ( lockFile != null )
+            {
+                lockFile.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            // the lock is released when the file is closed anyway
+        }
+        finally
+        {
+            fileLock = null;
+            lockFile = null;
+        }
+    }
+
+    /**
+     * @return the root of the locked working copy
+     */
+    public File getRoot()
+    {
+        return root;
+    }
+
+    /**
+     * Sleeps between two attempts.
+     *
+     * @return <code>false</code> if the thread was interrupted
+     */
+    static boolean sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+            return true;
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static void recordRetry()
+    {
+        RETRIES.incrementAndGet();
+    }
+
+    /**
+     * @return the number of working copy locks acquired
+     */
+    public static long getAcquisitions()
+    {
+        return ACQUISITIONS.get();
+    }
+
+    /**
+     * @return the number of working copy locks which had to wait for another thread or process
+     */
+    public static long getContentions()
+    {
+        return CONTENTIONS.get();
+    }
+
+    /**
+     * @return the total time in milliseconds spent waiting for working copy locks
+     */
+    public static long getWaitTime()
+    {
+        return WAIT_TIME.get();
+    }
+
+    /**
+     * @return the number of svn commands run again because the working copy was locked
+     */
+    public static long getRetries()
+    {
+        return RETRIES.get();
+    }
+}
@@ -22,6 +22,7 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
@@ -32,6 +33,12 @@
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Evgeny Mandrikov
@@ -49,7 +56,21 @@ public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSe
                                                String filename )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, workingDirectory.getBasedir(), filename );
+        return executeBlameCommand( repo, workingDirectory, Collections.singletonList( filename ) ).get( filename );
+    }
+
+    /**
+     * Blames several files with a single <code>svn blame</code> invocation.
+     *
+     * @param filenames the files to blame, relative to the working directory
+     * @return the result per file name; if the svn command fails, every file gets the failed result
+     * @since 1.9.3
+     */
+    public Map<String, BlameScmResult> executeBlameCommand( ScmProviderRepository repo, ScmFileSet workingDirectory,
+                                                            List<String> filenames )
+        throws ScmException
+    {
+        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, workingDirectory.getBasedir(), filenames );
 
         SvnBlameConsumer consumer = new SvnBlameConsumer( getLogger() );
 
@@ -72,21 +93,59 @@ public BlameScmResult executeBlameCommand( ScmProviderRepository repo, ScmFileSe
             throw new ScmException( "Error while executing command.", ex );
         }
 
-        if ( exitCode != 0 )
+        Map<String, BlameScmResult> results = new LinkedHashMap<String, BlameScmResult>();
+        for ( String filename : filenames )
         {
-            return new BlameScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
+            if ( exitCode != 0 )
+            {
+                results.put( filename,
+                             new BlameScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false ) );
+            }
+            else
+            {
+                // a single target needs no lookup by the path svn reports for it
+                List<BlameLine> lines = filenames.size() == 1 ? consumer.getLines() : consumer.getLines( filename );
+                if ( lines != null )
+                {
+                    setLocalModificationDates( new File( workingDirectory.getBasedir(), filename ), lines );
+                }
+                results.put( filename,
+                             new BlameScmResult( cl.toString(), lines != null ? lines : new ArrayList<BlameLine>() ) );
+            }
         }
+        return results;
+    }
 
-        return new BlameScmResult( cl.toString(), consumer.getLines() );
+    /**
+     * The lines with local modifications have no commit date, they get the last modification date of the file.
+     */
+    private static void setLocalModificationDates( File file, List<BlameLine> lines )
+    {
+        for ( BlameLine line : lines )
+        {
+            if ( line.getDate() == null && SvnBlameConsumer.LOCAL_MODIFICATION.equals( line.getRevision() ) )
+            {
+                line.setDate( new Date( file.lastModified() ) );
+            }
+        }
     }
 
     public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
                                                  String filename )
+    {
+        return createCommandLine( repository, workingDirectory, Collections.singletonList( filename ) );
+    }
+
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                 List<String> filenames )
     {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory, repository );
         cl.createArg().setValue( "blame" );
         cl.createArg().setValue( "--xml" );
-        cl.createArg().setValue( filename );
+        for ( String filename : filenames )
+        {
+            cl.createArg().setValue( filename );
+        }
         return cl;
     }
 }
@@ -22,17 +22,34 @@
 import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
+ * Parses the output of <code>svn blame --xml</code>, for one or more targets.
+ * <p/>
+ * The output is consumed line by line, but every <code>&lt;target&gt;</code> start tag and every
+ * <code>&lt;entry&gt;</code> is buffered until it is complete and then read with an XPP3 parser, so the consumer
+ * does not depend on how svn pretty-prints the xml. The author and the date of a revision are read once and shared
+ * by all the lines of that revision.
+ * <p/>
+ * Lines with local modifications have no commit; they are reported with {@link #LOCAL_MODIFICATION} as revision and
+ * author, the way <code>svn blame</code> prints them without <code>--xml</code>, so the line numbers of the blame
+ * lines stay in line with the file.
+ *
  * @author Evgeny Mandrikov
  * @author Olivier Lamy
  * @since 1.4
@@ -40,21 +57,44 @@
 public class SvnBlameConsumer
     extends AbstractConsumer
 {
+    /**
+     * The revision and the author of the lines with local modifications
+     *
+     * @since 1.9.3
+     */
+    public static final String LOCAL_MODIFICATION = "-";
+
     private static final String SVN_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss";
 
-    private static final Pattern LINE_PATTERN = Pattern.compile( "line-number=\"(.*)\"" );
+    private static final String TARGET_START = "<target";
 
-    private static final Pattern REVISION_PATTERN = Pattern.compile( "revision=\"(.*)\"" );
+    private static final String ENTRY_START = "<entry";
 
-    private static final Pattern AUTHOR_PATTERN = Pattern.compile( "<author>(.*)</author>" );
+    private static final String ENTRY_END = "</entry>";
 
-    private static final Pattern DATE_PATTERN = Pattern.compile( "<date>(.*)T(.*)\\.(.*)Z</date>" );
+    private final SimpleDateFormat dateFormat;
 
+    private final XmlPullParser parser = new MXParser();
 
-    private SimpleDateFormat dateFormat;
+    /**
+     * The blame lines of every target, in the order of the svn output
+     */
+    private final Map<String, List<BlameLine>> targets = new LinkedHashMap<String, List<BlameLine>>();
+
+    /**
+     * The author and the date of every revision read so far, as a blame line template
+     */
+    private final Map<String, BlameLine> commits = new HashMap<String, BlameLine>();
 
     private List<BlameLine> lines = new ArrayList<BlameLine>();
 
+    /**
+     * The lines of the element being read, <code>null</code> between two elements
+     */
+    private StringBuilder currentElement;
+
+    private boolean inTargetTag;
+
     public SvnBlameConsumer( ScmLogger logger )
     {
         super( logger );
@@ -63,41 +103,135 @@ public SvnBlameConsumer( ScmLogger logger )
         dateFormat.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
     }
 
-    private int lineNumber;
+    public void consumeLine( String line )
+    {
+        String trimmed = line.trim();
 
-    private String revision;
+        if ( currentElement == null )
+        {
+            if ( trimmed.startsWith( TARGET_START ) )
+            {
+                inTargetTag = true;
+            }
+            else if ( !trimmed.startsWith( ENTRY_START ) )
+            {
+                // xml declaration, <blame>, </target> and </blame>
+                return;
+            }
+            currentElement = new StringBuilder();
+        }
 
-    private String author;
+        currentElement.append( line ).append( '\n' );
 
-    public void consumeLine( String line )
+        if ( inTargetTag && trimmed.endsWith( ">" ) )
+        {
+            currentElement.append( "</target>" );
+            startTarget( parse( currentElement.toString() ).get( "path" ) );
+            currentElement = null;
+            inTargetTag = false;
+        }
+        else if ( !inTargetTag && trimmed.endsWith( ENTRY_END ) )
+        {
+            addLine( parse( currentElement.toString() ) );
+            currentElement = null;
+        }
+    }
+
+    private void startTarget( String path )
+    {
+        lines = new ArrayList<BlameLine>();
+        targets.put( path, lines );
+    }
+
+    private void addLine( Map<String, String> entry )
     {
-        Matcher matcher;
-        if ( ( matcher = LINE_PATTERN.matcher( line ) ).find() )
+        String revision = entry.get( "revision" );
+
+        BlameLine blameLine;
+        if ( revision == null )
         {
-            String lineNumberStr = matcher.group( 1 );
-            lineNumber = Integer.parseInt( lineNumberStr );
+            blameLine = new BlameLine( null, LOCAL_MODIFICATION, LOCAL_MODIFICATION );
         }
-        else if ( ( matcher = REVISION_PATTERN.matcher( line ) ).find() )
+        else
         {
-            revision = matcher.group( 1 );
+            BlameLine commit = commits.get( revision );
+            if ( commit == null )
+            {
+                String date = entry.get( "date" );
+                commit = new BlameLine( date != null ? parseXmlDateTime( date ) : null, revision, entry.get( "author" ) );
+                commits.put( revision, commit );
+            }
+            blameLine = new BlameLine( commit.getDate(), revision, commit.getAuthor() );
         }
-        else if ( ( matcher = AUTHOR_PATTERN.matcher( line ) ).find() )
+        lines.add( blameLine );
+
+        if ( getLogger().isDebugEnabled() )
         {
-            author = matcher.group( 1 );
+            getLogger().debug( "Author of line " + entry.get( "line-number" ) + ": " + blameLine.getAuthor() + " ("
+                                   + entry.get( "date" ) + ")" );
         }
-        else if ( ( matcher = DATE_PATTERN.matcher( line ) ).find() )
+    }
+
+    /**
+     * Reads the attributes and the text-only child elements of an element, and of its <code>commit</code> element.
+     */
+    private Map<String, String> parse( String element )
+    {
+        Map<String, String> values = new HashMap<String, String>();
+        try
         {
-            String date = matcher.group( 1 );
-            String time = matcher.group( 2 );
-            Date dateTime = parseDateTime( date + " " + time );
-            lines.add( new BlameLine( dateTime, revision, author ) );
-            if ( getLogger().isDebugEnabled() )
+            parser.setInput( new StringReader( element ) );
+
+            int eventType = parser.getEventType();
+            while ( eventType != XmlPullParser.END_DOCUMENT )
             {
-                getLogger().debug( "Author of line " + lineNumber + ": " + author + " (" + date + ")" );
+                if ( eventType == XmlPullParser.START_TAG )
+                {
+                    String name = parser.getName();
+                    if ( "author".equals( name ) || "date".equals( name ) )
+                    {
+                        values.put( name, parser.nextText() );
+                    }
+                    else
+                    {
+                        for ( int i = 0; i < parser.getAttributeCount(); i++ )
+                        {
+                            values.put( parser.getAttributeName( i ), parser.getAttributeValue( i ) );
+                        }
+                    }
+                }
+                eventType = parser.next();
             }
         }
+        catch ( XmlPullParserException e )
+        {
+            throw new IllegalArgumentException( "Unexpected svn blame output: " + element, e );
+        }
+        catch ( IOException e )
+        {
+            // can't happen when reading from a string
+            throw new IllegalArgumentException( "Unexpected svn blame output: " + element, e );
+        }
+        return values;
     }
 
+    /**
+     * @param dateTimeStr the content of a <code>date</code> element, e.g. <code>2002-08-26T18:33:26.123456Z</code>
+     */
+    private Date parseXmlDateTime( String dateTimeStr )
+    {
+        // the fraction of the second and the trailing Z for UTC
+        int end = dateTimeStr.indexOf( '.' );
+        if ( end < 0 )
+        {
+            end = dateTimeStr.indexOf( 'Z' );
+        }
+        return parseDateTime( ( end < 0 ? dateTimeStr : dateTimeStr.substring( 0, end ) ).replace( 'T', ' ' ) );
+    }
+
+    /**
+     * @param dateTimeStr a UTC date, e.g. <code>2002-08-26 18:33:26</code>
+     */
     protected Date parseDateTime( String dateTimeStr )
     {
         try
@@ -111,8 +245,57 @@ protected Date parseDateTime( String dateTimeStr )
         }
     }
 
+    /**
+     * @return the blame lines of the last target
+     */
     public List<BlameLine> getLines()
     {
         return lines;
     }
+
+    /**
+     * @param target the path of a target, as given on the command line
+     * @return the blame lines of the target, or <code>null</code> if svn did not blame it
+     * @since 1.9.3
+     */
+    public List<BlameLine> getLines( String target )
+    {
+        List<BlameLine> targetLines = targets.get( target );
+        if ( targetLines == null )
+        {
+            // svn reports the canonical path, e.g. without ./ or with / instead of \
+            String canonicalTarget = canonicalize( target );
+            for ( Map.Entry<String, List<BlameLine>> entry : targets.entrySet() )
+            {
+                if ( canonicalize( entry.getKey() ).equals( canonicalTarget ) )
+                {
+                    return entry.getValue();
+                }
+            }
+        }
+        return targetLines;
+    }
+
+    private static String canonicalize( String path )
+    {
+        String canonical = path.replace( '\\', '/' ).replaceAll( "/(\\./)*/*", "/" );
+        while ( canonical.startsWith( "./" ) )
+        {
+            canonical = canonical.substring( 2 );
+        }
+        while ( canonical.length() > 1 && canonical.endsWith( "/" ) )
+        {
+            canonical = canonical.substring( 0, canonical.length() - 1 );
+        }
+        return canonical;
+    }
+
+    /**
+     * @return the blame lines per target, in the order of the svn output
+     * @since 1.9.3
+     */
+    public Map<String, List<BlameLine>> getTargets()
+    {
+        return targets;
+    }
 }
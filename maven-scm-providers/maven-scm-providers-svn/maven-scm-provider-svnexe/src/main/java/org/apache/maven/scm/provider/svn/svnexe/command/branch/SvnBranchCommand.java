@@ -39,6 +39,8 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteFileList;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -107,6 +109,9 @@ public ScmResult executeBranchCommand( ScmProviderRepository repo, ScmFileSet fi
         }
         finally
         {
+            // the remote repository has changed
+            SvnRemoteCache.invalidate();
+
             try
             {
                 FileUtils.forceDelete( messageFile );
@@ -122,6 +127,15 @@ public ScmResult executeBranchCommand( ScmProviderRepository repo, ScmFileSet fi
             return new BranchScmResult( cl.toString(), "The svn branch command failed.", stderr.getOutput(), false );
         }
 
+        if ( scmBranchParameters.isRemoteBranching() )
+        {
+            // the branch was copied on the server, it is only listed there if the caller reads its files
+            String branchUrl = SvnTagBranchUtils.resolveBranchUrl( repository, new ScmBranch( branch ) );
+            List<ScmFile> remoteFiles = SvnRemoteFileList.lazyListFiles( repository, SvnCommandUtils.fixUrl(
+                branchUrl, repository.getUser() ), fileSet, ScmFileStatus.TAGGED, getLogger() );
+            return new BranchScmResult( cl.toString(), remoteFiles );
+        }
+
         List<ScmFile> fileList = new ArrayList<ScmFile>();
 
         List<File> files = null;
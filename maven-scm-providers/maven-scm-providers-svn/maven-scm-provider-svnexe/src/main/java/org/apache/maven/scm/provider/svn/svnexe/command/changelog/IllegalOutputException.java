@@ -38,4 +38,16 @@ public IllegalOutputException( final String message )
     {
         super( message );
     }
+
+    /**
+     * Create the exception with a message and the cause.
+     *
+     * @param message the message.
+     * @param cause the cause.
+     * @since 1.9.3
+     */
+    public IllegalOutputException( final String message, final Throwable cause )
+    {
+        super( message, cause );
+    }
 }
@@ -19,6 +19,9 @@
  * under the License.
  */
 
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -28,11 +31,13 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.SvnTagBranchUtils;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -40,10 +45,16 @@
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
+ * The log is limited to the files of the file set, if it has any: they are passed to <code>svn log</code> as paths
+ * relative to the repository URL, so svn only reads the history of these paths. With a {@link ChangeSetSink}, the
+ * change sets are streamed to the sink, and svn is stopped as soon as the sink has seen enough.
+ *
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  * @author Olivier Lamy
  *
@@ -61,7 +72,8 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
                                                           String datePattern )
         throws ScmException
     {
-        return executeChangeLogCommand( repo, fileSet, null, null, null, datePattern, startVersion, endVersion, null );
+        return executeChangeLogCommand( repo, fileSet, null, null, null, datePattern, startVersion, endVersion, null,
+                                        false, null );
     }
 
     /** {@inheritDoc} */
@@ -71,9 +83,36 @@ protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo
                                                           String datePattern )
         throws ScmException
     {
-        return executeChangeLogCommand( repo, fileSet, startDate, endDate, branch, datePattern, null, null, null );
+        return executeChangeLogCommand( repo, fileSet, startDate, endDate, branch, datePattern, null, null, null,
+                                        false, null );
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#CHANGESET_SINK} and {@link CommandParameter#SVN_STOP_ON_COPY}
+     * parameters, which is how the options of a {@link ChangeLogScmRequest} reach the command through a provider.
+     */
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                                          Date startDate, Date endDate, ScmBranch branch,
+                                                          ScmVersion startVersion, ScmVersion endVersion,
+                                                          Integer limit, String datePattern,
+                                                          CommandParameters parameters )
+        throws ScmException
+    {
+        return executeChangeLogCommand( repository, fileSet, startDate, endDate, branch, datePattern, startVersion,
+                                        endVersion, limit,
+                                        parameters.getBoolean( CommandParameter.SVN_STOP_ON_COPY, false ),
+                                        parameters.getChangeSetSink( CommandParameter.CHANGESET_SINK ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link ChangeLogScmRequest#setStopOnCopy(boolean) stop on copy} option and the
+     * {@link ChangeLogScmRequest#setChangeSetSink(ChangeSetSink) change set sink}.
+     */
     @Override
     protected ChangeLogScmResult executeChangeLogCommand( ChangeLogScmRequest request )
         throws ScmException
@@ -84,19 +123,31 @@ protected ChangeLogScmResult executeChangeLogCommand( ChangeLogScmRequest reques
         final String datePattern = request.getDatePattern();
         return executeChangeLogCommand( request.getScmRepository().getProviderRepository(), fileSet,
             request.getStartDate(), request.getEndDate(), request.getScmBranch(), datePattern, startVersion,
-                endVersion, request.getLimit() );
+                endVersion, request.getLimit(), request.isStopOnCopy(), request.getChangeSetSink() );
     }
 
     private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                           Date startDate, Date endDate, ScmBranch branch,
                                                           String datePattern, ScmVersion startVersion,
-                                                          ScmVersion endVersion, Integer limit )
+                                                          ScmVersion endVersion, Integer limit,
+                                                          boolean stopOnCopy, ChangeSetSink sink )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), branch, startDate,
-                                            endDate, startVersion, endVersion, limit );
+        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet, branch, startDate, endDate,
+                                            startVersion, endVersion, limit, stopOnCopy );
 
-        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer( getLogger(), datePattern );
+        SvnChangeLogConsumer consumer = null;
+        SvnXmlChangeLogConsumer xmlConsumer = null;
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            xmlConsumer = new SvnXmlChangeLogConsumer( getLogger() );
+            xmlConsumer.setChangeSetSink( sink );
+        }
+        else
+        {
+            consumer = new SvnChangeLogConsumer( getLogger(), datePattern );
+            consumer.setChangeSetSink( sink );
+        }
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -110,7 +161,16 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
 
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            if ( sink != null )
+            {
+                exitCode = SvnCommandLineUtils.executeUntilDone( cl, xmlConsumer != null ? xmlConsumer : consumer,
+                                                                 stderr, getLogger() );
+            }
+            else
+            {
+                exitCode = SvnCommandLineUtils.execute( cl, xmlConsumer != null ? xmlConsumer : consumer, stderr,
+                                                        getLogger() );
+            }
         }
         catch ( CommandLineException ex )
         {
@@ -121,7 +181,9 @@ private ChangeLogScmResult executeChangeLogCommand( ScmProviderRepository repo,
         {
             return new ChangeLogScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
-        ChangeLogSet changeLogSet = new ChangeLogSet( consumer.getModifications(), startDate, endDate );
+        List<ChangeSet> modifications =
+            xmlConsumer != null ? xmlConsumer.getModifications() : consumer.getModifications();
+        ChangeLogSet changeLogSet = new ChangeLogSet( modifications, startDate, endDate );
         changeLogSet.setStartVersion( startVersion );
         changeLogSet.setEndVersion( endVersion );
 
@@ -144,6 +206,22 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
                                                  ScmBranch branch, Date startDate, Date endDate,
                                                  ScmVersion startVersion, ScmVersion endVersion, Integer limit )
     {
+        return createCommandLine( repository, new ScmFileSet( workingDirectory ), branch, startDate, endDate,
+                                  startVersion, endVersion, limit, false );
+    }
+
+    /**
+     * @param fileSet the working directory, and the files to limit the log to, if any
+     * @param stopOnCopy <code>true</code> to stop the log at the copy the paths were created by
+     * @since 1.9.3
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet,
+                                                 ScmBranch branch, Date startDate, Date endDate,
+                                                 ScmVersion startVersion, ScmVersion endVersion, Integer limit,
+                                                 boolean stopOnCopy )
+    {
+        File workingDirectory = fileSet.getBasedir();
+
         SimpleDateFormat dateFormat = new SimpleDateFormat( DATE_FORMAT );
 
         dateFormat.setTimeZone( TimeZone.getTimeZone( "GMT" ) );
@@ -154,7 +232,15 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
 
         cl.createArg().setValue( "-v" );
 
-        // TODO: May want to add some kind of support for --stop-on-copy and --limit NUM
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
+        if ( stopOnCopy )
+        {
+            cl.createArg().setValue( "--stop-on-copy" );
+        }
 
         if ( limit != null && limit > 0 )
         {
@@ -198,7 +284,8 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
             }
         }
 
-        if ( branch != null && StringUtils.isNotEmpty( branch.getName() ) )
+        boolean onBranch = branch != null && StringUtils.isNotEmpty( branch.getName() );
+        if ( onBranch )
         {
             // By specifying a branch and this repository url below, subversion should show
             // the changelog of that branch, but limit it to paths that also occur in this repository.
@@ -212,11 +299,68 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
             }
         }
 
+        List<String> paths = getTargetPaths( fileSet );
+
         if ( endVersion == null || !StringUtils.equals( "BASE", endVersion.getName() ) )
         {
-            cl.createArg().setValue( repository.getUrl() );
+            // the paths are relative to the branch URL when on a branch
+            if ( !onBranch || paths.isEmpty() )
+            {
+                cl.createArg().setValue( repository.getUrl() );
+            }
+        }
+
+        for ( String path : paths )
+        {
+            // a trailing @ keeps svn from reading an @ in the path as a peg revision
+            cl.createArg().setValue( path.indexOf( '@' ) >= 0 ? path + "@" : path );
         }
 
         return cl;
     }
+
+    /**
+     * @return the paths of the files of the file set relative to its base directory, without the paths inside
+     *         another one, or an empty list for the whole base directory
+     */
+    static List<String> getTargetPaths( ScmFileSet fileSet )
+    {
+        String basedir = fileSet.getBasedir().getAbsolutePath().replace( '\\', '/' );
+
+        List<String> paths = new ArrayList<String>();
+        for ( File file : fileSet.getFileList() )
+        {
+            String path = file.getPath().replace( '\\', '/' );
+            if ( file.isAbsolute() && ( path + "/" ).startsWith( basedir + "/" ) )
+            {
+                path = path.substring( basedir.length() );
+            }
+            path = StringUtils.stripEnd( StringUtils.stripStart( path, "/" ), "/" );
+            if ( path.length() == 0 || ".".equals( path ) )
+            {
+                // the base directory itself
+                return new ArrayList<String>();
+            }
+            if ( !paths.contains( path ) )
+            {
+                paths.add( path );
+            }
+        }
+
+        // a path inside another one is in its log anyway
+        List<String> result = new ArrayList<String>();
+        for ( String path : paths )
+        {
+            boolean nested = false;
+            for ( String other : paths )
+            {
+                nested |= !other.equals( path ) && path.startsWith( other + "/" );
+            }
+            if ( !nested )
+            {
+                result.add( path );
+            }
+        }
+        return result;
+    }
 }
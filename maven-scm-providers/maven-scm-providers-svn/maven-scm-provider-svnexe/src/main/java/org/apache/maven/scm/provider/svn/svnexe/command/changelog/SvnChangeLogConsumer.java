@@ -22,8 +22,10 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
 import org.apache.maven.scm.log.ScmLogger;
 import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnStoppableConsumer;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 import java.util.ArrayList;
@@ -38,6 +40,7 @@
  */
 public class SvnChangeLogConsumer
     extends AbstractConsumer
+    implements SvnStoppableConsumer
 {
     /**
      * Date formatter for svn timestamp (after a little massaging)
@@ -106,6 +109,13 @@
      */
     private StringBuilder currentComment;
 
+    /**
+     * The sink receiving the change sets instead of the entries, if any
+     */
+    private ChangeSetSink sink;
+
+    private boolean done;
+
     /**
      * The regular expression used to match header lines
      */
@@ -142,6 +152,24 @@ public List<ChangeSet> getModifications()
         return entries;
     }
 
+    /**
+     * @param sink the sink receiving the change sets instead of {@link #getModifications()}
+     * @since 1.9.3
+     */
+    public void setChangeSetSink( ChangeSetSink sink )
+    {
+        this.sink = sink;
+    }
+
+    /**
+     * @return <code>true</code> if the sink does not need more change sets
+     * @since 1.9.3
+     */
+    public boolean isDone()
+    {
+        return done;
+    }
+
     // ----------------------------------------------------------------------
     // StreamConsumer Implementation
     // ----------------------------------------------------------------------
@@ -282,7 +310,10 @@ else if ( "R".equals( actionStr ) )
             {
                 action = ScmFileStatus.UNKNOWN;
             }
-            System.out.println( actionStr + " : " + name );
+            if ( getLogger().isDebugEnabled() )
+            {
+                getLogger().debug( actionStr + " : " + name );
+            }
             final ChangeFile changeFile = new ChangeFile( name, currentRevision );
             changeFile.setAction( action );
             changeFile.setOriginalName( originalName );
@@ -313,7 +344,14 @@ private void processGetComment( String line )
         {
             currentChange.setComment( currentComment.toString() );
 
-            entries.add( currentChange );
+            if ( sink == null )
+            {
+                entries.add( currentChange );
+            }
+            else if ( !done )
+            {
+                done = !sink.accept( currentChange );
+            }
 
             status = GET_HEADER;
         }
@@ -0,0 +1,288 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnStoppableConsumer;
+import org.apache.maven.scm.util.AbstractConsumer;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Parses the output of <code>svn log --xml -v</code>.
+ * <p/>
+ * The output is consumed line by line like any other svn output, but only the lines of the current
+ * <code>&lt;logentry&gt;</code> are buffered: as soon as an entry is complete, it is pulled through an XPP3 parser
+ * into a {@link SvnChangeSet} and handed to {@link #addChangeSet(SvnChangeSet)}. As the markup characters of the
+ * commit messages are escaped in the xml output, a message can not end an entry early, whatever it contains. The
+ * timestamps are ISO 8601 in UTC, so no locale dependent date pattern is involved either.
+ * <p/>
+ * With a {@link ChangeSetSink}, the change sets are handed to the sink instead of being collected, and the consumer
+ * is done as soon as the sink has seen enough.
+ *
+ * @since 1.9.3
+ */
+public class SvnXmlChangeLogConsumer
+    extends AbstractConsumer
+    implements SvnStoppableConsumer
+{
+    private static final String SVN_TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final String LOGENTRY_START = "<logentry";
+
+    private static final String LOGENTRY_END = "</logentry>";
+
+    private final SimpleDateFormat dateFormat;
+
+    private final List<ChangeSet> entries = new ArrayList<ChangeSet>();
+
+    /**
+     * The parser of the log entries, reset for every entry
+     */
+    private final XmlPullParser parser = new MXParser();
+
+    /**
+     * The lines of the log entry being read, <code>null</code> between two entries
+     */
+    private StringBuilder currentEntry;
+
+    private ChangeSetSink sink;
+
+    private boolean done;
+
+    public SvnXmlChangeLogConsumer( ScmLogger logger )
+    {
+        super( logger );
+
+        dateFormat = new SimpleDateFormat( SVN_TIMESTAMP_PATTERN );
+        dateFormat.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
+    }
+
+    public List<ChangeSet> getModifications()
+    {
+        return entries;
+    }
+
+    /**
+     * @param sink the sink receiving the change sets instead of {@link #getModifications()}
+     * @since 1.9.3
+     */
+    public void setChangeSetSink( ChangeSetSink sink )
+    {
+        this.sink = sink;
+    }
+
+    /**
+     * @return <code>true</code> if the sink does not need more change sets
+     * @since 1.9.3
+     */
+    public boolean isDone()
+    {
+        return done;
+    }
+
+    // ----------------------------------------------------------------------
+    // StreamConsumer Implementation
+    // ----------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consumeLine( String line )
+    {
+        if ( getLogger().isDebugEnabled() )
+        {
+            getLogger().debug( line );
+        }
+
+        if ( currentEntry == null )
+        {
+            if ( !line.trim().startsWith( LOGENTRY_START ) )
+            {
+                // xml declaration, <log> and </log>
+                return;
+            }
+            currentEntry = new StringBuilder();
+        }
+
+        currentEntry.append( line ).append( '\n' );
+
+        if ( line.trim().endsWith( LOGENTRY_END ) )
+        {
+            String entry = currentEntry.toString();
+            currentEntry = null;
+
+            addChangeSet( parseLogEntry( entry ) );
+        }
+    }
+
+    /**
+     * Called for every parsed log entry, in the order of the svn output. Override to stream the entries elsewhere
+     * instead of collecting them in {@link #getModifications()}.
+     *
+     * @param changeSet the change set of the log entry
+     */
+    protected void addChangeSet( SvnChangeSet changeSet )
+    {
+        if ( sink == null )
+        {
+            entries.add( changeSet );
+        }
+        else if ( !done )
+        {
+            done = !sink.accept( changeSet );
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    private SvnChangeSet parseLogEntry( String entry )
+    {
+        SvnChangeSet changeSet = new SvnChangeSet();
+
+        try
+        {
+            parser.setInput( new StringReader( entry ) );
+
+            String revision = null;
+
+            int eventType = parser.getEventType();
+            while ( eventType != XmlPullParser.END_DOCUMENT )
+            {
+                if ( eventType == XmlPullParser.START_TAG )
+                {
+                    String name = parser.getName();
+                    if ( "logentry".equals( name ) )
+                    {
+                        revision = parser.getAttributeValue( null, "revision" );
+                        changeSet.setRevision( revision );
+                    }
+                    else if ( "author".equals( name ) )
+                    {
+                        changeSet.setAuthor( parser.nextText() );
+                    }
+                    else if ( "date".equals( name ) )
+                    {
+                        changeSet.setDate( parseDate( parser.nextText() ) );
+                    }
+                    else if ( "path".equals( name ) )
+                    {
+                        changeSet.addFile( parsePath( parser, revision ) );
+                    }
+                    else if ( "msg".equals( name ) )
+                    {
+                        changeSet.setComment( parser.nextText() );
+                    }
+                }
+                eventType = parser.next();
+            }
+        }
+        catch ( XmlPullParserException e )
+        {
+            throw new IllegalOutputException( entry, e );
+        }
+        catch ( IOException e )
+        {
+            // can't happen when reading from a string
+            throw new IllegalOutputException( entry, e );
+        }
+
+        return changeSet;
+    }
+
+    private ChangeFile parsePath( XmlPullParser parser, String revision )
+        throws XmlPullParserException, IOException
+    {
+        String actionStr = parser.getAttributeValue( null, "action" );
+        String originalName = parser.getAttributeValue( null, "copyfrom-path" );
+        String originalRev = parser.getAttributeValue( null, "copyfrom-rev" );
+
+        ChangeFile changeFile = new ChangeFile( parser.nextText(), revision );
+
+        final ScmFileStatus action;
+        if ( "A".equals( actionStr ) )
+        {
+            action = originalRev == null ? ScmFileStatus.ADDED : ScmFileStatus.COPIED;
+        }
+        else if ( "D".equals( actionStr ) )
+        {
+            action = ScmFileStatus.DELETED;
+        }
+        else if ( "M".equals( actionStr ) )
+        {
+            action = ScmFileStatus.MODIFIED;
+        }
+        else if ( "R".equals( actionStr ) )
+        {
+            action = ScmFileStatus.UPDATED; //== REPLACED in svn terms
+        }
+        else
+        {
+            action = ScmFileStatus.UNKNOWN;
+        }
+        changeFile.setAction( action );
+        changeFile.setOriginalName( originalName );
+        changeFile.setOriginalRevision( originalRev );
+
+        return changeFile;
+    }
+
+    /**
+     * @param dateOutput the content of a <code>date</code> element, e.g. <code>2002-08-26T18:33:26.123456Z</code>
+     * @return the date, or <code>null</code> if it can't be parsed
+     */
+    private Date parseDate( String dateOutput )
+    {
+        // the fraction of the second and the trailing Z for UTC
+        int end = dateOutput.indexOf( '.' );
+        if ( end < 0 )
+        {
+            end = dateOutput.indexOf( 'Z' );
+        }
+        String dateTime = end < 0 ? dateOutput : dateOutput.substring( 0, end );
+
+        try
+        {
+            return dateFormat.parse( dateTime );
+        }
+        catch ( ParseException e )
+        {
+            getLogger().error( "skip ParseException: " + e.getMessage() + " during parsing date " + dateOutput, e );
+            return null;
+        }
+    }
+}
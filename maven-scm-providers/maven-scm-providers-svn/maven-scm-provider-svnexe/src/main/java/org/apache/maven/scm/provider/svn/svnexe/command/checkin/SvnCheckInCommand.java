@@ -28,6 +28,7 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -92,6 +93,9 @@ protected CheckInScmResult executeCheckInCommand( ScmProviderRepository repo, Sc
         }
         finally
         {
+            // the remote repository has changed
+            SvnRemoteCache.invalidate();
+
             try
             {
                 FileUtils.forceDelete( messageFile );
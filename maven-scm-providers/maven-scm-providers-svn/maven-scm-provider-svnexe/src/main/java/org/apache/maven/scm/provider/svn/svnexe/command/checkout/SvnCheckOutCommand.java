@@ -19,9 +19,13 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmVersion;
@@ -33,12 +37,17 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnDepthUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.update.SvnUpdateCommand;
+import org.apache.maven.scm.provider.svn.svnexe.command.update.SvnUpdateConsumer;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -49,12 +58,47 @@
     extends AbstractCheckOutCommand
     implements SvnCommand
 {
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#SVN_DEPTH} parameter. With a depth, the include patterns of the file set
+     * select the paths of a sparse checkout, see {@link SvnDepthUtils}.
+     */
+    public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                     CommandParameters parameters )
+        throws ScmException
+    {
+        String depth = SvnDepthUtils.checkDepth( parameters.getString( CommandParameter.SVN_DEPTH, null ) );
+
+        if ( depth == null )
+        {
+            return super.executeCommand( repository, fileSet, parameters );
+        }
+
+        boolean recursive = parameters.getString( CommandParameter.RECURSIVE, null ) == null
+            || parameters.getBoolean( CommandParameter.RECURSIVE );
+        depth = SvnDepthUtils.limitDepth( depth, recursive );
+
+        ScmVersion scmVersion = parameters.getScmVersion( CommandParameter.SCM_VERSION, null );
+
+        return executeCheckOutCommand( repository, fileSet, scmVersion, recursive, depth,
+                                       SvnDepthUtils.getSparsePaths( fileSet.getIncludes() ) );
+    }
+
     /**
      * {@inheritDoc}
      */
     protected CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo, ScmFileSet fileSet,
                                                         ScmVersion version, boolean recursive )
         throws ScmException
+    {
+        return executeCheckOutCommand( repo, fileSet, version, recursive, null, null );
+    }
+
+    private CheckOutScmResult executeCheckOutCommand( ScmProviderRepository repo, ScmFileSet fileSet,
+                                                      ScmVersion version, boolean recursive, String depth,
+                                                      List<String> sparsePaths )
+        throws ScmException
     {
         SvnScmProviderRepository repository = (SvnScmProviderRepository) repo;
 
@@ -74,7 +118,7 @@ else if ( version instanceof ScmBranch )
 
         url = SvnCommandUtils.fixUrl( url, repository.getUser() );
 
-        Commandline cl = createCommandLine( repository, fileSet.getBasedir(), version, url, recursive );
+        Commandline cl = createCommandLine( repository, fileSet.getBasedir(), version, url, recursive, depth );
 
         SvnCheckOutConsumer consumer = new SvnCheckOutConsumer( getLogger(), fileSet.getBasedir() );
 
@@ -102,8 +146,44 @@ else if ( version instanceof ScmBranch )
             return new CheckOutScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new CheckOutScmResult( cl.toString(), Integer.toString( consumer.getRevision() ),
-                                      consumer.getCheckedOutFiles() );
+        if ( sparsePaths == null )
+        {
+            return new CheckOutScmResult( cl.toString(), Integer.toString( consumer.getRevision() ),
+                                          consumer.getCheckedOutFiles() );
+        }
+
+        // bring in the included paths, at the revision just checked out
+        String revision = Integer.toString( consumer.getRevision() );
+        Commandline updateCl =
+            SvnUpdateCommand.createSparseCommandLine( repository, fileSet.getBasedir(), revision, sparsePaths );
+
+        SvnUpdateConsumer updateConsumer = new SvnUpdateConsumer( getLogger(), fileSet.getBasedir() );
+
+        stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if ( getLogger().isInfoEnabled() )
+        {
+            getLogger().info( "Executing: " + SvnCommandLineUtils.cryptPassword( updateCl ) );
+        }
+
+        try
+        {
+            exitCode = SvnCommandLineUtils.execute( updateCl, updateConsumer, stderr, getLogger() );
+        }
+        catch ( CommandLineException ex )
+        {
+            throw new ScmException( "Error while executing command.", ex );
+        }
+
+        if ( exitCode != 0 )
+        {
+            return new CheckOutScmResult( updateCl.toString(), "The svn command failed.", stderr.getOutput(), false );
+        }
+
+        List<ScmFile> files = new ArrayList<ScmFile>( consumer.getCheckedOutFiles() );
+        files.addAll( updateConsumer.getUpdatedFiles() );
+
+        return new CheckOutScmResult( cl.toString(), revision, files );
     }
 
     // ----------------------------------------------------------------------
@@ -139,13 +219,37 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
      */
     public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
                                                  ScmVersion version, String url, boolean recursive )
+    {
+        return createCommandLine( repository, workingDirectory, version, url, recursive, null );
+    }
+
+    /**
+     * Create SVN check out command line.
+     *
+     * @param repository       not null
+     * @param workingDirectory not null
+     * @param version          not null
+     * @param url              not null
+     * @param recursive        <code>true</code> if recursive check out is wanted, <code>false</code> otherwise.
+     * @param depth            the <code>--depth</code> of the check out, overrides <code>recursive</code> if not
+     *                         <code>null</code>
+     * @return the SVN command line for the SVN check out.
+     * @since 1.9.3
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                 ScmVersion version, String url, boolean recursive, String depth )
     {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory.getParentFile(), repository );
 
         cl.createArg().setValue( "checkout" );
 
+        if ( depth != null )
+        {
+            cl.createArg().setValue( "--depth" );
+            cl.createArg().setValue( depth );
+        }
         // add non recursive option
-        if ( !recursive )
+        else if ( !recursive )
         {
             cl.createArg().setValue( "-N" );
         }
@@ -37,6 +37,7 @@
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
 import org.apache.maven.scm.provider.svn.svnexe.command.update.SvnUpdateConsumer;
+import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -79,6 +80,19 @@ else if ( version instanceof ScmBranch )
 
         url = SvnCommandUtils.fixUrl( url, repository.getUser() );
 
+        int threads = SvnUtil.getSettings().getExportThreads();
+        if ( threads > 1 )
+        {
+            String revision = version instanceof ScmRevision ? version.getName() : null;
+
+            ExportScmResult result = new SvnParallelExport( repository, fileSet.getBasedir(), getLogger() )
+                .export( url, revision, outputDirectory, threads );
+            if ( result != null )
+            {
+                return result;
+            }
+        }
+
         Commandline cl =
             createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), version, url, outputDirectory );
 
@@ -120,6 +134,17 @@ else if ( version instanceof ScmBranch )
     // ----------------------------------------------------------------------
 
     public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory, ScmVersion version, String url, String outputSirectory )
+    {
+        return createCommandLine( repository, workingDirectory, version, url, outputSirectory, null );
+    }
+
+    /**
+     * @param depth the <code>--depth</code> of the export, <code>null</code> to export the whole tree
+     * @since 1.9.3
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                 ScmVersion version, String url, String outputSirectory,
+                                                 String depth )
     {
         if ( version != null && StringUtils.isEmpty( version.getName() ) )
         {
@@ -140,6 +165,13 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
             }
         }
         
+        if ( depth != null )
+        {
+            cl.createArg().setValue( "--depth" );
+
+            cl.createArg().setValue( depth );
+        }
+
         //support exporting to an existing directory
         cl.createArg().setValue( "--force" );
 
@@ -0,0 +1,394 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.export;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.command.export.ExportScmResultWithRevision;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
+import org.apache.maven.scm.provider.svn.svnexe.command.info.SvnXmlInfoConsumer;
+import org.apache.maven.scm.provider.svn.svnexe.command.list.SvnXmlListConsumer;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exports a remote tree with several concurrent <code>svn export</code> processes, one per top level directory.
+ * <p/>
+ * The tree is listed once with <code>svn list --recursive --xml</code> at a fixed revision, so all the partitions
+ * are exported at the same revision. The files at the root are exported first with <code>--depth files</code>, which
+ * creates the output directory, then the top level directories are exported concurrently into it. The exported files
+ * are taken from the listing and logged as their partition completes.
+ * <p/>
+ * The externals of the top level directories come with their recursive exports, but the <code>--depth files</code>
+ * export of the root would drop the <code>svn:externals</code> of the root itself, so a tree having some is left to a
+ * single export.
+ *
+ * @since 1.9.3
+ */
+class SvnParallelExport
+{
+    private final SvnScmProviderRepository repository;
+
+    private final File workingDirectory;
+
+    private final ScmLogger logger;
+
+    SvnParallelExport( SvnScmProviderRepository repository, File workingDirectory, ScmLogger logger )
+    {
+        this.repository = repository;
+        this.workingDirectory = workingDirectory;
+        this.logger = logger;
+    }
+
+    /**
+     * @param url the URL to export
+     * @param revision the revision to export, <code>null</code> for <code>HEAD</code>
+     * @param outputDirectory the directory to export to
+     * @param threads the maximum number of concurrent exports
+     * @return the result of the export, or <code>null</code> if the tree has less than two top level directories or
+     *         <code>svn:externals</code> on its root, and is better exported with a single <code>svn export</code>
+     */
+    ExportScmResult export( String url, String revision, String outputDirectory, int threads )
+        throws ScmException
+    {
+        if ( StringUtils.isEmpty( revision ) )
+        {
+            revision = getHeadRevision( url );
+        }
+
+        if ( hasExternals( url, revision ) )
+        {
+            if ( logger.isInfoEnabled() )
+            {
+                logger.info( url + " has svn:externals, it is exported with a single svn export" );
+            }
+            return null;
+        }
+
+        Map<String, List<ScmFile>> partitions = partition( list( url, revision ) );
+        if ( partitions.size() < 3 )
+        {
+            return null;
+        }
+
+        // the root files first, they create the output directory
+        Partition root = new Partition( "", url, revision, outputDirectory, partitions.remove( "" ) );
+        PartitionResult rootResult = root.call();
+        if ( rootResult.error != null )
+        {
+            return new ExportScmResult( rootResult.commandLine, "The svn command failed.", rootResult.error, false );
+        }
+
+        List<ScmFile> files = new ArrayList<ScmFile>( rootResult.files );
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, partitions.size() ) );
+        try
+        {
+            CompletionService<PartitionResult> completionService =
+                new ExecutorCompletionService<PartitionResult>( executor );
+
+            for ( Map.Entry<String, List<ScmFile>> partition : partitions.entrySet() )
+            {
+                String directory = partition.getKey();
+                completionService.submit( new Partition( directory, url + "/" + directory, revision,
+                                                         new File( outputDirectory, directory ).getPath(),
+                                                         partition.getValue() ) );
+            }
+
+            for ( int i = 0; i < partitions.size(); i++ )
+            {
+                PartitionResult result = completionService.take().get();
+                if ( result.error != null )
+                {
+                    return new ExportScmResult( result.commandLine, "The svn command failed.", result.error, false );
+                }
+                files.addAll( result.files );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ScmException( "Interrupted while exporting " + url, e );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new ScmException( "Error while exporting " + url, e.getCause() );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return new ExportScmResultWithRevision( rootResult.commandLine, files, revision );
+    }
+
+    /**
+     * Groups the files of a recursive listing by top level directory; the files at the root are keyed by an empty
+     * string, and come first.
+     *
+     * @param entries the listed paths, directories ending with a slash
+     */
+    static Map<String, List<ScmFile>> partition( List<String> entries )
+    {
+        Map<String, List<ScmFile>> partitions = new LinkedHashMap<String, List<ScmFile>>();
+        partitions.put( "", new ArrayList<ScmFile>() );
+
+        for ( String entry : entries )
+        {
+            int slash = entry.indexOf( '/' );
+            String directory = slash < 0 ? "" : entry.substring( 0, slash );
+
+            List<ScmFile> files = partitions.get( directory );
+            if ( files == null )
+            {
+                files = new ArrayList<ScmFile>();
+                partitions.put( directory, files );
+            }
+            if ( !entry.endsWith( "/" ) )
+            {
+                files.add( new ScmFile( entry, ScmFileStatus.ADDED ) );
+            }
+        }
+        return partitions;
+    }
+
+    private String getHeadRevision( String url )
+        throws ScmException
+    {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory, repository );
+        cl.createArg().setValue( "info" );
+        cl.createArg().setValue( "--xml" );
+        cl.createArg().setValue( url );
+
+        SvnXmlInfoConsumer consumer = new SvnXmlInfoConsumer( logger );
+        String error = execute( cl, consumer );
+        if ( error != null || consumer.getInfoItems().isEmpty() )
+        {
+            throw new ScmException( "Unable to get the revision of " + url + ": " + error );
+        }
+        return consumer.getInfoItems().get( 0 ).getRevision();
+    }
+
+    private boolean hasExternals( String url, String revision )
+        throws ScmException
+    {
+        String key = SvnRemoteCache.key( "propget svn:externals", url, revision );
+        Boolean externals = SvnRemoteCache.get( key );
+        if ( externals != null )
+        {
+            return externals.booleanValue();
+        }
+
+        Commandline cl = createExternalsCommandLine( repository, workingDirectory, url, revision );
+
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        String error = execute( cl, stdout );
+        if ( error == null )
+        {
+            externals = Boolean.valueOf( stdout.getOutput().trim().length() > 0 );
+        }
+        else if ( error.indexOf( "W200017" ) >= 0 )
+        {
+            // svn 1.9 and later fail on a property that is not set
+            externals = Boolean.FALSE;
+        }
+        else
+        {
+            throw new ScmException( "Unable to read the svn:externals of " + url + ": " + error );
+        }
+        SvnRemoteCache.put( key, externals );
+        return externals.booleanValue();
+    }
+
+    private List<String> list( String url, String revision )
+        throws ScmException
+    {
+        String key = getCacheKey( url, revision );
+        List<String> entries = SvnRemoteCache.get( key );
+        if ( entries != null )
+        {
+            return entries;
+        }
+
+        Commandline cl = createListCommandLine( repository, workingDirectory, url, revision );
+
+        SvnXmlListConsumer consumer = new SvnXmlListConsumer( logger );
+        String error = execute( cl, consumer );
+        if ( error != null )
+        {
+            throw new ScmException( "Unable to list " + url + ": " + error );
+        }
+
+        entries = new ArrayList<String>();
+        for ( List<String> listed : consumer.getEntries().values() )
+        {
+            entries.addAll( listed );
+        }
+        SvnRemoteCache.put( key, entries );
+        return entries;
+    }
+
+    /**
+     * The listing is cached as the paths of the entries, not as the {@link ScmFile}s cached by the list command for
+     * the same URL, so it has a key of its own.
+     */
+    static String getCacheKey( String url, String revision )
+    {
+        return SvnRemoteCache.key( "export list --recursive", url, revision );
+    }
+
+    static Commandline createListCommandLine( SvnScmProviderRepository repository, File workingDirectory, String url,
+                                              String revision )
+    {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory, repository );
+        cl.createArg().setValue( "list" );
+        cl.createArg().setValue( "--recursive" );
+        cl.createArg().setValue( "--xml" );
+        cl.createArg().setValue( "-r" );
+        cl.createArg().setValue( revision );
+        cl.createArg().setValue( url );
+        return cl;
+    }
+
+    static Commandline createExternalsCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                   String url, String revision )
+    {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory, repository );
+        cl.createArg().setValue( "propget" );
+        cl.createArg().setValue( "svn:externals" );
+        cl.createArg().setValue( "-r" );
+        cl.createArg().setValue( revision );
+        cl.createArg().setValue( url );
+        return cl;
+    }
+
+    /**
+     * @param directory the top level directory to export, an empty string for the files at the root
+     */
+    static Commandline createPartitionCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                   String directory, String url, String revision,
+                                                   String outputDirectory )
+    {
+        return SvnExeExportCommand.createCommandLine( repository, workingDirectory, new ScmRevision( revision ), url,
+                                                      outputDirectory, directory.length() == 0 ? "files" : null );
+    }
+
+    /**
+     * @return the error output if svn failed, <code>null</code> otherwise
+     */
+    private String execute( Commandline cl, StreamConsumer consumer )
+        throws ScmException
+    {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if ( logger.isInfoEnabled() )
+        {
+            logger.info( "Executing: " + SvnCommandLineUtils.cryptPassword( cl ) );
+        }
+
+        try
+        {
+            return SvnCommandLineUtils.execute( cl, consumer, stderr, logger ) == 0 ? null : stderr.getOutput();
+        }
+        catch ( CommandLineException e )
+        {
+            throw new ScmException( "Error while executing command.", e );
+        }
+    }
+
+    /**
+     * The export of the files at the root, or of a top level directory.
+     */
+    private class Partition
+        implements Callable<PartitionResult>
+    {
+        private final String directory;
+
+        private final Commandline cl;
+
+        private final List<ScmFile> files;
+
+        Partition( String directory, String url, String revision, String outputDirectory, List<ScmFile> files )
+        {
+            this.directory = directory;
+            this.files = files;
+
+            cl = createPartitionCommandLine( repository, workingDirectory, directory, url, revision, outputDirectory );
+        }
+
+        public PartitionResult call()
+            throws ScmException
+        {
+            PartitionResult result = new PartitionResult();
+            result.commandLine = cl.toString();
+            result.files = files;
+            result.error = execute( cl, new StreamConsumer()
+            {
+                public void consumeLine( String line )
+                {
+                    if ( logger.isDebugEnabled() )
+                    {
+                        logger.debug( line );
+                    }
+                }
+            } );
+
+            if ( result.error == null && logger.isInfoEnabled() )
+            {
+                logger.info( "Exported " + ( directory.length() == 0 ? "the root files" : directory ) + ": "
+                                 + files.size() + " files" );
+            }
+            return result;
+        }
+    }
+
+    private static class PartitionResult
+    {
+        private String commandLine;
+
+        /**
+         * the error output of svn, <code>null</code> if the export succeeded
+         */
+        private String error;
+
+        private List<ScmFile> files;
+    }
+}
@@ -20,18 +20,26 @@
  */
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.command.info.InfoItem;
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
+import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -58,9 +66,55 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
                                                 CommandParameters parameters, boolean recursive, String revision )
         throws ScmException
     {
+        // the info of remote URLs is cached, only the URLs not in the cache are asked for
+        boolean cacheable = repository != null && !recursive && !fileSet.getFileList().isEmpty();
+        Map<String, InfoItem> cachedItems = new HashMap<String, InfoItem>();
+        List<File> missingFiles = new ArrayList<File>();
+        if ( cacheable )
+        {
+            for ( File file : fileSet.getFileList() )
+            {
+                String url = getUrl( repository, file );
+                InfoItem item = SvnRemoteCache.get( SvnRemoteCache.key( "info", url, revision ) );
+                if ( item != null )
+                {
+                    cachedItems.put( url, item );
+                }
+                else
+                {
+                    missingFiles.add( file );
+                }
+            }
+        }
+
         Commandline cl = createCommandLine( repository, fileSet, recursive, revision );
 
-        SvnInfoConsumer consumer = new SvnInfoConsumer();
+        if ( cacheable && missingFiles.isEmpty() )
+        {
+            if ( getLogger().isDebugEnabled() )
+            {
+                getLogger().debug( "Using the cached result of: " + SvnCommandLineUtils.cryptPassword( cl ) );
+            }
+            return new InfoScmResult( cl.toString(), orderItems( repository, fileSet, cachedItems,
+                                                                 new ArrayList<InfoItem>() ) );
+        }
+
+        if ( !cachedItems.isEmpty() )
+        {
+            cl = createCommandLine( repository, new ScmFileSet( fileSet.getBasedir(), missingFiles ), recursive,
+                                    revision );
+        }
+
+        SvnInfoConsumer consumer = null;
+        SvnXmlInfoConsumer xmlConsumer = null;
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            xmlConsumer = new SvnXmlInfoConsumer( getLogger() );
+        }
+        else
+        {
+            consumer = new SvnInfoConsumer();
+        }
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -74,7 +128,8 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
 
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            exitCode = SvnCommandLineUtils.execute( cl, xmlConsumer != null ? xmlConsumer : consumer, stderr,
+                                                    getLogger() );
         }
         catch ( CommandLineException ex )
         {
@@ -86,7 +141,58 @@ public InfoScmResult executeInfoCommand( SvnScmProviderRepository repository, Sc
             return new InfoScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new InfoScmResult( cl.toString(), consumer.getInfoItems() );
+        List<InfoItem> infoItems = xmlConsumer != null ? xmlConsumer.getInfoItems() : consumer.getInfoItems();
+
+        if ( !cacheable )
+        {
+            return new InfoScmResult( cl.toString(), infoItems );
+        }
+
+        for ( InfoItem item : infoItems )
+        {
+            if ( item.getURL() != null )
+            {
+                SvnRemoteCache.put( SvnRemoteCache.key( "info", item.getURL(), revision ), item );
+            }
+        }
+        return new InfoScmResult( cl.toString(), orderItems( repository, fileSet, cachedItems, infoItems ) );
+    }
+
+    /**
+     * @return the cached and the fetched items in the order of the files; fetched items not matching the URL of a
+     *         file, e.g. because svn encoded it differently, are added at the end
+     */
+    private static List<InfoItem> orderItems( SvnScmProviderRepository repository, ScmFileSet fileSet,
+                                              Map<String, InfoItem> cachedItems, List<InfoItem> fetchedItems )
+    {
+        Map<String, InfoItem> fetchedByUrl = new LinkedHashMap<String, InfoItem>();
+        List<InfoItem> unmatchedItems = new ArrayList<InfoItem>();
+        for ( InfoItem item : fetchedItems )
+        {
+            if ( item.getURL() == null || fetchedByUrl.put( item.getURL(), item ) != null )
+            {
+                unmatchedItems.add( item );
+            }
+        }
+
+        List<InfoItem> items = new ArrayList<InfoItem>();
+        for ( File file : fileSet.getFileList() )
+        {
+            String url = getUrl( repository, file );
+            InfoItem item = cachedItems.containsKey( url ) ? cachedItems.get( url ) : fetchedByUrl.remove( url );
+            if ( item != null )
+            {
+                items.add( item );
+            }
+        }
+        items.addAll( fetchedByUrl.values() );
+        items.addAll( unmatchedItems );
+        return items;
+    }
+
+    private static String getUrl( SvnScmProviderRepository repository, File file )
+    {
+        return repository.getUrl() + "/" + file.getPath().replace( '\\', '/' );
     }
 
     //set scope to protected to allow test to call it directly
@@ -97,6 +203,11 @@ protected static Commandline createCommandLine( SvnScmProviderRepository reposit
 
         cl.createArg().setValue( "info" );
 
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
         if ( recursive )
         {
             cl.createArg().setValue( "--recursive" );
@@ -121,7 +232,7 @@ protected static Commandline createCommandLine( SvnScmProviderRepository reposit
             }
             else
             {
-                cl.createArg().setValue( repository.getUrl() + "/" + file.getPath().replace( '\\', '/' ) );
+                cl.createArg().setValue( getUrl( repository, file ) );
             }
         }
 
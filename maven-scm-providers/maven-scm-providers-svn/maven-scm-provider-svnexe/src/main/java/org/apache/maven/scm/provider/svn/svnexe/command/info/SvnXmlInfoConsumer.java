@@ -0,0 +1,69 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.svnexe.command.AbstractSvnXmlConsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the output of <code>svn info --xml</code>.
+ * <p/>
+ * Unlike with the text output, the last changed date is the ISO 8601 timestamp of svn, e.g.
+ * <code>2011-05-15T10:12:34.123456Z</code>.
+ *
+ * @since 1.9.3
+ */
+public class SvnXmlInfoConsumer
+    extends AbstractSvnXmlConsumer
+{
+    private List<InfoItem> infoItems = new ArrayList<InfoItem>();
+
+    public SvnXmlInfoConsumer( ScmLogger logger )
+    {
+        super( logger, null );
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeEntry( Map<String, String> entry )
+    {
+        InfoItem item = new InfoItem();
+        item.setPath( entry.get( "@path" ) );
+        item.setURL( entry.get( "url" ) );
+        item.setRepositoryRoot( entry.get( "repository/root" ) );
+        item.setRepositoryUUID( entry.get( "repository/uuid" ) );
+        item.setRevision( entry.get( "@revision" ) );
+        item.setNodeKind( entry.get( "@kind" ) );
+        item.setSchedule( entry.get( "wc-info/schedule" ) );
+        item.setLastChangedAuthor( entry.get( "commit/author" ) );
+        item.setLastChangedRevision( entry.get( "commit@revision" ) );
+        item.setLastChangedDate( entry.get( "commit/date" ) );
+        infoItems.add( item );
+    }
+
+    public List<InfoItem> getInfoItems()
+    {
+        return infoItems;
+    }
+}
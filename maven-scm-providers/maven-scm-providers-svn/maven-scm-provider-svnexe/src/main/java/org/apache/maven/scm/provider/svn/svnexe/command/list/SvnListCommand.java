@@ -20,6 +20,7 @@
  */
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmVersion;
@@ -29,6 +30,8 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
+import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -36,6 +39,7 @@
 
 import java.io.File;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Command to list files in SVN ( <code>svn list</code> command )
@@ -56,7 +60,27 @@ protected ListScmResult executeListCommand( ScmProviderRepository repository, Sc
     {
         Commandline cl = createCommandLine( (SvnScmProviderRepository) repository, fileSet, recursive, version );
 
-        SvnListConsumer consumer = new SvnListConsumer();
+        String cacheKey = getCacheKey( (SvnScmProviderRepository) repository, fileSet, recursive, version );
+        List<ScmFile> cachedFiles = SvnRemoteCache.get( cacheKey );
+        if ( cachedFiles != null )
+        {
+            if ( getLogger().isDebugEnabled() )
+            {
+                getLogger().debug( "Using the cached result of: " + SvnCommandLineUtils.cryptPassword( cl ) );
+            }
+            return new ListScmResult( cl.toString(), cachedFiles );
+        }
+
+        SvnListConsumer consumer = null;
+        SvnXmlListConsumer xmlConsumer = null;
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            xmlConsumer = new SvnXmlListConsumer( getLogger() );
+        }
+        else
+        {
+            consumer = new SvnListConsumer();
+        }
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -70,7 +94,8 @@ protected ListScmResult executeListCommand( ScmProviderRepository repository, Sc
 
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            exitCode = SvnCommandLineUtils.execute( cl, xmlConsumer != null ? xmlConsumer : consumer, stderr,
+                                                    getLogger() );
         }
         catch ( CommandLineException ex )
         {
@@ -82,7 +107,36 @@ protected ListScmResult executeListCommand( ScmProviderRepository repository, Sc
             return new ListScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new ListScmResult( cl.toString(), consumer.getFiles() );
+        List<ScmFile> files = xmlConsumer != null ? xmlConsumer.getFiles() : consumer.getFiles();
+        SvnRemoteCache.put( cacheKey, files );
+
+        return new ListScmResult( cl.toString(), files );
+    }
+
+    /**
+     * @return the key of the listing in the {@link SvnRemoteCache}, made of the <code>URL@revision</code> of all
+     *         targets
+     */
+    private static String getCacheKey( SvnScmProviderRepository repository, ScmFileSet fileSet, boolean recursive,
+                                       ScmVersion version )
+    {
+        String revision = null;
+        if ( version instanceof ScmRevision && StringUtils.isNotEmpty( version.getName() ) )
+        {
+            revision = version.getName();
+        }
+
+        StringBuilder urls = new StringBuilder();
+        for ( File file : fileSet.getFileList() )
+        {
+            if ( urls.length() > 0 )
+            {
+                urls.append( ' ' );
+            }
+            urls.append( repository.getUrl() ).append( '/' ).append( file.getPath().replace( '\\', '/' ) );
+        }
+
+        return SvnRemoteCache.key( recursive ? "list --recursive" : "list", urls.toString(), revision );
     }
 
     static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet, boolean recursive,
@@ -92,6 +146,11 @@ static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFi
 
         cl.createArg().setValue( "list" );
 
+        if ( SvnUtil.getSettings().isUseXmlOutput() )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
         if ( recursive )
         {
             cl.createArg().setValue( "--recursive" );
@@ -0,0 +1,91 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.list;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.svnexe.command.AbstractSvnXmlConsumer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the output of <code>svn list --xml</code>, for one or more targets.
+ * <p/>
+ * Like with the text output, the directories get a trailing <code>/</code>.
+ *
+ * @since 1.9.3
+ */
+public class SvnXmlListConsumer
+    extends AbstractSvnXmlConsumer
+{
+    private List<ScmFile> files = new ArrayList<ScmFile>();
+
+    private Map<String, List<String>> entries = new LinkedHashMap<String, List<String>>();
+
+    private List<String> currentList;
+
+    public SvnXmlListConsumer( ScmLogger logger )
+    {
+        super( logger, "list" );
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeTarget( Map<String, String> target )
+    {
+        currentList = new ArrayList<String>();
+        entries.put( target.get( "@path" ), currentList );
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeEntry( Map<String, String> entry )
+    {
+        String name = entry.get( "name" );
+        if ( "dir".equals( entry.get( "@kind" ) ) )
+        {
+            name += "/";
+        }
+
+        files.add( new ScmFile( name, ScmFileStatus.CHECKED_IN ) );
+        if ( currentList != null )
+        {
+            currentList.add( name );
+        }
+    }
+
+    /**
+     * @return the files of all the targets
+     */
+    public List<ScmFile> getFiles()
+    {
+        return files;
+    }
+
+    /**
+     * @return the names of the entries per listed path, in the order of the svn output
+     */
+    public Map<String, List<String>> getEntries()
+    {
+        return entries;
+    }
+}
@@ -27,6 +27,7 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.StringUtils;
@@ -91,6 +92,9 @@ protected MkdirScmResult executeMkdirCommand( ScmProviderRepository repository,
         }
         finally
         {
+            // the remote repository has changed
+            SvnRemoteCache.invalidate();
+
             try
             {
                 FileUtils.forceDelete( messageFile );
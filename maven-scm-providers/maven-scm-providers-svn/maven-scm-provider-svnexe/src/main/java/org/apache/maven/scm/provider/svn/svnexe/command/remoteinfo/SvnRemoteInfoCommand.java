@@ -29,12 +29,14 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.list.SvnXmlListConsumer;
 import org.apache.maven.scm.util.AbstractConsumer;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -54,71 +56,71 @@ public RemoteInfoScmResult executeRemoteInfoCommand( ScmProviderRepository repos
         String url = ( (SvnScmProviderRepository) repository ).getUrl();
         // use a default svn layout, url is here http://svn.apache.org/repos/asf/maven/maven-3/trunk
         // so as we presume we have good users using standard svn layout, we calculate tags and branches url
-        String baseUrl = StringUtils.endsWith( url, "/" )
-            ? StringUtils.substringAfter( StringUtils.removeEnd( url, "/" ), "/" )
-            : StringUtils.substringBeforeLast( url, "/" );
+        String baseUrl = StringUtils.substringBeforeLast( StringUtils.removeEnd( url, "/" ), "/" );
+        String tagsUrl = baseUrl + "/tags";
+        String branchesUrl = baseUrl + "/branches";
 
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( fileSet == null ? null : fileSet.getBasedir(),
                                                                     (SvnScmProviderRepository) repository );
 
+        // both directories are listed with a single svn call, the xml output tells the entries of each apart
         cl.createArg().setValue( "ls" );
 
-        cl.createArg().setValue( baseUrl + "/tags" );
+        cl.createArg().setValue( "--xml" );
 
-        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        cl.createArg().setValue( tagsUrl );
 
-        LsConsumer consumer = new LsConsumer( getLogger(), baseUrl );
+        cl.createArg().setValue( branchesUrl );
 
-        int exitCode = 0;
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        SvnXmlListConsumer consumer = new SvnXmlListConsumer( getLogger() );
 
-        Map<String, String> tagsInfos = null;
+        int exitCode;
 
         try
         {
             exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
-            tagsInfos = consumer.infos;
-
         }
         catch ( CommandLineException ex )
         {
             throw new ScmException( "Error while executing svn command.", ex );
         }
 
-        if ( exitCode != 0 )
+        // a missing tags or branches directory only means there are no tags or branches yet
+        if ( exitCode != 0 && !isNonExistentPathError( stderr.getOutput() ) )
         {
             return new RemoteInfoScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        cl = SvnCommandLineUtils.getBaseSvnCommandLine( fileSet == null ? null : fileSet.getBasedir(),
-                                                        (SvnScmProviderRepository) repository );
-
-        cl.createArg().setValue( "ls" );
-
-        cl.createArg().setValue( baseUrl + "/tags" );
-
-        stderr = new CommandLineUtils.StringStreamConsumer();
-
-        consumer = new LsConsumer( getLogger(), baseUrl );
-
-        Map<String, String> branchesInfos = null;
-
-        try
-        {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
-            branchesInfos = consumer.infos;
-
-        }
-        catch ( CommandLineException ex )
-        {
-            throw new ScmException( "Error while executing svn command.", ex );
-        }
+        return new RemoteInfoScmResult( cl.toString(), toInfos( branchesUrl, consumer.getEntries(), "/branches" ),
+                                        toInfos( tagsUrl, consumer.getEntries(), "/tags" ) );
+    }
 
-        if ( exitCode != 0 )
+    /**
+     * @param entries the entries per listed path, as printed by svn which may have canonicalized the URL
+     * @param suffix the end of the listed path
+     */
+    private static Map<String, String> toInfos( String url, Map<String, List<String>> entries, String suffix )
+    {
+        Map<String, String> infos = new HashMap<String, String>();
+        for ( Map.Entry<String, List<String>> entry : entries.entrySet() )
         {
-            return new RemoteInfoScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
+            if ( StringUtils.removeEnd( entry.getKey(), "/" ).endsWith( suffix ) )
+            {
+                for ( String name : entry.getValue() )
+                {
+                    infos.put( StringUtils.removeEnd( name, "/" ), url + "/" + name );
+                }
+            }
         }
+        return infos;
+    }
 
-        return new RemoteInfoScmResult( cl.toString(), branchesInfos, tagsInfos );
+    private static boolean isNonExistentPathError( String output )
+    {
+        return output.indexOf( "W160013" ) >= 0 || output.indexOf( "E200009" ) >= 0
+            || output.indexOf( "non-existent" ) >= 0;
     }
 
     public boolean remoteUrlExist( ScmProviderRepository repository, CommandParameters parameters )
@@ -19,17 +19,28 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnDepthUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnStoppableConsumer;
+import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
@@ -39,13 +50,63 @@
     extends AbstractStatusCommand
     implements SvnCommand
 {
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#SVN_DEPTH}, {@link CommandParameter#SVN_IGNORE_EXTERNALS},
+     * {@link CommandParameter#SVN_QUIET} and {@link CommandParameter#STATUS_FIRST_CHANGE_ONLY} parameters.
+     */
+    public ScmResult executeCommand( ScmProviderRepository repository, ScmFileSet fileSet,
+                                     CommandParameters parameters )
+        throws ScmException
+    {
+        String depth = SvnDepthUtils.checkDepth( parameters.getString( CommandParameter.SVN_DEPTH, null ) );
+        boolean ignoreExternals = parameters.getBoolean( CommandParameter.SVN_IGNORE_EXTERNALS, false );
+        boolean quiet = parameters.getBoolean( CommandParameter.SVN_QUIET, false );
+        boolean firstChangeOnly = parameters.getBoolean( CommandParameter.STATUS_FIRST_CHANGE_ONLY, false );
+
+        return executeStatusCommand( (SvnScmProviderRepository) repository, fileSet, depth, ignoreExternals, quiet,
+                                     firstChangeOnly );
+    }
+
     /** {@inheritDoc} */
     protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmFileSet fileSet )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet );
+        return executeStatusCommand( (SvnScmProviderRepository) repo, fileSet, null, false, false, false );
+    }
+
+    private StatusScmResult executeStatusCommand( SvnScmProviderRepository repository, ScmFileSet fileSet,
+                                                  String depth, boolean ignoreExternals, boolean quiet,
+                                                  boolean firstChangeOnly )
+        throws ScmException
+    {
+        boolean xml = SvnUtil.getSettings().isUseXmlOutput();
+
+        Commandline cl;
+        try
+        {
+            cl = createCommandLine( repository, fileSet, xml, depth, ignoreExternals, quiet );
+        }
+        catch ( IOException e )
+        {
+            throw new ScmException( "Error while creating the targets file.", e );
+        }
 
-        SvnStatusConsumer consumer = new SvnStatusConsumer( getLogger(), fileSet.getBasedir() );
+        StreamConsumer consumer;
+        List<ScmFile> changedFiles;
+        if ( xml )
+        {
+            SvnXmlStatusConsumer xmlConsumer = new SvnXmlStatusConsumer( getLogger(), fileSet.getBasedir() );
+            consumer = xmlConsumer;
+            changedFiles = xmlConsumer.getChangedFiles();
+        }
+        else
+        {
+            SvnStatusConsumer textConsumer = new SvnStatusConsumer( getLogger(), fileSet.getBasedir() );
+            consumer = textConsumer;
+            changedFiles = textConsumer.getChangedFiles();
+        }
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -59,7 +120,14 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
 
         try
         {
-            exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            if ( firstChangeOnly )
+            {
+                exitCode = executeUntilFirstChange( cl, consumer, changedFiles, stderr );
+            }
+            else
+            {
+                exitCode = SvnCommandLineUtils.execute( cl, consumer, stderr, getLogger() );
+            }
         }
         catch ( CommandLineException ex )
         {
@@ -71,7 +139,32 @@ protected StatusScmResult executeStatusCommand( ScmProviderRepository repo, ScmF
             return new StatusScmResult( cl.toString(), "The svn command failed.", stderr.getOutput(), false );
         }
 
-        return new StatusScmResult( cl.toString(), consumer.getChangedFiles() );
+        return new StatusScmResult( cl.toString(), changedFiles );
+    }
+
+    /**
+     * Runs the status until the consumer finds a changed file, then stops svn.
+     *
+     * @return the exit code of svn, or 0 if it was stopped
+     */
+    private int executeUntilFirstChange( Commandline cl, final StreamConsumer consumer,
+                                         final List<ScmFile> changedFiles,
+                                         CommandLineUtils.StringStreamConsumer stderr )
+        throws CommandLineException
+    {
+        SvnStoppableConsumer stoppable = new SvnStoppableConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                consumer.consumeLine( line );
+            }
+
+            public boolean isDone()
+            {
+                return !changedFiles.isEmpty();
+            }
+        };
+        return SvnCommandLineUtils.executeUntilDone( cl, stoppable, stderr, getLogger() );
     }
 
     // ----------------------------------------------------------------------
@@ -86,4 +179,44 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
 
         return cl;
     }
+
+    /**
+     * @param xml <code>true</code> for the <code>--xml</code> output
+     * @param depth the <code>--depth</code> of the status, may be <code>null</code>
+     * @param ignoreExternals <code>true</code> to leave out the externals
+     * @param quiet <code>true</code> to leave out the items not under version control
+     * @return the status of the files of the file set, or of the whole working copy if it has no files
+     * @since 1.9.3
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, ScmFileSet fileSet, boolean xml,
+                                                 String depth, boolean ignoreExternals, boolean quiet )
+        throws IOException
+    {
+        Commandline cl = createCommandLine( repository, fileSet );
+
+        if ( xml )
+        {
+            cl.createArg().setValue( "--xml" );
+        }
+
+        if ( depth != null )
+        {
+            cl.createArg().setValue( "--depth" );
+            cl.createArg().setValue( depth );
+        }
+
+        if ( ignoreExternals )
+        {
+            cl.createArg().setValue( "--ignore-externals" );
+        }
+
+        if ( quiet )
+        {
+            cl.createArg().setValue( "-q" );
+        }
+
+        SvnCommandLineUtils.addTarget( cl, fileSet.getFileList() );
+
+        return cl;
+    }
 }
@@ -0,0 +1,120 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.ScmLogger;
+import org.apache.maven.scm.provider.svn.svnexe.command.AbstractSvnXmlConsumer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the output of <code>svn status --xml</code>.
+ * <p/>
+ * Like {@link SvnStatusConsumer}, only the changed files are reported: the externals, the ignored items and the
+ * directories are left out.
+ *
+ * @since 1.9.3
+ */
+public class SvnXmlStatusConsumer
+    extends AbstractSvnXmlConsumer
+{
+    /**
+     * The status of the changed items, by value of the <code>item</code> attribute of <code>wc-status</code>
+     */
+    private static final Map<String, ScmFileStatus> STATUSES = new HashMap<String, ScmFileStatus>();
+
+    static
+    {
+        STATUSES.put( "added", ScmFileStatus.ADDED );
+        STATUSES.put( "conflicted", ScmFileStatus.CONFLICT );
+        STATUSES.put( "deleted", ScmFileStatus.DELETED );
+        STATUSES.put( "incomplete", ScmFileStatus.MISSING );
+        STATUSES.put( "missing", ScmFileStatus.MISSING );
+        STATUSES.put( "modified", ScmFileStatus.MODIFIED );
+        STATUSES.put( "obstructed", ScmFileStatus.MODIFIED );
+        STATUSES.put( "replaced", ScmFileStatus.MODIFIED );
+        STATUSES.put( "unversioned", ScmFileStatus.UNKNOWN );
+    }
+
+    private final File workingDirectory;
+
+    private final List<ScmFile> changedFiles = new ArrayList<ScmFile>();
+
+    public SvnXmlStatusConsumer( ScmLogger logger, File workingDirectory )
+    {
+        super( logger, "target" );
+
+        this.workingDirectory = workingDirectory;
+    }
+
+    /** {@inheritDoc} */
+    protected void consumeEntry( Map<String, String> entry )
+    {
+        String file = entry.get( "@path" );
+
+        ScmFileStatus status;
+        if ( "true".equals( entry.get( "wc-status@tree-conflicted" ) ) )
+        {
+            status = ScmFileStatus.CONFLICT;
+        }
+        else
+        {
+            status = STATUSES.get( entry.get( "wc-status@item" ) );
+        }
+
+        if ( status == null )
+        {
+            // a normal, external or ignored item, but its properties may be changed
+            String props = entry.get( "wc-status@props" );
+            if ( "modified".equals( props ) )
+            {
+                status = ScmFileStatus.MODIFIED;
+            }
+            else if ( "conflicted".equals( props ) )
+            {
+                status = ScmFileStatus.CONFLICT;
+            }
+            else
+            {
+                return;
+            }
+        }
+
+        // If the file isn't a file; don't add it. A missing file can't be checked.
+        if ( !status.equals( ScmFileStatus.DELETED ) && !status.equals( ScmFileStatus.MISSING )
+            && !new File( workingDirectory, file ).isFile() )
+        {
+            return;
+        }
+
+        changedFiles.add( new ScmFile( file, status ) );
+    }
+
+    public List<ScmFile> getChangedFiles()
+    {
+        return changedFiles;
+    }
+}
@@ -40,6 +40,8 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteFileList;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -133,6 +135,9 @@ public ScmResult executeTagCommand( ScmProviderRepository repo, ScmFileSet fileS
         }
         finally
         {
+            // the remote repository has changed
+            SvnRemoteCache.invalidate();
+
             try
             {
                 FileUtils.forceDelete( messageFile );
@@ -149,6 +154,15 @@ public ScmResult executeTagCommand( ScmProviderRepository repo, ScmFileSet fileS
             return new TagScmResult( cl.toString(), "The svn tag command failed.", stderr.getOutput(), false );
         }
 
+        if ( scmTagParameters.isRemoteTagging() )
+        {
+            // the tag was copied on the server, it is only listed there if the caller reads its files
+            String tagUrl = SvnTagBranchUtils.resolveTagUrl( repository, new ScmTag( tag ) );
+            List<ScmFile> remoteFiles = SvnRemoteFileList.lazyListFiles( repository, SvnCommandUtils.fixUrl(
+                tagUrl, repository.getUser() ), fileSet, ScmFileStatus.TAGGED, getLogger() );
+            return new TagScmResult( cl.toString(), remoteFiles );
+        }
+
         List<ScmFile> fileList = new ArrayList<ScmFile>();
 
         List<File> files = null;
@@ -20,7 +20,10 @@
  */
 
 import java.io.File;
+import java.util.List;
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -35,6 +38,7 @@
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnDepthUtils;
 import org.apache.maven.scm.provider.svn.svnexe.command.changelog.SvnChangeLogCommand;
 import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.apache.maven.scm.providers.svn.settings.Settings;
@@ -55,7 +59,39 @@
     protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version )
         throws ScmException
     {
-        Commandline cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), version );
+        return executeUpdateCommand( repo, fileSet, version, null, null );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Supports the {@link CommandParameter#SVN_DEPTH} parameter. With a depth, the include patterns of the file set
+     * select the paths of a sparse update, see {@link SvnDepthUtils}.
+     */
+    protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version,
+                                                    CommandParameters parameters )
+        throws ScmException
+    {
+        String depth = SvnDepthUtils.checkDepth( parameters.getString( CommandParameter.SVN_DEPTH, null ) );
+        List<String> sparsePaths = depth != null ? SvnDepthUtils.getSparsePaths( fileSet.getIncludes() ) : null;
+
+        return executeUpdateCommand( repo, fileSet, version, depth, sparsePaths );
+    }
+
+    private UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version,
+                                                  String depth, List<String> sparsePaths )
+        throws ScmException
+    {
+        Commandline cl;
+        if ( sparsePaths != null && ( version == null || SvnTagBranchUtils.isRevisionSpecifier( version ) ) )
+        {
+            cl = createSparseCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(),
+                                          version != null ? version.getName() : null, sparsePaths );
+        }
+        else
+        {
+            cl = createCommandLine( (SvnScmProviderRepository) repo, fileSet.getBasedir(), version, depth );
+        }
 
         SvnUpdateConsumer consumer = new SvnUpdateConsumer( getLogger(), fileSet.getBasedir() );
 
@@ -102,6 +138,16 @@ protected UpdateScmResult executeUpdateCommand( ScmProviderRepository repo, ScmF
 
     public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
                                                  ScmVersion version )
+    {
+        return createCommandLine( repository, workingDirectory, version, null );
+    }
+
+    /**
+     * @param depth the <code>--set-depth</code> of an update, not used by a switch
+     * @since 1.9.3
+     */
+    public static Commandline createCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                 ScmVersion version, String depth )
     {
         Settings settings = SvnUtil.getSettings();
 
@@ -125,6 +171,12 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
         {
             cl.createArg().setValue( "update" );
 
+            if ( depth != null )
+            {
+                cl.createArg().setValue( "--set-depth" );
+                cl.createArg().setValue( depth );
+            }
+
             if ( version != null && StringUtils.isNotEmpty( version.getName() ) )
             {
                 cl.createArg().setValue( "-r" );
@@ -156,6 +208,37 @@ public static Commandline createCommandLine( SvnScmProviderRepository repository
         return cl;
     }
 
+    /**
+     * Creates the update of the given paths of a sparse working copy: the paths are brought in with their whole
+     * tree, and their missing parent directories with depth <code>empty</code>.
+     *
+     * @param revision the revision to update to, <code>null</code> for <code>HEAD</code>
+     * @param paths the paths relative to the working directory
+     * @since 1.9.3
+     */
+    public static Commandline createSparseCommandLine( SvnScmProviderRepository repository, File workingDirectory,
+                                                       String revision, List<String> paths )
+    {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( workingDirectory, repository );
+
+        cl.createArg().setValue( "update" );
+
+        cl.createArg().setValue( "--parents" );
+
+        if ( StringUtils.isNotEmpty( revision ) )
+        {
+            cl.createArg().setValue( "-r" );
+            cl.createArg().setValue( revision );
+        }
+
+        for ( String path : paths )
+        {
+            cl.createArg().setValue( path );
+        }
+
+        return cl;
+    }
+
     /** {@inheritDoc} */
     protected ChangeLogCommand getChangeLogCommand()
     {
@@ -21,9 +21,14 @@
 
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.Os;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -49,4 +54,144 @@ public void testCryptPassword()
         assertCommandLine( "svn --username username --no-auth-cache --non-interactive", new File( "." ),
                            SvnCommandLineUtils.getBaseSvnCommandLine( new File( "." ), repo ) );
     }
+
+    public void testGetSubcommand()
+        throws Exception
+    {
+        SvnScmProviderRepository repo =
+            new SvnScmProviderRepository( "https://svn.apache.org/repos/asf/maven/scm/trunk", "username", "password" );
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine( new File( "." ), repo );
+        cl.createArg().setValue( "update" );
+        cl.createArg().setValue( "-r" );
+        cl.createArg().setValue( "10" );
+
+        assertEquals( "update", SvnCommandLineUtils.getSubcommand( cl ) );
+        assertNull( SvnCommandLineUtils.getSubcommand( new Commandline() ) );
+    }
+
+    public void testIsWorkingCopyLocked()
+    {
+        assertTrue( SvnCommandLineUtils.isWorkingCopyLocked( "svn: E155004: Working copy '/tmp/wc' locked." ) );
+        assertTrue( SvnCommandLineUtils.isWorkingCopyLocked(
+            "svn: Working copy '.' locked\n"
+                + "svn: run 'svn cleanup' to remove locks (type 'svn help cleanup' for details)" ) );
+        assertFalse( SvnCommandLineUtils.isWorkingCopyLocked( "svn: E170000: URL doesn't exist" ) );
+    }
+
+    public void testIsInterruptedOperation()
+    {
+        assertTrue( SvnCommandLineUtils.isInterruptedOperation(
+            "svn: E155037: Previous operation has not finished; run 'cleanup' if it was interrupted" ) );
+        // another svn process holds the working copy, it must not be cleaned up
+        assertFalse( SvnCommandLineUtils.isInterruptedOperation( "svn: E155004: Working copy '/tmp/wc' locked." ) );
+    }
+
+    public void testHeldLines()
+    {
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        SvnCommandLineUtils.BufferedConsumer output = new SvnCommandLineUtils.BufferedConsumer( stdout, 2 );
+
+        output.consumeLine( "Updating '.':" );
+        output.consumeLine( "U    pom.xml" );
+        assertEquals( 0, output.getStreamed() );
+        assertEquals( "", stdout.getOutput() );
+
+        // the held lines come first, then the lines are streamed
+        output.consumeLine( "A    README" );
+        assertEquals( 3, output.getStreamed() );
+        output.consumeLine( "Updated to revision 12." );
+        assertEquals( 4, output.getStreamed() );
+        assertTrue( stdout.getOutput().startsWith( "Updating '.':" ) );
+    }
+
+    public void testRetryOnLockedWorkingCopy()
+        throws Exception
+    {
+        if ( !Os.isFamily( Os.FAMILY_UNIX ) )
+        {
+            return;
+        }
+
+        File directory = getTestFile( "target/svn-command-line-utils-test" );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        // fails on the lock after some output the first time, like svn update does
+        Commandline cl = new Commandline();
+        cl.setExecutable( "sh" );
+        cl.setWorkingDirectory( directory.getAbsolutePath() );
+        cl.createArg().setValue( "-c" );
+        cl.createArg().setValue( "if [ -f attempted ]; then echo U pom.xml; else touch attempted; echo Updating; "
+                                     + "echo \"svn: E155004: Working copy '.' locked.\" >&2; exit 1; fi" );
+
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        assertEquals( 0, SvnCommandLineUtils.execute( cl, stdout, stderr, null ) );
+        assertEquals( "U pom.xml", stdout.getOutput().trim() );
+        assertEquals( "", stderr.getOutput() );
+    }
+
+    public void testNoRetryOnceTheOutputIsStreamed()
+        throws Exception
+    {
+        if ( !Os.isFamily( Os.FAMILY_UNIX ) )
+        {
+            return;
+        }
+
+        File directory = getTestFile( "target/svn-command-line-utils-test" );
+        FileUtils.deleteDirectory( directory );
+        directory.mkdirs();
+
+        // more output than is held back, the consumer has seen it when svn fails on the lock
+        Commandline cl = new Commandline();
+        cl.setExecutable( "sh" );
+        cl.setWorkingDirectory( directory.getAbsolutePath() );
+        cl.createArg().setValue( "-c" );
+        cl.createArg().setValue( "touch attempted$$; for i in 1 2 3 4 5 6 7 8 9 10 11 12; do echo U file$i; done; "
+                                     + "echo \"svn: E155004: Working copy '.' locked.\" >&2; exit 1" );
+
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        assertEquals( 1, SvnCommandLineUtils.execute( cl, stdout, stderr, null ) );
+        assertEquals( 1, directory.list().length );
+        assertTrue( stdout.getOutput().indexOf( "U file12" ) > 0 );
+        assertTrue( stderr.getOutput().indexOf( "E155004" ) >= 0 );
+    }
+
+    public void testExecuteUntilDone()
+        throws Exception
+    {
+        if ( !Os.isFamily( Os.FAMILY_UNIX ) )
+        {
+            return;
+        }
+
+        // svn would print a long status, the first line is enough
+        Commandline cl = new Commandline();
+        cl.setExecutable( "sh" );
+        cl.createArg().setValue( "-c" );
+        cl.createArg().setValue( "echo 'M       pom.xml'; exec sleep 30" );
+
+        final List<String> lines = new ArrayList<String>();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        int exitCode = SvnCommandLineUtils.executeUntilDone( cl, new SvnStoppableConsumer()
+        {
+            public void consumeLine( String line )
+            {
+                lines.add( line );
+            }
+
+            public boolean isDone()
+            {
+                return !lines.isEmpty();
+            }
+        }, stderr, null );
+
+        assertEquals( 0, exitCode );
+        assertEquals( 1, lines.size() );
+    }
 }
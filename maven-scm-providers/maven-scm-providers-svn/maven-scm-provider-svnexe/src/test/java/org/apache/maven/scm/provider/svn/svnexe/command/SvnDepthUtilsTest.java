@@ -0,0 +1,70 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.scm.ScmException;
+
+import java.util.Arrays;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnDepthUtilsTest
+    extends TestCase
+{
+    public void testCheckDepth()
+        throws Exception
+    {
+        assertNull( SvnDepthUtils.checkDepth( null ) );
+        assertNull( SvnDepthUtils.checkDepth( "" ) );
+        assertEquals( "files", SvnDepthUtils.checkDepth( "files" ) );
+
+        try
+        {
+            SvnDepthUtils.checkDepth( "all" );
+            fail( "an unknown depth must be rejected" );
+        }
+        catch ( ScmException e )
+        {
+            // expected
+        }
+    }
+
+    public void testLimitDepth()
+    {
+        assertEquals( "infinity", SvnDepthUtils.limitDepth( "infinity", true ) );
+        assertEquals( "files", SvnDepthUtils.limitDepth( "infinity", false ) );
+        assertEquals( "files", SvnDepthUtils.limitDepth( "immediates", false ) );
+        assertEquals( "empty", SvnDepthUtils.limitDepth( "empty", false ) );
+    }
+
+    public void testGetSparsePaths()
+    {
+        assertNull( SvnDepthUtils.getSparsePaths( null ) );
+        assertNull( SvnDepthUtils.getSparsePaths( "" ) );
+        assertNull( SvnDepthUtils.getSparsePaths( "pom.xml,**/*.java" ) );
+
+        assertEquals( Arrays.asList( "pom.xml", "modules/core", "site" ),
+                      SvnDepthUtils.getSparsePaths( "pom.xml, modules/core/**, modules/core/src/*.java, site\\**" ) );
+        assertEquals( Arrays.asList( "modules" ),
+                      SvnDepthUtils.getSparsePaths( "modules/core/src/**,modules/**/*.xml" ) );
+    }
+}
@@ -0,0 +1,137 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnRemoteCacheTest
+    extends TestCase
+{
+    protected void tearDown()
+        throws Exception
+    {
+        SvnRemoteCache.invalidate();
+        super.tearDown();
+    }
+
+    public void testKey()
+    {
+        assertEquals( "info http://svn/repo/trunk@HEAD", SvnRemoteCache.key( "info", "http://svn/repo/trunk/", null ) );
+        assertEquals( "info http://svn/repo/trunk@12", SvnRemoteCache.key( "info", "http://svn/repo/trunk", "12" ) );
+    }
+
+    public void testListIsCopied()
+    {
+        List<String> entries = new ArrayList<String>();
+        entries.add( "pom.xml" );
+
+        String key = SvnRemoteCache.key( "list", "http://svn/repo/trunk", "12" );
+        SvnRemoteCache.put( key, entries );
+        entries.add( "README.txt" );
+
+        List<String> cached = SvnRemoteCache.get( key );
+        assertEquals( 1, cached.size() );
+        try
+        {
+            cached.add( "README.txt" );
+            fail( "the cached list must not be modifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            // expected
+        }
+    }
+
+    public void testMapIsCopied()
+    {
+        Map<String, String> tags = new HashMap<String, String>();
+        tags.put( "1.0", "http://svn/repo/tags/1.0" );
+
+        String key = SvnRemoteCache.key( "remoteinfo", "http://svn/repo", "12" );
+        SvnRemoteCache.put( key, tags );
+        tags.clear();
+
+        Map<String, String> cached = SvnRemoteCache.get( key );
+        assertEquals( 1, cached.size() );
+        try
+        {
+            cached.clear();
+            fail( "the cached map must not be modifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            // expected
+        }
+    }
+
+    public void testHeadIsNotCached()
+    {
+        String key = SvnRemoteCache.key( "info", "http://svn/repo/trunk", null );
+        SvnRemoteCache.put( key, "item" );
+        assertNull( SvnRemoteCache.get( key ) );
+    }
+
+    public void testInvalidate()
+    {
+        String key = SvnRemoteCache.key( "info", "http://svn/repo/trunk", "12" );
+        SvnRemoteCache.put( key, "item" );
+        assertEquals( "item", SvnRemoteCache.get( key ) );
+
+        SvnRemoteCache.invalidate();
+        assertNull( SvnRemoteCache.get( key ) );
+    }
+
+    public void testLeastRecentlyUsedResultsAreDropped()
+    {
+        // two results of 60000 elements don't fit in the cache together
+        List<String> entries = new ArrayList<String>();
+        for ( int i = 0; i < 60000; i++ )
+        {
+            entries.add( "file" + i );
+        }
+
+        String first = SvnRemoteCache.key( "list", "http://svn/repo/trunk", "1" );
+        String second = SvnRemoteCache.key( "list", "http://svn/repo/trunk", "2" );
+        SvnRemoteCache.put( first, entries );
+        SvnRemoteCache.put( second, entries );
+
+        assertNull( SvnRemoteCache.get( first ) );
+        assertNotNull( SvnRemoteCache.get( second ) );
+    }
+
+    public void testMaxEntries()
+    {
+        for ( int i = 0; i <= 1000; i++ )
+        {
+            SvnRemoteCache.put( SvnRemoteCache.key( "info", "http://svn/repo/trunk", String.valueOf( i ) ), "item" );
+        }
+
+        assertNull( SvnRemoteCache.get( SvnRemoteCache.key( "info", "http://svn/repo/trunk", "0" ) ) );
+        assertNotNull( SvnRemoteCache.get( SvnRemoteCache.key( "info", "http://svn/repo/trunk", "1000" ) ) );
+    }
+}
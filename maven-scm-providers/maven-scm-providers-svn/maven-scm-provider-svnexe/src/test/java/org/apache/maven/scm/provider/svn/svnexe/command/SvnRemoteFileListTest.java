@@ -0,0 +1,158 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnRemoteFileListTest
+    extends ScmTestCase
+{
+    public void testCommandLine()
+        throws Exception
+    {
+        SvnScmProviderRepository repository =
+            (SvnScmProviderRepository) getScmManager().makeScmRepository(
+                "scm:svn:https://foo.com/svn/trunk" ).getProviderRepository();
+
+        assertCommandLine( "svn --non-interactive list --recursive https://foo.com/svn/tags/1.0", null,
+                           SvnRemoteFileList.createCommandLine( repository, "https://foo.com/svn/tags/1.0" ) );
+    }
+
+    public void testFilesOnly()
+        throws Exception
+    {
+        SvnRemoteFileList.ListConsumer consumer =
+            new SvnRemoteFileList.ListConsumer( new ScmFileSet( new File( getBasedir() ) ), ScmFileStatus.TAGGED );
+        consume( consumer );
+
+        List<ScmFile> files = consumer.getFiles();
+        assertEquals( 3, files.size() );
+
+        // the same paths as the files of the working copy
+        assertEquals( "pom.xml", files.get( 0 ).getPath() );
+        assertEquals( "src" + File.separator + "main" + File.separator + "App.java", files.get( 1 ).getPath() );
+        assertEquals( "src" + File.separator + "site" + File.separator + "index.apt", files.get( 2 ).getPath() );
+        assertEquals( ScmFileStatus.TAGGED, files.get( 0 ).getStatus() );
+    }
+
+    public void testIncludesAndExcludes()
+        throws Exception
+    {
+        SvnRemoteFileList.ListConsumer consumer =
+            new SvnRemoteFileList.ListConsumer( new ScmFileSet( new File( getBasedir() ), "src/**", "**/site/**" ),
+                                                ScmFileStatus.TAGGED );
+        consume( consumer );
+
+        List<ScmFile> files = consumer.getFiles();
+        assertEquals( 1, files.size() );
+        assertEquals( "src" + File.separator + "main" + File.separator + "App.java", files.get( 0 ).getPath() );
+    }
+
+    public void testLazyListIsListedOnFirstAccess()
+        throws Exception
+    {
+        CountingList files = new CountingList();
+        assertEquals( 0, files.loads );
+
+        assertEquals( 1, files.size() );
+        assertEquals( "pom.xml", files.get( 0 ).getPath() );
+        assertEquals( 1, files.loads );
+    }
+
+    public void testLazyListFailure()
+    {
+        SvnRemoteFileList.LazyFileList files = new SvnRemoteFileList.LazyFileList( null, null, null, null, null )
+        {
+            List<ScmFile> load()
+                throws ScmException
+            {
+                throw new ScmException( "The svn list failed" );
+            }
+        };
+
+        try
+        {
+            files.isEmpty();
+            fail( "the failure of the listing must be thrown" );
+        }
+        catch ( IllegalStateException e )
+        {
+            assertEquals( "The svn list failed", e.getMessage() );
+        }
+    }
+
+    public void testLazyListIsSerializedAsItsFiles()
+        throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( bytes );
+        out.writeObject( new CountingList() );
+        out.close();
+
+        Object files = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ).readObject();
+        assertEquals( ArrayList.class, files.getClass() );
+        assertEquals( Collections.singletonList( new ScmFile( "pom.xml", ScmFileStatus.TAGGED ) ), files );
+    }
+
+    private static class CountingList
+        extends SvnRemoteFileList.LazyFileList
+    {
+        private int loads;
+
+        CountingList()
+        {
+            super( null, null, null, null, null );
+        }
+
+        List<ScmFile> load()
+        {
+            loads++;
+            return Collections.singletonList( new ScmFile( "pom.xml", ScmFileStatus.TAGGED ) );
+        }
+    }
+
+    private static void consume( SvnRemoteFileList.ListConsumer consumer )
+    {
+        consumer.consumeLine( "pom.xml" );
+        consumer.consumeLine( "src/" );
+        consumer.consumeLine( "src/main/" );
+        consumer.consumeLine( "src/main/App.java" );
+        consumer.consumeLine( "src/site/" );
+        consumer.consumeLine( "src/site/index.apt" );
+        consumer.consumeLine( "" );
+    }
+}
@@ -0,0 +1,103 @@
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnWorkingCopyLockTest
+    extends ScmTestCase
+{
+    private File root;
+
+    public void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        root = getTestFile( "target/svn-working-copy-lock-test" );
+        FileUtils.deleteDirectory( root );
+        new File( root, ".svn" ).mkdirs();
+        new File( root, "module/src/.svn" ).mkdirs();
+        new File( root, "module/.svn" ).mkdirs();
+    }
+
+    public void testGetWorkingCopyRoot()
+    {
+        assertEquals( root.getAbsoluteFile(),
+                      SvnWorkingCopyLock.getWorkingCopyRoot( new File( root, "module/src" ) ) );
+        assertNull( SvnWorkingCopyLock.getWorkingCopyRoot( root.getParentFile() ) );
+        assertNull( SvnWorkingCopyLock.getWorkingCopyRoot( null ) );
+    }
+
+    public void testReentrantLock()
+        throws Exception
+    {
+        SvnWorkingCopyLock lock = SvnWorkingCopyLock.acquire( new File( root, "module" ), null );
+        SvnWorkingCopyLock nested = SvnWorkingCopyLock.acquire( root, null );
+        assertSame( lock, nested );
+        assertTrue( new File( root, ".svn/maven-scm.lock" ).exists() );
+        nested.release();
+        lock.release();
+    }
+
+    public void testContention()
+        throws Exception
+    {
+        long contentions = SvnWorkingCopyLock.getContentions();
+
+        SvnWorkingCopyLock lock = SvnWorkingCopyLock.acquire( root, null );
+
+        Thread other = new Thread()
+        {
+            public void run()
+            {
+                SvnWorkingCopyLock.acquire( root, null ).release();
+            }
+        };
+        other.start();
+        Thread.sleep( 200 );
+        lock.release();
+        other.join();
+
+        assertEquals( contentions + 1, SvnWorkingCopyLock.getContentions() );
+    }
+
+    public void testSvnLockDetection()
+        throws Exception
+    {
+        SvnWorkingCopyLock lock = SvnWorkingCopyLock.acquire( root, null );
+        try
+        {
+            assertFalse( lock.isLockedBySvn() );
+            FileUtils.fileWrite( new File( root, ".svn/wc.db-journal" ).getPath(), "" );
+            assertTrue( lock.isLockedBySvn() );
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.blame;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnBlameConsumerTest
+    extends PlexusTestCase
+{
+    public void testConsumeMultipleTargets()
+        throws Exception
+    {
+        SvnBlameConsumer consumer = new SvnBlameConsumer( new DefaultLog() );
+
+        BufferedReader reader =
+            new BufferedReader( new FileReader( getTestFile( "/src/test/resources/svn/blame/svnblame.xml" ) ) );
+        try
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+
+        assertEquals( 2, consumer.getTargets().size() );
+
+        List<BlameLine> lines = consumer.getLines( "pom.xml" );
+        assertEquals( 4, lines.size() );
+
+        assertEquals( "12", lines.get( 0 ).getRevision() );
+        assertEquals( "kaz", lines.get( 0 ).getAuthor() );
+        assertEquals( 1030386806000L, lines.get( 0 ).getDate().getTime() );
+
+        assertEquals( "14", lines.get( 1 ).getRevision() );
+        assertEquals( "evenisse", lines.get( 1 ).getAuthor() );
+
+        // locally modified line
+        assertEquals( SvnBlameConsumer.LOCAL_MODIFICATION, lines.get( 2 ).getRevision() );
+        assertEquals( SvnBlameConsumer.LOCAL_MODIFICATION, lines.get( 2 ).getAuthor() );
+
+        assertEquals( "12", lines.get( 3 ).getRevision() );
+        assertEquals( "kaz", lines.get( 3 ).getAuthor() );
+        assertEquals( lines.get( 0 ).getDate(), lines.get( 3 ).getDate() );
+
+        lines = consumer.getLines( "README.txt" );
+        assertEquals( 1, lines.size() );
+        assertEquals( "3", lines.get( 0 ).getRevision() );
+        assertEquals( "olamy", lines.get( 0 ).getAuthor() );
+        assertSame( lines, consumer.getLines() );
+
+        assertNull( consumer.getLines( "unknown.txt" ) );
+
+        // svn reports the canonical paths
+        assertSame( consumer.getLines( "pom.xml" ), consumer.getLines( "./pom.xml" ) );
+        assertSame( lines, consumer.getLines( ".//README.txt" ) );
+    }
+
+    public void testParseDateTime()
+    {
+        SvnBlameConsumer consumer = new SvnBlameConsumer( new DefaultLog() );
+
+        assertEquals( 1030386806000L, consumer.parseDateTime( "2002-08-26 18:33:26" ).getTime() );
+        assertNull( consumer.parseDateTime( "2002-08-26T18:33:26.123456Z" ) );
+    }
+}
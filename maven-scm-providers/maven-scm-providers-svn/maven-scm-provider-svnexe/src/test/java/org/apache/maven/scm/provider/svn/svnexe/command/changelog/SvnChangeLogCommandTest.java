@@ -20,6 +20,7 @@
  */
 
 import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.ScmRevision;
@@ -155,6 +156,49 @@ public void testCommandLineWithBaseVersion()
                          "svn --non-interactive log -v -r 1:BASE" );
     }
 
+    public void testCommandLineWithFiles()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-update-command-test" );
+
+        ScmFileSet fileSet = new ScmFileSet( workingDirectory, new File[]{ new File( "module-a" ),
+            new File( "module-a/src" ), new File( workingDirectory, "module-b/pom.xml" ), new File( "v@2" ) } );
+
+        testCommandLine( "scm:svn:http://foo.com/svn/trunk", fileSet, null, false,
+                         "svn --non-interactive log -v http://foo.com/svn/trunk module-a module-b/pom.xml v@2@" );
+    }
+
+    public void testCommandLineWithBranchAndFiles()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-update-command-test" );
+
+        ScmFileSet fileSet = new ScmFileSet( workingDirectory, new File( "module-a" ) );
+
+        testCommandLine( "scm:svn:http://foo.com/svn/trunk", fileSet, new ScmBranch( "my-test-branch" ), false,
+                         "svn --non-interactive log -v http://foo.com/svn/branches/my-test-branch module-a" );
+    }
+
+    public void testCommandLineWithBaseDirectoryAsFile()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-update-command-test" );
+
+        ScmFileSet fileSet = new ScmFileSet( workingDirectory, new File[]{ new File( "module-a" ), new File( "." ) } );
+
+        testCommandLine( "scm:svn:http://foo.com/svn/trunk", fileSet, null, false,
+                         "svn --non-interactive log -v http://foo.com/svn/trunk" );
+    }
+
+    public void testCommandLineStopOnCopy()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-update-command-test" );
+
+        testCommandLine( "scm:svn:http://foo.com/svn/trunk", new ScmFileSet( workingDirectory ), null, true,
+                         "svn --non-interactive log -v --stop-on-copy http://foo.com/svn/trunk" );
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -193,4 +237,17 @@ private void testCommandLine( String scmUrl, ScmVersion startVersion, ScmVersion
                                                                 startVersion, endVersion );
         assertCommandLine( commandLine, workingDirectory, cl );
     }
+
+    private void testCommandLine( String scmUrl, ScmFileSet fileSet, ScmBranch branch, boolean stopOnCopy,
+                                  String commandLine )
+        throws Exception
+    {
+        ScmRepository repository = getScmManager().makeScmRepository( scmUrl );
+
+        SvnScmProviderRepository svnRepository = (SvnScmProviderRepository) repository.getProviderRepository();
+
+        Commandline cl = SvnChangeLogCommand.createCommandLine( svnRepository, fileSet, branch, null, null, null,
+                                                                null, null, stopOnCopy );
+        assertCommandLine( commandLine, fileSet.getBasedir(), cl );
+    }
 }
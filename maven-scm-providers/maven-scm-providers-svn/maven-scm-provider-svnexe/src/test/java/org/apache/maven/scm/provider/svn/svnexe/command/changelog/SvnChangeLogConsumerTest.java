@@ -22,6 +22,7 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
 import org.apache.maven.scm.log.DefaultLog;
 import org.codehaus.plexus.PlexusTestCase;
 import org.codehaus.plexus.logging.Logger;
@@ -164,6 +165,49 @@ private void consumeLog( final File logFile )
         }
     }
 
+    public void testSinkReceivesTheChangeSets()
+        throws Exception
+    {
+        final AtomicInteger count = new AtomicInteger();
+        consumer.setChangeSetSink( new ChangeSetSink()
+        {
+            public boolean accept( ChangeSet changeSet )
+            {
+                count.incrementAndGet();
+                return true;
+            }
+        } );
+
+        consumeLog( getTestFile( "/src/test/resources/svn/changelog/svnlog2.txt" ) );
+
+        assertEquals( 67, count.get() );
+        assertFalse( consumer.isDone() );
+        assertTrue( consumer.getModifications().isEmpty() );
+    }
+
+    public void testSinkStopsTheLog()
+        throws Exception
+    {
+        final StringBuilder revisions = new StringBuilder();
+        consumer.setChangeSetSink( new ChangeSetSink()
+        {
+            public boolean accept( ChangeSet changeSet )
+            {
+                revisions.append( changeSet.getRevision() ).append( ' ' );
+                return revisions.length() < 20;
+            }
+        } );
+
+        assertFalse( consumer.isDone() );
+
+        consumeLog( getTestFile( "/src/test/resources/svn/changelog/svnlog2.txt" ) );
+
+        // the sink has enough after three entries, the rest of the log is not passed to it
+        assertEquals( "328167 328110 328107 ", revisions.toString() );
+        assertTrue( consumer.isDone() );
+        assertTrue( consumer.getModifications().isEmpty() );
+    }
+
     public void testConsumerWithPattern1()
         throws Exception
     {
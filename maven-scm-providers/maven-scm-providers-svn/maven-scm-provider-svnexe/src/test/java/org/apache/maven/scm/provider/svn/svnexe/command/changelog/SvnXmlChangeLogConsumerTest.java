@@ -0,0 +1,166 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetSink;
+import org.apache.maven.scm.log.DefaultLog;
+import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnXmlChangeLogConsumerTest
+    extends PlexusTestCase
+{
+    private SvnXmlChangeLogConsumer consumer;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        consumer = new SvnXmlChangeLogConsumer( new DefaultLog() );
+    }
+
+    public void testGetModifications_Initial()
+    {
+        assertTrue( "Initial modifications should be empty", consumer.getModifications().isEmpty() );
+    }
+
+    public void testConsumeXmlLog()
+        throws Exception
+    {
+        consumeLog( getTestFile( "/src/test/resources/svn/changelog/svnlog.xml" ) );
+
+        List<ChangeSet> modifications = consumer.getModifications();
+        assertEquals( 2, modifications.size() );
+
+        ChangeSet entry = modifications.get( 0 );
+        assertEquals( "15", entry.getRevision() );
+        assertEquals( "kaz", entry.getAuthor() );
+        assertEquals( 1030386806000L, entry.getDate().getTime() );
+        // a separator line in the message must not split the entry
+        assertEquals( "Minor formatting changes.\n"
+            + "------------------------------------------------------------------------\n"
+            + "r14 | not | a header | 1 line\n", entry.getComment() );
+        assertEquals( 2, entry.getFiles().size() );
+        ChangeFile file = entry.getFiles().get( 0 );
+        assertEquals( "/poolserver/trunk/build.xml", file.getName() );
+        assertEquals( "15", file.getRevision() );
+        assertEquals( ScmFileStatus.MODIFIED, file.getAction() );
+
+        entry = modifications.get( 1 );
+        assertEquals( "14", entry.getRevision() );
+        assertEquals( "Branched <build.xml> & cleaned up.", entry.getComment() );
+        assertEquals( 3, entry.getFiles().size() );
+
+        file = entry.getFiles().get( 0 );
+        assertEquals( "/poolserver/branches/b1/build.xml", file.getName() );
+        assertEquals( ScmFileStatus.COPIED, file.getAction() );
+        assertEquals( "/poolserver/trunk/build.xml", file.getOriginalName() );
+        assertEquals( "13", file.getOriginalRevision() );
+
+        assertEquals( ScmFileStatus.DELETED, entry.getFiles().get( 1 ).getAction() );
+        assertEquals( ScmFileStatus.UPDATED, entry.getFiles().get( 2 ).getAction() );
+    }
+
+    public void testEntriesAreStreamed()
+        throws Exception
+    {
+        final StringBuilder revisions = new StringBuilder();
+        consumer = new SvnXmlChangeLogConsumer( new DefaultLog() )
+        {
+            protected void addChangeSet( SvnChangeSet changeSet )
+            {
+                revisions.append( changeSet.getRevision() ).append( ' ' );
+            }
+        };
+
+        consumeLog( getTestFile( "/src/test/resources/svn/changelog/svnlog.xml" ) );
+
+        assertEquals( "15 14 ", revisions.toString() );
+        assertTrue( consumer.getModifications().isEmpty() );
+    }
+
+    public void testSinkStopsTheLog()
+        throws Exception
+    {
+        final StringBuilder revisions = new StringBuilder();
+        consumer.setChangeSetSink( new ChangeSetSink()
+        {
+            public boolean accept( ChangeSet changeSet )
+            {
+                revisions.append( changeSet.getRevision() ).append( ' ' );
+                return false;
+            }
+        } );
+
+        assertFalse( consumer.isDone() );
+
+        consumeLog( getTestFile( "/src/test/resources/svn/changelog/svnlog.xml" ) );
+
+        // the sink has enough after the first entry
+        assertEquals( "15 ", revisions.toString() );
+        assertTrue( consumer.isDone() );
+        assertTrue( consumer.getModifications().isEmpty() );
+    }
+
+    public void testMalformedEntry()
+    {
+        consumer.consumeLine( "<logentry revision=\"1\">" );
+        try
+        {
+            consumer.consumeLine( "<author>kaz</msg></logentry>" );
+            fail( "a malformed entry should throw IllegalOutputException" );
+        }
+        catch ( IllegalOutputException e )
+        {
+            assertTrue( true );
+        }
+    }
+
+    private void consumeLog( File logFile )
+        throws IOException
+    {
+        BufferedReader reader = new BufferedReader( new FileReader( logFile ) );
+        try
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                consumer.consumeLine( line );
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+}
@@ -40,6 +40,8 @@
 
     private boolean recursive;
 
+    private String depth;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -94,6 +96,16 @@ public void testRecursiveCheckOutCommandLine()
                              + workingDirectory.getAbsolutePath() );
     }
 
+    public void testDepthCheckOutCommandLine()
+        throws Exception
+    {
+        recursive = false;
+        depth = "immediates";
+        testCommandLine( getScmManager(), "scm:svn:http://foo.com/svn/trunk", "10",
+                         "svn --non-interactive checkout --depth immediates -r 10 http://foo.com/svn/trunk "
+                             + workingDirectory.getAbsolutePath() );
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -109,7 +121,7 @@ private void testCommandLine( ScmManager scmManager, String scmUrl, String revis
             cl =
                 SvnCheckOutCommand.createCommandLine( svnRepository, workingDirectory,
                                                       new ScmRevision( revision ), svnRepository.getUrl(),
-                                                      recursive );
+                                                      recursive, depth );
 
         assertCommandLine( commandLine, workingDirectory.getParentFile(), cl );
     }
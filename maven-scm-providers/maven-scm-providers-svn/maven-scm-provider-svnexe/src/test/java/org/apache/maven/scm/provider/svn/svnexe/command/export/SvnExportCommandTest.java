@@ -20,9 +20,14 @@
  */
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmTestCase;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnRemoteCache;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -48,6 +53,79 @@ public void testGetExportCommandLineWithExplicitExportDirectory()
                          "svn --non-interactive export --force scm:svn:http://foo.com/svn/trunk " + exportDirectory );
     }
 
+    public void testPartition()
+    {
+        Map<String, List<ScmFile>> partitions = SvnParallelExport.partition(
+            Arrays.asList( "pom.xml", "core/", "core/pom.xml", "core/src/", "core/src/A.java", "site/", "empty/" ) );
+
+        assertEquals( Arrays.asList( "", "core", "site", "empty" ), Arrays.asList( partitions.keySet().toArray() ) );
+        assertEquals( 1, partitions.get( "" ).size() );
+        assertEquals( "pom.xml", partitions.get( "" ).get( 0 ).getPath() );
+        assertEquals( 2, partitions.get( "core" ).size() );
+        assertEquals( "core/src/A.java", partitions.get( "core" ).get( 1 ).getPath() );
+        assertTrue( partitions.get( "empty" ).isEmpty() );
+    }
+
+    public void testPartitionOfFlatTree()
+    {
+        // no top level directory, a single export is enough
+        Map<String, List<ScmFile>> partitions = SvnParallelExport.partition( Arrays.asList( "pom.xml", "README" ) );
+
+        assertEquals( 1, partitions.size() );
+        assertEquals( 2, partitions.get( "" ).size() );
+    }
+
+    public void testListCommandLine()
+        throws Exception
+    {
+        SvnScmProviderRepository repository = getSvnRepository( "scm:svn:http://foo.com/svn/trunk" );
+
+        assertCommandLine( "svn --non-interactive list --recursive --xml -r 12 http://foo.com/svn/trunk", null,
+                           SvnParallelExport.createListCommandLine( repository, null, "http://foo.com/svn/trunk",
+                                                                    "12" ) );
+    }
+
+    public void testExternalsCommandLine()
+        throws Exception
+    {
+        SvnScmProviderRepository repository = getSvnRepository( "scm:svn:http://foo.com/svn/trunk" );
+
+        // only the root, the externals of the top level directories come with their exports
+        assertCommandLine( "svn --non-interactive propget svn:externals -r 12 http://foo.com/svn/trunk", null,
+                           SvnParallelExport.createExternalsCommandLine( repository, null, "http://foo.com/svn/trunk",
+                                                                         "12" ) );
+    }
+
+    public void testPartitionCommandLines()
+        throws Exception
+    {
+        SvnScmProviderRepository repository = getSvnRepository( "scm:svn:http://foo.com/svn/trunk" );
+
+        // the root files only, at the revision of the listing
+        assertCommandLine( "svn --non-interactive export -r 12 --depth files --force http://foo.com/svn/trunk out",
+                           null, SvnParallelExport.createPartitionCommandLine( repository, null, "",
+                                                                               "http://foo.com/svn/trunk", "12",
+                                                                               "out" ) );
+        assertCommandLine( "svn --non-interactive export -r 12 --force http://foo.com/svn/trunk/core out/core", null,
+                           SvnParallelExport.createPartitionCommandLine( repository, null, "core",
+                                                                         "http://foo.com/svn/trunk/core", "12",
+                                                                         "out/core" ) );
+    }
+
+    public void testCacheKeyDiffersFromListCommand()
+    {
+        // the list command caches ScmFiles under this key, the export caches paths
+        String listKey = SvnRemoteCache.key( "list --recursive", "http://foo.com/svn/trunk", "12" );
+
+        assertFalse( listKey.equals( SvnParallelExport.getCacheKey( "http://foo.com/svn/trunk", "12" ) ) );
+    }
+
+    private SvnScmProviderRepository getSvnRepository( String scmUrl )
+        throws Exception
+    {
+        return (SvnScmProviderRepository) getScmManager().makeScmRepository( scmUrl ).getProviderRepository();
+    }
+
     private void testCommandLine( String scmUrl, File workingDirectory, File exportDirectory, String commandLine )
         throws Exception
     {
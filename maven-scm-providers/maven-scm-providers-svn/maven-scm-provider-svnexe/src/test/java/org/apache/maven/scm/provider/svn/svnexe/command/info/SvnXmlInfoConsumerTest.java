@@ -0,0 +1,86 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.info;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.util.List;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnXmlInfoConsumerTest
+    extends PlexusTestCase
+{
+    private static final String[] OUTPUT = {
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<info>",
+        "<entry",
+        "   kind=\"dir\"",
+        "   path=\"trunk\"",
+        "   revision=\"42\">",
+        "<url>http://svn.example.com/repos/project/trunk</url>",
+        "<repository>",
+        "<root>http://svn.example.com/repos</root>",
+        "<uuid>13f79535-47bb-0310-9956-ffa450edef68</uuid>",
+        "</repository>",
+        "<commit",
+        "   revision=\"40\">",
+        "<author>olamy</author>",
+        "<date>2011-05-15T10:12:34.123456Z</date>",
+        "</commit>",
+        "</entry>",
+        "<entry kind=\"file\" path=\"pom.xml\" revision=\"42\"><url>http://svn.example.com/repos/project/trunk/pom.xml"
+            + "</url><wc-info><schedule>normal</schedule></wc-info>"
+            + "<commit revision=\"41\"><author>evenisse</author></commit></entry>",
+        "</info>" };
+
+    public void testConsumeXmlInfo()
+    {
+        SvnXmlInfoConsumer consumer = new SvnXmlInfoConsumer( new DefaultLog() );
+        for ( String line : OUTPUT )
+        {
+            consumer.consumeLine( line );
+        }
+
+        List<InfoItem> items = consumer.getInfoItems();
+        assertEquals( 2, items.size() );
+
+        InfoItem item = items.get( 0 );
+        assertEquals( "trunk", item.getPath() );
+        assertEquals( "dir", item.getNodeKind() );
+        assertEquals( "42", item.getRevision() );
+        assertEquals( "http://svn.example.com/repos/project/trunk", item.getURL() );
+        assertEquals( "http://svn.example.com/repos", item.getRepositoryRoot() );
+        assertEquals( "13f79535-47bb-0310-9956-ffa450edef68", item.getRepositoryUUID() );
+        assertEquals( "40", item.getLastChangedRevision() );
+        assertEquals( "olamy", item.getLastChangedAuthor() );
+        assertEquals( "2011-05-15T10:12:34.123456Z", item.getLastChangedDate() );
+        assertNull( item.getSchedule() );
+
+        item = items.get( 1 );
+        assertEquals( "pom.xml", item.getPath() );
+        assertEquals( "normal", item.getSchedule() );
+        assertEquals( "41", item.getLastChangedRevision() );
+        assertEquals( "evenisse", item.getLastChangedAuthor() );
+    }
+}
@@ -0,0 +1,71 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.list;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.PlexusTestCase;
+
+import java.util.Arrays;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnXmlListConsumerTest
+    extends PlexusTestCase
+{
+    private static final String[] OUTPUT = {
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<lists>",
+        "<list",
+        "   path=\"http://svn.example.com/repos/project/tags\">",
+        "<entry",
+        "   kind=\"dir\">",
+        "<name>project-1.0</name>",
+        "<commit",
+        "   revision=\"10\">",
+        "<author>olamy</author>",
+        "<date>2011-05-15T10:12:34.123456Z</date>",
+        "</commit>",
+        "</entry>",
+        "</list>",
+        "<list path=\"http://svn.example.com/repos/project/branches\">",
+        "<entry kind=\"dir\"><name>1.x</name></entry>",
+        "<entry kind=\"file\"><name>README &amp; NOTES.txt</name><size>10</size></entry>",
+        "</list>",
+        "</lists>" };
+
+    public void testConsumeXmlList()
+    {
+        SvnXmlListConsumer consumer = new SvnXmlListConsumer( new DefaultLog() );
+        for ( String line : OUTPUT )
+        {
+            consumer.consumeLine( line );
+        }
+
+        assertEquals( 3, consumer.getFiles().size() );
+        assertEquals( "project-1.0/", consumer.getFiles().get( 0 ).getPath() );
+
+        assertEquals( 2, consumer.getEntries().size() );
+        assertEquals( Arrays.asList( "project-1.0/" ),
+                      consumer.getEntries().get( "http://svn.example.com/repos/project/tags" ) );
+        assertEquals( Arrays.asList( "1.x/", "README & NOTES.txt" ),
+                      consumer.getEntries().get( "http://svn.example.com/repos/project/branches" ) );
+    }
+}
@@ -0,0 +1,90 @@
+package org.apache.maven.scm.provider.svn.svnexe.command.status;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.log.DefaultLog;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+
+/**
+ * @since 1.9.3
+ */
+public class SvnXmlStatusConsumerTest
+    extends PlexusTestCase
+{
+    private static final String[] OUTPUT = {
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<status>",
+        "<target",
+        "   path=\".\">",
+        "<entry",
+        "   path=\"pom.xml\">",
+        "<wc-status",
+        "   props=\"none\"",
+        "   item=\"modified\"",
+        "   revision=\"12\">",
+        "<commit",
+        "   revision=\"10\">",
+        "<author>olamy</author>",
+        "<date>2011-05-15T10:12:34.123456Z</date>",
+        "</commit>",
+        "</wc-status>",
+        "</entry>",
+        "<entry path=\"src/Added.java\"><wc-status props=\"none\" item=\"added\" revision=\"-1\"></wc-status></entry>",
+        "<entry path=\"src/Gone.java\"><wc-status props=\"none\" item=\"deleted\" revision=\"12\"></wc-status></entry>",
+        "<entry path=\"src/Lost.java\"><wc-status props=\"none\" item=\"missing\" revision=\"12\"></wc-status></entry>",
+        "<entry path=\"src/Props.java\">",
+        "<wc-status props=\"modified\" item=\"normal\" revision=\"12\"></wc-status>",
+        "</entry>",
+        "<entry path=\"target\"><wc-status props=\"none\" item=\"unversioned\"></wc-status></entry>",
+        "<entry path=\"lib\"><wc-status props=\"none\" item=\"external\"></wc-status></entry>",
+        "</target>",
+        "</status>" };
+
+    public void testConsumeXmlStatus()
+        throws Exception
+    {
+        File workingDirectory = getTestFile( "target/svn-xml-status-consumer-test" );
+        FileUtils.deleteDirectory( workingDirectory );
+        new File( workingDirectory, "src" ).mkdirs();
+        new File( workingDirectory, "target" ).mkdirs();
+        FileUtils.fileWrite( new File( workingDirectory, "pom.xml" ).getPath(), "<project/>" );
+        FileUtils.fileWrite( new File( workingDirectory, "src/Added.java" ).getPath(), "class Added {}" );
+        FileUtils.fileWrite( new File( workingDirectory, "src/Props.java" ).getPath(), "class Props {}" );
+
+        SvnXmlStatusConsumer consumer = new SvnXmlStatusConsumer( new DefaultLog(), workingDirectory );
+        for ( String line : OUTPUT )
+        {
+            consumer.consumeLine( line );
+        }
+
+        assertEquals( 5, consumer.getChangedFiles().size() );
+        assertEquals( "pom.xml", consumer.getChangedFiles().get( 0 ).getPath() );
+        assertEquals( ScmFileStatus.MODIFIED, consumer.getChangedFiles().get( 0 ).getStatus() );
+        assertEquals( ScmFileStatus.ADDED, consumer.getChangedFiles().get( 1 ).getStatus() );
+        assertEquals( ScmFileStatus.DELETED, consumer.getChangedFiles().get( 2 ).getStatus() );
+        assertEquals( ScmFileStatus.MISSING, consumer.getChangedFiles().get( 3 ).getStatus() );
+        assertEquals( "src/Props.java", consumer.getChangedFiles().get( 4 ).getPath() );
+        assertEquals( ScmFileStatus.MODIFIED, consumer.getChangedFiles().get( 4 ).getStatus() );
+    }
+}
@@ -19,6 +19,7 @@
  * under the License.
  */
 
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
@@ -422,6 +423,15 @@ public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet )
         return this.getProviderByRepository( repository ).status( repository, fileSet );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        return this.getProviderByRepository( repository ).status( repository, fileSet, parameters );
+    }
+
     /**
      * {@inheritDoc}
      */
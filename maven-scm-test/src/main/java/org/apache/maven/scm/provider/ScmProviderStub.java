@@ -711,6 +711,15 @@ public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet )
         return getStatusScmResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public StatusScmResult status( ScmRepository repository, ScmFileSet fileSet, CommandParameters parameters )
+        throws ScmException
+    {
+        return getStatusScmResult();
+    }
+
     /**
      * {@inheritDoc}
      */